@@ -0,0 +1,358 @@
+package com.qsign.oqs.backend.qssl;
+
+import com.qsign.oqs.backend.BouncyCastleBackend;
+import com.qsign.oqs.backend.CryptoBackend;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.FunctionDescriptor;
+import java.lang.foreign.Linker;
+import java.lang.foreign.MemoryLayout;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.StructLayout;
+import java.lang.foreign.SymbolLookup;
+import java.lang.invoke.MethodHandle;
+import java.lang.ref.Cleaner;
+import java.nio.file.Path;
+import java.security.InvalidKeyException;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.util.Arrays;
+
+import static java.lang.foreign.MemoryLayout.PathElement.groupElement;
+import static java.lang.foreign.ValueLayout.ADDRESS;
+import static java.lang.foreign.ValueLayout.JAVA_BYTE;
+import static java.lang.foreign.ValueLayout.JAVA_INT;
+import static java.lang.foreign.ValueLayout.JAVA_LONG;
+
+/**
+ * {@link CryptoBackend} on Q-SSL's native DILITHIUM3 / KYBER1024 primitives
+ *
+ * Binds qssl_dilithium_sign, qssl_dilithium_verify, qssl_kyber_encapsulate and
+ * qssl_kyber_decapsulate from libqssl (Q-SSL/include/qssl/qssl.h) with the FFM API;
+ * there is no JNI glue. Key structs live off-heap for the lifetime of a prepared
+ * signer or verifier, so a sign or verify call copies only the message into a
+ * confined arena (JDK 21 downcalls cannot read heap arrays) and reads the signature
+ * back. Secret key memory is zeroed before it is freed.
+ *
+ * The library is loaded from {@value #LIBRARY_PROPERTY} if set, otherwise "qssl" is
+ * resolved through the platform library search path. When it cannot be loaded the
+ * backend reports itself unavailable and {@link com.qsign.oqs.backend.CryptoBackends}
+ * stays on BouncyCastle. Other variants and empty messages (rejected by libqssl)
+ * are also served by BouncyCastle.
+ */
+public class QsslBackend implements CryptoBackend {
+
+    private static final Logger logger = LoggerFactory.getLogger(QsslBackend.class);
+
+    public static final String NAME = "qssl";
+    public static final String LIBRARY_PROPERTY = "qsign.qssl.library";
+
+    static final String DILITHIUM = "DILITHIUM3";
+    static final String KYBER = "KYBER1024";
+
+    private static final int DILITHIUM_SIGNATURE_BYTES = 3293;
+
+    /**
+     * QSSL_DILITHIUM_KEY
+     */
+    static final StructLayout DILITHIUM_KEY = MemoryLayout.structLayout(
+        MemoryLayout.sequenceLayout(1952, JAVA_BYTE).withName("public_key"),
+        MemoryLayout.sequenceLayout(4000, JAVA_BYTE).withName("secret_key"),
+        JAVA_INT.withName("has_secret_key")
+    );
+
+    /**
+     * QSSL_KYBER_KEY
+     */
+    static final StructLayout KYBER_KEY = MemoryLayout.structLayout(
+        MemoryLayout.sequenceLayout(1568, JAVA_BYTE).withName("public_key"),
+        MemoryLayout.sequenceLayout(3168, JAVA_BYTE).withName("secret_key"),
+        MemoryLayout.sequenceLayout(1568, JAVA_BYTE).withName("ciphertext"),
+        MemoryLayout.sequenceLayout(32, JAVA_BYTE).withName("shared_secret"),
+        JAVA_INT.withName("has_secret_key"),
+        JAVA_INT.withName("has_shared_secret")
+    );
+
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    /**
+     * Downcall handles, resolved on first use
+     */
+    private static final class Native {
+        static final MethodHandle DILITHIUM_SIGN;
+        static final MethodHandle DILITHIUM_VERIFY;
+        static final MethodHandle KYBER_ENCAPSULATE;
+        static final MethodHandle KYBER_DECAPSULATE;
+        static final Throwable FAILURE;
+
+        static {
+            MethodHandle sign = null;
+            MethodHandle verify = null;
+            MethodHandle encapsulate = null;
+            MethodHandle decapsulate = null;
+            Throwable failure = null;
+            try {
+                if (ADDRESS.byteSize() != Long.BYTES) {
+                    throw new UnsupportedOperationException("size_t is not 64-bit on this platform");
+                }
+                SymbolLookup library = openLibrary();
+                Linker linker = Linker.nativeLinker();
+
+                // int qssl_dilithium_sign(key, msg, msg_len, sig, size_t *sig_len)
+                sign = linker.downcallHandle(library.find("qssl_dilithium_sign").orElseThrow(),
+                    FunctionDescriptor.of(JAVA_INT, ADDRESS, ADDRESS, JAVA_LONG, ADDRESS, ADDRESS));
+                // int qssl_dilithium_verify(key, msg, msg_len, sig, sig_len): 1 valid, 0 invalid, < 0 error
+                verify = linker.downcallHandle(library.find("qssl_dilithium_verify").orElseThrow(),
+                    FunctionDescriptor.of(JAVA_INT, ADDRESS, ADDRESS, JAVA_LONG, ADDRESS, JAVA_LONG));
+                // int qssl_kyber_encapsulate(QSSL_KYBER_KEY *key) / qssl_kyber_decapsulate(QSSL_KYBER_KEY *key)
+                encapsulate = linker.downcallHandle(library.find("qssl_kyber_encapsulate").orElseThrow(),
+                    FunctionDescriptor.of(JAVA_INT, ADDRESS));
+                decapsulate = linker.downcallHandle(library.find("qssl_kyber_decapsulate").orElseThrow(),
+                    FunctionDescriptor.of(JAVA_INT, ADDRESS));
+            } catch (Throwable e) {
+                failure = e;
+            }
+            DILITHIUM_SIGN = sign;
+            DILITHIUM_VERIFY = verify;
+            KYBER_ENCAPSULATE = encapsulate;
+            KYBER_DECAPSULATE = decapsulate;
+            FAILURE = failure;
+        }
+
+        private static SymbolLookup openLibrary() {
+            String configured = System.getProperty(LIBRARY_PROPERTY);
+            if (configured != null) {
+                return SymbolLookup.libraryLookup(Path.of(configured), Arena.global());
+            }
+            return SymbolLookup.libraryLookup(System.mapLibraryName("qssl"), Arena.global());
+        }
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public int getPriority() {
+        return 100;
+    }
+
+    @Override
+    public boolean isAvailable() {
+        if (Native.FAILURE != null) {
+            logger.debug("libqssl not available: {}", Native.FAILURE.toString());
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean supports(String algorithm) {
+        return DILITHIUM.equalsIgnoreCase(algorithm) || KYBER.equalsIgnoreCase(algorithm);
+    }
+
+    @Override
+    public Signer newSigner(String algorithm, PrivateKey privateKey) throws InvalidKeyException {
+        if (!DILITHIUM.equalsIgnoreCase(algorithm)) {
+            return BouncyCastleBackend.INSTANCE.newSigner(algorithm, privateKey);
+        }
+        byte[] secretKey = BouncyCastleBackend.rawPrivateKey(algorithm, privateKey);
+
+        Arena arena = Arena.ofShared();
+        MemorySegment key = arena.allocate(DILITHIUM_KEY);
+        copyInto(key, DILITHIUM_KEY, "secret_key", secretKey);
+        key.set(JAVA_INT, offset(DILITHIUM_KEY, "has_secret_key"), 1);
+        Arrays.fill(secretKey, (byte) 0);
+
+        NativeSigner signer = new NativeSigner(key, privateKey);
+        CLEANER.register(signer, () -> {
+            key.fill((byte) 0);
+            arena.close();
+        });
+        return signer;
+    }
+
+    @Override
+    public Verifier newVerifier(String algorithm, PublicKey publicKey) throws InvalidKeyException {
+        if (!DILITHIUM.equalsIgnoreCase(algorithm)) {
+            return BouncyCastleBackend.INSTANCE.newVerifier(algorithm, publicKey);
+        }
+        MemorySegment key = Arena.ofAuto().allocate(DILITHIUM_KEY);
+        copyInto(key, DILITHIUM_KEY, "public_key", BouncyCastleBackend.rawPublicKey(algorithm, publicKey));
+        return new NativeVerifier(key, publicKey);
+    }
+
+    @Override
+    public Encapsulation encapsulate(String algorithm, PublicKey publicKey) throws InvalidKeyException {
+        if (!KYBER.equalsIgnoreCase(algorithm)) {
+            return BouncyCastleBackend.INSTANCE.encapsulate(algorithm, publicKey);
+        }
+        byte[] rawPublicKey = BouncyCastleBackend.rawPublicKey(algorithm, publicKey);
+
+        try (Arena arena = Arena.ofConfined()) {
+            MemorySegment key = arena.allocate(KYBER_KEY);
+            try {
+                copyInto(key, KYBER_KEY, "public_key", rawPublicKey);
+                check(invoke(Native.KYBER_ENCAPSULATE, key), "qssl_kyber_encapsulate");
+                return new Encapsulation(copyOut(key, KYBER_KEY, "shared_secret"),
+                    copyOut(key, KYBER_KEY, "ciphertext"));
+            } finally {
+                key.fill((byte) 0);
+            }
+        }
+    }
+
+    @Override
+    public byte[] decapsulate(String algorithm, PrivateKey privateKey, byte[] ciphertext)
+            throws InvalidKeyException {
+        if (!KYBER.equalsIgnoreCase(algorithm)) {
+            return BouncyCastleBackend.INSTANCE.decapsulate(algorithm, privateKey, ciphertext);
+        }
+        if (ciphertext.length != KYBER_KEY.select(groupElement("ciphertext")).byteSize()) {
+            throw new IllegalArgumentException("KYBER1024 ciphertext must be 1568 bytes, got " + ciphertext.length);
+        }
+        byte[] secretKey = BouncyCastleBackend.rawPrivateKey(algorithm, privateKey);
+
+        try (Arena arena = Arena.ofConfined()) {
+            MemorySegment key = arena.allocate(KYBER_KEY);
+            try {
+                copyInto(key, KYBER_KEY, "secret_key", secretKey);
+                copyInto(key, KYBER_KEY, "ciphertext", ciphertext);
+                key.set(JAVA_INT, offset(KYBER_KEY, "has_secret_key"), 1);
+                check(invoke(Native.KYBER_DECAPSULATE, key), "qssl_kyber_decapsulate");
+                return copyOut(key, KYBER_KEY, "shared_secret");
+            } finally {
+                key.fill((byte) 0);
+                Arrays.fill(secretKey, (byte) 0);
+            }
+        }
+    }
+
+    /**
+     * DILITHIUM3 signer over an off-heap QSSL_DILITHIUM_KEY
+     */
+    private static final class NativeSigner implements Signer {
+        private final MemorySegment key;
+        private final PrivateKey privateKey;
+
+        NativeSigner(MemorySegment key, PrivateKey privateKey) {
+            this.key = key;
+            this.privateKey = privateKey;
+        }
+
+        @Override
+        public byte[] sign(byte[] message) {
+            if (message.length == 0) {
+                return signOnBouncyCastle(message);
+            }
+            try (Arena arena = Arena.ofConfined()) {
+                MemorySegment nativeMessage = arena.allocate(message.length);
+                MemorySegment.copy(message, 0, nativeMessage, JAVA_BYTE, 0, message.length);
+                MemorySegment signature = arena.allocate(DILITHIUM_SIGNATURE_BYTES);
+                MemorySegment signatureLength = arena.allocate(JAVA_LONG);
+
+                int result;
+                try {
+                    result = (int) Native.DILITHIUM_SIGN.invokeExact(key, nativeMessage, (long) message.length,
+                        signature, signatureLength);
+                } catch (Throwable e) {
+                    throw new IllegalStateException("qssl_dilithium_sign failed", e);
+                }
+                check(result, "qssl_dilithium_sign");
+                return signature.asSlice(0, signatureLength.get(JAVA_LONG, 0)).toArray(JAVA_BYTE);
+            }
+        }
+
+        private byte[] signOnBouncyCastle(byte[] message) {
+            try {
+                return BouncyCastleBackend.INSTANCE.newSigner(DILITHIUM, privateKey).sign(message);
+            } catch (InvalidKeyException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    /**
+     * DILITHIUM3 verifier over an off-heap QSSL_DILITHIUM_KEY
+     */
+    private static final class NativeVerifier implements Verifier {
+        private final MemorySegment key;
+        private final PublicKey publicKey;
+
+        NativeVerifier(MemorySegment key, PublicKey publicKey) {
+            this.key = key;
+            this.publicKey = publicKey;
+        }
+
+        @Override
+        public boolean verify(byte[] message, byte[] signature) {
+            if (signature.length == 0) {
+                return false;
+            }
+            if (message.length == 0) {
+                return verifyOnBouncyCastle(message, signature);
+            }
+            try (Arena arena = Arena.ofConfined()) {
+                MemorySegment nativeMessage = arena.allocate(message.length);
+                MemorySegment.copy(message, 0, nativeMessage, JAVA_BYTE, 0, message.length);
+                MemorySegment nativeSignature = arena.allocate(signature.length);
+                MemorySegment.copy(signature, 0, nativeSignature, JAVA_BYTE, 0, signature.length);
+
+                int result;
+                try {
+                    result = (int) Native.DILITHIUM_VERIFY.invokeExact(key, nativeMessage, (long) message.length,
+                        nativeSignature, (long) signature.length);
+                } catch (Throwable e) {
+                    throw new IllegalStateException("qssl_dilithium_verify failed", e);
+                }
+                check(result, "qssl_dilithium_verify");
+                return result == 1;
+            }
+        }
+
+        private boolean verifyOnBouncyCastle(byte[] message, byte[] signature) {
+            try {
+                return BouncyCastleBackend.INSTANCE.newVerifier(DILITHIUM, publicKey).verify(message, signature);
+            } catch (InvalidKeyException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private static int invoke(MethodHandle function, MemorySegment key) {
+        try {
+            return (int) function.invokeExact(key);
+        } catch (Throwable e) {
+            throw new IllegalStateException("libqssl call failed", e);
+        }
+    }
+
+    /**
+     * Map a negative QSSL_ERROR_* code to an exception
+     */
+    private static void check(int result, String function) {
+        if (result < 0) {
+            throw new IllegalStateException(function + " returned " + result);
+        }
+    }
+
+    private static long offset(StructLayout layout, String field) {
+        return layout.byteOffset(groupElement(field));
+    }
+
+    private static void copyInto(MemorySegment struct, StructLayout layout, String field, byte[] value) {
+        long size = layout.select(groupElement(field)).byteSize();
+        if (value.length != size) {
+            throw new IllegalArgumentException(field + " must be " + size + " bytes, got " + value.length);
+        }
+        MemorySegment.copy(value, 0, struct, JAVA_BYTE, offset(layout, field), value.length);
+    }
+
+    private static byte[] copyOut(MemorySegment struct, StructLayout layout, String field) {
+        long size = layout.select(groupElement(field)).byteSize();
+        return struct.asSlice(offset(layout, field), size).toArray(JAVA_BYTE);
+    }
+}
@@ -0,0 +1,80 @@
+package com.qsign.oqs.benchmarks;
+
+import com.qsign.oqs.OQSProvider;
+import com.qsign.oqs.crypto.AsyncCryptoService;
+import com.qsign.oqs.crypto.AsyncCryptoService.ExecutorType;
+import com.qsign.oqs.crypto.DilithiumSignature;
+import com.qsign.oqs.crypto.DilithiumSignature.DilithiumVariant;
+import com.qsign.oqs.crypto.KyberKEM;
+import com.qsign.oqs.crypto.KyberKEM.KyberVariant;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.KeyPair;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AsyncCryptoService overhead and throughput per executor type
+ *
+ * Each invocation submits a burst of operations and waits for all of them, which is
+ * how a reactive gateway offloads a batch of requests. Compare against
+ * {@link DilithiumBenchmark#sign} for the synchronous baseline. VIRTUAL_THREADS
+ * needs a Java 21+ JVM ({@code -jvm}); on 17 it falls back to the CPU pool.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AsyncCryptoBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class ServiceState {
+
+        @Param({"CPU_POOL", "VIRTUAL_THREADS"})
+        public ExecutorType executorType;
+
+        @Param({"64"})
+        public int burst;
+
+        public AsyncCryptoService service;
+        public KeyPair signingKeys;
+        public KeyPair kemKeys;
+        public byte[] message = new byte[256];
+
+        @Setup(Level.Trial)
+        public void setup() throws Exception {
+            OQSProvider.install();
+            DilithiumSignature dilithium = new DilithiumSignature(DilithiumVariant.DILITHIUM3);
+            KyberKEM kyber = new KyberKEM(KyberVariant.KYBER768);
+            signingKeys = dilithium.generateKeyPair();
+            kemKeys = kyber.generateKeyPair();
+            service = new AsyncCryptoService(dilithium, kyber,
+                new AsyncCryptoService.Config().setExecutorType(executorType).setMaxInFlight(burst));
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            System.out.println("\n" + executorType + ": " + service.getMetrics());
+            service.close();
+        }
+    }
+
+    @Benchmark
+    public Object signBurst(ServiceState state) {
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[state.burst];
+        for (int i = 0; i < futures.length; i++) {
+            futures[i] = state.service.sign(state.signingKeys.getPrivate(), state.message);
+        }
+        return CompletableFuture.allOf(futures).join();
+    }
+
+    @Benchmark
+    public Object encapsulateBurst(ServiceState state) {
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[state.burst];
+        for (int i = 0; i < futures.length; i++) {
+            futures[i] = state.service.encapsulate(state.kemKeys.getPublic());
+        }
+        return CompletableFuture.allOf(futures).join();
+    }
+}
@@ -0,0 +1,53 @@
+package com.qsign.oqs.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+
+/**
+ * Runs the OQS benchmarks once per thread count and writes one JSON result file per run
+ *
+ * Usage:
+ *   java -cp target/benchmarks.jar com.qsign.oqs.benchmarks.BenchmarkRunner [JMH options]
+ *
+ * System properties:
+ *   oqs.bench.threads  comma-separated thread counts (default: 1,4,8)
+ *   oqs.bench.results  output directory for JSON results (default: target/jmh)
+ *
+ * Any regular JMH command-line options (benchmark regex, -p, -f, -wi, ...) are
+ * passed through, so e.g. {@code "DilithiumBenchmark.sign" -p variant=DILITHIUM3}
+ * restricts the sweep to one operation and variant.
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions cli = new CommandLineOptions(args);
+        String[] threadCounts = System.getProperty("oqs.bench.threads", "1,4,8").split(",");
+        File resultDir = new File(System.getProperty("oqs.bench.results", "target/jmh"));
+
+        if (!resultDir.isDirectory() && !resultDir.mkdirs()) {
+            throw new IllegalStateException("Cannot create result directory: " + resultDir);
+        }
+
+        for (String count : threadCounts) {
+            int threads = Integer.parseInt(count.trim());
+            File result = new File(resultDir, "oqs-t" + threads + ".json");
+
+            ChainedOptionsBuilder options = new OptionsBuilder()
+                .parent(cli)
+                .threads(threads)
+                .resultFormat(ResultFormatType.JSON)
+                .result(result.getPath());
+
+            if (cli.getIncludes().isEmpty()) {
+                options.include("com\\.qsign\\.oqs\\.benchmarks\\..*");
+            }
+
+            new Runner(options.build()).run();
+        }
+    }
+}
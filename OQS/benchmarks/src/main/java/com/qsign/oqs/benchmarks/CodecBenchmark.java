@@ -0,0 +1,102 @@
+package com.qsign.oqs.benchmarks;
+
+import com.qsign.oqs.util.CryptoUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.Base64;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Table-driven CryptoUtils codecs vs the String.format/JDK-Base64 versions they replaced
+ *
+ * Sizes are a DILITHIUM3 public key (1952) and signature (3293). The "legacy" methods
+ * are copies of the previous implementations; the "Into" variants write into a
+ * reused buffer.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CodecBenchmark {
+
+    @State(Scope.Thread)
+    public static class Data {
+        @Param({"1952", "3293"})
+        public int size;
+
+        public byte[] bytes;
+        public byte[] hexBuffer;
+        public byte[] base64Buffer;
+        public StringBuilder pemBuffer;
+        public byte[] pemBytes;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            bytes = new byte[size];
+            new Random(42).nextBytes(bytes);
+            hexBuffer = new byte[size * 2];
+            base64Buffer = new byte[CryptoUtils.base64EncodedLength(size)];
+            pemBuffer = new StringBuilder(CryptoUtils.pemEncodedLength("DILITHIUM3 PUBLIC KEY", size));
+            pemBytes = new byte[CryptoUtils.pemEncodedLength("DILITHIUM3 PUBLIC KEY", size)];
+        }
+    }
+
+    @Benchmark
+    public String legacyToHex(Data data) {
+        StringBuilder sb = new StringBuilder();
+        for (byte b : data.bytes) {
+            sb.append(String.format("%02x", b));
+        }
+        return sb.toString();
+    }
+
+    @Benchmark
+    public String toHex(Data data) {
+        return CryptoUtils.toHex(data.bytes);
+    }
+
+    @Benchmark
+    public byte[] encodeHexInto(Data data) {
+        CryptoUtils.encodeHex(data.bytes, 0, data.size, data.hexBuffer, 0);
+        return data.hexBuffer;
+    }
+
+    @Benchmark
+    public String jdkBase64(Data data) {
+        return Base64.getEncoder().encodeToString(data.bytes);
+    }
+
+    @Benchmark
+    public byte[] encodeBase64Into(Data data) {
+        CryptoUtils.encodeBase64(data.bytes, 0, data.size, data.base64Buffer, 0);
+        return data.base64Buffer;
+    }
+
+    @Benchmark
+    public String legacyPem(Data data) {
+        String base64 = Base64.getEncoder().encodeToString(data.bytes);
+        return String.format("-----BEGIN %s PUBLIC KEY-----\n%s\n-----END %s PUBLIC KEY-----",
+            "DILITHIUM3", base64, "DILITHIUM3");
+    }
+
+    @Benchmark
+    public String encodePem(Data data) {
+        return CryptoUtils.encodePEM("DILITHIUM3 PUBLIC KEY", data.bytes);
+    }
+
+    @Benchmark
+    public byte[] encodePemInto(Data data) {
+        CryptoUtils.encodePEM("DILITHIUM3 PUBLIC KEY", data.bytes, data.pemBytes, 0);
+        return data.pemBytes;
+    }
+
+    @Benchmark
+    public StringBuilder writePemInto(Data data) throws IOException {
+        data.pemBuffer.setLength(0);
+        CryptoUtils.writePEM("DILITHIUM3 PUBLIC KEY", data.bytes, data.pemBuffer);
+        return data.pemBuffer;
+    }
+}
@@ -0,0 +1,86 @@
+package com.qsign.oqs.benchmarks;
+
+import com.qsign.oqs.OQSProvider;
+import com.qsign.oqs.backend.CryptoBackend;
+import com.qsign.oqs.backend.CryptoBackends;
+import com.qsign.oqs.crypto.DilithiumSignature;
+import com.qsign.oqs.crypto.KyberKEM;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.KeyPair;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Same operations on each CryptoBackend (DILITHIUM3 / KYBER1024, the variants libqssl implements)
+ *
+ * The qssl backend needs JDK 21, the backend-qssl jar on the class path and libqssl:
+ *
+ *   java --enable-preview -cp target/benchmarks.jar:../backend-qssl/target/oqs-java-backend-qssl-1.0.0.jar \
+ *     org.openjdk.jmh.Main CryptoBackendBenchmark \
+ *     -jvmArgsAppend "--enable-preview --enable-native-access=ALL-UNNAMED -Dqsign.qssl.library=/path/libqssl.so"
+ *
+ * A backend that is not available fails its trial setup instead of silently measuring BouncyCastle.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CryptoBackendBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class BackendState {
+
+        @Param({"bc", "qssl"})
+        public String backend;
+
+        @Param({"256"})
+        public int messageSize;
+
+        public CryptoBackend cryptoBackend;
+        public CryptoBackend.Signer signer;
+        public CryptoBackend.Verifier verifier;
+        public byte[] message;
+        public byte[] signature;
+        public KeyPair kemKeys;
+        public byte[] ciphertext;
+
+        @Setup(Level.Trial)
+        public void setup() throws Exception {
+            OQSProvider.install();
+            cryptoBackend = CryptoBackends.find(backend);
+            if (cryptoBackend == null) {
+                throw new IllegalStateException("Crypto backend '" + backend + "' is not available");
+            }
+
+            KeyPair keyPair = DilithiumSignature.dilithium3().generateKeyPair();
+            signer = cryptoBackend.newSigner("DILITHIUM3", keyPair.getPrivate());
+            verifier = cryptoBackend.newVerifier("DILITHIUM3", keyPair.getPublic());
+            message = new byte[messageSize];
+            signature = signer.sign(message);
+
+            kemKeys = KyberKEM.kyber1024().generateKeyPair();
+            ciphertext = cryptoBackend.encapsulate("KYBER1024", kemKeys.getPublic()).getCiphertext();
+        }
+    }
+
+    @Benchmark
+    public byte[] sign(BackendState state) {
+        return state.signer.sign(state.message);
+    }
+
+    @Benchmark
+    public boolean verify(BackendState state) {
+        return state.verifier.verify(state.message, state.signature);
+    }
+
+    @Benchmark
+    public CryptoBackend.Encapsulation encapsulate(BackendState state) throws Exception {
+        return state.cryptoBackend.encapsulate("KYBER1024", state.kemKeys.getPublic());
+    }
+
+    @Benchmark
+    public byte[] decapsulate(BackendState state) throws Exception {
+        return state.cryptoBackend.decapsulate("KYBER1024", state.kemKeys.getPrivate(), state.ciphertext);
+    }
+}
@@ -0,0 +1,97 @@
+package com.qsign.oqs.benchmarks;
+
+import com.qsign.oqs.OQSProvider;
+import com.qsign.oqs.crypto.DilithiumSignature;
+import com.qsign.oqs.crypto.DilithiumSignature.DilithiumVariant;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.security.KeyPair;
+import java.security.PublicKey;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DILITHIUM batch verification versus N sequential {@code verify()} calls
+ *
+ * Models a gateway verifying a burst of 1 KB JWT signing inputs made with a
+ * handful of realm keys.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DilithiumBatchBenchmark {
+
+    @Param({"DILITHIUM2", "DILITHIUM3", "DILITHIUM5"})
+    public DilithiumVariant variant;
+
+    @Param({"64", "1024"})
+    public int batchSize;
+
+    @Param({"4"})
+    public int realmKeys;
+
+    private DilithiumSignature dilithium;
+    private PublicKey singleKey;
+    private List<PublicKey> mixedKeys;
+    private List<byte[]> messages;
+    private List<byte[]> singleKeySignatures;
+    private List<byte[]> mixedKeySignatures;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        OQSProvider.install();
+        dilithium = new DilithiumSignature(variant);
+
+        List<KeyPair> realms = new ArrayList<>();
+        for (int i = 0; i < realmKeys; i++) {
+            realms.add(dilithium.generateKeyPair());
+        }
+        singleKey = realms.get(0).getPublic();
+
+        mixedKeys = new ArrayList<>(batchSize);
+        messages = new ArrayList<>(batchSize);
+        singleKeySignatures = new ArrayList<>(batchSize);
+        mixedKeySignatures = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            byte[] message = new byte[1024];
+            ThreadLocalRandom.current().nextBytes(message);
+            KeyPair realm = realms.get(i % realmKeys);
+
+            messages.add(message);
+            mixedKeys.add(realm.getPublic());
+            singleKeySignatures.add(dilithium.sign(realms.get(0).getPrivate(), message));
+            mixedKeySignatures.add(dilithium.sign(realm.getPrivate(), message));
+        }
+    }
+
+    @Benchmark
+    public void sequentialVerify(Blackhole bh) throws Exception {
+        for (int i = 0; i < batchSize; i++) {
+            bh.consume(dilithium.verify(singleKey, messages.get(i), singleKeySignatures.get(i)));
+        }
+    }
+
+    @Benchmark
+    public BitSet verifyBatch() throws Exception {
+        return dilithium.verifyBatch(singleKey, messages, singleKeySignatures);
+    }
+
+    @Benchmark
+    public void sequentialVerifyMixedKeys(Blackhole bh) throws Exception {
+        for (int i = 0; i < batchSize; i++) {
+            bh.consume(dilithium.verify(mixedKeys.get(i), messages.get(i), mixedKeySignatures.get(i)));
+        }
+    }
+
+    @Benchmark
+    public BitSet verifyBatchMixedKeys() throws Exception {
+        return dilithium.verifyBatch(mixedKeys, messages, mixedKeySignatures);
+    }
+}
@@ -0,0 +1,117 @@
+package com.qsign.oqs.benchmarks;
+
+import com.qsign.oqs.OQSProvider;
+import com.qsign.oqs.crypto.DilithiumSignature;
+import com.qsign.oqs.crypto.DilithiumSignature.DilithiumVariant;
+import com.qsign.oqs.crypto.DilithiumSignature.EngineMode;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.KeyPair;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DILITHIUM (ML-DSA) key generation, signing and verification benchmarks
+ *
+ * Every {@link DilithiumVariant} is measured for throughput, average time and
+ * sample-time percentiles. Signing and verification are additionally swept
+ * across message sizes and {@link EngineMode}s (PER_CALL is the baseline);
+ * thread counts are swept by {@link BenchmarkRunner} (or JMH's {@code -t} option).
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DilithiumBenchmark {
+
+    /**
+     * Variant under test for key generation
+     */
+    @State(Scope.Benchmark)
+    public static class KeyGenState {
+
+        @Param({"DILITHIUM2", "DILITHIUM3", "DILITHIUM5"})
+        public DilithiumVariant variant;
+
+        public DilithiumSignature dilithium;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            OQSProvider.install();
+            dilithium = new DilithiumSignature(variant);
+        }
+    }
+
+    /**
+     * Variant, engine mode and long-lived key pair shared by all benchmark threads
+     */
+    @State(Scope.Benchmark)
+    public static class KeyState {
+
+        @Param({"DILITHIUM2", "DILITHIUM3", "DILITHIUM5"})
+        public DilithiumVariant variant;
+
+        @Param({"PER_CALL", "THREAD_CONFINED"})
+        public EngineMode engineMode;
+
+        public DilithiumSignature dilithium;
+        public KeyPair keyPair;
+        public DilithiumSignature.PreparedSigner preparedSigner;
+        public DilithiumSignature.PreparedVerifier preparedVerifier;
+
+        @Setup(Level.Trial)
+        public void setup() throws Exception {
+            OQSProvider.install();
+            dilithium = new DilithiumSignature(variant, engineMode);
+            keyPair = dilithium.generateKeyPair();
+            preparedSigner = dilithium.prepare(keyPair.getPrivate());
+            preparedVerifier = dilithium.prepare(keyPair.getPublic());
+        }
+    }
+
+    /**
+     * Message of the requested size together with a valid signature over it
+     */
+    @State(Scope.Benchmark)
+    public static class MessageState {
+
+        @Param({"64", "1024", "16384"})
+        public int messageSize;
+
+        public byte[] message;
+        public byte[] signature;
+
+        @Setup(Level.Trial)
+        public void setup(KeyState keys) throws Exception {
+            message = new byte[messageSize];
+            ThreadLocalRandom.current().nextBytes(message);
+            signature = keys.dilithium.sign(keys.keyPair.getPrivate(), message);
+        }
+    }
+
+    @Benchmark
+    public KeyPair keyGen(KeyGenState state) throws Exception {
+        return state.dilithium.generateKeyPair();
+    }
+
+    @Benchmark
+    public byte[] sign(KeyState keys, MessageState msg) throws Exception {
+        return keys.dilithium.sign(keys.keyPair.getPrivate(), msg.message);
+    }
+
+    @Benchmark
+    public boolean verify(KeyState keys, MessageState msg) throws Exception {
+        return keys.dilithium.verify(keys.keyPair.getPublic(), msg.message, msg.signature);
+    }
+
+    @Benchmark
+    public byte[] signPrepared(KeyState keys, MessageState msg) {
+        return keys.preparedSigner.sign(msg.message);
+    }
+
+    @Benchmark
+    public boolean verifyPrepared(KeyState keys, MessageState msg) {
+        return keys.preparedVerifier.verify(msg.message, msg.signature);
+    }
+}
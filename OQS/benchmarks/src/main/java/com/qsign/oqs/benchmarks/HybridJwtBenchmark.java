@@ -0,0 +1,98 @@
+package com.qsign.oqs.benchmarks;
+
+import com.qsign.oqs.OQSProvider;
+import com.qsign.oqs.crypto.DilithiumSignature;
+import com.qsign.oqs.crypto.DilithiumSignature.DilithiumVariant;
+import com.qsign.oqs.jwt.HybridJwtSigner;
+import com.qsign.oqs.jwt.HybridJwtVerifier;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dual-signed (RS256 + DILITHIUM) JWT signing and verification
+ *
+ * Compares sequential and parallel signing, and the cost of each verifier policy.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HybridJwtBenchmark {
+
+    private static final String CLAIMS = "{\"iss\":\"http://keycloak/realms/myrealm\",\"sub\":\"user-id\","
+        + "\"aud\":\"account\",\"exp\":1767225600,\"iat\":1767222000,\"scope\":\"openid profile email\"}";
+
+    @Param({"DILITHIUM2", "DILITHIUM3", "DILITHIUM5"})
+    public DilithiumVariant variant;
+
+    private ExecutorService executor;
+    private HybridJwtSigner sequentialSigner;
+    private HybridJwtSigner parallelSigner;
+    private DilithiumSignature dilithium;
+    private KeyPair dilithiumKeys;
+    private KeyPair rsaKeys;
+    private String token;
+
+    /**
+     * Verifier for one policy, over a token signed once per trial
+     */
+    @State(Scope.Benchmark)
+    public static class VerifierState {
+
+        @Param({"BOTH", "EITHER", "PQC_ONLY"})
+        public HybridJwtVerifier.Policy policy;
+
+        public HybridJwtVerifier verifier;
+
+        @Setup(Level.Trial)
+        public void setup(HybridJwtBenchmark bench) throws Exception {
+            verifier = new HybridJwtVerifier(policy, HybridJwtSigner.ClassicalAlgorithm.RS256,
+                bench.rsaKeys.getPublic(), bench.dilithium, bench.dilithiumKeys.getPublic());
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        OQSProvider.install();
+        executor = Executors.newCachedThreadPool();
+
+        dilithium = new DilithiumSignature(variant);
+        dilithiumKeys = dilithium.generateKeyPair();
+        KeyPairGenerator rsa = KeyPairGenerator.getInstance("RSA");
+        rsa.initialize(2048);
+        rsaKeys = rsa.generateKeyPair();
+
+        sequentialSigner = new HybridJwtSigner(HybridJwtSigner.ClassicalAlgorithm.RS256,
+            rsaKeys.getPrivate(), dilithium, dilithiumKeys.getPrivate(), "bench", null);
+        parallelSigner = new HybridJwtSigner(HybridJwtSigner.ClassicalAlgorithm.RS256,
+            rsaKeys.getPrivate(), dilithium, dilithiumKeys.getPrivate(), "bench", executor);
+        token = parallelSigner.signCompact(CLAIMS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public String signSequential() throws Exception {
+        return sequentialSigner.signCompact(CLAIMS);
+    }
+
+    @Benchmark
+    public String signParallel() throws Exception {
+        return parallelSigner.signCompact(CLAIMS);
+    }
+
+    @Benchmark
+    public boolean verify(VerifierState state) throws Exception {
+        return state.verifier.verifyCompact(token);
+    }
+}
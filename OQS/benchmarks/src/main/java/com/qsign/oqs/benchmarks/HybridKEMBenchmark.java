@@ -0,0 +1,97 @@
+package com.qsign.oqs.benchmarks;
+
+import com.qsign.oqs.OQSProvider;
+import com.qsign.oqs.crypto.HybridKEM;
+import com.qsign.oqs.crypto.KyberKEM;
+import com.qsign.oqs.crypto.KyberKEM.KyberVariant;
+import org.openjdk.jmh.annotations.*;
+
+import javax.crypto.KeyAgreement;
+import javax.crypto.SecretKey;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hybrid X25519 + KYBER handshake latency against its classical and PQC halves
+ *
+ * The concurrent hybrid should approach max(x25519*, kyber*) while the
+ * sequential hybrid approaches their sum.
+ */
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HybridKEMBenchmark {
+
+    @Param({"KYBER512", "KYBER768", "KYBER1024"})
+    public KyberVariant variant;
+
+    private ExecutorService pqcExecutor;
+    private KyberKEM kyber;
+    private HybridKEM sequential;
+    private HybridKEM concurrent;
+    private HybridKEM.HybridKeyPair recipient;
+    private byte[] kyberCiphertext;
+    private byte[] hybridCiphertext;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        OQSProvider.install();
+        pqcExecutor = Executors.newCachedThreadPool();
+        kyber = new KyberKEM(variant);
+        sequential = new HybridKEM(variant, null);
+        concurrent = new HybridKEM(variant, pqcExecutor);
+        recipient = concurrent.generateKeyPair();
+        kyberCiphertext = kyber.encapsulate(recipient.getPqc().getPublic()).getEncapsulation();
+        hybridCiphertext = concurrent.encapsulate(recipient.getPublic()).getEncapsulation();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pqcExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public byte[] x25519Encapsulate() throws Exception {
+        KeyPair ephemeral = KeyPairGenerator.getInstance("X25519").generateKeyPair();
+        KeyAgreement agreement = KeyAgreement.getInstance("X25519");
+        agreement.init(ephemeral.getPrivate());
+        agreement.doPhase(recipient.getClassical().getPublic(), true);
+        return agreement.generateSecret();
+    }
+
+    @Benchmark
+    public SecretKey kyberEncapsulate() throws Exception {
+        return kyber.encapsulate(recipient.getPqc().getPublic());
+    }
+
+    @Benchmark
+    public SecretKey hybridEncapsulateSequential() throws Exception {
+        return sequential.encapsulate(recipient.getPublic());
+    }
+
+    @Benchmark
+    public SecretKey hybridEncapsulateConcurrent() throws Exception {
+        return concurrent.encapsulate(recipient.getPublic());
+    }
+
+    @Benchmark
+    public SecretKey kyberDecapsulate() throws Exception {
+        return kyber.decapsulate(recipient.getPqc().getPrivate(), kyberCiphertext);
+    }
+
+    @Benchmark
+    public SecretKey hybridDecapsulateSequential() throws Exception {
+        return sequential.decapsulate(recipient, hybridCiphertext);
+    }
+
+    @Benchmark
+    public SecretKey hybridDecapsulateConcurrent() throws Exception {
+        return concurrent.decapsulate(recipient, hybridCiphertext);
+    }
+}
@@ -0,0 +1,61 @@
+package com.qsign.oqs.benchmarks;
+
+import com.qsign.oqs.OQSProvider;
+import com.qsign.oqs.crypto.DilithiumSignature;
+import com.qsign.oqs.crypto.DilithiumSignature.DilithiumVariant;
+import com.qsign.oqs.metrics.CryptoMetrics;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.KeyPair;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the CryptoMetrics hooks, disabled and enabled
+ *
+ * timerOnly isolates one start()/record() pair; preparedVerify shows it next to
+ * the cheapest instrumented operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InstrumentationBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class MetricsState {
+
+        @Param({"false", "true"})
+        public boolean metrics;
+
+        public DilithiumSignature.PreparedVerifier verifier;
+        public byte[] message = new byte[256];
+        public byte[] signature;
+
+        @Setup(Level.Trial)
+        public void setup() throws Exception {
+            OQSProvider.install();
+            DilithiumSignature dilithium = new DilithiumSignature(DilithiumVariant.DILITHIUM2);
+            KeyPair keyPair = dilithium.generateKeyPair();
+            verifier = dilithium.prepare(keyPair.getPublic());
+            signature = dilithium.sign(keyPair.getPrivate(), message);
+            if (metrics) {
+                CryptoMetrics.enable();
+            } else {
+                CryptoMetrics.disable();
+            }
+        }
+    }
+
+    @Benchmark
+    public long timerOnly(MetricsState state) {
+        long start = CryptoMetrics.start();
+        CryptoMetrics.record(CryptoMetrics.Operation.VERIFY, "DILITHIUM2", start, true);
+        return start;
+    }
+
+    @Benchmark
+    public boolean preparedVerify(MetricsState state) {
+        return state.verifier.verify(state.message, state.signature);
+    }
+}
@@ -0,0 +1,62 @@
+package com.qsign.oqs.benchmarks;
+
+import com.qsign.oqs.OQSProvider;
+import com.qsign.oqs.crypto.KyberKEM;
+import com.qsign.oqs.crypto.KyberKEM.KyberVariant;
+import com.qsign.oqs.provider.KeyPairPool;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.KeyPair;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ephemeral KYBER key pair latency: pooled take versus generation on the caller thread
+ *
+ * The pooled numbers only reflect the request path while the background refill
+ * keeps up; the miss count printed at tear-down shows when it did not.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class KeyPairPoolBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class PoolState {
+
+        @Param({"KYBER512", "KYBER768", "KYBER1024"})
+        public KyberVariant variant;
+
+        @Param({"64"})
+        public int highWatermark;
+
+        public KyberKEM kyber;
+        public KeyPairPool pool;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            OQSProvider.install();
+            kyber = new KyberKEM(variant);
+            pool = KeyPairPool.forKyber(variant, new KeyPairPool.Config()
+                .setLowWatermark(highWatermark / 2)
+                .setHighWatermark(highWatermark));
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            System.out.println("\n" + variant + " pool: " + pool.getMetrics());
+            pool.close();
+        }
+    }
+
+    @Benchmark
+    public KeyPair generate(PoolState state) throws Exception {
+        return state.kyber.generateKeyPair();
+    }
+
+    @Benchmark
+    public KeyPair take(PoolState state) throws Exception {
+        return state.pool.take();
+    }
+}
@@ -0,0 +1,134 @@
+package com.qsign.oqs.benchmarks;
+
+import com.qsign.oqs.OQSProvider;
+import com.qsign.oqs.crypto.DilithiumSignature;
+import com.qsign.oqs.keystore.OqsKeyStore;
+import com.qsign.oqs.keystore.OqsKeyStoreWriter;
+import com.qsign.oqs.util.CryptoUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyStore;
+import java.security.PrivateKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Loading PQC private keys at service startup
+ *
+ * pemStartup is the current approach: one PEM file parsed and decoded in full.
+ * openLazy loads {@code KeyStore.OQS}, which maps the file and reads its index;
+ * openCaching also decodes every key on {@code loadingThreads} threads, and
+ * getKey looks up a random alias in an opened store (decoding it on first use).
+ * Entries reuse a few DILITHIUM2 key pairs so the fixture builds quickly.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class KeyStoreBenchmark {
+
+    @Param({"100000"})
+    public int entries;
+
+    @Param({"4"})
+    public int loadingThreads;
+
+    private Path directory;
+    private Path storeFile;
+    private Path pemFile;
+    private KeyStore opened;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        OQSProvider.install();
+        KeyPair[] keyPairs = new KeyPair[4];
+        DilithiumSignature dilithium = DilithiumSignature.dilithium2();
+        for (int i = 0; i < keyPairs.length; i++) {
+            keyPairs[i] = dilithium.generateKeyPair();
+        }
+
+        directory = Files.createTempDirectory("oqs-keystore-bench");
+        storeFile = directory.resolve("tenants.oqsks");
+        pemFile = directory.resolve("tenants.pem");
+        try (OqsKeyStoreWriter writer = new OqsKeyStoreWriter(storeFile, 0);
+             Writer pem = Files.newBufferedWriter(pemFile, StandardCharsets.US_ASCII)) {
+            for (int i = 0; i < entries; i++) {
+                KeyPair keyPair = keyPairs[i % keyPairs.length];
+                writer.write(alias(i), "tenant", "DILITHIUM2", keyPair);
+                CryptoUtils.writePEM(alias(i) + " PRIVATE KEY", keyPair.getPrivate().getEncoded(), pem);
+            }
+        }
+        opened = openLazy();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Map<String, PrivateKey> pemStartup() throws Exception {
+        KeyFactory keyFactory = KeyFactory.getInstance("DILITHIUM2", OQSProvider.getPqcProvider());
+        Map<String, PrivateKey> keys = new HashMap<>();
+        String pem = Files.readString(pemFile, StandardCharsets.US_ASCII);
+        int position = 0;
+        while (position < pem.length()) {
+            int labelEnd = pem.indexOf("-----", position + 11);
+            String label = pem.substring(position + 11, labelEnd);
+            String end = "-----END " + label + "-----";
+            int blockEnd = pem.indexOf(end, labelEnd) + end.length();
+            byte[] der = CryptoUtils.decodePEM(pem.substring(position, blockEnd), label);
+            keys.put(label, keyFactory.generatePrivate(new PKCS8EncodedKeySpec(der)));
+            position = blockEnd + 1;
+        }
+        return keys;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public KeyStore openLazy() throws Exception {
+        KeyStore keyStore = KeyStore.getInstance(OqsKeyStore.TYPE);
+        keyStore.load(new OqsKeyStore.LoadParameter(storeFile));
+        return keyStore;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public KeyStore openCaching() throws Exception {
+        KeyStore keyStore = KeyStore.getInstance(OqsKeyStore.TYPE);
+        keyStore.load(new OqsKeyStore.LoadParameter(storeFile).setCaching(true).setLoadingThreads(loadingThreads));
+        return keyStore;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 3, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    public Key getKey() throws Exception {
+        return opened.getKey(alias(ThreadLocalRandom.current().nextInt(entries)), null);
+    }
+
+    private static String alias(int i) {
+        return String.format("tenant-%06d/DILITHIUM2", i);
+    }
+}
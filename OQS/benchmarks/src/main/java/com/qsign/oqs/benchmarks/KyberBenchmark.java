@@ -0,0 +1,82 @@
+package com.qsign.oqs.benchmarks;
+
+import com.qsign.oqs.OQSProvider;
+import com.qsign.oqs.crypto.KyberKEM;
+import com.qsign.oqs.crypto.KyberKEM.KyberVariant;
+import org.openjdk.jmh.annotations.*;
+
+import javax.crypto.SecretKey;
+import java.nio.ByteBuffer;
+import java.security.KeyPair;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * KYBER (ML-KEM) key generation, encapsulation and decapsulation benchmarks
+ *
+ * Every {@link KyberVariant} is measured for throughput, average time and
+ * sample-time percentiles. Thread counts are swept by {@link BenchmarkRunner}
+ * (or JMH's {@code -t} option).
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class KyberBenchmark {
+
+    /**
+     * Variant, long-lived key pair and one ciphertext shared by all benchmark threads
+     */
+    @State(Scope.Benchmark)
+    public static class KeyState {
+
+        @Param({"KYBER512", "KYBER768", "KYBER1024"})
+        public KyberVariant variant;
+
+        public KyberKEM kyber;
+        public KeyPair keyPair;
+        public byte[] encapsulation;
+
+        @Setup(Level.Trial)
+        public void setup() throws Exception {
+            OQSProvider.install();
+            kyber = new KyberKEM(variant);
+            keyPair = kyber.generateKeyPair();
+            encapsulation = kyber.encapsulate(keyPair.getPublic()).getEncapsulation();
+        }
+    }
+
+    /**
+     * Per-thread reusable encapsulation buffer
+     */
+    @State(Scope.Thread)
+    public static class BufferState {
+        public ByteBuffer buffer;
+
+        @Setup(Level.Trial)
+        public void setup(KeyState keys) {
+            buffer = keys.kyber.newEncapsulationBuffer();
+        }
+    }
+
+    @Benchmark
+    public KeyPair keyGen(KeyState keys) throws Exception {
+        return keys.kyber.generateKeyPair();
+    }
+
+    @Benchmark
+    public SecretKey encapsulate(KeyState keys) throws Exception {
+        return keys.kyber.encapsulate(keys.keyPair.getPublic());
+    }
+
+    @Benchmark
+    public KyberKEM.EncapsulationResult encapsulateIntoBuffer(KeyState keys, BufferState state) throws Exception {
+        state.buffer.clear();
+        return keys.kyber.encapsulate(keys.keyPair.getPublic(), state.buffer);
+    }
+
+    @Benchmark
+    public SecretKey decapsulate(KeyState keys) throws Exception {
+        return keys.kyber.decapsulate(keys.keyPair.getPrivate(), keys.encapsulation);
+    }
+}
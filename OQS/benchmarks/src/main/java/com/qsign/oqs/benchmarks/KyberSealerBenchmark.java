@@ -0,0 +1,101 @@
+package com.qsign.oqs.benchmarks;
+
+import com.qsign.oqs.OQSProvider;
+import com.qsign.oqs.crypto.KyberKEM;
+import com.qsign.oqs.crypto.KyberSealer;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.KeyPair;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sealing and unsealing a large file with KyberSealer, chunks on the caller thread
+ * versus the common fork-join pool
+ *
+ * Divide sizeMb by the score for MB/s. The heap is capped well below the file size
+ * to show that memory use does not grow with the payload.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx256m")
+public class KyberSealerBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class FileState {
+
+        @Param({"256"})
+        public int sizeMb;
+
+        @Param({"65536", "1048576"})
+        public int chunkSize;
+
+        @Param({"inline", "parallel"})
+        public String mode;
+
+        public KyberSealer sealer;
+        public KeyPair keyPair;
+        public Path plaintext;
+        public Path sealed;
+        public Path output;
+
+        @Setup(Level.Trial)
+        public void setup() throws Exception {
+            OQSProvider.install();
+            KyberKEM kyber = KyberKEM.kyber768();
+            KyberSealer.Config config = new KyberSealer.Config().setChunkSize(chunkSize);
+            if ("inline".equals(mode)) {
+                config.setExecutor(null);
+            }
+            sealer = new KyberSealer(kyber, config);
+            keyPair = kyber.generateKeyPair();
+
+            plaintext = Files.createTempFile("oqs-bench-", ".bin");
+            sealed = Files.createTempFile("oqs-bench-", ".sealed");
+            output = Files.createTempFile("oqs-bench-", ".out");
+            byte[] block = new byte[1024 * 1024];
+            new Random(1).nextBytes(block);
+            try (OutputStream out = Files.newOutputStream(plaintext)) {
+                for (int i = 0; i < sizeMb; i++) {
+                    out.write(block);
+                }
+            }
+            try (InputStream in = Files.newInputStream(plaintext);
+                 FileChannel channel = FileChannel.open(sealed, StandardOpenOption.WRITE)) {
+                sealer.seal(keyPair.getPublic(), in, channel);
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws Exception {
+            Files.deleteIfExists(plaintext);
+            Files.deleteIfExists(sealed);
+            Files.deleteIfExists(output);
+        }
+    }
+
+    @Benchmark
+    public long seal(FileState state) throws Exception {
+        try (InputStream in = Files.newInputStream(state.plaintext);
+             FileChannel channel = FileChannel.open(state.output, StandardOpenOption.WRITE,
+                 StandardOpenOption.TRUNCATE_EXISTING)) {
+            return state.sealer.seal(state.keyPair.getPublic(), in, channel);
+        }
+    }
+
+    @Benchmark
+    public long unseal(FileState state) throws Exception {
+        try (FileChannel channel = FileChannel.open(state.sealed, StandardOpenOption.READ);
+             OutputStream out = OutputStream.nullOutputStream()) {
+            return state.sealer.unseal(state.keyPair.getPrivate(), channel, out);
+        }
+    }
+}
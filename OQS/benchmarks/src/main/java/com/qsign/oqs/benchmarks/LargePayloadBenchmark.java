@@ -0,0 +1,77 @@
+package com.qsign.oqs.benchmarks;
+
+import com.qsign.oqs.OQSProvider;
+import com.qsign.oqs.crypto.DilithiumSignature;
+import com.qsign.oqs.crypto.DilithiumSignature.DilithiumVariant;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Signing a large file: whole-file byte[] versus streaming and memory-mapped pre-hash
+ *
+ * The byte[] path reads the file onto the heap and signs the raw message; the
+ * pre-hash paths digest it in constant memory. Run with {@code -prof gc} to
+ * compare allocation per operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class LargePayloadBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class FileState {
+
+        @Param({"16", "256"})
+        public int sizeMb;
+
+        public DilithiumSignature dilithium;
+        public KeyPair keyPair;
+        public Path file;
+
+        @Setup(Level.Trial)
+        public void setup() throws Exception {
+            OQSProvider.install();
+            dilithium = new DilithiumSignature(DilithiumVariant.DILITHIUM3);
+            keyPair = dilithium.generateKeyPair();
+
+            file = Files.createTempFile("oqs-bench-", ".bin");
+            byte[] block = new byte[1024 * 1024];
+            new Random(1).nextBytes(block);
+            try (var out = Files.newOutputStream(file)) {
+                for (int i = 0; i < sizeMb; i++) {
+                    out.write(block);
+                }
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws Exception {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Benchmark
+    public byte[] byteArray(FileState state) throws Exception {
+        return state.dilithium.sign(state.keyPair.getPrivate(), Files.readAllBytes(state.file));
+    }
+
+    @Benchmark
+    public byte[] prehashInputStream(FileState state) throws Exception {
+        try (InputStream in = Files.newInputStream(state.file)) {
+            return state.dilithium.signPrehashed(state.keyPair.getPrivate(), in);
+        }
+    }
+
+    @Benchmark
+    public byte[] prehashMapped(FileState state) throws Exception {
+        return state.dilithium.signPrehashed(state.keyPair.getPrivate(), state.file);
+    }
+}
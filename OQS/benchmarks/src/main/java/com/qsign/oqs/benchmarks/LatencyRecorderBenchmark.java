@@ -0,0 +1,57 @@
+package com.qsign.oqs.benchmarks;
+
+import com.qsign.oqs.metrics.LatencyRecorder;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of recording one latency from many threads
+ *
+ * synchronizedList is the approach the Luna PerformanceMonitor sample used before
+ * (one lock, one boxed Integer per record); recorder is the striped LatencyRecorder.
+ * The list is cleared each iteration the way the monitor swapped it out.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class LatencyRecorderBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class RecorderState {
+        public LatencyRecorder recorder = new LatencyRecorder();
+        public List<Integer> list = Collections.synchronizedList(new ArrayList<>());
+
+        @Setup(Level.Iteration)
+        public void swap() {
+            recorder.reset();
+            list = Collections.synchronizedList(new ArrayList<>());
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ValueState {
+        public long value = 1_000;
+
+        public long next() {
+            value = value * 6364136223846793005L + 1442695040888963407L;
+            return (value >>> 40) & 0xFFFFF;
+        }
+    }
+
+    @Benchmark
+    public void recorder(RecorderState state, ValueState values) {
+        state.recorder.record(values.next());
+    }
+
+    @Benchmark
+    public void synchronizedList(RecorderState state, ValueState values) {
+        state.list.add((int) values.next());
+    }
+}
@@ -0,0 +1,416 @@
+package com.qsign.oqs.benchmarks;
+
+import com.qsign.oqs.ntt.NttEngine;
+import com.qsign.oqs.ntt.NttEngines;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Polynomial arithmetic per variant: BouncyCastle's internal Poly routines vs the NTT engines
+ *
+ * matrixVector is the product t = invNTT(A * NTT(s)) with the variant's k x l matrix,
+ * the arithmetic core of DILITHIUM key generation, signing and verification and of
+ * KYBER key generation and encapsulation. transform is one forward NTT (with KYBER's
+ * reduction, as Poly.polyNtt) plus one inverse NTT.
+ *
+ * The bc engine calls BouncyCastle's package-private Poly classes through reflection
+ * (a few calls per operation). Setup checks that every engine produces the
+ * BouncyCastle result before anything is measured. The vector engine needs a
+ * preferred vector shape of at least 256 bits; otherwise its trials fail in setup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class NttEngineBenchmark {
+
+    private static final String BC_PACKAGE = "org.bouncycastle.pqc.crypto.crystals.";
+
+    @State(Scope.Benchmark)
+    public static class ArithmeticState {
+
+        @Param({"bc", "scalar", "vector"})
+        public String engine;
+
+        @Param({"DILITHIUM2", "DILITHIUM3", "DILITHIUM5", "KYBER512", "KYBER768", "KYBER1024"})
+        public String variant;
+
+        Workload workload;
+
+        @Setup(Level.Trial)
+        public void setup() throws Exception {
+            Random random = new Random(42);
+            Workload reference = workload("bc", random);
+            workload = engine.equals("bc") ? reference : workload(engine, new Random(42));
+
+            reference.matrixVector();
+            workload.matrixVector();
+            if (!Arrays.equals(reference.result(), workload.result())) {
+                throw new IllegalStateException("NTT engine '" + engine + "' does not match BouncyCastle for " + variant);
+            }
+        }
+
+        private Workload workload(String name, Random random) throws Exception {
+            boolean dilithium = variant.startsWith("DILITHIUM");
+            if (name.equals("bc")) {
+                return dilithium ? new BcDilithium(variant, random) : new BcKyber(variant, random);
+            }
+            NttEngine nttEngine = NttEngines.find(name);
+            if (nttEngine == null) {
+                throw new IllegalStateException("NTT engine '" + name + "' is not available");
+            }
+            return dilithium ? new EngineDilithium(nttEngine, variant, random) : new EngineKyber(nttEngine, variant, random);
+        }
+    }
+
+    @Benchmark
+    public Object matrixVector(ArithmeticState state) throws Exception {
+        return state.workload.matrixVector();
+    }
+
+    @Benchmark
+    public Object transform(ArithmeticState state) throws Exception {
+        return state.workload.transform();
+    }
+
+    interface Workload {
+        Object matrixVector() throws Exception;
+
+        Object transform() throws Exception;
+
+        /**
+         * First output polynomial of the last matrixVector, as ints
+         */
+        int[] result() throws Exception;
+    }
+
+    /**
+     * Matrix dimensions (rows, columns) of each variant
+     */
+    static int[] dimensions(String variant) {
+        switch (variant) {
+            case "DILITHIUM2": return new int[] {4, 4};
+            case "DILITHIUM3": return new int[] {6, 5};
+            case "DILITHIUM5": return new int[] {8, 7};
+            case "KYBER512": return new int[] {2, 2};
+            case "KYBER768": return new int[] {3, 3};
+            case "KYBER1024": return new int[] {4, 4};
+            default: throw new IllegalArgumentException("Unknown variant " + variant);
+        }
+    }
+
+    static int[] dilithiumPoly(Random random) {
+        int[] poly = new int[NttEngine.N];
+        for (int i = 0; i < poly.length; i++) {
+            poly[i] = random.nextInt(NttEngine.DILITHIUM_Q);
+        }
+        return poly;
+    }
+
+    static short[] kyberPoly(Random random) {
+        short[] poly = new short[NttEngine.N];
+        for (int i = 0; i < poly.length; i++) {
+            poly[i] = (short) random.nextInt(NttEngine.KYBER_Q);
+        }
+        return poly;
+    }
+
+    static final class EngineDilithium implements Workload {
+        private final NttEngine engine;
+        private final int[][][] matrix;
+        private final int[][] s;
+        private final int[][] sHat;
+        private final int[][] t;
+        private final int[] scratch = new int[NttEngine.N];
+
+        EngineDilithium(NttEngine engine, String variant, Random random) {
+            int[] dims = dimensions(variant);
+            this.engine = engine;
+            matrix = new int[dims[0]][dims[1]][];
+            for (int[][] row : matrix) {
+                for (int j = 0; j < row.length; j++) {
+                    row[j] = dilithiumPoly(random);
+                }
+            }
+            s = new int[dims[1]][];
+            for (int j = 0; j < s.length; j++) {
+                s[j] = dilithiumPoly(random);
+            }
+            sHat = new int[dims[1]][NttEngine.N];
+            t = new int[dims[0]][NttEngine.N];
+        }
+
+        @Override
+        public Object matrixVector() {
+            for (int j = 0; j < s.length; j++) {
+                System.arraycopy(s[j], 0, sHat[j], 0, NttEngine.N);
+                engine.dilithiumNtt(sHat[j]);
+            }
+            for (int i = 0; i < t.length; i++) {
+                engine.dilithiumPointwiseAccumulate(t[i], matrix[i], sHat);
+                engine.dilithiumInvNttToMont(t[i]);
+            }
+            return t;
+        }
+
+        @Override
+        public Object transform() {
+            System.arraycopy(s[0], 0, scratch, 0, NttEngine.N);
+            engine.dilithiumNtt(scratch);
+            engine.dilithiumInvNttToMont(scratch);
+            return scratch;
+        }
+
+        @Override
+        public int[] result() {
+            return t[0];
+        }
+    }
+
+    static final class EngineKyber implements Workload {
+        private final NttEngine engine;
+        private final short[][][] matrix;
+        private final short[][] s;
+        private final short[][] sHat;
+        private final short[][] t;
+        private final short[] scratch = new short[NttEngine.N];
+
+        EngineKyber(NttEngine engine, String variant, Random random) {
+            int[] dims = dimensions(variant);
+            this.engine = engine;
+            matrix = new short[dims[0]][dims[1]][];
+            for (short[][] row : matrix) {
+                for (int j = 0; j < row.length; j++) {
+                    row[j] = kyberPoly(random);
+                }
+            }
+            s = new short[dims[1]][];
+            for (int j = 0; j < s.length; j++) {
+                s[j] = kyberPoly(random);
+            }
+            sHat = new short[dims[1]][NttEngine.N];
+            t = new short[dims[0]][NttEngine.N];
+        }
+
+        @Override
+        public Object matrixVector() {
+            for (int j = 0; j < s.length; j++) {
+                System.arraycopy(s[j], 0, sHat[j], 0, NttEngine.N);
+                engine.kyberNtt(sHat[j]);
+                engine.kyberReduce(sHat[j]);
+            }
+            for (int i = 0; i < t.length; i++) {
+                engine.kyberBaseMultiplyAccumulate(t[i], matrix[i], sHat);
+                engine.kyberInvNttToMont(t[i]);
+            }
+            return t;
+        }
+
+        @Override
+        public Object transform() {
+            System.arraycopy(s[0], 0, scratch, 0, NttEngine.N);
+            engine.kyberNtt(scratch);
+            engine.kyberReduce(scratch);
+            engine.kyberInvNttToMont(scratch);
+            return scratch;
+        }
+
+        @Override
+        public int[] result() {
+            int[] result = new int[NttEngine.N];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = t[0][i];
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Same computation on BouncyCastle's PolyVecL / Poly, as its signer does it
+     */
+    static final class BcDilithium implements Workload {
+        private final Object[] matrixRows;
+        private final int[][] s;
+        private final Object vectorS;
+        private final Object[] t;
+        private final Object scratch;
+        private final Method setCoeffs;
+        private final Method getCoeffs;
+        private final Method vectorIndex;
+        private final Method polyVecNtt;
+        private final Method accumulate;
+        private final Method invNtt;
+        private final Method polyNtt;
+
+        BcDilithium(String variant, Random random) throws Exception {
+            int[] dims = dimensions(variant);
+            int mode = variant.charAt(variant.length() - 1) - '0';
+            Class<?> engineType = bcClass("dilithium.DilithiumEngine");
+            Object engine = bcConstructor("dilithium.DilithiumEngine", int.class, SecureRandom.class, boolean.class)
+                .newInstance(mode, new SecureRandom(), false);
+            Constructor<?> newPoly = bcConstructor("dilithium.Poly", engineType);
+            Constructor<?> newPolyVecL = bcConstructor("dilithium.PolyVecL", engineType);
+            setCoeffs = bcMethod("dilithium.Poly", "setCoeffs", int[].class);
+            getCoeffs = bcMethod("dilithium.Poly", "getCoeffs");
+            vectorIndex = bcMethod("dilithium.PolyVecL", "getVectorIndex", int.class);
+            polyVecNtt = bcMethod("dilithium.PolyVecL", "polyVecNtt");
+            accumulate = bcMethod("dilithium.Poly", "pointwiseAccountMontgomery",
+                bcClass("dilithium.PolyVecL"), bcClass("dilithium.PolyVecL"));
+            invNtt = bcMethod("dilithium.Poly", "invNttToMont");
+            polyNtt = bcMethod("dilithium.Poly", "polyNtt");
+
+            // same draw order as EngineDilithium
+            matrixRows = new Object[dims[0]];
+            for (int i = 0; i < dims[0]; i++) {
+                matrixRows[i] = newPolyVecL.newInstance(engine);
+                for (int j = 0; j < dims[1]; j++) {
+                    setCoeffs.invoke(vectorIndex.invoke(matrixRows[i], j), (Object) dilithiumPoly(random));
+                }
+            }
+            s = new int[dims[1]][];
+            for (int j = 0; j < s.length; j++) {
+                s[j] = dilithiumPoly(random);
+            }
+            vectorS = newPolyVecL.newInstance(engine);
+            t = new Object[dims[0]];
+            for (int i = 0; i < t.length; i++) {
+                t[i] = newPoly.newInstance(engine);
+            }
+            scratch = newPoly.newInstance(engine);
+        }
+
+        @Override
+        public Object matrixVector() throws Exception {
+            // Ntt.ntt copies its input, so s itself is never modified
+            for (int j = 0; j < s.length; j++) {
+                setCoeffs.invoke(vectorIndex.invoke(vectorS, j), (Object) s[j]);
+            }
+            polyVecNtt.invoke(vectorS);
+            for (int i = 0; i < t.length; i++) {
+                accumulate.invoke(t[i], matrixRows[i], vectorS);
+                invNtt.invoke(t[i]);
+            }
+            return t;
+        }
+
+        @Override
+        public Object transform() throws Exception {
+            setCoeffs.invoke(scratch, (Object) s[0]);
+            polyNtt.invoke(scratch);
+            invNtt.invoke(scratch);
+            return scratch;
+        }
+
+        @Override
+        public int[] result() throws Exception {
+            return (int[]) getCoeffs.invoke(t[0]);
+        }
+    }
+
+    /**
+     * Same computation on BouncyCastle's PolyVec / Poly, as its KEM does it
+     */
+    static final class BcKyber implements Workload {
+        private final Object engine;
+        private final Object[] matrixRows;
+        private final short[][] s;
+        private final Object vectorS;
+        private final Object[] t;
+        private final Object scratch;
+        private final Method setCoeffs;
+        private final Method getCoeffs;
+        private final Method vectorIndex;
+        private final Method polyVecNtt;
+        private final Method accumulate;
+        private final Method invNtt;
+        private final Method polyNtt;
+
+        BcKyber(String variant, Random random) throws Exception {
+            int[] dims = dimensions(variant);
+            Class<?> engineType = bcClass("kyber.KyberEngine");
+            engine = bcConstructor("kyber.KyberEngine", int.class, boolean.class).newInstance(dims[0], false);
+            Constructor<?> newPoly = bcConstructor("kyber.Poly", engineType);
+            Constructor<?> newPolyVec = bcConstructor("kyber.PolyVec", engineType);
+            setCoeffs = bcMethod("kyber.Poly", "setCoeffs", short[].class);
+            getCoeffs = bcMethod("kyber.Poly", "getCoeffs");
+            vectorIndex = bcMethod("kyber.PolyVec", "getVectorIndex", int.class);
+            polyVecNtt = bcMethod("kyber.PolyVec", "polyVecNtt");
+            accumulate = bcMethod("kyber.PolyVec", "pointwiseAccountMontgomery",
+                bcClass("kyber.Poly"), bcClass("kyber.PolyVec"), bcClass("kyber.PolyVec"), engineType);
+            invNtt = bcMethod("kyber.Poly", "polyInverseNttToMont");
+            polyNtt = bcMethod("kyber.Poly", "polyNtt");
+
+            matrixRows = new Object[dims[0]];
+            for (int i = 0; i < dims[0]; i++) {
+                matrixRows[i] = newPolyVec.newInstance(engine);
+                for (int j = 0; j < dims[1]; j++) {
+                    setCoeffs.invoke(vectorIndex.invoke(matrixRows[i], j), (Object) kyberPoly(random));
+                }
+            }
+            s = new short[dims[1]][];
+            for (int j = 0; j < s.length; j++) {
+                s[j] = kyberPoly(random);
+            }
+            vectorS = newPolyVec.newInstance(engine);
+            t = new Object[dims[0]];
+            for (int i = 0; i < t.length; i++) {
+                t[i] = newPoly.newInstance(engine);
+            }
+            scratch = newPoly.newInstance(engine);
+        }
+
+        @Override
+        public Object matrixVector() throws Exception {
+            for (int j = 0; j < s.length; j++) {
+                setCoeffs.invoke(vectorIndex.invoke(vectorS, j), (Object) s[j]);
+            }
+            polyVecNtt.invoke(vectorS);
+            for (int i = 0; i < t.length; i++) {
+                accumulate.invoke(null, t[i], matrixRows[i], vectorS, engine);
+                invNtt.invoke(t[i]);
+            }
+            return t;
+        }
+
+        @Override
+        public Object transform() throws Exception {
+            setCoeffs.invoke(scratch, (Object) s[0]);
+            polyNtt.invoke(scratch);
+            invNtt.invoke(scratch);
+            return scratch;
+        }
+
+        @Override
+        public int[] result() throws Exception {
+            short[] coeffs = (short[]) getCoeffs.invoke(t[0]);
+            int[] result = new int[coeffs.length];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = coeffs[i];
+            }
+            return result;
+        }
+    }
+
+    static Class<?> bcClass(String name) throws ClassNotFoundException {
+        return Class.forName(BC_PACKAGE + name);
+    }
+
+    static Method bcMethod(String type, String name, Class<?>... parameters) throws Exception {
+        Method method = bcClass(type).getDeclaredMethod(name, parameters);
+        method.setAccessible(true);
+        return method;
+    }
+
+    static Constructor<?> bcConstructor(String type, Class<?>... parameters) throws Exception {
+        Constructor<?> constructor = bcClass(type).getDeclaredConstructor(parameters);
+        constructor.setAccessible(true);
+        return constructor;
+    }
+}
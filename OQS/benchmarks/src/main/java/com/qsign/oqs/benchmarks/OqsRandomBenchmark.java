@@ -0,0 +1,75 @@
+package com.qsign.oqs.benchmarks;
+
+import com.qsign.oqs.util.OqsRandom;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Random fills from many threads: a new SecureRandom per call (what the wrappers
+ * used to do), one shared SecureRandom, and the striped OqsRandom pool per mechanism
+ *
+ * Run with -t to vary the thread count; the contended count is printed after each trial.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(16)
+@State(Scope.Benchmark)
+public class OqsRandomBenchmark {
+
+    @Param({"new", "shared", "HASH", "HMAC", "CTR"})
+    public String source;
+
+    @Param({"32", "1024"})
+    public int size;
+
+    private SecureRandom shared;
+    private OqsRandom pool;
+
+    @State(Scope.Thread)
+    public static class Buffer {
+        public byte[] bytes;
+
+        @Setup(Level.Trial)
+        public void setup(OqsRandomBenchmark benchmark) {
+            bytes = new byte[benchmark.size];
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        if ("shared".equals(source)) {
+            shared = new SecureRandom();
+        } else if (!"new".equals(source)) {
+            pool = new OqsRandom(new OqsRandom.Config()
+                .setMechanism(OqsRandom.Mechanism.valueOf(source))
+                .setReseedInterval(Duration.ofSeconds(1)));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (pool != null) {
+            System.out.println();
+            System.out.println(pool);
+            pool.close();
+        }
+    }
+
+    @Benchmark
+    public byte[] fill(Buffer buffer) {
+        if (pool != null) {
+            pool.nextBytes(buffer.bytes);
+        } else if (shared != null) {
+            shared.nextBytes(buffer.bytes);
+        } else {
+            new SecureRandom().nextBytes(buffer.bytes);
+        }
+        return buffer.bytes;
+    }
+}
@@ -0,0 +1,60 @@
+package com.qsign.oqs.benchmarks;
+
+import com.qsign.oqs.OQSProvider;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.Provider;
+import java.security.Security;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OQS provider installation cost
+ *
+ * coldInstall runs once per fresh JVM with every benchmark thread calling
+ * {@link OQSProvider#install()} at the same time, so it measures first-install
+ * latency under contention; tear-down fails the run unless OQS, BC and BCPQC
+ * were each registered exactly once. installedFastPath measures the cost of
+ * the repeated install() calls made by every integration entry point.
+ */
+@Fork(10)
+public class ProviderStartupBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class RegistrationCheck {
+
+        @TearDown(Level.Trial)
+        public void verifyRegisteredOnce() {
+            for (String name : new String[]{"OQS", "BC", "BCPQC"}) {
+                long count = 0;
+                for (Provider provider : Security.getProviders()) {
+                    if (name.equals(provider.getName())) {
+                        count++;
+                    }
+                }
+                if (count != 1) {
+                    throw new IllegalStateException(name + " registered " + count + " times");
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    @Threads(8)
+    public void coldInstall(RegistrationCheck check) {
+        OQSProvider.install();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 3, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    @Fork(1)
+    public void installedFastPath(RegistrationCheck check) {
+        OQSProvider.install();
+    }
+}
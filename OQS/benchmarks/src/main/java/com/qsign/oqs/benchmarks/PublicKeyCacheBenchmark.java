@@ -0,0 +1,79 @@
+package com.qsign.oqs.benchmarks;
+
+import com.qsign.oqs.OQSProvider;
+import com.qsign.oqs.crypto.DilithiumSignature;
+import com.qsign.oqs.crypto.DilithiumSignature.DilithiumVariant;
+import com.qsign.oqs.provider.PublicKeyCache;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.PublicKey;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-token public key handling: decode every time vs PublicKeyCache
+ *
+ * decode* benchmarks isolate getting from the encoded key (or kid) to something
+ * that can verify; verify* include the DILITHIUM verification itself.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PublicKeyCacheBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class KeyState {
+
+        @Param({"DILITHIUM2", "DILITHIUM5"})
+        public String variant;
+
+        public DilithiumSignature dilithium;
+        public byte[] encoded;
+        public byte[] message = new byte[256];
+        public byte[] signature;
+        public PublicKeyCache cache = new PublicKeyCache();
+        public PublicKeyCache.KeyLoader loader;
+
+        @Setup(Level.Trial)
+        public void setup() throws Exception {
+            OQSProvider.install();
+            dilithium = new DilithiumSignature(DilithiumVariant.valueOf(variant));
+            KeyPair keyPair = dilithium.generateKeyPair();
+            encoded = keyPair.getPublic().getEncoded();
+            signature = dilithium.sign(keyPair.getPrivate(), message);
+            loader = kid -> encoded;
+        }
+    }
+
+    @Benchmark
+    public PublicKey decodeKeyFactory(KeyState state) throws Exception {
+        return KeyFactory.getInstance("DILITHIUM", OQSProvider.getPqcProvider())
+            .generatePublic(new X509EncodedKeySpec(state.encoded));
+    }
+
+    @Benchmark
+    public DilithiumSignature.PreparedVerifier decodeCachedByEncoding(KeyState state) throws Exception {
+        return state.cache.getVerifier(state.encoded);
+    }
+
+    @Benchmark
+    public DilithiumSignature.PreparedVerifier decodeCachedByKid(KeyState state) throws Exception {
+        return state.cache.getVerifier("kid-1", state.loader);
+    }
+
+    @Benchmark
+    public boolean verifyDecodeEachTime(KeyState state) throws Exception {
+        PublicKey publicKey = KeyFactory.getInstance("DILITHIUM", OQSProvider.getPqcProvider())
+            .generatePublic(new X509EncodedKeySpec(state.encoded));
+        return state.dilithium.verify(publicKey, state.message, state.signature);
+    }
+
+    @Benchmark
+    public boolean verifyCachedByKid(KeyState state) throws Exception {
+        return state.cache.getVerifier("kid-1", state.loader).verify(state.message, state.signature);
+    }
+}
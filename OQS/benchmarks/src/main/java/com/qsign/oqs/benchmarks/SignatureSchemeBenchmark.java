@@ -0,0 +1,101 @@
+package com.qsign.oqs.benchmarks;
+
+import com.qsign.oqs.OQSProvider;
+import com.qsign.oqs.crypto.DilithiumSignature;
+import com.qsign.oqs.crypto.DilithiumSignature.DilithiumVariant;
+import com.qsign.oqs.crypto.FalconSignature;
+import com.qsign.oqs.crypto.FalconSignature.FalconVariant;
+import com.qsign.oqs.crypto.PqcSignature;
+import com.qsign.oqs.jwt.HybridJwtSigner;
+import com.qsign.oqs.jwt.HybridJwtVerifier;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DILITHIUM versus FALCON: bytes on the wire and sign/verify cost, for picking a
+ * PQC signature per realm
+ *
+ * Sizes (mean signature, encoded public key, compact RS256 + PQC JWT) are printed
+ * after each trial; the JWT benchmarks include the RS256 half.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SignatureSchemeBenchmark {
+
+    private static final String CLAIMS = "{\"iss\":\"http://keycloak/realms/myrealm\",\"sub\":\"user-id\","
+        + "\"aud\":\"account\",\"exp\":1767225600,\"iat\":1767222000,\"scope\":\"openid profile email\"}";
+    private static final byte[] MESSAGE = CLAIMS.getBytes(StandardCharsets.UTF_8);
+    private static final int SIZE_SAMPLES = 200;
+
+    @Param({"DILITHIUM2", "DILITHIUM3", "FALCON-512", "FALCON-1024"})
+    public String scheme;
+
+    private PqcSignature pqc;
+    private KeyPair keyPair;
+    private PqcSignature.Signer signer;
+    private PqcSignature.Verifier verifier;
+    private byte[] signature;
+    private HybridJwtSigner jwtSigner;
+    private HybridJwtVerifier jwtVerifier;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        OQSProvider.install();
+        pqc = scheme.startsWith("FALCON")
+            ? new FalconSignature(FalconVariant.valueOf(scheme.replace("-", "")))
+            : new DilithiumSignature(DilithiumVariant.valueOf(scheme));
+        keyPair = pqc.generateKeyPair();
+        signer = pqc.prepare(keyPair.getPrivate());
+        verifier = pqc.prepare(keyPair.getPublic());
+        signature = signer.sign(MESSAGE);
+
+        KeyPairGenerator rsa = KeyPairGenerator.getInstance("RSA");
+        rsa.initialize(2048);
+        KeyPair rsaKeys = rsa.generateKeyPair();
+        jwtSigner = new HybridJwtSigner(HybridJwtSigner.ClassicalAlgorithm.RS256,
+            rsaKeys.getPrivate(), pqc, keyPair.getPrivate(), "bench", null);
+        jwtVerifier = new HybridJwtVerifier(HybridJwtVerifier.Policy.BOTH, HybridJwtSigner.ClassicalAlgorithm.RS256,
+            rsaKeys.getPublic(), pqc, keyPair.getPublic());
+        token = jwtSigner.signCompact(CLAIMS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        long total = 0;
+        for (int i = 0; i < SIZE_SAMPLES; i++) {
+            total += signer.sign(MESSAGE).length;
+        }
+        System.out.printf("%n%s bytes on wire: signature %.1f (max %d), public key %d, compact JWT %d%n",
+            scheme, (double) total / SIZE_SAMPLES, pqc.getSignatureSize(),
+            keyPair.getPublic().getEncoded().length, token.length());
+    }
+
+    @Benchmark
+    public byte[] sign() {
+        return signer.sign(MESSAGE);
+    }
+
+    @Benchmark
+    public boolean verify() {
+        return verifier.verify(MESSAGE, signature);
+    }
+
+    @Benchmark
+    public String jwtSign() throws Exception {
+        return jwtSigner.signCompact(CLAIMS);
+    }
+
+    @Benchmark
+    public boolean jwtVerify() throws Exception {
+        return jwtVerifier.verifyCompact(token);
+    }
+}
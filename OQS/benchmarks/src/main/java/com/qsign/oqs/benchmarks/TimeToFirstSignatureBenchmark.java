@@ -0,0 +1,50 @@
+package com.qsign.oqs.benchmarks;
+
+import com.qsign.oqs.OQSProvider;
+import com.qsign.oqs.crypto.DilithiumSignature;
+import com.qsign.oqs.crypto.DilithiumSignature.DilithiumVariant;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cold-start cost: provider installation through the first DILITHIUM signature
+ *
+ * Each sample is a fresh JVM that installs the provider in the selected
+ * registration mode, generates a key pair and signs once. Compare the modes
+ * with JMH's {@code -jvmArgsAppend} to reproduce container limits
+ * ({@code -XX:ActiveProcessorCount=1 -Xmx256m}) or a CDS archive
+ * ({@code -XX:SharedArchiveFile=oqs.jsa}); see README "Startup Time".
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(20)
+public class TimeToFirstSignatureBenchmark {
+
+    private static final byte[] MESSAGE = "QSIGN cold start".getBytes(StandardCharsets.UTF_8);
+
+    @State(Scope.Benchmark)
+    public static class ModeState {
+
+        @Param({"eager", "lazy"})
+        public String registration;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            // Must run before OQSProvider is initialized in this fork
+            System.setProperty(OQSProvider.REGISTRATION_PROPERTY, registration);
+        }
+    }
+
+    @Benchmark
+    public byte[] installAndSign(ModeState state) throws Exception {
+        OQSProvider.install();
+        DilithiumSignature dilithium = new DilithiumSignature(DilithiumVariant.DILITHIUM3);
+        KeyPair keyPair = dilithium.generateKeyPair();
+        return dilithium.sign(keyPair.getPrivate(), MESSAGE);
+    }
+}
@@ -0,0 +1,61 @@
+package com.qsign.oqs.benchmarks;
+
+import com.qsign.oqs.OQSProvider;
+import com.qsign.oqs.crypto.DilithiumSignature;
+import com.qsign.oqs.crypto.DilithiumSignature.DilithiumVariant;
+import com.qsign.oqs.crypto.VerificationCache;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.KeyPair;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Repeated verification of the same token: full DILITHIUM verify vs VerificationCache hit
+ *
+ * cachedHit measures the steady state of a token presented many times (one SHA-256
+ * over key, message and signature plus a map lookup).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VerificationCacheBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class TokenState {
+
+        @Param({"DILITHIUM2", "DILITHIUM5"})
+        public String variant;
+
+        @Param({"256"})
+        public int messageSize;
+
+        public DilithiumSignature.PreparedVerifier verifier;
+        public byte[] encoded;
+        public byte[] message;
+        public byte[] signature;
+        public VerificationCache cache = new VerificationCache();
+
+        @Setup(Level.Trial)
+        public void setup() throws Exception {
+            OQSProvider.install();
+            DilithiumSignature dilithium = new DilithiumSignature(DilithiumVariant.valueOf(variant));
+            KeyPair keyPair = dilithium.generateKeyPair();
+            verifier = dilithium.prepare(keyPair.getPublic());
+            encoded = keyPair.getPublic().getEncoded();
+            message = new byte[messageSize];
+            signature = dilithium.sign(keyPair.getPrivate(), message);
+        }
+    }
+
+    @Benchmark
+    public boolean uncached(TokenState state) {
+        return state.verifier.verify(state.message, state.signature);
+    }
+
+    @Benchmark
+    public boolean cachedHit(TokenState state) throws Exception {
+        return state.cache.verify(state.verifier, state.encoded, state.message, state.signature, Long.MAX_VALUE);
+    }
+}
@@ -0,0 +1,88 @@
+package com.qsign.oqs.ntt;
+
+/**
+ * Polynomial arithmetic behind DILITHIUM (ML-DSA) and KYBER (ML-KEM)
+ *
+ * Number-theoretic transforms and NTT-domain products over Z_q[X]/(X^256 + 1), with
+ * q = 8380417 for DILITHIUM and q = 3329 for KYBER. Every method produces exactly the
+ * coefficients of the corresponding BouncyCastle routine (same Montgomery and Barrett
+ * representatives, same 32-bit and 16-bit wrap-around), so an implementation can be
+ * swapped in under a signature or KEM without changing any known-answer-test output.
+ *
+ * All arrays hold exactly 256 coefficients and are updated in place; an output array
+ * may be the same array as one of the inputs. Implementations are stateless and
+ * thread-safe. Use {@link NttEngines} to obtain one.
+ */
+public interface NttEngine {
+
+    /**
+     * Coefficients per polynomial
+     */
+    int N = 256;
+
+    /**
+     * DILITHIUM modulus
+     */
+    int DILITHIUM_Q = 8380417;
+
+    /**
+     * KYBER modulus
+     */
+    int KYBER_Q = 3329;
+
+    /**
+     * Short name used for selection ("scalar", "vector")
+     */
+    String getName();
+
+    /**
+     * Forward NTT, as BouncyCastle {@code dilithium.Ntt.ntt}
+     */
+    void dilithiumNtt(int[] a);
+
+    /**
+     * Inverse NTT with multiplication by the Montgomery factor 2^32, as BouncyCastle
+     * {@code dilithium.Ntt.invNttToMont}
+     */
+    void dilithiumInvNttToMont(int[] a);
+
+    /**
+     * c = a * b * 2^-32 coefficient-wise, as BouncyCastle {@code Poly.pointwiseMontgomery}
+     */
+    void dilithiumPointwiseMontgomery(int[] c, int[] a, int[] b);
+
+    /**
+     * c = sum of a[i] * b[i] * 2^-32, as BouncyCastle {@code Poly.pointwiseAccountMontgomery}
+     *
+     * This is one row of the matrix-vector product A * s that dominates signing and
+     * verification.
+     */
+    void dilithiumPointwiseAccumulate(int[] c, int[][] a, int[][] b);
+
+    /**
+     * Forward NTT without the final reduction, as BouncyCastle {@code kyber.Ntt.ntt}
+     */
+    void kyberNtt(short[] a);
+
+    /**
+     * Inverse NTT with multiplication by 2^16, as BouncyCastle {@code kyber.Ntt.invNtt}
+     */
+    void kyberInvNttToMont(short[] a);
+
+    /**
+     * r = a * b * 2^-16 in the NTT domain (products of degree-one factors), as
+     * BouncyCastle {@code Poly.baseMultMontgomery}
+     */
+    void kyberBaseMultiply(short[] r, short[] a, short[] b);
+
+    /**
+     * r = reduce(sum of a[i] * b[i] * 2^-16), as BouncyCastle
+     * {@code PolyVec.pointwiseAccountMontgomery}
+     */
+    void kyberBaseMultiplyAccumulate(short[] r, short[][] a, short[][] b);
+
+    /**
+     * Barrett reduction of every coefficient, as BouncyCastle {@code kyber.Poly.reduce}
+     */
+    void kyberReduce(short[] a);
+}
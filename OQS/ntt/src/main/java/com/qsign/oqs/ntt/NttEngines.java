@@ -0,0 +1,130 @@
+package com.qsign.oqs.ntt;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runtime selection of an {@link NttEngine}
+ *
+ * The vector engine needs the incubating {@code jdk.incubator.vector} module, which is
+ * only resolved when the JVM is started with {@code --add-modules jdk.incubator.vector},
+ * and a preferred vector shape of at least 256 bits. The {@value #ENGINE_PROPERTY}
+ * system property picks one:
+ *
+ * - auto (default): vector if usable, scalar otherwise
+ * - scalar: always the plain Java engine
+ * - vector: the vector engine, or scalar with a warning if it is unusable
+ */
+public final class NttEngines {
+
+    private static final Logger logger = LoggerFactory.getLogger(NttEngines.class);
+
+    public static final String ENGINE_PROPERTY = "qsign.oqs.ntt";
+    public static final String AUTO = "auto";
+
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+    private static final String VECTOR_ENGINE_CLASS = "com.qsign.oqs.ntt.VectorNttEngine";
+
+    private static volatile NttEngine vector;
+    private static volatile boolean vectorProbed;
+    private static volatile NttEngine selected;
+
+    private NttEngines() {
+    }
+
+    /**
+     * Engine chosen by {@value #ENGINE_PROPERTY}
+     */
+    public static NttEngine get() {
+        NttEngine result = selected;
+        if (result == null) {
+            synchronized (NttEngines.class) {
+                result = selected;
+                if (result == null) {
+                    result = select(System.getProperty(ENGINE_PROPERTY, AUTO));
+                    selected = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * The plain Java engine, available everywhere
+     */
+    public static NttEngine scalar() {
+        return ScalarNttEngine.INSTANCE;
+    }
+
+    /**
+     * The Vector API engine, or null if this JVM cannot run it
+     */
+    public static NttEngine vector() {
+        if (!vectorProbed) {
+            synchronized (NttEngines.class) {
+                if (!vectorProbed) {
+                    vector = loadVector();
+                    vectorProbed = true;
+                }
+            }
+        }
+        return vector;
+    }
+
+    /**
+     * Engine with the given name if it is usable, or null
+     */
+    public static NttEngine find(String name) {
+        if (ScalarNttEngine.NAME.equalsIgnoreCase(name)) {
+            return scalar();
+        }
+        if (VectorNttEngine.NAME.equalsIgnoreCase(name)) {
+            return vector();
+        }
+        return null;
+    }
+
+    /**
+     * Re-read {@value #ENGINE_PROPERTY} on next use
+     */
+    public static synchronized void reset() {
+        selected = null;
+    }
+
+    private static NttEngine select(String name) {
+        if (AUTO.equalsIgnoreCase(name)) {
+            NttEngine engine = vector() != null ? vector() : scalar();
+            logger.info("Selected NTT engine: {}", engine.getName());
+            return engine;
+        }
+
+        NttEngine engine = find(name);
+        if (engine == null) {
+            logger.warn("NTT engine '{}' is not available, falling back to {}", name, ScalarNttEngine.NAME);
+            return scalar();
+        }
+        logger.info("Selected NTT engine: {}", engine.getName());
+        return engine;
+    }
+
+    private static NttEngine loadVector() {
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) {
+            logger.debug("Vector NTT engine disabled: start the JVM with --add-modules {}", VECTOR_MODULE);
+            return null;
+        }
+
+        try {
+            // loaded by name so this class links without the incubator module
+            Class<?> type = Class.forName(VECTOR_ENGINE_CLASS);
+            if (!(boolean) type.getDeclaredMethod("isSupported").invoke(null)) {
+                logger.debug("Vector NTT engine disabled: preferred vector shape is {} bits",
+                    type.getDeclaredMethod("vectorBitSize").invoke(null));
+                return null;
+            }
+            return (NttEngine) type.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            logger.warn("Vector NTT engine failed to load: {}", e.toString());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.qsign.oqs.ntt;
+
+/**
+ * Constants and twiddle factors shared by the NTT engines
+ *
+ * The zeta tables are generated the way the reference implementations generate
+ * theirs, and come out identical to the ones compiled into BouncyCastle:
+ *
+ * - DILITHIUM: 2^32 * 1753^brv8(i) mod q, centered, with zetas[0] = 0
+ * - KYBER: 2^16 * 17^brv7(i) mod q in [0, q), and the round-2 inverse table whose
+ *   last entry folds in the 1/128 scaling
+ */
+final class NttTables {
+
+    static final int DILITHIUM_QINV = 58728449;
+    static final int DILITHIUM_INV_SCALE = 41978;
+
+    static final int KYBER_QINV = 62209;
+    static final int KYBER_BARRETT = ((1 << 26) + NttEngine.KYBER_Q / 2) / NttEngine.KYBER_Q;
+
+    static final int[] DILITHIUM_ZETAS = dilithiumZetas();
+    static final short[] KYBER_ZETAS = kyberZetas();
+    static final short[] KYBER_ZETAS_INV = kyberZetasInv();
+
+    private NttTables() {
+    }
+
+    static void checkLength(int[] a) {
+        if (a.length != NttEngine.N) {
+            throw new IllegalArgumentException("Polynomial must have " + NttEngine.N + " coefficients, got " + a.length);
+        }
+    }
+
+    static void checkLength(short[] a) {
+        if (a.length != NttEngine.N) {
+            throw new IllegalArgumentException("Polynomial must have " + NttEngine.N + " coefficients, got " + a.length);
+        }
+    }
+
+    static void checkLength(int[][] a, int[][] b) {
+        if (a.length != b.length || a.length == 0) {
+            throw new IllegalArgumentException("Polynomial vectors must be non-empty and of equal length");
+        }
+        for (int i = 0; i < a.length; i++) {
+            checkLength(a[i]);
+            checkLength(b[i]);
+        }
+    }
+
+    static void checkLength(short[][] a, short[][] b) {
+        if (a.length != b.length || a.length == 0) {
+            throw new IllegalArgumentException("Polynomial vectors must be non-empty and of equal length");
+        }
+        for (int i = 0; i < a.length; i++) {
+            checkLength(a[i]);
+            checkLength(b[i]);
+        }
+    }
+
+    private static int[] dilithiumZetas() {
+        long q = NttEngine.DILITHIUM_Q;
+        long mont = (1L << 32) % q;
+        int[] zetas = new int[256];
+        for (int i = 1; i < 256; i++) {
+            long zeta = mont * pow(1753, bitReverse(i, 8), q) % q;
+            zetas[i] = (int) (zeta > q / 2 ? zeta - q : zeta);
+        }
+        return zetas;
+    }
+
+    private static short[] kyberZetas() {
+        long q = NttEngine.KYBER_Q;
+        long mont = (1L << 16) % q;
+        short[] zetas = new short[128];
+        for (int i = 0; i < 128; i++) {
+            zetas[i] = (short) (mont * pow(17, bitReverse(i, 7), q) % q);
+        }
+        return zetas;
+    }
+
+    private static short[] kyberZetasInv() {
+        long q = NttEngine.KYBER_Q;
+        long mont = (1L << 16) % q;
+        short[] zetas = new short[128];
+        int k = 0;
+        for (int i = 64; i >= 1; i >>= 1) {
+            for (int j = i; j < 2 * i; j++) {
+                zetas[k++] = (short) ((q - mont * pow(17, 128 - bitReverse(j, 7), q) % q) % q);
+            }
+        }
+        // 2^32 / 128: undoes the base multiplication's 2^-16 and scales the result into Montgomery form
+        zetas[127] = (short) (mont * (mont * (q - 1) % q * ((q - 1) / 128) % q) % q);
+        return zetas;
+    }
+
+    private static long pow(long base, long exponent, long modulus) {
+        long result = 1;
+        base %= modulus;
+        while (exponent > 0) {
+            if ((exponent & 1) == 1) {
+                result = result * base % modulus;
+            }
+            base = base * base % modulus;
+            exponent >>= 1;
+        }
+        return result;
+    }
+
+    private static int bitReverse(int value, int bits) {
+        return Integer.reverse(value) >>> (32 - bits);
+    }
+}
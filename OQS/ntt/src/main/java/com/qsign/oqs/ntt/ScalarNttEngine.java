@@ -0,0 +1,196 @@
+package com.qsign.oqs.ntt;
+
+import static com.qsign.oqs.ntt.NttTables.DILITHIUM_INV_SCALE;
+import static com.qsign.oqs.ntt.NttTables.DILITHIUM_QINV;
+import static com.qsign.oqs.ntt.NttTables.DILITHIUM_ZETAS;
+import static com.qsign.oqs.ntt.NttTables.KYBER_BARRETT;
+import static com.qsign.oqs.ntt.NttTables.KYBER_QINV;
+import static com.qsign.oqs.ntt.NttTables.KYBER_ZETAS;
+import static com.qsign.oqs.ntt.NttTables.KYBER_ZETAS_INV;
+import static com.qsign.oqs.ntt.NttTables.checkLength;
+
+/**
+ * Plain Java NTT engine
+ *
+ * A line-for-line port of the BouncyCastle routines, working in place instead of on
+ * copies. Runs on every JVM and is the fallback when the vector engine is unavailable.
+ */
+final class ScalarNttEngine implements NttEngine {
+
+    static final String NAME = "scalar";
+
+    static final ScalarNttEngine INSTANCE = new ScalarNttEngine();
+
+    private ScalarNttEngine() {
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public void dilithiumNtt(int[] a) {
+        checkLength(a);
+        int k = 0;
+        for (int len = 128; len > 0; len >>= 1) {
+            for (int start = 0; start < N; start += 2 * len) {
+                long zeta = DILITHIUM_ZETAS[++k];
+                for (int j = start; j < start + len; j++) {
+                    int t = dilithiumMontgomery(zeta * a[j + len]);
+                    a[j + len] = a[j] - t;
+                    a[j] = a[j] + t;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void dilithiumInvNttToMont(int[] a) {
+        checkLength(a);
+        int k = 256;
+        for (int len = 1; len < N; len <<= 1) {
+            for (int start = 0; start < N; start += 2 * len) {
+                long zeta = -DILITHIUM_ZETAS[--k];
+                for (int j = start; j < start + len; j++) {
+                    int t = a[j];
+                    a[j] = t + a[j + len];
+                    a[j + len] = dilithiumMontgomery(zeta * (t - a[j + len]));
+                }
+            }
+        }
+        for (int j = 0; j < N; j++) {
+            a[j] = dilithiumMontgomery((long) DILITHIUM_INV_SCALE * a[j]);
+        }
+    }
+
+    @Override
+    public void dilithiumPointwiseMontgomery(int[] c, int[] a, int[] b) {
+        checkLength(c);
+        checkLength(a);
+        checkLength(b);
+        for (int i = 0; i < N; i++) {
+            c[i] = dilithiumMontgomery((long) a[i] * b[i]);
+        }
+    }
+
+    @Override
+    public void dilithiumPointwiseAccumulate(int[] c, int[][] a, int[][] b) {
+        checkLength(c);
+        checkLength(a, b);
+        for (int i = 0; i < N; i++) {
+            int sum = dilithiumMontgomery((long) a[0][i] * b[0][i]);
+            for (int p = 1; p < a.length; p++) {
+                sum += dilithiumMontgomery((long) a[p][i] * b[p][i]);
+            }
+            c[i] = sum;
+        }
+    }
+
+    @Override
+    public void kyberNtt(short[] a) {
+        checkLength(a);
+        int k = 1;
+        for (int len = 128; len >= 2; len >>= 1) {
+            for (int start = 0; start < N; start += 2 * len) {
+                short zeta = KYBER_ZETAS[k++];
+                for (int j = start; j < start + len; j++) {
+                    short t = kyberMultiply(zeta, a[j + len]);
+                    a[j + len] = (short) (a[j] - t);
+                    a[j] = (short) (a[j] + t);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void kyberInvNttToMont(short[] a) {
+        checkLength(a);
+        int k = 0;
+        for (int len = 2; len <= 128; len <<= 1) {
+            for (int start = 0; start < N; start += 2 * len) {
+                short zeta = KYBER_ZETAS_INV[k++];
+                for (int j = start; j < start + len; j++) {
+                    short t = a[j];
+                    a[j] = kyberBarrett((short) (t + a[j + len]));
+                    a[j + len] = kyberMultiply(zeta, (short) (t - a[j + len]));
+                }
+            }
+        }
+        for (int j = 0; j < N; j++) {
+            a[j] = kyberMultiply(a[j], KYBER_ZETAS_INV[127]);
+        }
+    }
+
+    @Override
+    public void kyberBaseMultiply(short[] r, short[] a, short[] b) {
+        checkLength(r);
+        checkLength(a);
+        checkLength(b);
+        for (int i = 0; i < N; i += 2) {
+            short zeta = kyberBaseZeta(i);
+            short r0 = kyberBase0(a[i], a[i + 1], b[i], b[i + 1], zeta);
+            short r1 = kyberBase1(a[i], a[i + 1], b[i], b[i + 1]);
+            r[i] = r0;
+            r[i + 1] = r1;
+        }
+    }
+
+    @Override
+    public void kyberBaseMultiplyAccumulate(short[] r, short[][] a, short[][] b) {
+        checkLength(r);
+        checkLength(a, b);
+        for (int i = 0; i < N; i += 2) {
+            short zeta = kyberBaseZeta(i);
+            short r0 = kyberBase0(a[0][i], a[0][i + 1], b[0][i], b[0][i + 1], zeta);
+            short r1 = kyberBase1(a[0][i], a[0][i + 1], b[0][i], b[0][i + 1]);
+            for (int p = 1; p < a.length; p++) {
+                r0 = (short) (r0 + kyberBase0(a[p][i], a[p][i + 1], b[p][i], b[p][i + 1], zeta));
+                r1 = (short) (r1 + kyberBase1(a[p][i], a[p][i + 1], b[p][i], b[p][i + 1]));
+            }
+            r[i] = kyberBarrett(r0);
+            r[i + 1] = kyberBarrett(r1);
+        }
+    }
+
+    @Override
+    public void kyberReduce(short[] a) {
+        checkLength(a);
+        for (int i = 0; i < N; i++) {
+            a[i] = kyberBarrett(a[i]);
+        }
+    }
+
+    static int dilithiumMontgomery(long a) {
+        int m = (int) (a * DILITHIUM_QINV);
+        return (int) ((a - (long) m * DILITHIUM_Q) >>> 32);
+    }
+
+    static short kyberMultiply(short a, short b) {
+        int product = a * b;
+        short m = (short) (product * KYBER_QINV);
+        return (short) ((product - m * KYBER_Q) >> 16);
+    }
+
+    static short kyberBarrett(short a) {
+        short t = (short) ((KYBER_BARRETT * a) >> 26);
+        t = (short) (t * KYBER_Q);
+        return (short) (a - t);
+    }
+
+    /**
+     * Zeta of the degree-one factor holding coefficients i and i + 1: +zeta and -zeta alternate
+     */
+    static short kyberBaseZeta(int i) {
+        short zeta = KYBER_ZETAS[64 + (i >> 2)];
+        return (i & 2) == 0 ? zeta : (short) -zeta;
+    }
+
+    private static short kyberBase0(short a0, short a1, short b0, short b1, short zeta) {
+        return (short) (kyberMultiply(kyberMultiply(a1, b1), zeta) + kyberMultiply(a0, b0));
+    }
+
+    private static short kyberBase1(short a0, short a1, short b0, short b1) {
+        return (short) (kyberMultiply(a0, b1) + kyberMultiply(a1, b0));
+    }
+}
@@ -0,0 +1,518 @@
+package com.qsign.oqs.ntt;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorShuffle;
+import jdk.incubator.vector.VectorSpecies;
+
+import static com.qsign.oqs.ntt.NttTables.DILITHIUM_INV_SCALE;
+import static com.qsign.oqs.ntt.NttTables.DILITHIUM_QINV;
+import static com.qsign.oqs.ntt.NttTables.DILITHIUM_ZETAS;
+import static com.qsign.oqs.ntt.NttTables.KYBER_BARRETT;
+import static com.qsign.oqs.ntt.NttTables.KYBER_QINV;
+import static com.qsign.oqs.ntt.NttTables.KYBER_ZETAS;
+import static com.qsign.oqs.ntt.NttTables.KYBER_ZETAS_INV;
+import static com.qsign.oqs.ntt.NttTables.checkLength;
+
+/**
+ * NTT engine on the incubating Vector API ({@code jdk.incubator.vector})
+ *
+ * DILITHIUM runs on 64-bit lanes so the 32x32-bit Montgomery products are exact;
+ * KYBER runs on 32-bit lanes. Each transform widens the polynomial into a scratch
+ * array once, runs every layer on whole vectors and narrows it back, re-applying the
+ * 32-bit or 16-bit wrap-around of the scalar code after each addition so results match
+ * BouncyCastle for any input, not just reduced ones.
+ *
+ * Layers whose butterfly distance is at least the lane count load both halves
+ * directly. In narrower layers (and the pairwise KYBER base multiplication) both
+ * halves sit in the same vector: one single-vector shuffle swaps every lane with its
+ * partner and masked blends pick the operands, at the cost of computing each
+ * butterfly in both of its lanes. Two-vector shuffles would avoid that, but are
+ * several times slower than the scalar code on current JDKs.
+ *
+ * Only loaded by {@link NttEngines} when the module is resolved; referencing this class
+ * otherwise fails with a {@link LinkageError}.
+ */
+final class VectorNttEngine implements NttEngine {
+
+    static final String NAME = "vector";
+
+    private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Integer> HALF_INTS =
+        VectorSpecies.of(int.class, VectorShape.forBitSize(LONGS.vectorBitSize() / 2));
+
+    private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Short> HALF_SHORTS =
+        VectorSpecies.of(short.class, VectorShape.forBitSize(INTS.vectorBitSize() / 2));
+
+    /**
+     * Below this width the scalar engine is faster
+     */
+    private static final int MIN_VECTOR_BITS = 256;
+
+    private static final long[][] DILITHIUM_FORWARD_ZETAS = dilithiumForwardZetas();
+    private static final long[][] DILITHIUM_INVERSE_ZETAS = dilithiumInverseZetas();
+    private static final int[][] KYBER_FORWARD_ZETAS = kyberForwardZetas();
+    private static final int[][] KYBER_INVERSE_ZETAS = kyberInverseZetas();
+    private static final int[] KYBER_BASE_ZETAS = kyberBaseZetas();
+
+    private static final Partners<Long>[] LONG_PARTNERS = Partners.all(LONGS);
+    private static final Partners<Integer>[] INT_PARTNERS = Partners.all(INTS);
+
+    VectorNttEngine() {
+    }
+
+    /**
+     * Whether the preferred vector shape is wide enough to beat the scalar engine
+     */
+    static boolean isSupported() {
+        return LONGS.vectorBitSize() >= MIN_VECTOR_BITS && INTS.vectorBitSize() >= MIN_VECTOR_BITS;
+    }
+
+    /**
+     * Preferred vector width in bits
+     */
+    static int vectorBitSize() {
+        return LONGS.vectorBitSize();
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    // ---- DILITHIUM ----
+
+    @Override
+    public void dilithiumNtt(int[] a) {
+        checkLength(a);
+        long[] w = widen(a);
+        int layer = 0;
+        for (int len = 128; len > 0; len >>= 1) {
+            long[] zetas = DILITHIUM_FORWARD_ZETAS[layer++];
+            if (len >= LONGS.length()) {
+                dilithiumForward(w, len, zetas);
+            } else {
+                dilithiumForward(w, LONG_PARTNERS[Integer.numberOfTrailingZeros(len)], zetas);
+            }
+        }
+        narrow(w, a);
+    }
+
+    @Override
+    public void dilithiumInvNttToMont(int[] a) {
+        checkLength(a);
+        long[] w = widen(a);
+        int layer = 0;
+        for (int len = 1; len < N; len <<= 1) {
+            long[] zetas = DILITHIUM_INVERSE_ZETAS[layer++];
+            if (len >= LONGS.length()) {
+                dilithiumInverse(w, len, zetas);
+            } else {
+                dilithiumInverse(w, LONG_PARTNERS[Integer.numberOfTrailingZeros(len)], zetas);
+            }
+        }
+        for (int i = 0; i < N; i += LONGS.length()) {
+            LongVector v = LongVector.fromArray(LONGS, w, i);
+            narrow(dilithiumMontgomery(v.mul(DILITHIUM_INV_SCALE)), a, i);
+        }
+    }
+
+    @Override
+    public void dilithiumPointwiseMontgomery(int[] c, int[] a, int[] b) {
+        checkLength(c);
+        checkLength(a);
+        checkLength(b);
+        for (int i = 0; i < N; i += LONGS.length()) {
+            narrow(dilithiumMontgomery(widen(a, i).mul(widen(b, i))), c, i);
+        }
+    }
+
+    @Override
+    public void dilithiumPointwiseAccumulate(int[] c, int[][] a, int[][] b) {
+        checkLength(c);
+        checkLength(a, b);
+        for (int i = 0; i < N; i += LONGS.length()) {
+            LongVector sum = dilithiumMontgomery(widen(a[0], i).mul(widen(b[0], i)));
+            for (int p = 1; p < a.length; p++) {
+                sum = sum.add(dilithiumMontgomery(widen(a[p], i).mul(widen(b[p], i))));
+            }
+            // narrowing keeps the low 32 bits, i.e. the wrapped int sum
+            narrow(sum, c, i);
+        }
+    }
+
+    /**
+     * Forward layer with butterfly distance len >= lane count: operands in separate vectors
+     */
+    private static void dilithiumForward(long[] w, int len, long[] zetas) {
+        for (int m = 0; m < N / 2; m += LONGS.length()) {
+            int lo = (m / len) * 2 * len + m % len;
+            LongVector a = LongVector.fromArray(LONGS, w, lo);
+            LongVector b = LongVector.fromArray(LONGS, w, lo + len);
+            LongVector t = dilithiumMontgomery(b.mul(LongVector.fromArray(LONGS, zetas, lo)));
+            wrap32(a.add(t)).intoArray(w, lo);
+            wrap32(a.sub(t)).intoArray(w, lo + len);
+        }
+    }
+
+    /**
+     * Forward layer with butterfly distance below the lane count: operands in partner lanes
+     */
+    private static void dilithiumForward(long[] w, Partners<Long> partners, long[] zetas) {
+        for (int i = 0; i < N; i += LONGS.length()) {
+            LongVector x = LongVector.fromArray(LONGS, w, i);
+            LongVector swapped = x.rearrange(partners.swap);
+            LongVector a = x.blend(swapped, partners.upper);
+            LongVector b = swapped.blend(x, partners.upper);
+            LongVector t = dilithiumMontgomery(b.mul(LongVector.fromArray(LONGS, zetas, i)));
+            wrap32(a.add(t)).blend(wrap32(a.sub(t)), partners.upper).intoArray(w, i);
+        }
+    }
+
+    private static void dilithiumInverse(long[] w, int len, long[] zetas) {
+        for (int m = 0; m < N / 2; m += LONGS.length()) {
+            int lo = (m / len) * 2 * len + m % len;
+            LongVector a = LongVector.fromArray(LONGS, w, lo);
+            LongVector b = LongVector.fromArray(LONGS, w, lo + len);
+            LongVector zeta = LongVector.fromArray(LONGS, zetas, lo);
+            wrap32(a.add(b)).intoArray(w, lo);
+            dilithiumMontgomery(wrap32(a.sub(b)).mul(zeta)).intoArray(w, lo + len);
+        }
+    }
+
+    private static void dilithiumInverse(long[] w, Partners<Long> partners, long[] zetas) {
+        for (int i = 0; i < N; i += LONGS.length()) {
+            LongVector x = LongVector.fromArray(LONGS, w, i);
+            LongVector swapped = x.rearrange(partners.swap);
+            LongVector a = x.blend(swapped, partners.upper);
+            LongVector b = swapped.blend(x, partners.upper);
+            LongVector zeta = LongVector.fromArray(LONGS, zetas, i);
+            LongVector first = wrap32(a.add(b));
+            LongVector second = dilithiumMontgomery(wrap32(a.sub(b)).mul(zeta));
+            first.blend(second, partners.upper).intoArray(w, i);
+        }
+    }
+
+    private static LongVector dilithiumMontgomery(LongVector a) {
+        LongVector m = a.mul(DILITHIUM_QINV).lanewise(VectorOperators.LSHL, 32).lanewise(VectorOperators.ASHR, 32);
+        return a.sub(m.mul(DILITHIUM_Q)).lanewise(VectorOperators.ASHR, 32);
+    }
+
+    private static LongVector wrap32(LongVector a) {
+        return a.lanewise(VectorOperators.LSHL, 32).lanewise(VectorOperators.ASHR, 32);
+    }
+
+    private static LongVector widen(int[] a, int offset) {
+        return (LongVector) IntVector.fromArray(HALF_INTS, a, offset).convertShape(VectorOperators.I2L, LONGS, 0);
+    }
+
+    private static long[] widen(int[] a) {
+        long[] w = new long[N];
+        for (int i = 0; i < N; i += LONGS.length()) {
+            widen(a, i).intoArray(w, i);
+        }
+        return w;
+    }
+
+    private static void narrow(LongVector v, int[] a, int offset) {
+        ((IntVector) v.convertShape(VectorOperators.L2I, HALF_INTS, 0)).intoArray(a, offset);
+    }
+
+    private static void narrow(long[] w, int[] a) {
+        for (int i = 0; i < N; i += LONGS.length()) {
+            narrow(LongVector.fromArray(LONGS, w, i), a, i);
+        }
+    }
+
+    // ---- KYBER ----
+
+    @Override
+    public void kyberNtt(short[] a) {
+        checkLength(a);
+        int[] w = widen(a);
+        int layer = 0;
+        for (int len = 128; len >= 2; len >>= 1) {
+            int[] zetas = KYBER_FORWARD_ZETAS[layer++];
+            if (len >= INTS.length()) {
+                kyberForward(w, len, zetas);
+            } else {
+                kyberForward(w, INT_PARTNERS[Integer.numberOfTrailingZeros(len)], zetas);
+            }
+        }
+        narrow(w, a);
+    }
+
+    @Override
+    public void kyberInvNttToMont(short[] a) {
+        checkLength(a);
+        int[] w = widen(a);
+        int layer = 0;
+        for (int len = 2; len <= 128; len <<= 1) {
+            int[] zetas = KYBER_INVERSE_ZETAS[layer++];
+            if (len >= INTS.length()) {
+                kyberInverse(w, len, zetas);
+            } else {
+                kyberInverse(w, INT_PARTNERS[Integer.numberOfTrailingZeros(len)], zetas);
+            }
+        }
+        for (int i = 0; i < N; i += INTS.length()) {
+            IntVector v = IntVector.fromArray(INTS, w, i);
+            narrow(kyberMultiply(v, IntVector.broadcast(INTS, KYBER_ZETAS_INV[127])), a, i);
+        }
+    }
+
+    @Override
+    public void kyberBaseMultiply(short[] r, short[] a, short[] b) {
+        checkLength(r);
+        checkLength(a);
+        checkLength(b);
+        Partners<Integer> pairs = INT_PARTNERS[0];
+        for (int i = 0; i < N; i += INTS.length()) {
+            IntVector zeta = IntVector.fromArray(INTS, KYBER_BASE_ZETAS, i);
+            narrow(kyberBaseMultiply(widen(a, i), widen(b, i), zeta, pairs), r, i);
+        }
+    }
+
+    @Override
+    public void kyberBaseMultiplyAccumulate(short[] r, short[][] a, short[][] b) {
+        checkLength(r);
+        checkLength(a, b);
+        Partners<Integer> pairs = INT_PARTNERS[0];
+        for (int i = 0; i < N; i += INTS.length()) {
+            IntVector zeta = IntVector.fromArray(INTS, KYBER_BASE_ZETAS, i);
+            IntVector sum = kyberBaseMultiply(widen(a[0], i), widen(b[0], i), zeta, pairs);
+            for (int p = 1; p < a.length; p++) {
+                sum = wrap16(sum.add(kyberBaseMultiply(widen(a[p], i), widen(b[p], i), zeta, pairs)));
+            }
+            narrow(kyberBarrett(sum), r, i);
+        }
+    }
+
+    @Override
+    public void kyberReduce(short[] a) {
+        checkLength(a);
+        for (int i = 0; i < N; i += INTS.length()) {
+            narrow(kyberBarrett(widen(a, i)), a, i);
+        }
+    }
+
+    private static void kyberForward(int[] w, int len, int[] zetas) {
+        for (int m = 0; m < N / 2; m += INTS.length()) {
+            int lo = (m / len) * 2 * len + m % len;
+            IntVector a = IntVector.fromArray(INTS, w, lo);
+            IntVector b = IntVector.fromArray(INTS, w, lo + len);
+            IntVector t = kyberMultiply(IntVector.fromArray(INTS, zetas, lo), b);
+            wrap16(a.add(t)).intoArray(w, lo);
+            wrap16(a.sub(t)).intoArray(w, lo + len);
+        }
+    }
+
+    private static void kyberForward(int[] w, Partners<Integer> partners, int[] zetas) {
+        for (int i = 0; i < N; i += INTS.length()) {
+            IntVector x = IntVector.fromArray(INTS, w, i);
+            IntVector swapped = x.rearrange(partners.swap);
+            IntVector a = x.blend(swapped, partners.upper);
+            IntVector b = swapped.blend(x, partners.upper);
+            IntVector t = kyberMultiply(IntVector.fromArray(INTS, zetas, i), b);
+            wrap16(a.add(t)).blend(wrap16(a.sub(t)), partners.upper).intoArray(w, i);
+        }
+    }
+
+    private static void kyberInverse(int[] w, int len, int[] zetas) {
+        for (int m = 0; m < N / 2; m += INTS.length()) {
+            int lo = (m / len) * 2 * len + m % len;
+            IntVector a = IntVector.fromArray(INTS, w, lo);
+            IntVector b = IntVector.fromArray(INTS, w, lo + len);
+            IntVector zeta = IntVector.fromArray(INTS, zetas, lo);
+            kyberBarrett(wrap16(a.add(b))).intoArray(w, lo);
+            kyberMultiply(zeta, wrap16(a.sub(b))).intoArray(w, lo + len);
+        }
+    }
+
+    private static void kyberInverse(int[] w, Partners<Integer> partners, int[] zetas) {
+        for (int i = 0; i < N; i += INTS.length()) {
+            IntVector x = IntVector.fromArray(INTS, w, i);
+            IntVector swapped = x.rearrange(partners.swap);
+            IntVector a = x.blend(swapped, partners.upper);
+            IntVector b = swapped.blend(x, partners.upper);
+            IntVector zeta = IntVector.fromArray(INTS, zetas, i);
+            IntVector first = kyberBarrett(wrap16(a.add(b)));
+            IntVector second = kyberMultiply(zeta, wrap16(a.sub(b)));
+            first.blend(second, partners.upper).intoArray(w, i);
+        }
+    }
+
+    private static IntVector kyberMultiply(IntVector a, IntVector b) {
+        IntVector product = a.mul(b);
+        IntVector m = product.mul(KYBER_QINV).lanewise(VectorOperators.LSHL, 16).lanewise(VectorOperators.ASHR, 16);
+        return product.sub(m.mul(KYBER_Q)).lanewise(VectorOperators.ASHR, 16);
+    }
+
+    private static IntVector kyberBarrett(IntVector a) {
+        IntVector t = a.mul(KYBER_BARRETT).lanewise(VectorOperators.ASHR, 26);
+        t = t.mul(KYBER_Q).lanewise(VectorOperators.LSHL, 16).lanewise(VectorOperators.ASHR, 16);
+        return a.sub(t).lanewise(VectorOperators.LSHL, 16).lanewise(VectorOperators.ASHR, 16);
+    }
+
+    /**
+     * Products of the degree-one factors (x0 + x1 X) held in even/odd lane pairs
+     *
+     * Both lanes of a pair compute both results; the even lane keeps r0, the odd lane r1.
+     */
+    private static IntVector kyberBaseMultiply(IntVector x, IntVector y, IntVector zeta, Partners<Integer> pairs) {
+        IntVector xs = x.rearrange(pairs.swap);
+        IntVector ys = y.rearrange(pairs.swap);
+        IntVector a0 = x.blend(xs, pairs.upper);
+        IntVector a1 = xs.blend(x, pairs.upper);
+        IntVector b0 = y.blend(ys, pairs.upper);
+        IntVector b1 = ys.blend(y, pairs.upper);
+
+        IntVector r0 = wrap16(kyberMultiply(kyberMultiply(a1, b1), zeta).add(kyberMultiply(a0, b0)));
+        IntVector r1 = wrap16(kyberMultiply(a0, b1).add(kyberMultiply(a1, b0)));
+        return r0.blend(r1, pairs.upper);
+    }
+
+    private static IntVector wrap16(IntVector a) {
+        return a.lanewise(VectorOperators.LSHL, 16).lanewise(VectorOperators.ASHR, 16);
+    }
+
+    private static IntVector widen(short[] a, int offset) {
+        return (IntVector) ShortVector.fromArray(HALF_SHORTS, a, offset).convertShape(VectorOperators.S2I, INTS, 0);
+    }
+
+    private static int[] widen(short[] a) {
+        int[] w = new int[N];
+        for (int i = 0; i < N; i += INTS.length()) {
+            widen(a, i).intoArray(w, i);
+        }
+        return w;
+    }
+
+    private static void narrow(IntVector v, short[] a, int offset) {
+        ((ShortVector) v.convertShape(VectorOperators.I2S, HALF_SHORTS, 0)).intoArray(a, offset);
+    }
+
+    private static void narrow(int[] w, short[] a) {
+        for (int i = 0; i < N; i += INTS.length()) {
+            narrow(IntVector.fromArray(INTS, w, i), a, i);
+        }
+    }
+
+    // ---- tables ----
+
+    /**
+     * Zeta of every coefficient's butterfly, per layer, in the order the scalar loops use them
+     */
+    private static long[][] dilithiumForwardZetas() {
+        long[][] zetas = new long[8][N];
+        int k = 0;
+        int layer = 0;
+        for (int len = 128; len > 0; len >>= 1, layer++) {
+            int index = 0;
+            for (int start = 0; start < N; start += 2 * len) {
+                long zeta = DILITHIUM_ZETAS[++k];
+                for (int j = 0; j < 2 * len; j++) {
+                    zetas[layer][index++] = zeta;
+                }
+            }
+        }
+        return zetas;
+    }
+
+    private static long[][] dilithiumInverseZetas() {
+        long[][] zetas = new long[8][N];
+        int k = 256;
+        int layer = 0;
+        for (int len = 1; len < N; len <<= 1, layer++) {
+            int index = 0;
+            for (int start = 0; start < N; start += 2 * len) {
+                long zeta = -DILITHIUM_ZETAS[--k];
+                for (int j = 0; j < 2 * len; j++) {
+                    zetas[layer][index++] = zeta;
+                }
+            }
+        }
+        return zetas;
+    }
+
+    private static int[][] kyberForwardZetas() {
+        int[][] zetas = new int[7][N];
+        int k = 1;
+        int layer = 0;
+        for (int len = 128; len >= 2; len >>= 1, layer++) {
+            int index = 0;
+            for (int start = 0; start < N; start += 2 * len) {
+                int zeta = KYBER_ZETAS[k++];
+                for (int j = 0; j < 2 * len; j++) {
+                    zetas[layer][index++] = zeta;
+                }
+            }
+        }
+        return zetas;
+    }
+
+    private static int[][] kyberInverseZetas() {
+        int[][] zetas = new int[7][N];
+        int k = 0;
+        int layer = 0;
+        for (int len = 2; len <= 128; len <<= 1, layer++) {
+            int index = 0;
+            for (int start = 0; start < N; start += 2 * len) {
+                int zeta = KYBER_ZETAS_INV[k++];
+                for (int j = 0; j < 2 * len; j++) {
+                    zetas[layer][index++] = zeta;
+                }
+            }
+        }
+        return zetas;
+    }
+
+    private static int[] kyberBaseZetas() {
+        int[] zetas = new int[N];
+        for (int i = 0; i < N; i++) {
+            zetas[i] = ScalarNttEngine.kyberBaseZeta(i & ~1);
+        }
+        return zetas;
+    }
+
+    /**
+     * Lane pairing for one butterfly distance shorter than the lane count
+     *
+     * swap exchanges every lane with its partner (lane ^ distance); upper marks the lanes
+     * holding the second operand of their butterfly.
+     */
+    private static final class Partners<E> {
+        final VectorShuffle<E> swap;
+        final VectorMask<E> upper;
+
+        private Partners(VectorSpecies<E> species, int len) {
+            int lanes = species.length();
+            int[] partner = new int[lanes];
+            boolean[] second = new boolean[lanes];
+            for (int lane = 0; lane < lanes; lane++) {
+                partner[lane] = lane ^ len;
+                second[lane] = (lane & len) != 0;
+            }
+            swap = VectorShuffle.fromArray(species, partner, 0);
+            upper = VectorMask.fromArray(species, second, 0);
+        }
+
+        /**
+         * One entry per butterfly distance 1, 2, 4, ... below the lane count
+         */
+        @SuppressWarnings("unchecked")
+        static <E> Partners<E>[] all(VectorSpecies<E> species) {
+            int count = Integer.numberOfTrailingZeros(species.length());
+            Partners<E>[] partners = (Partners<E>[]) new Partners<?>[count];
+            for (int i = 0; i < count; i++) {
+                partners[i] = new Partners<>(species, 1 << i);
+            }
+            return partners;
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package com.qsign.oqs;
+
+import com.qsign.oqs.ntt.NttEngine;
+import com.qsign.oqs.ntt.NttEngines;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * NTT 엔진 테스트
+ *
+ * 스칼라/벡터 엔진이 BouncyCastle 내부 NTT, 점별 곱, 누적 곱과 모든 입력에서
+ * 비트 단위로 동일한 결과를 내는지, 그리고 NTT 영역 곱이 교과서식 다항식 곱과
+ * 일치하는지 검증합니다. 벡터 엔진은 사용 가능한 경우에만 검사합니다.
+ *
+ * Test cases for the scalar and vector NTT engines against BouncyCastle
+ */
+public class NttEngineTest {
+
+    private static final String BC_PACKAGE = "org.bouncycastle.pqc.crypto.crystals.";
+    private static final int ROUNDS = 20;
+
+    @AfterEach
+    void resetSelection() {
+        System.clearProperty(NttEngines.ENGINE_PROPERTY);
+        NttEngines.reset();
+    }
+
+    @Test
+    void dilithiumMatchesBouncyCastle() throws Exception {
+        Method ntt = bcMethod("dilithium.Ntt", "ntt", int[].class);
+        Method invNtt = bcMethod("dilithium.Ntt", "invNttToMont", int[].class);
+        Object engine = bcConstructor("dilithium.DilithiumEngine", int.class, SecureRandom.class, boolean.class)
+            .newInstance(3, new SecureRandom(), false);
+        Constructor<?> newPoly = bcConstructor("dilithium.Poly", bcClass("dilithium.DilithiumEngine"));
+        Constructor<?> newPolyVecL = bcConstructor("dilithium.PolyVecL", bcClass("dilithium.DilithiumEngine"));
+        Method getCoeffs = bcMethod("dilithium.Poly", "getCoeffs");
+        Method setCoeffs = bcMethod("dilithium.Poly", "setCoeffs", int[].class);
+        Method pointwise = bcMethod("dilithium.Poly", "pointwiseMontgomery", bcClass("dilithium.Poly"), bcClass("dilithium.Poly"));
+        Method accumulate = bcMethod("dilithium.Poly", "pointwiseAccountMontgomery",
+            bcClass("dilithium.PolyVecL"), bcClass("dilithium.PolyVecL"));
+        Method vectorIndex = bcMethod("dilithium.PolyVecL", "getVectorIndex", int.class);
+        int l = 5;
+
+        Random random = new Random(20);
+        for (NttEngine nttEngine : engines()) {
+            for (int round = 0; round < ROUNDS; round++) {
+                // reduced coefficients as in the scheme, then arbitrary ones to pin down the wrap-around
+                boolean fullRange = round % 2 == 1;
+                int[] a = dilithiumPoly(random, fullRange);
+                int[] b = dilithiumPoly(random, fullRange);
+                String where = nttEngine.getName() + " round " + round;
+
+                int[] actual = a.clone();
+                nttEngine.dilithiumNtt(actual);
+                assertArrayEquals((int[]) ntt.invoke(null, (Object) a), actual, "ntt " + where);
+
+                actual = a.clone();
+                nttEngine.dilithiumInvNttToMont(actual);
+                assertArrayEquals((int[]) invNtt.invoke(null, (Object) a), actual, "invNttToMont " + where);
+
+                Object polyA = newPoly.newInstance(engine);
+                Object polyB = newPoly.newInstance(engine);
+                Object polyC = newPoly.newInstance(engine);
+                setCoeffs.invoke(polyA, (Object) a.clone());
+                setCoeffs.invoke(polyB, (Object) b.clone());
+                pointwise.invoke(polyC, polyA, polyB);
+                actual = new int[NttEngine.N];
+                nttEngine.dilithiumPointwiseMontgomery(actual, a, b);
+                assertArrayEquals((int[]) getCoeffs.invoke(polyC), actual, "pointwise " + where);
+
+                int[][] u = new int[l][];
+                int[][] v = new int[l][];
+                Object vecU = newPolyVecL.newInstance(engine);
+                Object vecV = newPolyVecL.newInstance(engine);
+                for (int i = 0; i < l; i++) {
+                    u[i] = dilithiumPoly(random, fullRange);
+                    v[i] = dilithiumPoly(random, fullRange);
+                    setCoeffs.invoke(vectorIndex.invoke(vecU, i), (Object) u[i].clone());
+                    setCoeffs.invoke(vectorIndex.invoke(vecV, i), (Object) v[i].clone());
+                }
+                accumulate.invoke(polyC, vecU, vecV);
+                nttEngine.dilithiumPointwiseAccumulate(actual, u, v);
+                assertArrayEquals((int[]) getCoeffs.invoke(polyC), actual, "accumulate " + where);
+            }
+        }
+    }
+
+    @Test
+    void kyberMatchesBouncyCastle() throws Exception {
+        Method ntt = bcMethod("kyber.Ntt", "ntt", short[].class);
+        Method invNtt = bcMethod("kyber.Ntt", "invNtt", short[].class);
+        Object engine = bcConstructor("kyber.KyberEngine", int.class, boolean.class).newInstance(3, false);
+        Constructor<?> newPoly = bcConstructor("kyber.Poly", bcClass("kyber.KyberEngine"));
+        Constructor<?> newPolyVec = bcConstructor("kyber.PolyVec", bcClass("kyber.KyberEngine"));
+        Method getCoeffs = bcMethod("kyber.Poly", "getCoeffs");
+        Method setCoeffs = bcMethod("kyber.Poly", "setCoeffs", short[].class);
+        Method reduce = bcMethod("kyber.Poly", "reduce");
+        Method baseMult = bcMethod("kyber.Poly", "baseMultMontgomery",
+            bcClass("kyber.Poly"), bcClass("kyber.Poly"), bcClass("kyber.Poly"));
+        Method accumulate = bcMethod("kyber.PolyVec", "pointwiseAccountMontgomery",
+            bcClass("kyber.Poly"), bcClass("kyber.PolyVec"), bcClass("kyber.PolyVec"), bcClass("kyber.KyberEngine"));
+        Method vectorIndex = bcMethod("kyber.PolyVec", "getVectorIndex", int.class);
+        int k = 3;
+
+        Random random = new Random(20);
+        for (NttEngine nttEngine : engines()) {
+            for (int round = 0; round < ROUNDS; round++) {
+                boolean fullRange = round % 2 == 1;
+                short[] a = kyberPoly(random, fullRange);
+                short[] b = kyberPoly(random, fullRange);
+                String where = nttEngine.getName() + " round " + round;
+
+                short[] actual = a.clone();
+                nttEngine.kyberNtt(actual);
+                assertArrayEquals((short[]) ntt.invoke(null, (Object) a), actual, "ntt " + where);
+
+                actual = a.clone();
+                nttEngine.kyberInvNttToMont(actual);
+                assertArrayEquals((short[]) invNtt.invoke(null, (Object) a), actual, "invNtt " + where);
+
+                Object polyA = newPoly.newInstance(engine);
+                Object polyB = newPoly.newInstance(engine);
+                Object polyC = newPoly.newInstance(engine);
+                setCoeffs.invoke(polyA, (Object) a.clone());
+                setCoeffs.invoke(polyB, (Object) b.clone());
+                baseMult.invoke(null, polyC, polyA, polyB);
+                actual = new short[NttEngine.N];
+                nttEngine.kyberBaseMultiply(actual, a, b);
+                assertArrayEquals((short[]) getCoeffs.invoke(polyC), actual, "baseMultiply " + where);
+
+                reduce.invoke(polyA);
+                actual = a.clone();
+                nttEngine.kyberReduce(actual);
+                assertArrayEquals((short[]) getCoeffs.invoke(polyA), actual, "reduce " + where);
+
+                short[][] u = new short[k][];
+                short[][] v = new short[k][];
+                Object vecU = newPolyVec.newInstance(engine);
+                Object vecV = newPolyVec.newInstance(engine);
+                for (int i = 0; i < k; i++) {
+                    u[i] = kyberPoly(random, fullRange);
+                    v[i] = kyberPoly(random, fullRange);
+                    setCoeffs.invoke(vectorIndex.invoke(vecU, i), (Object) u[i].clone());
+                    setCoeffs.invoke(vectorIndex.invoke(vecV, i), (Object) v[i].clone());
+                }
+                accumulate.invoke(null, polyC, vecU, vecV, engine);
+                nttEngine.kyberBaseMultiplyAccumulate(actual, u, v);
+                assertArrayEquals((short[]) getCoeffs.invoke(polyC), actual, "accumulate " + where);
+            }
+        }
+    }
+
+    @Test
+    void nttProductMatchesSchoolbookMultiplication() {
+        Random random = new Random(7);
+        for (NttEngine engine : engines()) {
+            int[] a = dilithiumPoly(random, false);
+            int[] b = dilithiumPoly(random, false);
+            int[] expected = schoolbook(a, b, NttEngine.DILITHIUM_Q);
+
+            int[] product = new int[NttEngine.N];
+            int[] nttA = a.clone();
+            int[] nttB = b.clone();
+            engine.dilithiumNtt(nttA);
+            engine.dilithiumNtt(nttB);
+            engine.dilithiumPointwiseMontgomery(product, nttA, nttB);
+            // likewise 2^-32 from the pointwise product and 2^32 from the inverse NTT
+            engine.dilithiumInvNttToMont(product);
+            for (int i = 0; i < NttEngine.N; i++) {
+                assertEquals(expected[i], Math.floorMod(product[i], NttEngine.DILITHIUM_Q), "dilithium " + engine.getName());
+            }
+
+            short[] c = kyberPoly(random, false);
+            short[] d = kyberPoly(random, false);
+            int[] expectedKyber = schoolbook(toInts(c), toInts(d), NttEngine.KYBER_Q);
+
+            short[] kyberProduct = new short[NttEngine.N];
+            engine.kyberNtt(c);
+            engine.kyberReduce(c);
+            engine.kyberNtt(d);
+            engine.kyberReduce(d);
+            engine.kyberBaseMultiply(kyberProduct, c, d);
+            // the base multiplication's 2^-16 is undone by the inverse NTT's 2^16
+            engine.kyberInvNttToMont(kyberProduct);
+            for (int i = 0; i < NttEngine.N; i++) {
+                assertEquals(expectedKyber[i], Math.floorMod(kyberProduct[i], NttEngine.KYBER_Q), "kyber " + engine.getName());
+            }
+        }
+    }
+
+    @Test
+    void selectsEngineFromProperty() {
+        NttEngine vector = NttEngines.vector();
+
+        assertSame(vector != null ? vector : NttEngines.scalar(), NttEngines.get());
+
+        System.setProperty(NttEngines.ENGINE_PROPERTY, "scalar");
+        NttEngines.reset();
+        assertSame(NttEngines.scalar(), NttEngines.get());
+
+        System.setProperty(NttEngines.ENGINE_PROPERTY, "vector");
+        NttEngines.reset();
+        assertSame(vector != null ? vector : NttEngines.scalar(), NttEngines.get());
+
+        System.setProperty(NttEngines.ENGINE_PROPERTY, "missing");
+        NttEngines.reset();
+        assertSame(NttEngines.scalar(), NttEngines.get());
+
+        for (NttEngine engine : engines()) {
+            assertThrows(IllegalArgumentException.class, () -> engine.dilithiumNtt(new int[128]));
+            assertThrows(IllegalArgumentException.class, () -> engine.kyberBaseMultiply(
+                new short[NttEngine.N], new short[NttEngine.N], new short[255]));
+        }
+    }
+
+    private static List<NttEngine> engines() {
+        List<NttEngine> engines = new ArrayList<>();
+        engines.add(NttEngines.scalar());
+        if (NttEngines.vector() != null) {
+            engines.add(NttEngines.vector());
+        }
+        return engines;
+    }
+
+    private static int[] dilithiumPoly(Random random, boolean fullRange) {
+        int[] poly = new int[NttEngine.N];
+        for (int i = 0; i < poly.length; i++) {
+            poly[i] = fullRange ? random.nextInt()
+                : random.nextInt(2 * NttEngine.DILITHIUM_Q - 1) - (NttEngine.DILITHIUM_Q - 1);
+        }
+        return poly;
+    }
+
+    private static short[] kyberPoly(Random random, boolean fullRange) {
+        short[] poly = new short[NttEngine.N];
+        for (int i = 0; i < poly.length; i++) {
+            poly[i] = (short) (fullRange ? random.nextInt() : random.nextInt(NttEngine.KYBER_Q));
+        }
+        return poly;
+    }
+
+    private static int[] toInts(short[] poly) {
+        int[] result = new int[poly.length];
+        for (int i = 0; i < poly.length; i++) {
+            result[i] = poly[i];
+        }
+        return result;
+    }
+
+    /**
+     * a * b mod (X^256 + 1, q), coefficients in [0, q)
+     */
+    private static int[] schoolbook(int[] a, int[] b, int q) {
+        long[] product = new long[NttEngine.N];
+        for (int i = 0; i < NttEngine.N; i++) {
+            for (int j = 0; j < NttEngine.N; j++) {
+                long term = (long) a[i] * b[j] % q;
+                int index = i + j;
+                if (index >= NttEngine.N) {
+                    product[index - NttEngine.N] -= term;
+                } else {
+                    product[index] += term;
+                }
+            }
+        }
+        int[] result = new int[NttEngine.N];
+        for (int i = 0; i < NttEngine.N; i++) {
+            result[i] = (int) Math.floorMod(product[i], (long) q);
+        }
+        return result;
+    }
+
+    private static Class<?> bcClass(String name) throws ClassNotFoundException {
+        return Class.forName(BC_PACKAGE + name);
+    }
+
+    private static Method bcMethod(String type, String name, Class<?>... parameters) throws Exception {
+        Method method = bcClass(type).getDeclaredMethod(name, parameters);
+        method.setAccessible(true);
+        return method;
+    }
+
+    private static Constructor<?> bcConstructor(String type, Class<?>... parameters) throws Exception {
+        Constructor<?> constructor = bcClass(type).getDeclaredConstructor(parameters);
+        constructor.setAccessible(true);
+        return constructor;
+    }
+}
@@ -7,6 +7,13 @@ import org.slf4j.LoggerFactory;
 
 import java.security.Provider;
 import java.security.Security;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * OQS (Open Quantum Safe) Provider - QSIGN 통합용 보안 프로바이더
@@ -17,7 +24,14 @@ import java.security.Security;
  * 지원 알고리즘:
  * - KYBER512, KYBER768, KYBER1024 (키 캡슐화 메커니즘)
  * - DILITHIUM2, DILITHIUM3, DILITHIUM5 (디지털 서명)
+ * - FALCON-512, FALCON-1024 (소형 디지털 서명)
  * - 하이브리드 모드 (고전 + PQC 알고리즘)
+ * - OQS 키 저장소 (메모리 매핑, 별칭 인덱스, 지연 디코딩)
+ *
+ * 등록 모드 (시스템 속성 {@value #REGISTRATION_PROPERTY}):
+ * - eager (기본값): 생성 시 모든 알고리즘과 BC/BCPQC 프로바이더를 등록
+ * - lazy: 서비스는 첫 getService() 호출 시 생성되고, BCPQC는 첫 PQC 연산 시 등록되며,
+ *         전체 BC 프로바이더는 등록하지 않음 (Keycloak/SPI 콜드 스타트 단축)
  *
  * OQS (Open Quantum Safe) Provider for QSIGN Integration
  *
@@ -27,7 +41,9 @@ import java.security.Security;
  * Supported Algorithms:
  * - KYBER512, KYBER768, KYBER1024 (KEM)
  * - DILITHIUM2, DILITHIUM3, DILITHIUM5 (Signature)
+ * - FALCON-512, FALCON-1024 (Compact signature)
  * - Hybrid modes (Classical + PQC)
+ * - OQS key store (memory-mapped, alias index, lazy decoding)
  */
 public class OQSProvider extends Provider {
 
@@ -36,98 +52,276 @@ public class OQSProvider extends Provider {
     private static final String VERSION = "1.0.0";
     private static final String INFO = "Open Quantum Safe Provider for QSIGN";
 
-    private static boolean initialized = false;
+    /**
+     * 등록 모드 시스템 속성 (eager | lazy)
+     * System property selecting the registration mode
+     */
+    public static final String REGISTRATION_PROPERTY = "oqs.provider.registration";
+
+    /**
+     * 알고리즘 등록 모드
+     * Algorithm registration mode
+     */
+    public enum RegistrationMode {
+        EAGER,
+        LAZY;
+
+        static RegistrationMode fromSystemProperty() {
+            String value = System.getProperty(REGISTRATION_PROPERTY, "eager");
+            return "lazy".equalsIgnoreCase(value.trim()) ? LAZY : EAGER;
+        }
+    }
+
+    private static final String KYBER_PACKAGE = "org.bouncycastle.pqc.jcajce.provider.kyber.";
+    private static final String DILITHIUM_PACKAGE = "org.bouncycastle.pqc.jcajce.provider.dilithium.";
+    private static final String FALCON_PACKAGE = "org.bouncycastle.pqc.jcajce.provider.falcon.";
+
+    /**
+     * 등록 알고리즘 표: {타입, 알고리즘, 구현 클래스}
+     * Registered algorithms: {type, algorithm, SPI class}
+     */
+    private static final String[][] ALGORITHMS = {
+        // 키 교환 메커니즘 (KEM)
+        {"KeyPairGenerator", "KYBER512", KYBER_PACKAGE + "KyberKeyPairGeneratorSpi$Kyber512"},
+        {"KeyPairGenerator", "KYBER768", KYBER_PACKAGE + "KyberKeyPairGeneratorSpi$Kyber768"},
+        {"KeyPairGenerator", "KYBER1024", KYBER_PACKAGE + "KyberKeyPairGeneratorSpi$Kyber1024"},
+
+        // 디지털 서명
+        {"KeyPairGenerator", "DILITHIUM2", DILITHIUM_PACKAGE + "DilithiumKeyPairGeneratorSpi$Base2"},
+        {"KeyPairGenerator", "DILITHIUM3", DILITHIUM_PACKAGE + "DilithiumKeyPairGeneratorSpi$Base3"},
+        {"KeyPairGenerator", "DILITHIUM5", DILITHIUM_PACKAGE + "DilithiumKeyPairGeneratorSpi$Base5"},
+
+        {"Signature", "DILITHIUM2", DILITHIUM_PACKAGE + "SignatureSpi$Base2"},
+        {"Signature", "DILITHIUM3", DILITHIUM_PACKAGE + "SignatureSpi$Base3"},
+        {"Signature", "DILITHIUM5", DILITHIUM_PACKAGE + "SignatureSpi$Base5"},
+
+        // 소형 디지털 서명
+        {"KeyPairGenerator", "FALCON-512", FALCON_PACKAGE + "FalconKeyPairGeneratorSpi$Falcon512"},
+        {"KeyPairGenerator", "FALCON-1024", FALCON_PACKAGE + "FalconKeyPairGeneratorSpi$Falcon1024"},
+
+        {"Signature", "FALCON-512", FALCON_PACKAGE + "SignatureSpi$Falcon512"},
+        {"Signature", "FALCON-1024", FALCON_PACKAGE + "SignatureSpi$Falcon1024"},
+
+        // KEM용 암호화
+        {"Cipher", "KYBER", KYBER_PACKAGE + "KyberCipherSpi$Base"},
+
+        // 메모리 매핑 키 저장소
+        {"KeyStore", "OQS", "com.qsign.oqs.keystore.OqsKeyStoreSpi"},
+    };
+
+    /**
+     * BouncyCastle 프로바이더 1회 등록
+     *
+     * 클래스 초기화는 JVM이 정확히 한 번만 수행하므로, 동시에 여러 스레드가
+     * 접근해도 BC는 한 번만 등록되고 이후 접근은 잠금 없이 진행됩니다.
+     *
+     * One-time BC registration guarded by class initialization
+     */
+    private static final class BouncyCastleRegistration {
+        private static final AtomicInteger REGISTRATIONS = new AtomicInteger();
+
+        static {
+            if (Security.getProvider(BouncyCastleProvider.PROVIDER_NAME) == null) {
+                Security.addProvider(new BouncyCastleProvider());
+            }
+            REGISTRATIONS.incrementAndGet();
+        }
+
+        static void ensureRegistered() {
+            // 클래스 초기화 트리거 (Triggers class initialization)
+        }
+    }
+
+    /**
+     * BouncyCastle PQC 프로바이더 1회 등록 (eager/lazy 공통)
+     * One-time BCPQC registration guarded by class initialization
+     */
+    private static final class PqcRegistration {
+        private static final Provider PROVIDER;
+
+        static {
+            Provider registered = Security.getProvider(BouncyCastlePQCProvider.PROVIDER_NAME);
+            if (registered == null) {
+                registered = new BouncyCastlePQCProvider();
+                Security.addProvider(registered);
+            }
+            PROVIDER = registered;
+        }
+    }
+
+    /**
+     * 지연 초기화 싱글톤 홀더 (Lazy singleton holder)
+     */
+    private static final class Holder {
+        private static final OQSProvider INSTANCE = new OQSProvider();
+    }
+
+    private final RegistrationMode mode;
+    private final Map<String, Service> lazyServices;
 
     /**
      * OQS Provider 생성자
      * Provider를 생성하고 자동으로 초기화합니다.
+     *
+     * java.security 설정이나 ServiceLoader에서 사용할 수 있도록 공개되어 있으며,
+     * 애플리케이션 코드는 {@link #getInstance()}를 사용해야 합니다.
      */
     public OQSProvider() {
         super(PROVIDER_NAME, VERSION, INFO);
+        this.mode = RegistrationMode.fromSystemProperty();
+        this.lazyServices = mode == RegistrationMode.LAZY ? new ConcurrentHashMap<>() : null;
         initialize();
     }
 
     /**
      * OQS Provider 초기화 및 BouncyCastle PQC 알고리즘 등록
      *
-     * BouncyCastle Provider와 BouncyCastle PQC Provider를 등록하고,
-     * KYBER 및 DILITHIUM 알고리즘을 사용할 수 있도록 설정합니다.
+     * eager 모드에서는 BouncyCastle Provider와 BouncyCastle PQC Provider를 (JVM당 한 번)
+     * 등록하고, KYBER 및 DILITHIUM 알고리즘을 사용할 수 있도록 설정합니다.
+     * lazy 모드에서는 아무것도 미리 등록하지 않습니다.
      *
      * Initialize the OQS provider and register BouncyCastle PQC algorithms
      */
     private void initialize() {
-        if (!initialized) {
-            logger.info("======================================================================");
-            logger.info("   🛡️  OQS Provider 초기화");
-            logger.info("   Open Quantum Safe for QSIGN");
-            logger.info("======================================================================");
-            logger.info("   버전: {}", VERSION);
-            logger.info("   프로바이더: {}", PROVIDER_NAME);
-
-            // BouncyCastle Provider 등록
-            Security.addProvider(new BouncyCastleProvider());
-            Security.addProvider(new BouncyCastlePQCProvider());
-
-            // OQS 알고리즘 등록
-            registerAlgorithms();
-
-            initialized = true;
-            logger.info("   ✅ OQS Provider: 초기화 완료");
-            logger.info("======================================================================");
+        if (mode == RegistrationMode.LAZY) {
+            logger.debug("OQS Provider {} - lazy registration", VERSION);
+            return;
         }
+
+        logger.info("======================================================================");
+        logger.info("   🛡️  OQS Provider 초기화");
+        logger.info("   Open Quantum Safe for QSIGN");
+        logger.info("======================================================================");
+        logger.info("   버전: {}", VERSION);
+        logger.info("   프로바이더: {}", PROVIDER_NAME);
+
+        // BouncyCastle Provider 등록 (1회)
+        BouncyCastleRegistration.ensureRegistered();
+        getPqcProvider();
+
+        // OQS 알고리즘 등록
+        registerAlgorithms();
+
+        logger.info("   ✅ OQS Provider: 초기화 완료");
+        logger.info("======================================================================");
     }
 
     /**
      * PQC 알고리즘을 Provider에 등록
      *
-     * KYBER (키 교환) 및 DILITHIUM (디지털 서명) 알고리즘을
+     * KYBER (키 교환), DILITHIUM 및 FALCON (디지털 서명) 알고리즘을
      * Java Security Provider에 등록합니다.
      *
      * Register PQC algorithms with the provider
      */
     private void registerAlgorithms() {
-        // 키 교환 메커니즘 (KEM)
-        put("KeyPairGenerator.KYBER512", "org.bouncycastle.pqc.jcajce.provider.kyber.BCKyberKeyPairGeneratorSpi$Kyber512");
-        put("KeyPairGenerator.KYBER768", "org.bouncycastle.pqc.jcajce.provider.kyber.BCKyberKeyPairGeneratorSpi$Kyber768");
-        put("KeyPairGenerator.KYBER1024", "org.bouncycastle.pqc.jcajce.provider.kyber.BCKyberKeyPairGeneratorSpi$Kyber1024");
+        for (String[] algorithm : ALGORITHMS) {
+            put(algorithm[0] + "." + algorithm[1], algorithm[2]);
+        }
 
-        // 디지털 서명
-        put("KeyPairGenerator.DILITHIUM2", "org.bouncycastle.pqc.jcajce.provider.dilithium.BCDilithiumKeyPairGeneratorSpi$Dilithium2");
-        put("KeyPairGenerator.DILITHIUM3", "org.bouncycastle.pqc.jcajce.provider.dilithium.BCDilithiumKeyPairGeneratorSpi$Dilithium3");
-        put("KeyPairGenerator.DILITHIUM5", "org.bouncycastle.pqc.jcajce.provider.dilithium.BCDilithiumKeyPairGeneratorSpi$Dilithium5");
+        logger.info("   ✅ 등록 완료: KYBER512, KYBER768, KYBER1024 (KEM)");
+        logger.info("   ✅ 등록 완료: DILITHIUM2, DILITHIUM3, DILITHIUM5 (서명)");
+        logger.info("   ✅ 등록 완료: FALCON-512, FALCON-1024 (서명)");
+        logger.info("   ✅ 등록 완료: OQS (키 저장소)");
+    }
 
-        put("Signature.DILITHIUM2", "org.bouncycastle.pqc.jcajce.provider.dilithium.SignatureSpi$Dilithium2");
-        put("Signature.DILITHIUM3", "org.bouncycastle.pqc.jcajce.provider.dilithium.SignatureSpi$Dilithium3");
-        put("Signature.DILITHIUM5", "org.bouncycastle.pqc.jcajce.provider.dilithium.SignatureSpi$Dilithium5");
+    /**
+     * 서비스 조회 (lazy 모드에서는 첫 조회 시 생성)
+     *
+     * SPI 클래스는 Service.newInstance()가 처음 호출될 때 로드됩니다.
+     *
+     * Look up a service, creating it on first use in lazy mode
+     */
+    @Override
+    public Service getService(String type, String algorithm) {
+        if (lazyServices == null) {
+            return super.getService(type, algorithm);
+        }
+        String key = serviceKey(type, algorithm);
+        Service service = lazyServices.get(key);
+        if (service != null) {
+            return service;
+        }
+        for (String[] entry : ALGORITHMS) {
+            if (entry[0].equalsIgnoreCase(type) && entry[1].equalsIgnoreCase(algorithm)) {
+                return lazyServices.computeIfAbsent(key, k -> newService(entry));
+            }
+        }
+        return null;
+    }
 
-        // KEM용 암호화
-        put("Cipher.KYBER", "org.bouncycastle.pqc.jcajce.provider.kyber.BCKyberCipherSpi$Base");
+    /**
+     * 전체 서비스 목록 (lazy 모드에서는 이 시점에 모두 생성)
+     * All services; in lazy mode every service is created at this point
+     */
+    @Override
+    public Set<Service> getServices() {
+        if (lazyServices == null) {
+            return super.getServices();
+        }
+        Set<Service> services = new LinkedHashSet<>();
+        for (String[] entry : ALGORITHMS) {
+            services.add(lazyServices.computeIfAbsent(serviceKey(entry[0], entry[1]), k -> newService(entry)));
+        }
+        return Collections.unmodifiableSet(services);
+    }
 
-        logger.info("   ✅ 등록 완료: KYBER512, KYBER768, KYBER1024 (KEM)");
-        logger.info("   ✅ 등록 완료: DILITHIUM2, DILITHIUM3, DILITHIUM5 (서명)");
+    /**
+     * 현재 등록 모드 반환
+     * Get the registration mode of this provider
+     */
+    public RegistrationMode getRegistrationMode() {
+        return mode;
+    }
+
+    private Service newService(String[] entry) {
+        return new Service(this, entry[0], entry[1], entry[2], null, null);
+    }
+
+    private static String serviceKey(String type, String algorithm) {
+        return type.toUpperCase(Locale.ENGLISH) + "." + algorithm.toUpperCase(Locale.ENGLISH);
     }
 
     /**
      * OQS Provider의 싱글톤 인스턴스 반환
+     *
+     * 최초 호출 시 한 번만 생성되며 이후 호출은 잠금 없이 같은 인스턴스를 반환합니다.
+     *
      * Get the singleton instance of OQS Provider
      */
     public static OQSProvider getInstance() {
-        return new OQSProvider();
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * PQC 연산에 사용할 BouncyCastle PQC 프로바이더 반환
+     *
+     * 처음 호출될 때 (아직 없으면) BCPQC를 보안 프로바이더로 등록합니다.
+     * 래퍼 클래스는 이름 조회 대신 이 인스턴스를 직접 사용합니다.
+     *
+     * Get the BouncyCastle PQC provider, registering it on first use
+     */
+    public static Provider getPqcProvider() {
+        return PqcRegistration.PROVIDER;
     }
 
     /**
      * OQS Provider를 보안 프로바이더로 설치
      *
-     * 아직 설치되지 않은 경우에만 Provider를 등록합니다.
+     * 아직 설치되지 않은 경우에만 싱글톤 Provider를 등록합니다.
+     * 여러 스레드가 동시에 호출해도 한 번만 등록되며 (Security.addProvider는
+     * 이름이 같은 Provider를 거부), 이미 설치된 경우 잠금 없이 반환합니다.
      *
-     * Install the OQS Provider as a security provider
+     * Install the OQS Provider as a security provider (idempotent, thread-safe)
      */
     public static void install() {
-        if (Security.getProvider(PROVIDER_NAME) == null) {
-            Security.addProvider(new OQSProvider());
-            logger.info("OQS Provider 설치 완료");
+        if (Security.getProvider(PROVIDER_NAME) != null) {
+            return;
+        }
+        if (Security.addProvider(getInstance()) != -1) {
+            logger.info("OQS Provider 설치 완료 ({})", getInstance().getRegistrationMode());
         } else {
-            logger.info("OQS Provider 이미 설치됨");
+            logger.debug("OQS Provider 이미 설치됨");
         }
     }
 
@@ -139,6 +333,14 @@ public class OQSProvider extends Provider {
         return Security.getProvider(PROVIDER_NAME) != null;
     }
 
+    /**
+     * BouncyCastle 등록 횟수 (테스트용, 항상 0 또는 1)
+     * Number of BC registrations performed by this class
+     */
+    static int getBouncyCastleRegistrations() {
+        return BouncyCastleRegistration.REGISTRATIONS.get();
+    }
+
     /**
      * Provider 정보 반환
      * Get provider information
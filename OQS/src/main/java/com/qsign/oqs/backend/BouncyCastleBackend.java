@@ -0,0 +1,185 @@
+package com.qsign.oqs.backend;
+
+import com.qsign.oqs.util.OqsRandom;
+import org.bouncycastle.crypto.SecretWithEncapsulation;
+import org.bouncycastle.crypto.params.AsymmetricKeyParameter;
+import org.bouncycastle.crypto.params.ParametersWithRandom;
+import org.bouncycastle.pqc.crypto.crystals.dilithium.DilithiumKeyParameters;
+import org.bouncycastle.pqc.crypto.crystals.dilithium.DilithiumPrivateKeyParameters;
+import org.bouncycastle.pqc.crypto.crystals.dilithium.DilithiumPublicKeyParameters;
+import org.bouncycastle.pqc.crypto.crystals.dilithium.DilithiumSigner;
+import org.bouncycastle.pqc.crypto.crystals.kyber.KyberKEMExtractor;
+import org.bouncycastle.pqc.crypto.crystals.kyber.KyberKEMGenerator;
+import org.bouncycastle.pqc.crypto.crystals.kyber.KyberKeyParameters;
+import org.bouncycastle.pqc.crypto.crystals.kyber.KyberPrivateKeyParameters;
+import org.bouncycastle.pqc.crypto.crystals.kyber.KyberPublicKeyParameters;
+import org.bouncycastle.pqc.crypto.falcon.FalconKeyParameters;
+import org.bouncycastle.pqc.crypto.falcon.FalconPrivateKeyParameters;
+import org.bouncycastle.pqc.crypto.falcon.FalconPublicKeyParameters;
+import org.bouncycastle.pqc.crypto.falcon.FalconSigner;
+import org.bouncycastle.pqc.crypto.util.PrivateKeyFactory;
+import org.bouncycastle.pqc.crypto.util.PublicKeyFactory;
+
+import java.io.IOException;
+import java.security.InvalidKeyException;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+
+/**
+ * Pure-Java backend on the BouncyCastle PQC low-level API
+ *
+ * Always available and supports every DILITHIUM, FALCON and KYBER variant, so it is
+ * the fallback whenever another backend is absent or lacks a variant. It also decodes
+ * JCA keys into the raw encodings native backends need ({@link #rawPublicKey},
+ * {@link #rawPrivateKey}).
+ */
+public class BouncyCastleBackend implements CryptoBackend {
+
+    public static final String NAME = "bc";
+
+    public static final BouncyCastleBackend INSTANCE = new BouncyCastleBackend();
+
+    // Header byte plus 40-byte nonce that precede the compressed FALCON signature
+    private static final int FALCON_NONCE_OFFSET = 1 + 40;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public int getPriority() {
+        return 0;
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return true;
+    }
+
+    @Override
+    public boolean supports(String algorithm) {
+        String upper = algorithm.toUpperCase();
+        return upper.startsWith("DILITHIUM") || upper.startsWith("FALCON") || upper.startsWith("KYBER");
+    }
+
+    @Override
+    public Signer newSigner(String algorithm, PrivateKey privateKey) throws InvalidKeyException {
+        if (isFalcon(algorithm)) {
+            FalconPrivateKeyParameters keyParameters =
+                checkAlgorithm(decode(privateKey), FalconPrivateKeyParameters.class, algorithm);
+            FalconSigner signer = new FalconSigner();
+            signer.init(true, new ParametersWithRandom(keyParameters, OqsRandom.getDefault()));
+            return signer::generateSignature;
+        }
+        DilithiumPrivateKeyParameters keyParameters =
+            checkAlgorithm(decode(privateKey), DilithiumPrivateKeyParameters.class, algorithm);
+        DilithiumSigner signer = new DilithiumSigner();
+        signer.init(true, new ParametersWithRandom(keyParameters, OqsRandom.getDefault()));
+        return signer::generateSignature;
+    }
+
+    @Override
+    public Verifier newVerifier(String algorithm, PublicKey publicKey) throws InvalidKeyException {
+        if (isFalcon(algorithm)) {
+            FalconPublicKeyParameters keyParameters =
+                checkAlgorithm(decode(publicKey), FalconPublicKeyParameters.class, algorithm);
+            FalconSigner verifier = new FalconSigner();
+            verifier.init(false, keyParameters);
+            // FalconSigner indexes the header byte and nonce before checking the length
+            return (message, signature) -> signature.length > FALCON_NONCE_OFFSET
+                && verifier.verifySignature(message, signature);
+        }
+        DilithiumPublicKeyParameters keyParameters =
+            checkAlgorithm(decode(publicKey), DilithiumPublicKeyParameters.class, algorithm);
+        DilithiumSigner verifier = new DilithiumSigner();
+        verifier.init(false, keyParameters);
+        return verifier::verifySignature;
+    }
+
+    @Override
+    public Encapsulation encapsulate(String algorithm, PublicKey publicKey) throws InvalidKeyException {
+        KyberPublicKeyParameters keyParameters =
+            checkAlgorithm(decode(publicKey), KyberPublicKeyParameters.class, algorithm);
+        SecretWithEncapsulation result =
+            new KyberKEMGenerator(OqsRandom.getDefault()).generateEncapsulated(keyParameters);
+        return new Encapsulation(result.getSecret(), result.getEncapsulation());
+    }
+
+    @Override
+    public byte[] decapsulate(String algorithm, PrivateKey privateKey, byte[] ciphertext)
+            throws InvalidKeyException {
+        KyberPrivateKeyParameters keyParameters =
+            checkAlgorithm(decode(privateKey), KyberPrivateKeyParameters.class, algorithm);
+        return new KyberKEMExtractor(keyParameters).extractSecret(ciphertext);
+    }
+
+    /**
+     * Raw public key (DILITHIUM rho || t1, KYBER t || rho) as used by reference implementations
+     */
+    public static byte[] rawPublicKey(String algorithm, PublicKey publicKey) throws InvalidKeyException {
+        AsymmetricKeyParameter key = decode(publicKey);
+        if (key instanceof DilithiumPublicKeyParameters) {
+            return checkAlgorithm(key, DilithiumPublicKeyParameters.class, algorithm).getEncoded();
+        }
+        return checkAlgorithm(key, KyberPublicKeyParameters.class, algorithm).getEncoded();
+    }
+
+    /**
+     * Raw secret key in the reference implementation layout
+     */
+    public static byte[] rawPrivateKey(String algorithm, PrivateKey privateKey) throws InvalidKeyException {
+        AsymmetricKeyParameter key = decode(privateKey);
+        if (key instanceof DilithiumPrivateKeyParameters) {
+            return checkAlgorithm(key, DilithiumPrivateKeyParameters.class, algorithm).getEncoded();
+        }
+        return checkAlgorithm(key, KyberPrivateKeyParameters.class, algorithm).getEncoded();
+    }
+
+    private static boolean isFalcon(String algorithm) {
+        return algorithm.toUpperCase().startsWith("FALCON");
+    }
+
+    private static AsymmetricKeyParameter decode(PublicKey publicKey) throws InvalidKeyException {
+        try {
+            return PublicKeyFactory.createKey(publicKey.getEncoded());
+        } catch (IOException | RuntimeException e) {
+            throw new InvalidKeyException("Cannot decode " + publicKey.getAlgorithm() + " public key", e);
+        }
+    }
+
+    private static AsymmetricKeyParameter decode(PrivateKey privateKey) throws InvalidKeyException {
+        try {
+            return PrivateKeyFactory.createKey(privateKey.getEncoded());
+        } catch (IOException | RuntimeException e) {
+            throw new InvalidKeyException("Cannot decode " + privateKey.getAlgorithm() + " private key", e);
+        }
+    }
+
+    private static <T extends AsymmetricKeyParameter> T checkAlgorithm(AsymmetricKeyParameter key, Class<T> type,
+                                                                       String algorithm)
+            throws InvalidKeyException {
+
+        if (!type.isInstance(key)) {
+            throw new InvalidKeyException("Not a " + algorithm + " key: " + key.getClass().getSimpleName());
+        }
+        String name = parameterName(key);
+        if (!name.equalsIgnoreCase(algorithm)) {
+            throw new InvalidKeyException("Key is " + name + ", expected " + algorithm);
+        }
+        return type.cast(key);
+    }
+
+    private static String parameterName(AsymmetricKeyParameter key) {
+        if (key instanceof DilithiumKeyParameters) {
+            return ((DilithiumKeyParameters) key).getParameters().getName();
+        }
+        if (key instanceof KyberKeyParameters) {
+            return ((KyberKeyParameters) key).getParameters().getName();
+        }
+        if (key instanceof FalconKeyParameters) {
+            return ((FalconKeyParameters) key).getParameters().getName();
+        }
+        return key.getClass().getSimpleName();
+    }
+}
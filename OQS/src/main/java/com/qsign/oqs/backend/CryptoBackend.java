@@ -0,0 +1,109 @@
+package com.qsign.oqs.backend;
+
+import java.security.GeneralSecurityException;
+import java.security.InvalidKeyException;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.util.Arrays;
+
+/**
+ * Engine behind {@link com.qsign.oqs.crypto.DilithiumSignature} and
+ * {@link com.qsign.oqs.crypto.KyberKEM}
+ *
+ * Implementations are discovered with {@link java.util.ServiceLoader} and selected by
+ * {@link CryptoBackends}. Keys are always the provider's JCA key objects, so keys
+ * generated on one backend can be used on another; a backend extracts whatever raw
+ * form it needs. Algorithms are the variant names ("DILITHIUM3", "FALCON-512", "KYBER1024").
+ * Implementations must be thread-safe.
+ */
+public interface CryptoBackend {
+
+    /**
+     * Short name used for selection (e.g. "bc", "qssl")
+     */
+    String getName();
+
+    /**
+     * Preference among available backends; higher wins under automatic selection
+     */
+    int getPriority();
+
+    /**
+     * Whether the backend can run in this JVM (e.g. its native library was found)
+     */
+    boolean isAvailable();
+
+    /**
+     * Whether the backend implements the given DILITHIUM, FALCON or KYBER variant
+     */
+    boolean supports(String algorithm);
+
+    /**
+     * Bind a private key for repeated signing
+     */
+    Signer newSigner(String algorithm, PrivateKey privateKey) throws InvalidKeyException;
+
+    /**
+     * Bind a public key for repeated verification
+     */
+    Verifier newVerifier(String algorithm, PublicKey publicKey) throws InvalidKeyException;
+
+    /**
+     * Generate a shared secret and its KEM ciphertext for the public key
+     */
+    Encapsulation encapsulate(String algorithm, PublicKey publicKey) throws GeneralSecurityException;
+
+    /**
+     * Recover the shared secret from a KEM ciphertext
+     */
+    byte[] decapsulate(String algorithm, PrivateKey privateKey, byte[] ciphertext)
+        throws GeneralSecurityException;
+
+    /**
+     * Signing handle for one private key; safe for concurrent use
+     *
+     * Engine failures are reported as unchecked exceptions, as with the BouncyCastle
+     * low-level signer.
+     */
+    interface Signer {
+        byte[] sign(byte[] message);
+    }
+
+    /**
+     * Verification handle for one public key; safe for concurrent use
+     *
+     * Returns false for a well-formed but wrong signature; engine failures are
+     * reported as unchecked exceptions.
+     */
+    interface Verifier {
+        boolean verify(byte[] message, byte[] signature);
+    }
+
+    /**
+     * Shared secret and ciphertext from one encapsulation
+     */
+    final class Encapsulation {
+        private final byte[] sharedSecret;
+        private final byte[] ciphertext;
+
+        public Encapsulation(byte[] sharedSecret, byte[] ciphertext) {
+            this.sharedSecret = sharedSecret;
+            this.ciphertext = ciphertext;
+        }
+
+        public byte[] getSharedSecret() {
+            return sharedSecret;
+        }
+
+        public byte[] getCiphertext() {
+            return ciphertext;
+        }
+
+        /**
+         * Overwrite the shared secret with zeros
+         */
+        public void destroy() {
+            Arrays.fill(sharedSecret, (byte) 0);
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.qsign.oqs.backend;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+/**
+ * Runtime discovery and selection of {@link CryptoBackend}s
+ *
+ * Backends are found with {@link ServiceLoader}; {@link BouncyCastleBackend} is always
+ * present. The {@value #BACKEND_PROPERTY} system property picks one:
+ *
+ * - auto (default): the available backend with the highest priority
+ * - bc: BouncyCastle only
+ * - any other name: that backend, or BouncyCastle with a warning if it is unavailable
+ *
+ * {@link #forAlgorithm(String)} falls back to BouncyCastle for variants the selected
+ * backend does not implement, so callers never have to check availability.
+ */
+public final class CryptoBackends {
+
+    private static final Logger logger = LoggerFactory.getLogger(CryptoBackends.class);
+
+    public static final String BACKEND_PROPERTY = "qsign.oqs.backend";
+    public static final String AUTO = "auto";
+
+    private static volatile List<CryptoBackend> available;
+    private static volatile CryptoBackend selected;
+
+    private CryptoBackends() {
+    }
+
+    /**
+     * Available backends, highest priority first
+     */
+    public static List<CryptoBackend> available() {
+        List<CryptoBackend> result = available;
+        if (result == null) {
+            synchronized (CryptoBackends.class) {
+                result = available;
+                if (result == null) {
+                    result = Collections.unmodifiableList(discover());
+                    available = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Available backend with the given name, or null
+     */
+    public static CryptoBackend find(String name) {
+        for (CryptoBackend backend : available()) {
+            if (backend.getName().equalsIgnoreCase(name)) {
+                return backend;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Backend chosen by {@value #BACKEND_PROPERTY}
+     */
+    public static CryptoBackend get() {
+        CryptoBackend result = selected;
+        if (result == null) {
+            synchronized (CryptoBackends.class) {
+                result = selected;
+                if (result == null) {
+                    result = select(System.getProperty(BACKEND_PROPERTY, AUTO));
+                    selected = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Selected backend if it implements the algorithm, BouncyCastle otherwise
+     */
+    public static CryptoBackend forAlgorithm(String algorithm) {
+        CryptoBackend backend = get();
+        return backend.supports(algorithm) ? backend : BouncyCastleBackend.INSTANCE;
+    }
+
+    /**
+     * Rediscover backends and re-read {@value #BACKEND_PROPERTY} on next use
+     *
+     * Instances created earlier keep the backend they were built with.
+     */
+    public static synchronized void reset() {
+        available = null;
+        selected = null;
+    }
+
+    private static CryptoBackend select(String name) {
+        if (AUTO.equalsIgnoreCase(name)) {
+            CryptoBackend backend = available().get(0);
+            logger.info("Selected crypto backend: {}", backend.getName());
+            return backend;
+        }
+
+        CryptoBackend backend = find(name);
+        if (backend == null) {
+            logger.warn("Crypto backend '{}' is not available, falling back to {}", name, BouncyCastleBackend.NAME);
+            return BouncyCastleBackend.INSTANCE;
+        }
+        logger.info("Selected crypto backend: {}", backend.getName());
+        return backend;
+    }
+
+    private static List<CryptoBackend> discover() {
+        List<CryptoBackend> backends = new ArrayList<>();
+        backends.add(BouncyCastleBackend.INSTANCE);
+
+        Iterator<CryptoBackend> iterator = ServiceLoader.load(CryptoBackend.class).iterator();
+        while (true) {
+            CryptoBackend backend;
+            try {
+                if (!iterator.hasNext()) {
+                    break;
+                }
+                backend = iterator.next();
+            } catch (ServiceConfigurationError | LinkageError e) {
+                // e.g. a backend compiled for a newer JDK on the class path
+                logger.warn("Skipping crypto backend that failed to load: {}", e.toString());
+                continue;
+            }
+
+            try {
+                if (backend.isAvailable()) {
+                    backends.add(backend);
+                    logger.debug("Found crypto backend: {} (priority {})", backend.getName(), backend.getPriority());
+                } else {
+                    logger.debug("Crypto backend {} is not available", backend.getName());
+                }
+            } catch (RuntimeException | LinkageError e) {
+                logger.warn("Crypto backend {} failed its availability check: {}", backend.getName(), e.toString());
+            }
+        }
+
+        backends.sort(Comparator.comparingInt(CryptoBackend::getPriority).reversed());
+        return backends;
+    }
+}
@@ -0,0 +1,322 @@
+package com.qsign.oqs.crypto;
+
+import com.qsign.oqs.util.VirtualThreads;
+import org.bouncycastle.jcajce.SecretKeyWithEncapsulation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.crypto.SecretKey;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Asynchronous facade over DILITHIUM signing and KYBER encapsulation
+ *
+ * Every operation returns a {@link CompletableFuture} and runs on the configured
+ * executor, so reactive callers never block their event-loop or carrier threads on
+ * PQC work. At most {@code maxInFlight} operations are queued or running at once;
+ * further submissions fail fast with {@link RejectedExecutionException} and are
+ * counted, giving callers a back-pressure signal instead of an unbounded queue.
+ *
+ * Futures complete on the executor thread, with the original
+ * {@link java.security.GeneralSecurityException} as the failure cause.
+ */
+public class AsyncCryptoService implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncCryptoService.class);
+
+    /**
+     * Built-in executor choices
+     *
+     * - CPU_POOL: fixed pool of platform threads, sized to the CPU count by default
+     * - VIRTUAL_THREADS: one virtual thread per operation (Java 21+); falls back to
+     *   CPU_POOL on older runtimes
+     */
+    public enum ExecutorType {
+        CPU_POOL,
+        VIRTUAL_THREADS
+    }
+
+    /**
+     * Executor and back-pressure configuration
+     */
+    public static class Config {
+        private ExecutorType executorType = ExecutorType.CPU_POOL;
+        private int threads = Runtime.getRuntime().availableProcessors();
+        private int maxInFlight = 1024;
+        private Executor executor;
+
+        public Config setExecutorType(ExecutorType executorType) {
+            this.executorType = executorType;
+            return this;
+        }
+
+        /**
+         * Pool size for {@link ExecutorType#CPU_POOL}
+         */
+        public Config setThreads(int threads) {
+            this.threads = threads;
+            return this;
+        }
+
+        /**
+         * Maximum operations queued or running before submissions are rejected
+         */
+        public Config setMaxInFlight(int maxInFlight) {
+            this.maxInFlight = maxInFlight;
+            return this;
+        }
+
+        /**
+         * Run on a caller-owned executor instead of a built-in one (not shut down by close())
+         */
+        public Config setExecutor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        public ExecutorType getExecutorType() {
+            return executorType;
+        }
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public int getMaxInFlight() {
+            return maxInFlight;
+        }
+
+        public Executor getExecutor() {
+            return executor;
+        }
+    }
+
+    /**
+     * Point-in-time service counters
+     */
+    public static final class Metrics {
+        private final long submitted;
+        private final long completed;
+        private final long failed;
+        private final long rejected;
+        private final int inFlight;
+
+        private Metrics(long submitted, long completed, long failed, long rejected, int inFlight) {
+            this.submitted = submitted;
+            this.completed = completed;
+            this.failed = failed;
+            this.rejected = rejected;
+            this.inFlight = inFlight;
+        }
+
+        /**
+         * Operations accepted for execution
+         */
+        public long getSubmitted() {
+            return submitted;
+        }
+
+        public long getCompleted() {
+            return completed;
+        }
+
+        public long getFailed() {
+            return failed;
+        }
+
+        /**
+         * Operations refused because the in-flight limit was reached or the executor rejected them
+         */
+        public long getRejected() {
+            return rejected;
+        }
+
+        public int getInFlight() {
+            return inFlight;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("submitted=%d, completed=%d, failed=%d, rejected=%d, inFlight=%d",
+                submitted, completed, failed, rejected, inFlight);
+        }
+    }
+
+    private interface Operation<T> {
+        T run() throws Exception;
+    }
+
+    private final DilithiumSignature signature;
+    private final KyberKEM kem;
+    private final Executor executor;
+    private final ExecutorService ownedExecutor;
+    private final int maxInFlight;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * Create a service
+     *
+     * With virtual threads every operation runs on a fresh thread, so prefer
+     * {@link DilithiumSignature.EngineMode#PER_CALL} over THREAD_CONFINED there.
+     *
+     * @param signature DILITHIUM wrapper for sign/verify (may be null if unused)
+     * @param kem KYBER wrapper for encapsulate/decapsulate (may be null if unused)
+     * @param config Executor and back-pressure configuration
+     */
+    public AsyncCryptoService(DilithiumSignature signature, KyberKEM kem, Config config) {
+        if (config.getMaxInFlight() < 1) {
+            throw new IllegalArgumentException("maxInFlight must be positive: " + config.getMaxInFlight());
+        }
+        this.signature = signature;
+        this.kem = kem;
+        this.maxInFlight = config.getMaxInFlight();
+
+        if (config.getExecutor() != null) {
+            this.ownedExecutor = null;
+            this.executor = config.getExecutor();
+        } else {
+            this.ownedExecutor = newExecutor(config);
+            this.executor = ownedExecutor;
+        }
+    }
+
+    /**
+     * Sign a message asynchronously
+     */
+    public CompletableFuture<byte[]> sign(PrivateKey privateKey, byte[] message) {
+        return submit(() -> requireSignature().sign(privateKey, message));
+    }
+
+    /**
+     * Verify a signature asynchronously
+     */
+    public CompletableFuture<Boolean> verify(PublicKey publicKey, byte[] message, byte[] signatureBytes) {
+        return submit(() -> requireSignature().verify(publicKey, message, signatureBytes));
+    }
+
+    /**
+     * Encapsulate a shared secret asynchronously
+     */
+    public CompletableFuture<SecretKeyWithEncapsulation> encapsulate(PublicKey publicKey) {
+        return submit(() -> requireKem().encapsulate(publicKey));
+    }
+
+    /**
+     * Decapsulate a shared secret asynchronously
+     */
+    public CompletableFuture<SecretKey> decapsulate(PrivateKey privateKey, byte[] encapsulated) {
+        return submit(() -> requireKem().decapsulate(privateKey, encapsulated));
+    }
+
+    public Metrics getMetrics() {
+        return new Metrics(submitted.sum(), completed.sum(), failed.sum(), rejected.sum(), inFlight.get());
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    /**
+     * Shut down the built-in executor; a caller-supplied executor is left running
+     */
+    @Override
+    public void close() {
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdown();
+        }
+    }
+
+    private <T> CompletableFuture<T> submit(Operation<T> operation) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+
+        if (!tryAcquire()) {
+            rejected.increment();
+            future.completeExceptionally(new RejectedExecutionException(
+                "AsyncCryptoService saturated: " + maxInFlight + " operations in flight"));
+            return future;
+        }
+
+        try {
+            executor.execute(() -> run(operation, future));
+            submitted.increment();
+        } catch (RejectedExecutionException e) {
+            inFlight.decrementAndGet();
+            rejected.increment();
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    private <T> void run(Operation<T> operation, CompletableFuture<T> future) {
+        T result;
+        try {
+            result = operation.run();
+        } catch (Throwable e) {
+            // Release the slot before completing so dependent stages can submit again
+            inFlight.decrementAndGet();
+            failed.increment();
+            future.completeExceptionally(e);
+            return;
+        }
+        inFlight.decrementAndGet();
+        completed.increment();
+        future.complete(result);
+    }
+
+    private boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= maxInFlight) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private DilithiumSignature requireSignature() {
+        if (signature == null) {
+            throw new IllegalStateException("No DilithiumSignature configured");
+        }
+        return signature;
+    }
+
+    private KyberKEM requireKem() {
+        if (kem == null) {
+            throw new IllegalStateException("No KyberKEM configured");
+        }
+        return kem;
+    }
+
+    private static ExecutorService newExecutor(Config config) {
+        if (config.getExecutorType() == ExecutorType.VIRTUAL_THREADS) {
+            ExecutorService virtual = VirtualThreads.newPerTaskExecutor();
+            if (virtual != null) {
+                return virtual;
+            }
+            logger.warn("Virtual threads require Java 21+ (running {}), using a {}-thread CPU pool",
+                System.getProperty("java.version"), config.getThreads());
+        }
+
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(config.getThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "oqs-async-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
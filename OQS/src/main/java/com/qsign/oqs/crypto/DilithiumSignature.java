@@ -1,10 +1,34 @@
 package com.qsign.oqs.crypto;
 
-import org.bouncycastle.pqc.jcajce.provider.BouncyCastlePQCProvider;
+import com.qsign.oqs.OQSProvider;
+import com.qsign.oqs.backend.BouncyCastleBackend;
+import com.qsign.oqs.backend.CryptoBackend;
+import com.qsign.oqs.backend.CryptoBackends;
+import com.qsign.oqs.metrics.CryptoMetrics;
+import com.qsign.oqs.util.OqsRandom;
+import org.bouncycastle.pqc.jcajce.spec.DilithiumParameterSpec;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.security.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * DILITHIUM Digital Signature wrapper
@@ -16,11 +40,40 @@ import java.security.*;
  * - DILITHIUM2: Security Level 2 (AES-128 equivalent)
  * - DILITHIUM3: Security Level 3 (AES-192 equivalent)
  * - DILITHIUM5: Security Level 5 (AES-256 equivalent)
+ *
+ * Large payloads can be signed in constant memory with the pre-hash methods
+ * ({@link #signPrehashed(PrivateKey, InputStream)} and overloads). They sign
+ * 0x01 || 0x00 || OID(SHA-512) || SHA-512(content) with the ordinary DILITHIUM
+ * signing operation. This is not FIPS 204 HashML-DSA, which round-3 DILITHIUM cannot
+ * express. The two modes are kept apart here instead: {@link #sign}, {@link #verify}
+ * and the prepared handles refuse any message with that exact layout, so a raw
+ * signature can never pass as a pre-hash one or the other way round. Signing through
+ * the JCA provider directly bypasses this check.
+ *
+ * Signing and verification run on a {@link CryptoBackend}, by default the one picked
+ * by {@link CryptoBackends#forAlgorithm(String)}. Key generation always uses the
+ * BouncyCastle provider; its keys work on every backend.
  */
-public class DilithiumSignature {
+public class DilithiumSignature implements PqcSignature {
 
     private static final Logger logger = LoggerFactory.getLogger(DilithiumSignature.class);
 
+    /**
+     * Digest used by the pre-hash methods
+     */
+    public static final String PREHASH_ALGORITHM = "SHA-512";
+    public static final int PREHASH_SIZE = 64;
+
+    /**
+     * 0x01, empty context, then the DER-encoded OID of SHA-512 (2.16.840.1.101.3.4.2.3)
+     */
+    private static final byte[] PREHASH_PREFIX = {
+        0x01, 0x00, 0x06, 0x09, 0x60, (byte) 0x86, 0x48, 0x01, 0x65, 0x03, 0x04, 0x02, 0x03
+    };
+
+    private static final int STREAM_BUFFER_SIZE = 64 * 1024;
+    private static final long MAP_CHUNK_SIZE = 64L * 1024 * 1024;
+
     public enum DilithiumVariant {
         DILITHIUM2("DILITHIUM2", 1312, 2528, 2420),
         DILITHIUM3("DILITHIUM3", 1952, 4000, 3293),
@@ -55,88 +108,680 @@ public class DilithiumSignature {
         }
     }
 
+    /**
+     * How {@link Signature} engines are obtained for sign/verify calls
+     *
+     * - PER_CALL: a fresh engine for every call
+     * - THREAD_CONFINED: each thread keeps one signing and one verification engine,
+     *   re-initialized only when the key changes
+     *
+     * Both draw signing randomness from {@link OqsRandom#getDefault()}.
+     */
+    public enum EngineMode {
+        PER_CALL,
+        THREAD_CONFINED
+    }
+
+    /**
+     * Per-thread engines for {@link EngineMode#THREAD_CONFINED}
+     */
+    private static final class Engines {
+        private Signature signer;
+        private PrivateKey signerKey;
+        private Signature verifier;
+        private PublicKey verifierKey;
+    }
+
+    /**
+     * Signing handle for one long-lived private key
+     *
+     * The key is decoded once and bound to a backend signer, so signing skips
+     * provider lookup, engine initialization and message buffering. Instances are
+     * immutable after creation and safe for concurrent use.
+     */
+    public static final class PreparedSigner implements PqcSignature.Signer {
+        private final DilithiumVariant variant;
+        private final CryptoBackend.Signer signer;
+
+        private PreparedSigner(DilithiumVariant variant, CryptoBackend.Signer signer) {
+            this.variant = variant;
+            this.signer = signer;
+        }
+
+        /**
+         * Sign a message with the prepared private key
+         */
+        @Override
+        public byte[] sign(byte[] message) {
+            checkRawMessage(message);
+            long start = CryptoMetrics.start();
+            boolean success = false;
+            try {
+                byte[] signatureBytes = signer.sign(message);
+                success = true;
+                return signatureBytes;
+            } finally {
+                CryptoMetrics.record(CryptoMetrics.Operation.SIGN, variant.getAlgorithm(), start, success);
+            }
+        }
+
+        public DilithiumVariant getVariant() {
+            return variant;
+        }
+
+        @Override
+        public String getAlgorithm() {
+            return variant.getAlgorithm();
+        }
+    }
+
+    /**
+     * Verification handle for one long-lived public key
+     *
+     * The key is decoded once and bound to a backend verifier. Instances are
+     * immutable after creation and safe for concurrent use.
+     */
+    public static final class PreparedVerifier implements PqcSignature.Verifier {
+        private final DilithiumVariant variant;
+        private final CryptoBackend.Verifier verifier;
+
+        private PreparedVerifier(DilithiumVariant variant, CryptoBackend.Verifier verifier) {
+            this.variant = variant;
+            this.verifier = verifier;
+        }
+
+        /**
+         * Verify a signature with the prepared public key
+         */
+        @Override
+        public boolean verify(byte[] message, byte[] signatureBytes) {
+            if (isPrehashMessage(message)) {
+                return false;
+            }
+            long start = CryptoMetrics.start();
+            boolean success = false;
+            try {
+                boolean valid = verifier.verify(message, signatureBytes);
+                success = true;
+                return valid;
+            } finally {
+                CryptoMetrics.record(CryptoMetrics.Operation.VERIFY, variant.getAlgorithm(), start, success);
+            }
+        }
+
+        public DilithiumVariant getVariant() {
+            return variant;
+        }
+
+        @Override
+        public String getAlgorithm() {
+            return variant.getAlgorithm();
+        }
+    }
+
     private final DilithiumVariant variant;
+    private final EngineMode engineMode;
+    private final ThreadLocal<Engines> engines;
+    private final CryptoBackend backend;
+    private final boolean jcaEngine;
 
     public DilithiumSignature(DilithiumVariant variant) {
+        this(variant, EngineMode.PER_CALL);
+    }
+
+    public DilithiumSignature(DilithiumVariant variant, EngineMode engineMode) {
+        this(variant, engineMode, CryptoBackends.forAlgorithm(variant.getAlgorithm()));
+    }
+
+    /**
+     * Create an instance on an explicit backend
+     *
+     * @param backend Backend for signing and verification; must support this variant
+     */
+    public DilithiumSignature(DilithiumVariant variant, EngineMode engineMode, CryptoBackend backend) {
+        if (!backend.supports(variant.getAlgorithm())) {
+            throw new IllegalArgumentException("Backend " + backend.getName() + " does not support "
+                + variant.getAlgorithm());
+        }
         this.variant = variant;
+        this.engineMode = engineMode;
+        this.engines = engineMode == EngineMode.THREAD_CONFINED ? ThreadLocal.withInitial(Engines::new) : null;
+        this.backend = backend;
+        // BouncyCastle keeps the JCA engine path for one-shot calls, including the engine modes
+        this.jcaEngine = backend instanceof BouncyCastleBackend;
     }
 
     /**
      * Generate a new DILITHIUM key pair
      */
-    public KeyPair generateKeyPair() throws NoSuchAlgorithmException, NoSuchProviderException {
-        KeyPairGenerator keyGen = KeyPairGenerator.getInstance(
-            variant.getAlgorithm(),
-            BouncyCastlePQCProvider.PROVIDER_NAME
-        );
-
-        keyGen.initialize(new SecureRandom());
-        KeyPair keyPair = keyGen.generateKeyPair();
-
-        logger.debug("Generated {} key pair - Public key: {} bytes, Private key: {} bytes",
-            variant.getAlgorithm(),
-            keyPair.getPublic().getEncoded().length,
-            keyPair.getPrivate().getEncoded().length
-        );
-
-        return keyPair;
+    @Override
+    public KeyPair generateKeyPair() throws NoSuchAlgorithmException, NoSuchProviderException,
+                                            InvalidAlgorithmParameterException {
+        long start = CryptoMetrics.start();
+        boolean success = false;
+        try {
+            KeyPairGenerator keyGen = KeyPairGenerator.getInstance(
+                variant.getAlgorithm(),
+                OQSProvider.getPqcProvider()
+            );
+
+            keyGen.initialize(DilithiumParameterSpec.fromName(variant.getAlgorithm()), OqsRandom.getDefault());
+            KeyPair keyPair = keyGen.generateKeyPair();
+
+            // getEncoded() allocates, so only pay for it when DEBUG is on
+            if (logger.isDebugEnabled()) {
+                logger.debug("Generated {} key pair - Public key: {} bytes, Private key: {} bytes",
+                    variant.getAlgorithm(),
+                    keyPair.getPublic().getEncoded().length,
+                    keyPair.getPrivate().getEncoded().length
+                );
+            }
+
+            success = true;
+            return keyPair;
+        } finally {
+            CryptoMetrics.record(CryptoMetrics.Operation.KEYGEN, variant.getAlgorithm(), start, success);
+        }
     }
 
     /**
      * Sign a message with the private key
      *
      * @param privateKey Signer's private key
-     * @param message Message to sign
+     * @param message Message to sign; must not have the pre-hash layout
      * @return Digital signature
      */
+    @Override
     public byte[] sign(PrivateKey privateKey, byte[] message)
             throws NoSuchAlgorithmException, NoSuchProviderException,
                    InvalidKeyException, SignatureException {
+        checkRawMessage(message);
+        return signMessage(privateKey, message);
+    }
 
-        Signature signature = Signature.getInstance(
-            variant.getAlgorithm(),
-            BouncyCastlePQCProvider.PROVIDER_NAME
-        );
+    private byte[] signMessage(PrivateKey privateKey, byte[] message)
+            throws NoSuchAlgorithmException, NoSuchProviderException,
+                   InvalidKeyException, SignatureException {
+        long start = CryptoMetrics.start();
+        boolean success = false;
+        try {
+            byte[] signatureBytes;
+            if (!jcaEngine) {
+                signatureBytes = backend.newSigner(variant.getAlgorithm(), privateKey).sign(message);
+            } else if (engines != null) {
+                signatureBytes = signThreadConfined(privateKey, message);
+            } else {
+                Signature signature = newEngine();
+                signature.initSign(privateKey, OqsRandom.getDefault());
+                signature.update(message);
+                signatureBytes = signature.sign();
+            }
+
+            logger.debug("Created {} signature - Message: {} bytes, Signature: {} bytes",
+                variant.getAlgorithm(),
+                message.length,
+                signatureBytes.length
+            );
+
+            success = true;
+            return signatureBytes;
+        } finally {
+            CryptoMetrics.record(CryptoMetrics.Operation.SIGN, variant.getAlgorithm(), start, success);
+        }
+    }
 
-        signature.initSign(privateKey, new SecureRandom());
-        signature.update(message);
+    /**
+     * Verify a signature with the public key
+     *
+     * @param publicKey Signer's public key
+     * @param message Original message
+     * @param signatureBytes Signature to verify
+     * @return true if signature is valid, false otherwise (always for a message with the pre-hash layout)
+     */
+    @Override
+    public boolean verify(PublicKey publicKey, byte[] message, byte[] signatureBytes)
+            throws NoSuchAlgorithmException, NoSuchProviderException,
+                   InvalidKeyException, SignatureException {
+        if (isPrehashMessage(message)) {
+            logger.debug("Rejected raw {} verification of a pre-hash message", variant.getAlgorithm());
+            return false;
+        }
+        return verifyMessage(publicKey, message, signatureBytes);
+    }
 
-        byte[] signatureBytes = signature.sign();
+    private boolean verifyMessage(PublicKey publicKey, byte[] message, byte[] signatureBytes)
+            throws NoSuchAlgorithmException, NoSuchProviderException,
+                   InvalidKeyException, SignatureException {
+        long start = CryptoMetrics.start();
+        boolean success = false;
+        try {
+            boolean isValid;
+            if (!jcaEngine) {
+                isValid = backend.newVerifier(variant.getAlgorithm(), publicKey).verify(message, signatureBytes);
+            } else if (engines != null) {
+                isValid = verifyThreadConfined(publicKey, message, signatureBytes);
+            } else {
+                Signature signature = newEngine();
+                signature.initVerify(publicKey);
+                signature.update(message);
+                isValid = signature.verify(signatureBytes);
+            }
+
+            logger.debug("Verified {} signature - Valid: {}", variant.getAlgorithm(), isValid);
+
+            success = true;
+            return isValid;
+        } finally {
+            CryptoMetrics.record(CryptoMetrics.Operation.VERIFY, variant.getAlgorithm(), start, success);
+        }
+    }
 
-        logger.debug("Created {} signature - Message: {} bytes, Signature: {} bytes",
-            variant.getAlgorithm(),
-            message.length,
-            signatureBytes.length
-        );
+    /**
+     * Sign the content of a stream in constant memory (pre-hash mode)
+     *
+     * @param privateKey Signer's private key
+     * @param content Content to sign, read to the end but not closed
+     * @return Pre-hash signature
+     */
+    public byte[] signPrehashed(PrivateKey privateKey, InputStream content)
+            throws GeneralSecurityException, IOException {
+        return signDigest(privateKey, prehash(content));
+    }
 
-        return signatureBytes;
+    /**
+     * Sign the content of a channel in constant memory (pre-hash mode)
+     *
+     * @param privateKey Signer's private key
+     * @param content Content to sign, read to the end but not closed
+     * @return Pre-hash signature
+     */
+    public byte[] signPrehashed(PrivateKey privateKey, ReadableByteChannel content)
+            throws GeneralSecurityException, IOException {
+        return signDigest(privateKey, prehash(content));
     }
 
     /**
-     * Verify a signature with the public key
+     * Sign the remaining bytes of a buffer (pre-hash mode)
+     *
+     * The buffer's position is advanced to its limit.
+     *
+     * @param privateKey Signer's private key
+     * @param content Content to sign (heap, direct or mapped)
+     * @return Pre-hash signature
+     */
+    public byte[] signPrehashed(PrivateKey privateKey, ByteBuffer content) throws GeneralSecurityException {
+        return signDigest(privateKey, prehash(content));
+    }
+
+    /**
+     * Sign a file through memory-mapped reads (pre-hash mode)
+     *
+     * @param privateKey Signer's private key
+     * @param file File to sign
+     * @return Pre-hash signature
+     */
+    public byte[] signPrehashed(PrivateKey privateKey, Path file) throws GeneralSecurityException, IOException {
+        return signDigest(privateKey, prehash(file));
+    }
+
+    /**
+     * Verify a pre-hash signature over the content of a stream
      *
      * @param publicKey Signer's public key
-     * @param message Original message
+     * @param content Signed content, read to the end but not closed
      * @param signatureBytes Signature to verify
      * @return true if signature is valid, false otherwise
      */
-    public boolean verify(PublicKey publicKey, byte[] message, byte[] signatureBytes)
+    public boolean verifyPrehashed(PublicKey publicKey, InputStream content, byte[] signatureBytes)
+            throws GeneralSecurityException, IOException {
+        return verifyDigest(publicKey, prehash(content), signatureBytes);
+    }
+
+    /**
+     * Verify a pre-hash signature over the content of a channel
+     *
+     * @param publicKey Signer's public key
+     * @param content Signed content, read to the end but not closed
+     * @param signatureBytes Signature to verify
+     * @return true if signature is valid, false otherwise
+     */
+    public boolean verifyPrehashed(PublicKey publicKey, ReadableByteChannel content, byte[] signatureBytes)
+            throws GeneralSecurityException, IOException {
+        return verifyDigest(publicKey, prehash(content), signatureBytes);
+    }
+
+    /**
+     * Verify a pre-hash signature over the remaining bytes of a buffer
+     *
+     * @param publicKey Signer's public key
+     * @param content Signed content; its position is advanced to its limit
+     * @param signatureBytes Signature to verify
+     * @return true if signature is valid, false otherwise
+     */
+    public boolean verifyPrehashed(PublicKey publicKey, ByteBuffer content, byte[] signatureBytes)
+            throws GeneralSecurityException {
+        return verifyDigest(publicKey, prehash(content), signatureBytes);
+    }
+
+    /**
+     * Verify a pre-hash signature over a file through memory-mapped reads
+     *
+     * @param publicKey Signer's public key
+     * @param file Signed file
+     * @param signatureBytes Signature to verify
+     * @return true if signature is valid, false otherwise
+     */
+    public boolean verifyPrehashed(PublicKey publicKey, Path file, byte[] signatureBytes)
+            throws GeneralSecurityException, IOException {
+        return verifyDigest(publicKey, prehash(file), signatureBytes);
+    }
+
+    /**
+     * Sign a SHA-512 digest computed elsewhere (pre-hash mode)
+     *
+     * @param privateKey Signer's private key
+     * @param digest SHA-512 digest of the content
+     * @return Pre-hash signature
+     */
+    public byte[] signDigest(PrivateKey privateKey, byte[] digest) throws GeneralSecurityException {
+        return signMessage(privateKey, prehashMessage(digest));
+    }
+
+    /**
+     * Verify a pre-hash signature against a SHA-512 digest computed elsewhere
+     *
+     * @param publicKey Signer's public key
+     * @param digest SHA-512 digest of the content
+     * @param signatureBytes Signature to verify
+     * @return true if signature is valid, false otherwise
+     */
+    public boolean verifyDigest(PublicKey publicKey, byte[] digest, byte[] signatureBytes)
+            throws GeneralSecurityException {
+        return verifyMessage(publicKey, prehashMessage(digest), signatureBytes);
+    }
+
+    /**
+     * Create a digest for feeding content to {@link #signDigest(PrivateKey, byte[])} incrementally
+     */
+    public static MessageDigest newPrehashDigest() throws NoSuchAlgorithmException {
+        return MessageDigest.getInstance(PREHASH_ALGORITHM);
+    }
+
+    private static byte[] prehashMessage(byte[] digest) {
+        if (digest.length != PREHASH_SIZE) {
+            throw new IllegalArgumentException(
+                PREHASH_ALGORITHM + " digest must be " + PREHASH_SIZE + " bytes, got " + digest.length);
+        }
+
+        byte[] message = Arrays.copyOf(PREHASH_PREFIX, PREHASH_PREFIX.length + PREHASH_SIZE);
+        System.arraycopy(digest, 0, message, PREHASH_PREFIX.length, PREHASH_SIZE);
+        return message;
+    }
+
+    /**
+     * Whether a message has the layout only the pre-hash methods may sign or verify
+     */
+    private static boolean isPrehashMessage(byte[] message) {
+        return message.length == PREHASH_PREFIX.length + PREHASH_SIZE
+            && Arrays.equals(message, 0, PREHASH_PREFIX.length, PREHASH_PREFIX, 0, PREHASH_PREFIX.length);
+    }
+
+    private static void checkRawMessage(byte[] message) {
+        if (isPrehashMessage(message)) {
+            throw new IllegalArgumentException("Message has the pre-hash layout; sign the digest with signDigest");
+        }
+    }
+
+    private static byte[] prehash(InputStream content) throws NoSuchAlgorithmException, IOException {
+        MessageDigest digest = newPrehashDigest();
+        byte[] buffer = new byte[STREAM_BUFFER_SIZE];
+        int read;
+        while ((read = content.read(buffer)) != -1) {
+            digest.update(buffer, 0, read);
+        }
+        return digest.digest();
+    }
+
+    private static byte[] prehash(ReadableByteChannel content) throws NoSuchAlgorithmException, IOException {
+        MessageDigest digest = newPrehashDigest();
+        ByteBuffer buffer = ByteBuffer.allocate(STREAM_BUFFER_SIZE);
+        while (content.read(buffer) != -1) {
+            buffer.flip();
+            digest.update(buffer);
+            buffer.clear();
+        }
+        return digest.digest();
+    }
+
+    private static byte[] prehash(ByteBuffer content) throws NoSuchAlgorithmException {
+        MessageDigest digest = newPrehashDigest();
+        digest.update(content);
+        return digest.digest();
+    }
+
+    private static byte[] prehash(Path file) throws NoSuchAlgorithmException, IOException {
+        MessageDigest digest = newPrehashDigest();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            for (long position = 0; position < size; position += MAP_CHUNK_SIZE) {
+                MappedByteBuffer chunk = channel.map(
+                    FileChannel.MapMode.READ_ONLY, position, Math.min(MAP_CHUNK_SIZE, size - position));
+                digest.update(chunk);
+            }
+        }
+        return digest.digest();
+    }
+
+    /**
+     * Prepare a long-lived private key for repeated signing
+     *
+     * @param privateKey Signer's private key (must match this variant)
+     * @return Reusable, thread-safe signing handle
+     */
+    @Override
+    public PreparedSigner prepare(PrivateKey privateKey) throws InvalidKeyException {
+        CryptoBackend.Signer signer = backend.newSigner(variant.getAlgorithm(), privateKey);
+
+        logger.debug("Prepared {} signing key on {}", variant.getAlgorithm(), backend.getName());
+        return new PreparedSigner(variant, signer);
+    }
+
+    /**
+     * Prepare a long-lived public key for repeated verification
+     *
+     * @param publicKey Signer's public key (must match this variant)
+     * @return Reusable, thread-safe verification handle
+     */
+    @Override
+    public PreparedVerifier prepare(PublicKey publicKey) throws InvalidKeyException {
+        CryptoBackend.Verifier verifier = backend.newVerifier(variant.getAlgorithm(), publicKey);
+
+        logger.debug("Prepared {} verification key on {}", variant.getAlgorithm(), backend.getName());
+        return new PreparedVerifier(variant, verifier);
+    }
+
+    /**
+     * Verify many signatures made with one public key
+     *
+     * The key is prepared once and the items are verified in parallel on the
+     * common fork-join pool.
+     *
+     * @param publicKey Signer's public key
+     * @param messages Original messages
+     * @param signatures Signatures, index-aligned with messages
+     * @return Bit i is set if and only if signature i is valid
+     */
+    public BitSet verifyBatch(PublicKey publicKey, List<byte[]> messages, List<byte[]> signatures)
+            throws InvalidKeyException {
+        return verifyBatch(publicKey, messages, signatures, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Verify many signatures made with one public key on the given executor
+     *
+     * Malformed signatures are reported as invalid rather than failing the batch.
+     *
+     * @param publicKey Signer's public key
+     * @param messages Original messages
+     * @param signatures Signatures, index-aligned with messages
+     * @param executor Executor running the verification chunks
+     * @return Bit i is set if and only if signature i is valid
+     */
+    public BitSet verifyBatch(PublicKey publicKey, List<byte[]> messages, List<byte[]> signatures,
+                              Executor executor) throws InvalidKeyException {
+        checkBatchSizes(messages.size(), messages, signatures);
+        PreparedVerifier verifier = prepare(publicKey);
+        return runBatch(messages.size(), index -> verifier, messages, signatures, executor);
+    }
+
+    /**
+     * Verify many signatures made with a mix of public keys
+     *
+     * Each distinct key object is prepared once and shared by all of its items.
+     *
+     * @param publicKeys Signer public keys, index-aligned with messages
+     * @param messages Original messages
+     * @param signatures Signatures, index-aligned with messages
+     * @return Bit i is set if and only if signature i is valid
+     */
+    public BitSet verifyBatch(List<PublicKey> publicKeys, List<byte[]> messages, List<byte[]> signatures)
+            throws InvalidKeyException {
+        return verifyBatch(publicKeys, messages, signatures, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Verify many signatures made with a mix of public keys on the given executor
+     *
+     * @param publicKeys Signer public keys, index-aligned with messages
+     * @param messages Original messages
+     * @param signatures Signatures, index-aligned with messages
+     * @param executor Executor running the verification chunks
+     * @return Bit i is set if and only if signature i is valid
+     */
+    public BitSet verifyBatch(List<PublicKey> publicKeys, List<byte[]> messages, List<byte[]> signatures,
+                              Executor executor) throws InvalidKeyException {
+        checkBatchSizes(publicKeys.size(), messages, signatures);
+
+        Map<PublicKey, PreparedVerifier> prepared = new IdentityHashMap<>();
+        PreparedVerifier[] verifiers = new PreparedVerifier[publicKeys.size()];
+        for (int i = 0; i < verifiers.length; i++) {
+            PublicKey key = publicKeys.get(i);
+            PreparedVerifier verifier = prepared.get(key);
+            if (verifier == null) {
+                verifier = prepare(key);
+                prepared.put(key, verifier);
+            }
+            verifiers[i] = verifier;
+        }
+
+        return runBatch(verifiers.length, index -> verifiers[index], messages, signatures, executor);
+    }
+
+    private interface VerifierLookup {
+        PreparedVerifier get(int index);
+    }
+
+    private static void checkBatchSizes(int size, List<byte[]> messages, List<byte[]> signatures) {
+        if (messages.size() != size || signatures.size() != size) {
+            throw new IllegalArgumentException("Batch lists differ in size: messages=" + messages.size()
+                + ", signatures=" + signatures.size() + ", expected " + size);
+        }
+    }
+
+    private BitSet runBatch(int size, VerifierLookup verifiers, List<byte[]> messages, List<byte[]> signatures,
+                            Executor executor) {
+
+        int chunks = Math.min(size, Runtime.getRuntime().availableProcessors() * 4);
+        List<CompletableFuture<BitSet>> results = new ArrayList<>(chunks);
+        for (int c = 0; c < chunks; c++) {
+            int from = (int) ((long) size * c / chunks);
+            int to = (int) ((long) size * (c + 1) / chunks);
+            results.add(CompletableFuture.supplyAsync(() -> {
+                BitSet valid = new BitSet(to);
+                for (int i = from; i < to; i++) {
+                    try {
+                        if (verifiers.get(i).verify(messages.get(i), signatures.get(i))) {
+                            valid.set(i);
+                        }
+                    } catch (RuntimeException e) {
+                        logger.debug("Malformed {} signature at batch index {}", variant.getAlgorithm(), i);
+                    }
+                }
+                return valid;
+            }, executor));
+        }
+
+        BitSet valid = new BitSet(size);
+        try {
+            for (CompletableFuture<BitSet> result : results) {
+                valid.or(result.join());
+            }
+        } catch (CompletionException e) {
+            throw new IllegalStateException("Batch verification failed", e.getCause());
+        }
+
+        logger.debug("Verified {} batch - {} of {} valid", variant.getAlgorithm(), valid.cardinality(), size);
+        return valid;
+    }
+
+    /**
+     * Sign using this thread's cached engine, re-initializing it only for a new key
+     */
+    private byte[] signThreadConfined(PrivateKey privateKey, byte[] message)
             throws NoSuchAlgorithmException, NoSuchProviderException,
                    InvalidKeyException, SignatureException {
 
-        Signature signature = Signature.getInstance(
-            variant.getAlgorithm(),
-            BouncyCastlePQCProvider.PROVIDER_NAME
-        );
+        Engines local = engines.get();
+        if (local.signer == null) {
+            local.signer = newEngine();
+        }
+        if (local.signerKey != privateKey) {
+            local.signerKey = null;
+            local.signer.initSign(privateKey, OqsRandom.getDefault());
+            local.signerKey = privateKey;
+        }
+
+        try {
+            local.signer.update(message);
+            return local.signer.sign();
+        } catch (SignatureException | RuntimeException e) {
+            // Engine state is unknown after a failure; force re-initialization next time
+            local.signerKey = null;
+            throw e;
+        }
+    }
 
-        signature.initVerify(publicKey);
-        signature.update(message);
+    /**
+     * Verify using this thread's cached engine, re-initializing it only for a new key
+     */
+    private boolean verifyThreadConfined(PublicKey publicKey, byte[] message, byte[] signatureBytes)
+            throws NoSuchAlgorithmException, NoSuchProviderException,
+                   InvalidKeyException, SignatureException {
 
-        boolean isValid = signature.verify(signatureBytes);
+        Engines local = engines.get();
+        if (local.verifier == null) {
+            local.verifier = newEngine();
+        }
+        if (local.verifierKey != publicKey) {
+            local.verifierKey = null;
+            local.verifier.initVerify(publicKey);
+            local.verifierKey = publicKey;
+        }
 
-        logger.debug("Verified {} signature - Valid: {}", variant.getAlgorithm(), isValid);
+        try {
+            local.verifier.update(message);
+            return local.verifier.verify(signatureBytes);
+        } catch (SignatureException | RuntimeException e) {
+            local.verifierKey = null;
+            throw e;
+        }
+    }
 
-        return isValid;
+    private Signature newEngine() throws NoSuchAlgorithmException, NoSuchProviderException {
+        return Signature.getInstance(
+            variant.getAlgorithm(),
+            OQSProvider.getPqcProvider()
+        );
     }
 
     /**
@@ -146,6 +791,35 @@ public class DilithiumSignature {
         return variant;
     }
 
+    @Override
+    public String getAlgorithm() {
+        return variant.getAlgorithm();
+    }
+
+    @Override
+    public int getPublicKeySize() {
+        return variant.getPublicKeySize();
+    }
+
+    @Override
+    public int getSignatureSize() {
+        return variant.getSignatureSize();
+    }
+
+    /**
+     * Get the engine mode being used
+     */
+    public EngineMode getEngineMode() {
+        return engineMode;
+    }
+
+    /**
+     * Get the backend running sign and verify operations
+     */
+    public CryptoBackend getBackend() {
+        return backend;
+    }
+
     /**
      * Create a DILITHIUM3 instance (recommended for most use cases)
      */
@@ -0,0 +1,318 @@
+package com.qsign.oqs.crypto;
+
+import com.qsign.oqs.OQSProvider;
+import com.qsign.oqs.backend.CryptoBackend;
+import com.qsign.oqs.backend.CryptoBackends;
+import com.qsign.oqs.metrics.CryptoMetrics;
+import com.qsign.oqs.util.OqsRandom;
+import org.bouncycastle.pqc.jcajce.spec.FalconParameterSpec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.security.InvalidAlgorithmParameterException;
+import java.security.InvalidKeyException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.NoSuchProviderException;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+
+/**
+ * FALCON (FN-DSA) Digital Signature wrapper
+ *
+ * Compact lattice signatures for size-sensitive places such as JWTs in headers and
+ * cookies: a FALCON-512 signature is at most 690 bytes against 2420 for DILITHIUM2,
+ * and its public key is 897 bytes. Signing is slower than DILITHIUM, verification is
+ * comparable.
+ *
+ * Supported variants:
+ * - FALCON-512:  Security Level 1 (AES-128 equivalent)
+ * - FALCON-1024: Security Level 5 (AES-256 equivalent)
+ *
+ * Signatures are variable length (compressed encoding) up to
+ * {@link FalconVariant#getSignatureSize()}. Signing and verification run on a
+ * {@link CryptoBackend}, by default the one picked by
+ * {@link CryptoBackends#forAlgorithm(String)}; key generation uses the BouncyCastle
+ * provider.
+ */
+public class FalconSignature implements PqcSignature {
+
+    private static final Logger logger = LoggerFactory.getLogger(FalconSignature.class);
+
+    public enum FalconVariant {
+        FALCON512("FALCON-512", 897, 1281, 690),
+        FALCON1024("FALCON-1024", 1793, 2305, 1330);
+
+        private final String algorithm;
+        private final int publicKeySize;
+        private final int privateKeySize;
+        private final int signatureSize;
+
+        FalconVariant(String algorithm, int publicKeySize, int privateKeySize, int signatureSize) {
+            this.algorithm = algorithm;
+            this.publicKeySize = publicKeySize;
+            this.privateKeySize = privateKeySize;
+            this.signatureSize = signatureSize;
+        }
+
+        public String getAlgorithm() {
+            return algorithm;
+        }
+
+        public int getPublicKeySize() {
+            return publicKeySize;
+        }
+
+        public int getPrivateKeySize() {
+            return privateKeySize;
+        }
+
+        /**
+         * Maximum signature size; actual signatures are usually a few dozen bytes shorter
+         */
+        public int getSignatureSize() {
+            return signatureSize;
+        }
+    }
+
+    /**
+     * Signing handle for one long-lived private key
+     *
+     * The key is decoded once and bound to a backend signer. Instances are immutable
+     * after creation and safe for concurrent use.
+     */
+    public static final class PreparedSigner implements PqcSignature.Signer {
+        private final FalconVariant variant;
+        private final CryptoBackend.Signer signer;
+
+        private PreparedSigner(FalconVariant variant, CryptoBackend.Signer signer) {
+            this.variant = variant;
+            this.signer = signer;
+        }
+
+        /**
+         * Sign a message with the prepared private key
+         */
+        @Override
+        public byte[] sign(byte[] message) {
+            long start = CryptoMetrics.start();
+            boolean success = false;
+            try {
+                byte[] signatureBytes = signer.sign(message);
+                success = true;
+                return signatureBytes;
+            } finally {
+                CryptoMetrics.record(CryptoMetrics.Operation.SIGN, variant.getAlgorithm(), start, success);
+            }
+        }
+
+        public FalconVariant getVariant() {
+            return variant;
+        }
+
+        @Override
+        public String getAlgorithm() {
+            return variant.getAlgorithm();
+        }
+    }
+
+    /**
+     * Verification handle for one long-lived public key
+     *
+     * The key is decoded once and bound to a backend verifier. Instances are
+     * immutable after creation and safe for concurrent use.
+     */
+    public static final class PreparedVerifier implements PqcSignature.Verifier {
+        private final FalconVariant variant;
+        private final CryptoBackend.Verifier verifier;
+
+        private PreparedVerifier(FalconVariant variant, CryptoBackend.Verifier verifier) {
+            this.variant = variant;
+            this.verifier = verifier;
+        }
+
+        /**
+         * Verify a signature with the prepared public key
+         */
+        @Override
+        public boolean verify(byte[] message, byte[] signatureBytes) {
+            long start = CryptoMetrics.start();
+            boolean success = false;
+            try {
+                boolean valid = verifier.verify(message, signatureBytes);
+                success = true;
+                return valid;
+            } finally {
+                CryptoMetrics.record(CryptoMetrics.Operation.VERIFY, variant.getAlgorithm(), start, success);
+            }
+        }
+
+        public FalconVariant getVariant() {
+            return variant;
+        }
+
+        @Override
+        public String getAlgorithm() {
+            return variant.getAlgorithm();
+        }
+    }
+
+    private final FalconVariant variant;
+    private final CryptoBackend backend;
+
+    public FalconSignature(FalconVariant variant) {
+        this(variant, CryptoBackends.forAlgorithm(variant.getAlgorithm()));
+    }
+
+    /**
+     * Create an instance on an explicit backend
+     *
+     * @param backend Backend for signing and verification; must support this variant
+     */
+    public FalconSignature(FalconVariant variant, CryptoBackend backend) {
+        if (!backend.supports(variant.getAlgorithm())) {
+            throw new IllegalArgumentException("Backend " + backend.getName() + " does not support "
+                + variant.getAlgorithm());
+        }
+        this.variant = variant;
+        this.backend = backend;
+    }
+
+    /**
+     * Generate a new FALCON key pair
+     */
+    @Override
+    public KeyPair generateKeyPair() throws NoSuchAlgorithmException, NoSuchProviderException,
+                                            InvalidAlgorithmParameterException {
+        long start = CryptoMetrics.start();
+        boolean success = false;
+        try {
+            KeyPairGenerator keyGen = KeyPairGenerator.getInstance(
+                variant.getAlgorithm(),
+                OQSProvider.getPqcProvider()
+            );
+
+            keyGen.initialize(FalconParameterSpec.fromName(variant.getAlgorithm()), OqsRandom.getDefault());
+            KeyPair keyPair = keyGen.generateKeyPair();
+
+            // getEncoded() allocates, so only pay for it when DEBUG is on
+            if (logger.isDebugEnabled()) {
+                logger.debug("Generated {} key pair - Public key: {} bytes, Private key: {} bytes",
+                    variant.getAlgorithm(),
+                    keyPair.getPublic().getEncoded().length,
+                    keyPair.getPrivate().getEncoded().length
+                );
+            }
+
+            success = true;
+            return keyPair;
+        } finally {
+            CryptoMetrics.record(CryptoMetrics.Operation.KEYGEN, variant.getAlgorithm(), start, success);
+        }
+    }
+
+    /**
+     * Sign a message with the private key
+     *
+     * Decodes the key on every call; use {@link #prepare(PrivateKey)} for a long-lived key.
+     *
+     * @param privateKey Signer's private key
+     * @param message Message to sign
+     * @return Digital signature
+     */
+    @Override
+    public byte[] sign(PrivateKey privateKey, byte[] message) throws InvalidKeyException {
+        byte[] signatureBytes = prepare(privateKey).sign(message);
+
+        logger.debug("Created {} signature - Message: {} bytes, Signature: {} bytes",
+            variant.getAlgorithm(),
+            message.length,
+            signatureBytes.length
+        );
+
+        return signatureBytes;
+    }
+
+    /**
+     * Verify a signature with the public key
+     *
+     * @param publicKey Signer's public key
+     * @param message Original message
+     * @param signatureBytes Signature to verify
+     * @return true if signature is valid, false otherwise
+     */
+    @Override
+    public boolean verify(PublicKey publicKey, byte[] message, byte[] signatureBytes) throws InvalidKeyException {
+        boolean isValid = prepare(publicKey).verify(message, signatureBytes);
+
+        logger.debug("Verified {} signature - Valid: {}", variant.getAlgorithm(), isValid);
+
+        return isValid;
+    }
+
+    /**
+     * Prepare a long-lived private key for repeated signing
+     *
+     * @param privateKey Signer's private key (must match this variant)
+     * @return Reusable, thread-safe signing handle
+     */
+    @Override
+    public PreparedSigner prepare(PrivateKey privateKey) throws InvalidKeyException {
+        return new PreparedSigner(variant, backend.newSigner(variant.getAlgorithm(), privateKey));
+    }
+
+    /**
+     * Prepare a long-lived public key for repeated verification
+     *
+     * @param publicKey Signer's public key (must match this variant)
+     * @return Reusable, thread-safe verification handle
+     */
+    @Override
+    public PreparedVerifier prepare(PublicKey publicKey) throws InvalidKeyException {
+        return new PreparedVerifier(variant, backend.newVerifier(variant.getAlgorithm(), publicKey));
+    }
+
+    /**
+     * Get the FALCON variant being used
+     */
+    public FalconVariant getVariant() {
+        return variant;
+    }
+
+    /**
+     * Get the backend running sign and verify operations
+     */
+    public CryptoBackend getBackend() {
+        return backend;
+    }
+
+    @Override
+    public String getAlgorithm() {
+        return variant.getAlgorithm();
+    }
+
+    @Override
+    public int getPublicKeySize() {
+        return variant.getPublicKeySize();
+    }
+
+    @Override
+    public int getSignatureSize() {
+        return variant.getSignatureSize();
+    }
+
+    /**
+     * Create a FALCON-512 instance (smallest signatures)
+     */
+    public static FalconSignature falcon512() {
+        return new FalconSignature(FalconVariant.FALCON512);
+    }
+
+    /**
+     * Create a FALCON-1024 instance (highest security)
+     */
+    public static FalconSignature falcon1024() {
+        return new FalconSignature(FalconVariant.FALCON1024);
+    }
+}
@@ -0,0 +1,284 @@
+package com.qsign.oqs.crypto;
+
+import com.qsign.oqs.util.CryptoUtils;
+import org.bouncycastle.jcajce.SecretKeyWithEncapsulation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.crypto.KeyAgreement;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.*;
+import java.security.interfaces.XECPublicKey;
+import java.security.spec.NamedParameterSpec;
+import java.security.spec.XECPublicKeySpec;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Hybrid X25519 + KYBER (ML-KEM) Key Encapsulation Mechanism
+ *
+ * Runs an ephemeral-static X25519 exchange and a KYBER encapsulation side by side
+ * and derives one shared secret from both, so the result stays secure as long as
+ * either algorithm holds.
+ *
+ * Ciphertext: ephemeral X25519 public key (32 bytes) || KYBER ciphertext
+ * Shared secret: HKDF-SHA256(ikm = ss_KYBER || ss_X25519,
+ *                            info = label || variant || ct_X25519 || pk_X25519 || ct_KYBER)
+ *
+ * When an executor is configured the KYBER half runs on it while the caller thread
+ * performs the X25519 half, so latency tracks max(classical, PQC) instead of the sum.
+ */
+public class HybridKEM {
+
+    private static final Logger logger = LoggerFactory.getLogger(HybridKEM.class);
+
+    public static final int X25519_KEY_SIZE = 32;
+    public static final int SHARED_SECRET_SIZE = 32;
+
+    private static final String X25519 = "X25519";
+    private static final byte[] LABEL = "QSIGN-HYBRID-X25519-KEM-v1".getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * Recipient public key: X25519 and KYBER halves
+     */
+    public static final class HybridPublicKey {
+        private final PublicKey classical;
+        private final PublicKey pqc;
+
+        public HybridPublicKey(PublicKey classical, PublicKey pqc) {
+            this.classical = classical;
+            this.pqc = pqc;
+        }
+
+        public PublicKey getClassical() {
+            return classical;
+        }
+
+        public PublicKey getPqc() {
+            return pqc;
+        }
+    }
+
+    /**
+     * Recipient key pair: X25519 and KYBER halves
+     */
+    public static final class HybridKeyPair {
+        private final KeyPair classical;
+        private final KeyPair pqc;
+
+        public HybridKeyPair(KeyPair classical, KeyPair pqc) {
+            this.classical = classical;
+            this.pqc = pqc;
+        }
+
+        public HybridPublicKey getPublic() {
+            return new HybridPublicKey(classical.getPublic(), pqc.getPublic());
+        }
+
+        public KeyPair getClassical() {
+            return classical;
+        }
+
+        public KeyPair getPqc() {
+            return pqc;
+        }
+    }
+
+    private interface Operation<T> {
+        T run() throws GeneralSecurityException;
+    }
+
+    private final KyberKEM kyber;
+    private final Executor executor;
+
+    /**
+     * Create a hybrid KEM that runs the KYBER half on the common fork-join pool
+     */
+    public HybridKEM(KyberKEM.KyberVariant variant) {
+        this(variant, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Create a hybrid KEM
+     *
+     * @param variant KYBER variant for the PQC half
+     * @param executor Executor for the KYBER half, or null to run both halves on the caller thread
+     */
+    public HybridKEM(KyberKEM.KyberVariant variant, Executor executor) {
+        this.kyber = new KyberKEM(variant);
+        this.executor = executor;
+    }
+
+    /**
+     * Generate a new X25519 + KYBER key pair
+     */
+    public HybridKeyPair generateKeyPair() throws GeneralSecurityException {
+        CompletableFuture<KeyPair> pqc = submit(kyber::generateKeyPair);
+        KeyPair classical = KeyPairGenerator.getInstance(X25519).generateKeyPair();
+
+        return new HybridKeyPair(classical, await(pqc));
+    }
+
+    /**
+     * Encapsulate: Derive a hybrid shared secret for the recipient
+     *
+     * @param recipient Recipient's hybrid public key
+     * @return Hybrid shared secret with the combined ciphertext as its encapsulation
+     */
+    public SecretKeyWithEncapsulation encapsulate(HybridPublicKey recipient) throws GeneralSecurityException {
+        CompletableFuture<SecretKeyWithEncapsulation> pqc = submit(() -> kyber.encapsulate(recipient.getPqc()));
+
+        KeyPair ephemeral = KeyPairGenerator.getInstance(X25519).generateKeyPair();
+        byte[] classicalSecret = agree(ephemeral.getPrivate(), recipient.getClassical());
+        byte[] ephemeralPublic = encodeX25519(ephemeral.getPublic());
+
+        SecretKeyWithEncapsulation pqcResult = await(pqc);
+        byte[] pqcCiphertext = pqcResult.getEncapsulation();
+
+        byte[] ciphertext = new byte[X25519_KEY_SIZE + pqcCiphertext.length];
+        System.arraycopy(ephemeralPublic, 0, ciphertext, 0, X25519_KEY_SIZE);
+        System.arraycopy(pqcCiphertext, 0, ciphertext, X25519_KEY_SIZE, pqcCiphertext.length);
+
+        byte[] secret = combine(pqcResult.getEncoded(), classicalSecret, ephemeralPublic,
+            encodeX25519(recipient.getClassical()), pqcCiphertext);
+
+        logger.debug("Hybrid X25519+{} encapsulation - Ciphertext: {} bytes",
+            kyber.getVariant().getAlgorithm(), ciphertext.length);
+
+        return new SecretKeyWithEncapsulation(new SecretKeySpec(secret, KyberKEM.SHARED_SECRET_ALGORITHM), ciphertext);
+    }
+
+    /**
+     * Decapsulate: Recover the hybrid shared secret
+     *
+     * @param recipient Recipient's hybrid key pair
+     * @param ciphertext Combined ciphertext from {@link #encapsulate(HybridPublicKey)}
+     * @return Hybrid shared secret
+     */
+    public SecretKey decapsulate(HybridKeyPair recipient, byte[] ciphertext) throws GeneralSecurityException {
+        int expected = getCiphertextSize();
+        if (ciphertext.length != expected) {
+            throw new InvalidKeyException("Hybrid ciphertext must be " + expected + " bytes, got " + ciphertext.length);
+        }
+
+        byte[] ephemeralPublic = Arrays.copyOfRange(ciphertext, 0, X25519_KEY_SIZE);
+        byte[] pqcCiphertext = Arrays.copyOfRange(ciphertext, X25519_KEY_SIZE, ciphertext.length);
+
+        CompletableFuture<SecretKey> pqc = submit(() ->
+            kyber.decapsulate(recipient.getPqc().getPrivate(), pqcCiphertext));
+
+        byte[] classicalSecret = agree(recipient.getClassical().getPrivate(), decodeX25519(ephemeralPublic));
+
+        byte[] secret = combine(await(pqc).getEncoded(), classicalSecret, ephemeralPublic,
+            encodeX25519(recipient.getClassical().getPublic()), pqcCiphertext);
+
+        logger.debug("Hybrid X25519+{} decapsulation complete", kyber.getVariant().getAlgorithm());
+
+        return new SecretKeySpec(secret, KyberKEM.SHARED_SECRET_ALGORITHM);
+    }
+
+    /**
+     * Length of the combined ciphertext
+     */
+    public int getCiphertextSize() {
+        return X25519_KEY_SIZE + kyber.getVariant().getCiphertextSize();
+    }
+
+    /**
+     * Get the KYBER variant used for the PQC half
+     */
+    public KyberKEM.KyberVariant getVariant() {
+        return kyber.getVariant();
+    }
+
+    private byte[] combine(byte[] pqcSecret, byte[] classicalSecret, byte[] ephemeralPublic,
+                           byte[] recipientPublic, byte[] pqcCiphertext) throws GeneralSecurityException {
+
+        byte[] ikm = new byte[pqcSecret.length + classicalSecret.length];
+        System.arraycopy(pqcSecret, 0, ikm, 0, pqcSecret.length);
+        System.arraycopy(classicalSecret, 0, ikm, pqcSecret.length, classicalSecret.length);
+
+        byte[] variant = kyber.getVariant().getAlgorithm().getBytes(StandardCharsets.US_ASCII);
+        byte[] info = new byte[LABEL.length + variant.length + ephemeralPublic.length
+            + recipientPublic.length + pqcCiphertext.length];
+        int offset = 0;
+        for (byte[] part : new byte[][]{LABEL, variant, ephemeralPublic, recipientPublic, pqcCiphertext}) {
+            System.arraycopy(part, 0, info, offset, part.length);
+            offset += part.length;
+        }
+
+        try {
+            return CryptoUtils.hkdfSha256(null, ikm, info, SHARED_SECRET_SIZE);
+        } finally {
+            Arrays.fill(ikm, (byte) 0);
+            Arrays.fill(pqcSecret, (byte) 0);
+            Arrays.fill(classicalSecret, (byte) 0);
+        }
+    }
+
+    private static byte[] agree(PrivateKey privateKey, PublicKey publicKey) throws GeneralSecurityException {
+        KeyAgreement agreement = KeyAgreement.getInstance(X25519);
+        agreement.init(privateKey);
+        agreement.doPhase(publicKey, true);
+        return agreement.generateSecret();
+    }
+
+    /**
+     * Raw 32-byte little-endian u-coordinate (RFC 7748)
+     */
+    private static byte[] encodeX25519(PublicKey publicKey) throws InvalidKeyException {
+        if (!(publicKey instanceof XECPublicKey)) {
+            throw new InvalidKeyException("Not an X25519 public key: " + publicKey.getAlgorithm());
+        }
+        byte[] bigEndian = ((XECPublicKey) publicKey).getU().toByteArray();
+        byte[] encoded = new byte[X25519_KEY_SIZE];
+        for (int i = 0; i < X25519_KEY_SIZE && i < bigEndian.length; i++) {
+            encoded[i] = bigEndian[bigEndian.length - 1 - i];
+        }
+        return encoded;
+    }
+
+    private static PublicKey decodeX25519(byte[] encoded) throws GeneralSecurityException {
+        byte[] bigEndian = new byte[X25519_KEY_SIZE];
+        for (int i = 0; i < X25519_KEY_SIZE; i++) {
+            bigEndian[i] = encoded[X25519_KEY_SIZE - 1 - i];
+        }
+        bigEndian[0] &= 0x7f;
+        return KeyFactory.getInstance(X25519)
+            .generatePublic(new XECPublicKeySpec(NamedParameterSpec.X25519, new BigInteger(1, bigEndian)));
+    }
+
+    private <T> CompletableFuture<T> submit(Operation<T> operation) {
+        if (executor == null) {
+            try {
+                return CompletableFuture.completedFuture(operation.run());
+            } catch (GeneralSecurityException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return operation.run();
+            } catch (GeneralSecurityException e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+
+    private static <T> T await(CompletableFuture<T> future) throws GeneralSecurityException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof GeneralSecurityException) {
+                throw (GeneralSecurityException) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
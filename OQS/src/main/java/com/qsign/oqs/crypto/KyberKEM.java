@@ -1,14 +1,23 @@
 package com.qsign.oqs.crypto;
 
-import org.bouncycastle.pqc.jcajce.SecretKeyWithEncapsulation;
-import org.bouncycastle.pqc.jcajce.provider.BouncyCastlePQCProvider;
+import com.qsign.oqs.OQSProvider;
+import com.qsign.oqs.backend.BouncyCastleBackend;
+import com.qsign.oqs.backend.CryptoBackend;
+import com.qsign.oqs.backend.CryptoBackends;
+import com.qsign.oqs.metrics.CryptoMetrics;
+import com.qsign.oqs.util.OqsRandom;
+import org.bouncycastle.jcajce.SecretKeyWithEncapsulation;
+import org.bouncycastle.jcajce.spec.KEMExtractSpec;
+import org.bouncycastle.jcajce.spec.KEMGenerateSpec;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import javax.crypto.Cipher;
 import javax.crypto.KeyGenerator;
 import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
 import java.security.*;
+import java.util.Arrays;
 
 /**
  * KYBER Key Encapsulation Mechanism (KEM) wrapper
@@ -20,24 +29,32 @@ import java.security.*;
  * - KYBER512:  Security Level 1 (AES-128 equivalent)
  * - KYBER768:  Security Level 3 (AES-192 equivalent)
  * - KYBER1024: Security Level 5 (AES-256 equivalent)
+ *
+ * Encapsulation and decapsulation run on a {@link CryptoBackend}, by default the one
+ * picked by {@link CryptoBackends#forAlgorithm(String)}. Key generation always uses
+ * the BouncyCastle provider.
  */
 public class KyberKEM {
 
     private static final Logger logger = LoggerFactory.getLogger(KyberKEM.class);
 
     public enum KyberVariant {
-        KYBER512("KYBER512", 1632, 800),
-        KYBER768("KYBER768", 2400, 1184),
-        KYBER1024("KYBER1024", 3168, 1568);
+        KYBER512("KYBER512", 1632, 800, 768, 16),
+        KYBER768("KYBER768", 2400, 1184, 1088, 24),
+        KYBER1024("KYBER1024", 3168, 1568, 1568, 32);
 
         private final String algorithm;
         private final int publicKeySize;
         private final int secretKeySize;
+        private final int ciphertextSize;
+        private final int sharedSecretSize;
 
-        KyberVariant(String algorithm, int publicKeySize, int secretKeySize) {
+        KyberVariant(String algorithm, int publicKeySize, int secretKeySize, int ciphertextSize, int sharedSecretSize) {
             this.algorithm = algorithm;
             this.publicKeySize = publicKeySize;
             this.secretKeySize = secretKeySize;
+            this.ciphertextSize = ciphertextSize;
+            this.sharedSecretSize = sharedSecretSize;
         }
 
         public String getAlgorithm() {
@@ -51,63 +68,213 @@ public class KyberKEM {
         public int getSecretKeySize() {
             return secretKeySize;
         }
+
+        public int getCiphertextSize() {
+            return ciphertextSize;
+        }
+
+        public int getSharedSecretSize() {
+            return sharedSecretSize;
+        }
+    }
+
+    /**
+     * Algorithm name attached to the shared secret keys returned by this class
+     */
+    public static final String SHARED_SECRET_ALGORITHM = "AES";
+
+    /**
+     * Result of a single encapsulation, laid out as [shared secret | ciphertext] in one buffer
+     *
+     * The accessors return views of that buffer, so nothing is copied after the
+     * encapsulation itself. Call {@link #destroy()} once the secret has been consumed.
+     */
+    public static final class EncapsulationResult {
+        private final ByteBuffer buffer;
+        private final int offset;
+        private final int secretLength;
+        private final int ciphertextLength;
+
+        private EncapsulationResult(ByteBuffer buffer, int offset, int secretLength, int ciphertextLength) {
+            this.buffer = buffer;
+            this.offset = offset;
+            this.secretLength = secretLength;
+            this.ciphertextLength = ciphertextLength;
+        }
+
+        /**
+         * View of the shared secret
+         */
+        public ByteBuffer sharedSecret() {
+            return view(offset, secretLength);
+        }
+
+        /**
+         * View of the ciphertext to send to the key owner
+         */
+        public ByteBuffer ciphertext() {
+            return view(offset + secretLength, ciphertextLength);
+        }
+
+        public int getSharedSecretLength() {
+            return secretLength;
+        }
+
+        public int getCiphertextLength() {
+            return ciphertextLength;
+        }
+
+        /**
+         * Overwrite the shared secret with zeros
+         */
+        public void destroy() {
+            for (int i = 0; i < secretLength; i++) {
+                buffer.put(offset + i, (byte) 0);
+            }
+        }
+
+        private ByteBuffer view(int position, int length) {
+            ByteBuffer view = buffer.duplicate();
+            view.limit(position + length).position(position);
+            return view.slice();
+        }
     }
 
     private final KyberVariant variant;
+    private final CryptoBackend backend;
 
     public KyberKEM(KyberVariant variant) {
+        this(variant, CryptoBackends.forAlgorithm(variant.getAlgorithm()));
+    }
+
+    /**
+     * Create an instance on an explicit backend
+     *
+     * @param backend Backend for encapsulation and decapsulation; must support this variant
+     */
+    public KyberKEM(KyberVariant variant, CryptoBackend backend) {
+        if (!backend.supports(variant.getAlgorithm())) {
+            throw new IllegalArgumentException("Backend " + backend.getName() + " does not support "
+                + variant.getAlgorithm());
+        }
         this.variant = variant;
+        this.backend = backend;
     }
 
     /**
      * Generate a new KYBER key pair
      */
     public KeyPair generateKeyPair() throws NoSuchAlgorithmException, NoSuchProviderException {
-        KeyPairGenerator keyGen = KeyPairGenerator.getInstance(
-            variant.getAlgorithm(),
-            BouncyCastlePQCProvider.PROVIDER_NAME
-        );
-
-        KeyPair keyPair = keyGen.generateKeyPair();
-
-        logger.debug("Generated {} key pair - Public key: {} bytes, Private key: {} bytes",
-            variant.getAlgorithm(),
-            keyPair.getPublic().getEncoded().length,
-            keyPair.getPrivate().getEncoded().length
-        );
-
-        return keyPair;
+        long start = CryptoMetrics.start();
+        boolean success = false;
+        try {
+            KeyPairGenerator keyGen = KeyPairGenerator.getInstance(
+                variant.getAlgorithm(),
+                OQSProvider.getPqcProvider()
+            );
+
+            KeyPair keyPair = keyGen.generateKeyPair();
+
+            // getEncoded() allocates, so only pay for it when DEBUG is on
+            if (logger.isDebugEnabled()) {
+                logger.debug("Generated {} key pair - Public key: {} bytes, Private key: {} bytes",
+                    variant.getAlgorithm(),
+                    keyPair.getPublic().getEncoded().length,
+                    keyPair.getPrivate().getEncoded().length
+                );
+            }
+
+            success = true;
+            return keyPair;
+        } finally {
+            CryptoMetrics.record(CryptoMetrics.Operation.KEYGEN, variant.getAlgorithm(), start, success);
+        }
     }
 
     /**
      * Encapsulate: Generate a shared secret and encapsulate it with the public key
      *
+     * Performs exactly one KEM encapsulation; the returned key's encapsulation is the
+     * ciphertext that {@link #decapsulate(PrivateKey, byte[])} expects.
+     *
      * @param publicKey Recipient's public key
      * @return SecretKey with encapsulated ciphertext
      */
     public SecretKeyWithEncapsulation encapsulate(PublicKey publicKey)
             throws GeneralSecurityException {
+        long start = CryptoMetrics.start();
+        boolean success = false;
+        try {
+            SecretKeyWithEncapsulation secretKey;
+            if (backend instanceof BouncyCastleBackend) {
+                KeyGenerator keyGen = KeyGenerator.getInstance(
+                    variant.getAlgorithm(),
+                    OQSProvider.getPqcProvider()
+                );
+
+                keyGen.init(new KEMGenerateSpec(publicKey, SHARED_SECRET_ALGORITHM), OqsRandom.getDefault());
+                secretKey = (SecretKeyWithEncapsulation) keyGen.generateKey();
+            } else {
+                CryptoBackend.Encapsulation encapsulation = backend.encapsulate(variant.getAlgorithm(), publicKey);
+                secretKey = new SecretKeyWithEncapsulation(
+                    new SecretKeySpec(encapsulation.getSharedSecret(), SHARED_SECRET_ALGORITHM),
+                    encapsulation.getCiphertext());
+                encapsulation.destroy();
+            }
+
+            logger.debug("Encapsulated shared secret - Ciphertext: {} bytes", variant.getCiphertextSize());
+
+            success = true;
+            return secretKey;
+        } finally {
+            CryptoMetrics.record(CryptoMetrics.Operation.ENCAPSULATE, variant.getAlgorithm(), start, success);
+        }
+    }
 
-        KeyGenerator keyGen = KeyGenerator.getInstance(
-            variant.getAlgorithm(),
-            BouncyCastlePQCProvider.PROVIDER_NAME
-        );
+    /**
+     * Encapsulate into a caller-supplied buffer
+     *
+     * Writes [shared secret | ciphertext] at the buffer's position and advances it by
+     * {@link #getEncapsulationBufferSize()} bytes, so a handshake can hand the ciphertext
+     * to a channel without another copy. This is not an allocation saving: the output is
+     * copied from {@link #encapsulate(PublicKey)}, about 1 KB/op more than that call alone.
+     *
+     * @param publicKey Recipient's public key
+     * @param buffer Destination with at least {@link #getEncapsulationBufferSize()} bytes remaining
+     * @return Views of the shared secret and ciphertext inside the buffer
+     */
+    public EncapsulationResult encapsulate(PublicKey publicKey, ByteBuffer buffer)
+            throws GeneralSecurityException {
 
-        keyGen.init(new SecureRandom());
-        SecretKey secretKey = keyGen.generateKey();
+        int required = getEncapsulationBufferSize();
+        if (buffer.remaining() < required) {
+            throw new IllegalArgumentException("Encapsulation buffer too small: " + buffer.remaining()
+                + " bytes remaining, " + required + " required");
+        }
 
-        Cipher cipher = Cipher.getInstance(
-            variant.getAlgorithm(),
-            BouncyCastlePQCProvider.PROVIDER_NAME
-        );
+        SecretKeyWithEncapsulation secretKey = encapsulate(publicKey);
+        byte[] secret = secretKey.getEncoded();
+        byte[] ciphertext = secretKey.getEncapsulation();
 
-        cipher.init(Cipher.WRAP_MODE, publicKey, new SecureRandom());
+        int offset = buffer.position();
+        buffer.put(secret).put(ciphertext);
+        Arrays.fill(secret, (byte) 0);
 
-        byte[] encapsulated = cipher.wrap(secretKey);
+        return new EncapsulationResult(buffer, offset, secret.length, ciphertext.length);
+    }
 
-        logger.debug("Encapsulated shared secret - Ciphertext: {} bytes", encapsulated.length);
+    /**
+     * Allocate a heap buffer large enough for one {@link #encapsulate(PublicKey, ByteBuffer)}
+     */
+    public ByteBuffer newEncapsulationBuffer() {
+        return ByteBuffer.allocate(getEncapsulationBufferSize());
+    }
 
-        return (SecretKeyWithEncapsulation) secretKey;
+    /**
+     * Bytes written by one {@link #encapsulate(PublicKey, ByteBuffer)}
+     */
+    public int getEncapsulationBufferSize() {
+        return variant.getSharedSecretSize() + variant.getCiphertextSize();
     }
 
     /**
@@ -119,24 +286,31 @@ public class KyberKEM {
      */
     public SecretKey decapsulate(PrivateKey privateKey, byte[] encapsulated)
             throws GeneralSecurityException {
-
-        Cipher cipher = Cipher.getInstance(
-            variant.getAlgorithm(),
-            BouncyCastlePQCProvider.PROVIDER_NAME
-        );
-
-        cipher.init(Cipher.UNWRAP_MODE, privateKey);
-
-        SecretKey sharedSecret = (SecretKey) cipher.unwrap(
-            encapsulated,
-            variant.getAlgorithm(),
-            Cipher.SECRET_KEY
-        );
-
-        logger.debug("Decapsulated shared secret - Key: {} bytes",
-            sharedSecret.getEncoded().length);
-
-        return sharedSecret;
+        long start = CryptoMetrics.start();
+        boolean success = false;
+        try {
+            SecretKey sharedSecret;
+            if (backend instanceof BouncyCastleBackend) {
+                KeyGenerator keyGen = KeyGenerator.getInstance(
+                    variant.getAlgorithm(),
+                    OQSProvider.getPqcProvider()
+                );
+
+                keyGen.init(new KEMExtractSpec(privateKey, encapsulated, SHARED_SECRET_ALGORITHM));
+                sharedSecret = keyGen.generateKey();
+            } else {
+                byte[] secret = backend.decapsulate(variant.getAlgorithm(), privateKey, encapsulated);
+                sharedSecret = new SecretKeySpec(secret, SHARED_SECRET_ALGORITHM);
+                Arrays.fill(secret, (byte) 0);
+            }
+
+            logger.debug("Decapsulated shared secret - Ciphertext: {} bytes", encapsulated.length);
+
+            success = true;
+            return sharedSecret;
+        } finally {
+            CryptoMetrics.record(CryptoMetrics.Operation.DECAPSULATE, variant.getAlgorithm(), start, success);
+        }
     }
 
     /**
@@ -146,6 +320,13 @@ public class KyberKEM {
         return variant;
     }
 
+    /**
+     * Get the backend running encapsulation and decapsulation
+     */
+    public CryptoBackend getBackend() {
+        return backend;
+    }
+
     /**
      * Create a KYBER1024 instance (recommended for most use cases)
      */
@@ -0,0 +1,675 @@
+package com.qsign.oqs.crypto;
+
+import com.qsign.oqs.util.CryptoUtils;
+import org.bouncycastle.jcajce.SecretKeyWithEncapsulation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PushbackInputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * KYBER + AES-256-GCM sealed containers for large payloads
+ *
+ * HPKE-style KEM-DEM: one KYBER encapsulation per container, then the payload is
+ * encrypted in fixed-size AES-GCM chunks that are sealed in parallel on the configured
+ * executor. The caller thread does all I/O in order, and at most {@code maxInFlight}
+ * chunk buffers exist at once, so heap use is independent of the payload size.
+ *
+ * Container layout (big-endian):
+ *
+ * magic "QSKS" (4) || version (1) || variant (1) || reserved (2) || chunk size (4)
+ * || KYBER ciphertext || plaintext length (8) || chunk 0 || chunk 1 || ...
+ *
+ * Key schedule: key (32) || base nonce (12) = HKDF-SHA256(ikm = ss_KYBER,
+ * info = label || header up to the plaintext length)
+ *
+ * Chunk i is {@code chunk size} bytes of plaintext (the last one may be shorter)
+ * followed by its 16-byte tag, so it starts at a fixed offset and can be read on its
+ * own. Its nonce is the base nonce XOR i, and its AAD is i || last flag || plaintext
+ * length (zero except on the last chunk). The header's length field is written once
+ * the stream ends and is authenticated by the last chunk, so truncation, extension,
+ * reordering and a forged length all fail to open.
+ */
+public class KyberSealer {
+
+    private static final Logger logger = LoggerFactory.getLogger(KyberSealer.class);
+
+    public static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+    public static final int MIN_CHUNK_SIZE = 1024;
+    public static final int MAX_CHUNK_SIZE = 64 * 1024 * 1024;
+    public static final int TAG_SIZE = 16;
+
+    private static final byte[] MAGIC = "QSKS".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] LABEL = "QSIGN-KYBER-SEALER-v1".getBytes(StandardCharsets.US_ASCII);
+    private static final byte VERSION = 1;
+    private static final KyberKEM.KyberVariant[] VARIANT_IDS = {
+        null, KyberKEM.KyberVariant.KYBER512, KyberKEM.KyberVariant.KYBER768, KyberKEM.KyberVariant.KYBER1024
+    };
+    private static final int PREFIX_SIZE = 12;
+    private static final int LENGTH_SIZE = 8;
+    private static final int KEY_SIZE = 32;
+    private static final int NONCE_SIZE = 12;
+    private static final int AAD_SIZE = 17;
+    private static final String CIPHER = "AES/GCM/NoPadding";
+
+    private static final ThreadLocal<Cipher> CIPHERS = new ThreadLocal<>();
+
+    /**
+     * Chunking and parallelism configuration
+     */
+    public static class Config {
+        private int chunkSize = DEFAULT_CHUNK_SIZE;
+        private int maxInFlight = 2 * Runtime.getRuntime().availableProcessors();
+        private Executor executor = Runtime.getRuntime().availableProcessors() > 1 ? ForkJoinPool.commonPool() : null;
+
+        /**
+         * Plaintext bytes per chunk, between {@link #MIN_CHUNK_SIZE} and {@link #MAX_CHUNK_SIZE}
+         */
+        public Config setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+            return this;
+        }
+
+        /**
+         * Chunks read but not yet written; each one holds two chunk-sized buffers
+         */
+        public Config setMaxInFlight(int maxInFlight) {
+            this.maxInFlight = maxInFlight;
+            return this;
+        }
+
+        /**
+         * Executor for chunk encryption, or null to encrypt on the caller thread
+         */
+        public Config setExecutor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public int getMaxInFlight() {
+            return maxInFlight;
+        }
+
+        public Executor getExecutor() {
+            return executor;
+        }
+    }
+
+    /**
+     * An opened container: random-access and streaming decryption
+     *
+     * Reads go through the container channel, so one instance must not be used from
+     * several threads at once. {@link #close()} wipes the derived key and nonce, after
+     * which reads fail, but leaves the channel open.
+     */
+    public final class SealedContainer implements AutoCloseable {
+        private final SeekableByteChannel channel;
+        private final long dataOffset;
+        private final int chunkSize;
+        private final long plaintextLength;
+        private final long chunkCount;
+        private final ChunkKeys keys;
+        private Chunk scratch;
+
+        private SealedContainer(SeekableByteChannel channel, long dataOffset, int chunkSize,
+                                long plaintextLength, ChunkKeys keys) {
+            this.channel = channel;
+            this.dataOffset = dataOffset;
+            this.chunkSize = chunkSize;
+            this.plaintextLength = plaintextLength;
+            this.chunkCount = plaintextLength == 0 ? 1 : (plaintextLength + chunkSize - 1) / chunkSize;
+            this.keys = keys;
+        }
+
+        public long getPlaintextLength() {
+            return plaintextLength;
+        }
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public long getChunkCount() {
+            return chunkCount;
+        }
+
+        /**
+         * Total container size in bytes, header included
+         */
+        public long getContainerLength() {
+            return headerSize() + chunkOffset(chunkCount - 1) + chunkPlaintextLength(chunkCount - 1) + TAG_SIZE;
+        }
+
+        /**
+         * Decrypt one chunk
+         *
+         * @param index Chunk index, below {@link #getChunkCount()}
+         * @param dst Destination with room for {@link #getChunkSize()} bytes
+         * @return Plaintext bytes written
+         */
+        public int readChunk(long index, byte[] dst, int offset) throws GeneralSecurityException, IOException {
+            if (index < 0 || index >= chunkCount) {
+                throw new IndexOutOfBoundsException("Chunk " + index + " of " + chunkCount);
+            }
+            Chunk chunk = scratch();
+            readSealed(chunk, index);
+            crypt(keys, chunk, Cipher.DECRYPT_MODE);
+            System.arraycopy(chunk.output, 0, dst, offset, chunk.outputLength);
+            return chunk.outputLength;
+        }
+
+        /**
+         * Decrypt a plaintext range, touching only the chunks that overlap it
+         *
+         * @return Bytes read; fewer than {@code length} only at the end of the plaintext
+         */
+        public int read(long position, byte[] dst, int offset, int length) throws GeneralSecurityException, IOException {
+            if (position < 0 || position > plaintextLength) {
+                throw new IndexOutOfBoundsException("Position " + position + " of " + plaintextLength);
+            }
+            int total = (int) Math.min(length, plaintextLength - position);
+            Chunk chunk = scratch();
+            for (int done = 0; done < total; ) {
+                long index = (position + done) / chunkSize;
+                int skip = (int) ((position + done) % chunkSize);
+                readSealed(chunk, index);
+                crypt(keys, chunk, Cipher.DECRYPT_MODE);
+                int n = Math.min(chunk.outputLength - skip, total - done);
+                System.arraycopy(chunk.output, skip, dst, offset + done, n);
+                done += n;
+            }
+            return total;
+        }
+
+        /**
+         * Decrypt the whole payload in order, opening chunks in parallel
+         *
+         * @return Plaintext bytes written
+         */
+        public long decryptTo(OutputStream out) throws GeneralSecurityException, IOException {
+            channel.position(dataOffset);
+            long[] next = {0};
+            process(chunk -> {
+                readSealed(chunk, next[0]++);
+                return chunk.last;
+            }, chunkSize, Cipher.DECRYPT_MODE, keys, chunk -> out.write(chunk.output, 0, chunk.outputLength));
+            return plaintextLength;
+        }
+
+        @Override
+        public void close() {
+            keys.destroy();
+            if (scratch != null) {
+                Arrays.fill(scratch.output, (byte) 0);
+            }
+        }
+
+        /**
+         * Open the last chunk, which authenticates the plaintext length
+         */
+        private void authenticate() throws GeneralSecurityException, IOException {
+            Chunk chunk = scratch();
+            readSealed(chunk, chunkCount - 1);
+            crypt(keys, chunk, Cipher.DECRYPT_MODE);
+            Arrays.fill(chunk.output, (byte) 0);
+        }
+
+        private long chunkOffset(long index) {
+            return index * (chunkSize + (long) TAG_SIZE);
+        }
+
+        private int chunkPlaintextLength(long index) {
+            return index < chunkCount - 1 ? chunkSize : (int) (plaintextLength - index * chunkSize);
+        }
+
+        private void readSealed(Chunk chunk, long index) throws IOException {
+            chunk.index = index;
+            chunk.last = index == chunkCount - 1;
+            chunk.total = chunk.last ? plaintextLength : 0;
+            chunk.inputLength = chunkPlaintextLength(index) + TAG_SIZE;
+            long position = dataOffset + chunkOffset(index);
+            if (channel.position() != position) {
+                channel.position(position);
+            }
+            readFully(channel, ByteBuffer.wrap(chunk.input, 0, chunk.inputLength));
+        }
+
+        private Chunk scratch() {
+            if (scratch == null) {
+                scratch = new Chunk(chunkSize);
+            }
+            return scratch;
+        }
+    }
+
+    private interface ChunkSource {
+        /**
+         * Fill the chunk's input; returns true for the last chunk
+         */
+        boolean fill(Chunk chunk) throws IOException;
+    }
+
+    private interface ChunkSink {
+        void write(Chunk chunk) throws IOException;
+    }
+
+    private static final class Chunk {
+        final byte[] input;
+        final byte[] output;
+        long index;
+        boolean last;
+        long total;
+        int inputLength;
+        int outputLength;
+
+        Chunk(int chunkSize) {
+            this.input = new byte[chunkSize + TAG_SIZE];
+            this.output = new byte[chunkSize + TAG_SIZE];
+        }
+    }
+
+    /**
+     * AES key and base nonce of one container
+     *
+     * Holds the key bytes itself rather than in a SecretKeySpec, whose copy cannot be
+     * wiped. Ciphers get a fresh copy from {@link #getEncoded()} on every init (SunJCE
+     * zeroes it afterwards).
+     */
+    private static final class ChunkKeys implements SecretKey {
+        private static final long serialVersionUID = 1L;
+
+        private final byte[] key;
+        final byte[] baseNonce;
+        private volatile boolean destroyed;
+
+        ChunkKeys(byte[] okm) {
+            this.key = Arrays.copyOf(okm, KEY_SIZE);
+            this.baseNonce = Arrays.copyOfRange(okm, KEY_SIZE, KEY_SIZE + NONCE_SIZE);
+            Arrays.fill(okm, (byte) 0);
+        }
+
+        @Override
+        public String getAlgorithm() {
+            return "AES";
+        }
+
+        @Override
+        public String getFormat() {
+            return "RAW";
+        }
+
+        @Override
+        public byte[] getEncoded() {
+            if (destroyed) {
+                throw new IllegalStateException("Container key has been destroyed");
+            }
+            return key.clone();
+        }
+
+        @Override
+        public void destroy() {
+            destroyed = true;
+            Arrays.fill(key, (byte) 0);
+            Arrays.fill(baseNonce, (byte) 0);
+        }
+
+        @Override
+        public boolean isDestroyed() {
+            return destroyed;
+        }
+    }
+
+    private final KyberKEM kyber;
+    private final int chunkSize;
+    private final int maxInFlight;
+    private final Executor executor;
+
+    /**
+     * Create a sealer with default chunking on the common fork-join pool (on the caller
+     * thread when there is a single CPU)
+     */
+    public KyberSealer(KyberKEM.KyberVariant variant) {
+        this(new KyberKEM(variant), new Config());
+    }
+
+    /**
+     * Create a sealer
+     *
+     * @param kyber KEM for the per-container encapsulation
+     * @param config Chunk size, in-flight window and executor
+     */
+    public KyberSealer(KyberKEM kyber, Config config) {
+        if (config.getChunkSize() < MIN_CHUNK_SIZE || config.getChunkSize() > MAX_CHUNK_SIZE) {
+            throw new IllegalArgumentException("chunkSize must be between " + MIN_CHUNK_SIZE + " and "
+                + MAX_CHUNK_SIZE + ": " + config.getChunkSize());
+        }
+        if (config.getMaxInFlight() <= 0) {
+            throw new IllegalArgumentException("maxInFlight must be positive: " + config.getMaxInFlight());
+        }
+        this.kyber = kyber;
+        this.chunkSize = config.getChunkSize();
+        this.maxInFlight = config.getMaxInFlight();
+        this.executor = config.getExecutor();
+    }
+
+    /**
+     * Seal a stream into a container starting at the channel's current position
+     *
+     * The plaintext length need not be known up front; the header's length field is
+     * filled in after the last chunk, which is why the output must be seekable. The
+     * channel is left positioned at the end of the container.
+     *
+     * @param recipient Recipient's KYBER public key
+     * @param plaintext Payload, read to the end but not closed
+     * @param container Destination channel
+     * @return Container size in bytes
+     */
+    public long seal(PublicKey recipient, InputStream plaintext, SeekableByteChannel container)
+            throws GeneralSecurityException, IOException {
+
+        SecretKeyWithEncapsulation encapsulation = kyber.encapsulate(recipient);
+        byte[] header = header(encapsulation.getEncapsulation());
+        ChunkKeys keys = deriveKeys(encapsulation, header);
+
+        long start = container.position();
+        writeFully(container, ByteBuffer.wrap(header));
+
+        PushbackInputStream in = new PushbackInputStream(plaintext, 1);
+        long[] state = {0, 0};
+        try {
+            process(chunk -> {
+                int n = in.readNBytes(chunk.input, 0, chunkSize);
+                chunk.index = state[0]++;
+                chunk.inputLength = n;
+                chunk.last = n < chunkSize || atEnd(in);
+                state[1] += n;
+                chunk.total = chunk.last ? state[1] : 0;
+                return chunk.last;
+            }, chunkSize, Cipher.ENCRYPT_MODE, keys, chunk -> writeFully(container, ByteBuffer.wrap(chunk.output, 0, chunk.outputLength)));
+        } finally {
+            keys.destroy();
+        }
+
+        long end = container.position();
+        container.position(start + header.length - LENGTH_SIZE);
+        writeFully(container, ByteBuffer.allocate(LENGTH_SIZE).putLong(0, state[1]));
+        container.position(end);
+
+        logger.debug("Sealed {} bytes in {} chunks with {} - Container: {} bytes",
+            state[1], state[0], kyber.getVariant().getAlgorithm(), end - start);
+
+        return end - start;
+    }
+
+    /**
+     * Open a container starting at the channel's current position
+     *
+     * Decapsulates, derives the chunk keys and authenticates the last chunk, so the
+     * returned container's length is trusted before any chunk is read.
+     *
+     * @param privateKey Recipient's KYBER private key
+     * @param container Channel positioned at the container header
+     */
+    public SealedContainer open(PrivateKey privateKey, SeekableByteChannel container)
+            throws GeneralSecurityException, IOException {
+
+        byte[] header = new byte[headerSize()];
+        readFully(container, ByteBuffer.wrap(header));
+        int containerChunkSize = parseHeader(header);
+        long length = ByteBuffer.wrap(header).getLong(header.length - LENGTH_SIZE);
+        if (length < 0) {
+            throw new IOException("Invalid plaintext length: " + length);
+        }
+
+        byte[] ciphertext = Arrays.copyOfRange(header, PREFIX_SIZE, header.length - LENGTH_SIZE);
+        SecretKey secret = kyber.decapsulate(privateKey, ciphertext);
+        ChunkKeys keys = deriveKeys(secret, header);
+
+        SealedContainer opened = new SealedContainer(container, container.position(), containerChunkSize, length, keys);
+        try {
+            opened.authenticate();
+        } catch (GeneralSecurityException | IOException e) {
+            opened.close();
+            throw e;
+        }
+        return opened;
+    }
+
+    /**
+     * Open a container and decrypt it in full
+     *
+     * @return Plaintext bytes written
+     */
+    public long unseal(PrivateKey privateKey, SeekableByteChannel container, OutputStream plaintext)
+            throws GeneralSecurityException, IOException {
+        try (SealedContainer opened = open(privateKey, container)) {
+            return opened.decryptTo(plaintext);
+        }
+    }
+
+    /**
+     * Header bytes before the first chunk
+     */
+    public int headerSize() {
+        return PREFIX_SIZE + kyber.getVariant().getCiphertextSize() + LENGTH_SIZE;
+    }
+
+    /**
+     * Container size for a payload of the given length
+     */
+    public long containerSize(long plaintextLength) {
+        long chunks = plaintextLength == 0 ? 1 : (plaintextLength + chunkSize - 1) / chunkSize;
+        return headerSize() + plaintextLength + chunks * TAG_SIZE;
+    }
+
+    /**
+     * Get the KYBER variant used for the encapsulation
+     */
+    public KyberKEM.KyberVariant getVariant() {
+        return kyber.getVariant();
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Read, transform and write chunks in order with at most maxInFlight outstanding
+     *
+     * @param chunkSize Plaintext bytes per chunk: this sealer's when sealing, the container's when opening
+     */
+    private void process(ChunkSource source, int chunkSize, int mode, ChunkKeys keys, ChunkSink sink)
+            throws GeneralSecurityException, IOException {
+
+        ArrayDeque<CompletableFuture<Chunk>> inFlight = new ArrayDeque<>();
+        ArrayDeque<Chunk> free = new ArrayDeque<>();
+        int allocated = 0;
+        try {
+            boolean last = false;
+            while (!last) {
+                Chunk chunk = free.poll();
+                if (chunk == null && allocated < maxInFlight) {
+                    chunk = new Chunk(chunkSize);
+                    allocated++;
+                }
+                if (chunk == null) {
+                    chunk = await(inFlight.poll());
+                    sink.write(chunk);
+                }
+                last = source.fill(chunk);
+                inFlight.add(submit(keys, chunk, mode));
+            }
+            while (!inFlight.isEmpty()) {
+                Chunk chunk = await(inFlight.poll());
+                sink.write(chunk);
+                free.add(chunk);
+            }
+        } finally {
+            for (CompletableFuture<Chunk> pending : inFlight) {
+                pending.cancel(false);
+            }
+            if (mode == Cipher.DECRYPT_MODE) {
+                for (Chunk chunk : free) {
+                    Arrays.fill(chunk.output, (byte) 0);
+                }
+            }
+        }
+    }
+
+    private CompletableFuture<Chunk> submit(ChunkKeys keys, Chunk chunk, int mode) {
+        if (executor == null) {
+            try {
+                crypt(keys, chunk, mode);
+                return CompletableFuture.completedFuture(chunk);
+            } catch (GeneralSecurityException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                crypt(keys, chunk, mode);
+                return chunk;
+            } catch (GeneralSecurityException e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+
+    private static Chunk await(CompletableFuture<Chunk> future) throws GeneralSecurityException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof GeneralSecurityException) {
+                throw (GeneralSecurityException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static void crypt(ChunkKeys keys, Chunk chunk, int mode) throws GeneralSecurityException {
+        byte[] nonce = keys.baseNonce.clone();
+        for (int i = 0; i < 8; i++) {
+            nonce[NONCE_SIZE - 1 - i] ^= (byte) (chunk.index >>> (8 * i));
+        }
+
+        byte[] aad = ByteBuffer.allocate(AAD_SIZE)
+            .putLong(chunk.index)
+            .put((byte) (chunk.last ? 1 : 0))
+            .putLong(chunk.total)
+            .array();
+
+        Cipher cipher = CIPHERS.get();
+        if (cipher == null) {
+            cipher = Cipher.getInstance(CIPHER);
+            CIPHERS.set(cipher);
+        }
+        cipher.init(mode, keys, new GCMParameterSpec(TAG_SIZE * 8, nonce));
+        cipher.updateAAD(aad);
+        chunk.outputLength = cipher.doFinal(chunk.input, 0, chunk.inputLength, chunk.output, 0);
+    }
+
+    private byte[] header(byte[] ciphertext) {
+        ByteBuffer header = ByteBuffer.allocate(headerSize())
+            .put(MAGIC)
+            .put(VERSION)
+            .put(variantId(kyber.getVariant()))
+            .putShort((short) 0)
+            .putInt(chunkSize)
+            .put(ciphertext);
+        return header.array();
+    }
+
+    /**
+     * Validate the fixed header fields and return the container's chunk size
+     */
+    private int parseHeader(byte[] header) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(header);
+        byte[] magic = new byte[MAGIC.length];
+        buffer.get(magic);
+        if (!Arrays.equals(magic, MAGIC)) {
+            throw new IOException("Not a sealed container");
+        }
+        byte version = buffer.get();
+        if (version != VERSION) {
+            throw new IOException("Unsupported container version: " + version);
+        }
+        byte variant = buffer.get();
+        if (variant != variantId(kyber.getVariant())) {
+            throw new IOException("Container variant " + variant + " does not match "
+                + kyber.getVariant().getAlgorithm());
+        }
+        buffer.getShort();
+        int containerChunkSize = buffer.getInt();
+        if (containerChunkSize < MIN_CHUNK_SIZE || containerChunkSize > MAX_CHUNK_SIZE) {
+            throw new IOException("Invalid chunk size: " + containerChunkSize);
+        }
+        return containerChunkSize;
+    }
+
+    private static ChunkKeys deriveKeys(SecretKey secret, byte[] header) throws GeneralSecurityException {
+        byte[] ikm = secret.getEncoded();
+        byte[] info = new byte[LABEL.length + header.length - LENGTH_SIZE];
+        System.arraycopy(LABEL, 0, info, 0, LABEL.length);
+        System.arraycopy(header, 0, info, LABEL.length, header.length - LENGTH_SIZE);
+        try {
+            return new ChunkKeys(CryptoUtils.hkdfSha256(null, ikm, info, KEY_SIZE + NONCE_SIZE));
+        } finally {
+            Arrays.fill(ikm, (byte) 0);
+        }
+    }
+
+    private static byte variantId(KyberKEM.KyberVariant variant) {
+        for (int i = 1; i < VARIANT_IDS.length; i++) {
+            if (VARIANT_IDS[i] == variant) {
+                return (byte) i;
+            }
+        }
+        throw new IllegalArgumentException("No container id for " + variant);
+    }
+
+    private static boolean atEnd(PushbackInputStream in) throws IOException {
+        int next = in.read();
+        if (next < 0) {
+            return true;
+        }
+        in.unread(next);
+        return false;
+    }
+
+    private static void readFully(SeekableByteChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("Container truncated");
+            }
+        }
+    }
+
+    private static void writeFully(SeekableByteChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.qsign.oqs.crypto;
+
+import java.security.GeneralSecurityException;
+import java.security.InvalidKeyException;
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+
+/**
+ * Common interface of the PQC signature wrappers
+ *
+ * Implemented by {@link DilithiumSignature} and {@link FalconSignature}, so callers
+ * such as the hybrid JWT signer can pick a scheme per deployment: DILITHIUM for
+ * fast signing, FALCON for signatures about a fifth of the size.
+ */
+public interface PqcSignature {
+
+    /**
+     * Signing handle for one long-lived private key; safe for concurrent use
+     */
+    interface Signer {
+        byte[] sign(byte[] message);
+
+        String getAlgorithm();
+    }
+
+    /**
+     * Verification handle for one long-lived public key; safe for concurrent use
+     */
+    interface Verifier {
+        boolean verify(byte[] message, byte[] signature);
+
+        String getAlgorithm();
+    }
+
+    /**
+     * Algorithm name, as registered with the provider and used in JWT headers
+     */
+    String getAlgorithm();
+
+    /**
+     * Raw public key size in bytes
+     */
+    int getPublicKeySize();
+
+    /**
+     * Maximum signature size in bytes
+     */
+    int getSignatureSize();
+
+    KeyPair generateKeyPair() throws GeneralSecurityException;
+
+    byte[] sign(PrivateKey privateKey, byte[] message) throws GeneralSecurityException;
+
+    boolean verify(PublicKey publicKey, byte[] message, byte[] signature) throws GeneralSecurityException;
+
+    /**
+     * Prepare a long-lived private key for repeated signing
+     */
+    Signer prepare(PrivateKey privateKey) throws InvalidKeyException;
+
+    /**
+     * Prepare a long-lived public key for repeated verification
+     */
+    Verifier prepare(PublicKey publicKey) throws InvalidKeyException;
+}
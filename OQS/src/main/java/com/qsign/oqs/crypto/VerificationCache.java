@@ -0,0 +1,383 @@
+package com.qsign.oqs.crypto;
+
+import com.qsign.oqs.metrics.CryptoMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Opt-in memoization of successful PQC (DILITHIUM or FALCON) verifications
+ *
+ * The same token is often presented many times during its lifetime. This cache
+ * remembers that a (public key, message, signature) triple verified, keyed by a
+ * SHA-256 over the three length-prefixed values, so a repeat presentation costs one
+ * hash instead of one PQC verify. Only positive results are stored, and each
+ * entry expires after the configured TTL or at the caller-supplied expiry (e.g. the
+ * JWT "exp"), whichever comes first. An entry never outlives the token it vouches
+ * for.
+ *
+ * Safe for concurrent use. When full, expired entries are swept first, then arbitrary
+ * entries are dropped down to 90% of the maximum size.
+ */
+public class VerificationCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(VerificationCache.class);
+
+    /**
+     * The signature check behind a cache miss
+     */
+    public interface SignatureCheck {
+        boolean verify() throws GeneralSecurityException;
+    }
+
+    /**
+     * Cache sizing and lifetime
+     */
+    public static class Config {
+        private int maximumSize = 10_000;
+        private Duration ttl = Duration.ofMinutes(5);
+
+        public Config setMaximumSize(int maximumSize) {
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        /**
+         * Upper bound on how long a positive result is reused
+         */
+        public Config setTtl(Duration ttl) {
+            this.ttl = ttl;
+            return this;
+        }
+
+        public int getMaximumSize() {
+            return maximumSize;
+        }
+
+        public Duration getTtl() {
+            return ttl;
+        }
+    }
+
+    /**
+     * Point-in-time cache counters
+     */
+    public static final class Metrics {
+        private final long hits;
+        private final long misses;
+        private final long stored;
+        private final long evictions;
+        private final long verifyNanos;
+        private final int size;
+
+        private Metrics(long hits, long misses, long stored, long evictions, long verifyNanos, int size) {
+            this.hits = hits;
+            this.misses = misses;
+            this.stored = stored;
+            this.evictions = evictions;
+            this.verifyNanos = verifyNanos;
+            this.size = size;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        /**
+         * Lookups that ran a full verification (including ones that failed)
+         */
+        public long getMisses() {
+            return misses;
+        }
+
+        public double getHitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0.0 : (double) hits / total;
+        }
+
+        /**
+         * Positive results added to the cache
+         */
+        public long getStored() {
+            return stored;
+        }
+
+        /**
+         * Entries removed because they expired or the cache was full
+         */
+        public long getEvictions() {
+            return evictions;
+        }
+
+        /**
+         * Mean time of the verifications run on misses
+         */
+        public double getMeanVerifyNanos() {
+            return misses == 0 ? 0.0 : (double) verifyNanos / misses;
+        }
+
+        /**
+         * Verify time avoided by hits, estimated as hits x mean verify time
+         */
+        public long getEstimatedSavedNanos() {
+            return (long) (hits * getMeanVerifyNanos());
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("hits=%d, misses=%d, hitRate=%.3f, stored=%d, evictions=%d, size=%d, "
+                    + "meanVerify=%.1f us, saved=%.1f ms",
+                hits, misses, getHitRate(), stored, evictions, size, getMeanVerifyNanos() / 1e3,
+                getEstimatedSavedNanos() / 1e6);
+        }
+    }
+
+    /**
+     * JMX view of the cache counters
+     */
+    public interface VerificationCacheMXBean {
+        long getHits();
+
+        long getMisses();
+
+        double getHitRate();
+
+        int getSize();
+
+        long getEstimatedSavedMillis();
+
+        void clear();
+    }
+
+    /**
+     * SHA-256 of (public key, message, signature)
+     */
+    private static final class Fingerprint {
+        private final byte[] digest;
+        private final int hash;
+
+        Fingerprint(byte[] digest) {
+            this.digest = digest;
+            this.hash = Arrays.hashCode(digest);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Fingerprint && Arrays.equals(digest, ((Fingerprint) other).digest);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private final int maximumSize;
+    private final long ttlMillis;
+    private final ConcurrentHashMap<Fingerprint, Long> expiries;
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder stored = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder verifyNanos = new LongAdder();
+
+    public VerificationCache() {
+        this(new Config());
+    }
+
+    public VerificationCache(Config config) {
+        if (config.getMaximumSize() < 1) {
+            throw new IllegalArgumentException("maximumSize must be positive: " + config.getMaximumSize());
+        }
+        if (config.getTtl().isNegative() || config.getTtl().isZero()) {
+            throw new IllegalArgumentException("ttl must be positive: " + config.getTtl());
+        }
+        this.maximumSize = config.getMaximumSize();
+        this.ttlMillis = config.getTtl().toMillis();
+        this.expiries = new ConcurrentHashMap<>(Math.min(maximumSize, 1 << 16) * 4 / 3 + 1);
+    }
+
+    /**
+     * Verify with {@link PqcSignature#verify}, reusing a cached positive result
+     *
+     * @param expiresAtMillis Epoch millis after which the result must not be reused
+     *                        (e.g. JWT exp x 1000), or Long.MAX_VALUE for the TTL only
+     */
+    public boolean verify(PqcSignature pqc, PublicKey publicKey, byte[] message, byte[] signature,
+                          long expiresAtMillis) throws GeneralSecurityException {
+        return verify(publicKey.getEncoded(), message, signature, expiresAtMillis,
+            () -> pqc.verify(publicKey, message, signature));
+    }
+
+    /**
+     * Verify with a prepared verifier, reusing a cached positive result
+     *
+     * @param publicKeyEncoded Encoding of the key the verifier was prepared from
+     */
+    public boolean verify(PqcSignature.Verifier verifier, byte[] publicKeyEncoded, byte[] message,
+                          byte[] signature, long expiresAtMillis) throws GeneralSecurityException {
+        return verify(publicKeyEncoded, message, signature, expiresAtMillis,
+            () -> verifier.verify(message, signature));
+    }
+
+    /**
+     * Run {@code check} unless the same (key, message, signature) verified before and has not expired
+     */
+    public boolean verify(byte[] publicKeyEncoded, byte[] message, byte[] signature, long expiresAtMillis,
+                          SignatureCheck check) throws GeneralSecurityException {
+        Fingerprint key = fingerprint(publicKeyEncoded, message, signature);
+        long now = System.currentTimeMillis();
+
+        Long expiry = expiries.get(key);
+        if (expiry != null) {
+            if (now < expiry) {
+                hits.increment();
+                return true;
+            }
+            if (expiries.remove(key, expiry)) {
+                evictions.increment();
+            }
+        }
+
+        misses.increment();
+        long start = System.nanoTime();
+        boolean valid = check.verify();
+        verifyNanos.add(System.nanoTime() - start);
+
+        long expiresAt = Math.min(expiresAtMillis, now + ttlMillis);
+        if (valid && expiresAt > now) {
+            if (expiries.size() >= maximumSize) {
+                makeRoom(now);
+            }
+            if (expiries.put(key, expiresAt) == null) {
+                stored.increment();
+            }
+        }
+        return valid;
+    }
+
+    public void clear() {
+        expiries.clear();
+    }
+
+    public int size() {
+        return expiries.size();
+    }
+
+    public Metrics getMetrics() {
+        return new Metrics(hits.sum(), misses.sum(), stored.sum(), evictions.sum(), verifyNanos.sum(),
+            expiries.size());
+    }
+
+    /**
+     * Register this cache as {@code com.qsign.oqs:type=VerificationCache,name=<name>}
+     */
+    public ObjectName registerMBean(String name) throws JMException {
+        ObjectName objectName = new ObjectName(CryptoMetrics.JMX_DOMAIN + ":type=VerificationCache,name="
+            + ObjectName.quote(name));
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        server.registerMBean(new VerificationCacheMXBean() {
+            @Override
+            public long getHits() {
+                return hits.sum();
+            }
+
+            @Override
+            public long getMisses() {
+                return misses.sum();
+            }
+
+            @Override
+            public double getHitRate() {
+                return getMetrics().getHitRate();
+            }
+
+            @Override
+            public int getSize() {
+                return size();
+            }
+
+            @Override
+            public long getEstimatedSavedMillis() {
+                return getMetrics().getEstimatedSavedNanos() / 1_000_000;
+            }
+
+            @Override
+            public void clear() {
+                VerificationCache.this.clear();
+            }
+        }, objectName);
+        return objectName;
+    }
+
+    /**
+     * Sweep expired entries; if still full, drop arbitrary entries down to 90%
+     *
+     * Only one thread sweeps at a time; others insert anyway and the map briefly
+     * exceeds its maximum size.
+     */
+    private void makeRoom(long now) {
+        if (!sweeping.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            int target = maximumSize - Math.max(1, maximumSize / 10);
+            int removed = 0;
+            for (Iterator<Map.Entry<Fingerprint, Long>> it = expiries.entrySet().iterator(); it.hasNext(); ) {
+                if (it.next().getValue() <= now) {
+                    it.remove();
+                    removed++;
+                }
+            }
+            // ConcurrentHashMap iterates in hash order, so this drops effectively random entries
+            for (Iterator<Fingerprint> it = expiries.keySet().iterator();
+                 it.hasNext() && expiries.size() > target; ) {
+                it.next();
+                it.remove();
+                removed++;
+            }
+            evictions.add(removed);
+            logger.debug("Verification cache sweep removed {} entries", removed);
+        } finally {
+            sweeping.set(false);
+        }
+    }
+
+    private static Fingerprint fingerprint(byte[] publicKey, byte[] message, byte[] signature) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+        // Length prefixes keep (key, message, signature) boundaries unambiguous
+        for (byte[] part : new byte[][]{publicKey, message, signature}) {
+            int length = part.length;
+            digest.update(new byte[]{(byte) (length >>> 24), (byte) (length >>> 16), (byte) (length >>> 8),
+                (byte) length});
+            digest.update(part);
+        }
+        return new Fingerprint(digest.digest());
+    }
+}
@@ -0,0 +1,63 @@
+package com.qsign.oqs.jwt;
+
+import java.util.Base64;
+
+/**
+ * Unpadded Base64URL (RFC 4648 §5) helpers that encode straight into a token buffer
+ */
+final class Base64Url {
+
+    private static final byte[] ALPHABET =
+        "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_".getBytes();
+
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private Base64Url() {
+    }
+
+    /**
+     * Encoded length of {@code length} bytes without padding
+     */
+    static int encodedLength(int length) {
+        return (length / 3) * 4 + (length % 3 == 0 ? 0 : length % 3 + 1);
+    }
+
+    /**
+     * Encode {@code src} into {@code dst} starting at {@code offset}
+     *
+     * @return Offset just past the last written byte
+     */
+    static int encode(byte[] src, byte[] dst, int offset) {
+        int i = 0;
+        int full = src.length - src.length % 3;
+        while (i < full) {
+            int bits = (src[i++] & 0xff) << 16 | (src[i++] & 0xff) << 8 | (src[i++] & 0xff);
+            dst[offset++] = ALPHABET[(bits >>> 18) & 0x3f];
+            dst[offset++] = ALPHABET[(bits >>> 12) & 0x3f];
+            dst[offset++] = ALPHABET[(bits >>> 6) & 0x3f];
+            dst[offset++] = ALPHABET[bits & 0x3f];
+        }
+        int remaining = src.length - full;
+        if (remaining == 1) {
+            int bits = (src[i] & 0xff) << 16;
+            dst[offset++] = ALPHABET[(bits >>> 18) & 0x3f];
+            dst[offset++] = ALPHABET[(bits >>> 12) & 0x3f];
+        } else if (remaining == 2) {
+            int bits = (src[i] & 0xff) << 16 | (src[i + 1] & 0xff) << 8;
+            dst[offset++] = ALPHABET[(bits >>> 18) & 0x3f];
+            dst[offset++] = ALPHABET[(bits >>> 12) & 0x3f];
+            dst[offset++] = ALPHABET[(bits >>> 6) & 0x3f];
+        }
+        return offset;
+    }
+
+    static byte[] encode(byte[] src) {
+        byte[] dst = new byte[encodedLength(src.length)];
+        encode(src, dst, 0);
+        return dst;
+    }
+
+    static byte[] decode(String encoded) {
+        return DECODER.decode(encoded);
+    }
+}
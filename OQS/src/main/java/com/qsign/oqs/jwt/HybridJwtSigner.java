@@ -0,0 +1,242 @@
+package com.qsign.oqs.jwt;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.qsign.oqs.crypto.PqcSignature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Dual-signature (classical + PQC) JWT signer
+ *
+ * Produces the dual-signed tokens described in docs/Hybrid-Signature:
+ *
+ * - Compact:  BASE64URL(header).BASE64URL(payload).BASE64URL(classicalSig).BASE64URL(pqcSig)
+ *             with header {"alg":"HYBRID","classical_alg":...,"pqc_alg":...,"kid":...};
+ *             both signatures cover the same "header.payload" signing input.
+ * - JSON:     RFC 7515 general JWS JSON serialization with one entry per algorithm
+ *             in "signatures", each with its own protected header.
+ *
+ * The classical signature is computed on the executor while the caller thread
+ * computes the PQC signature (DILITHIUM, or FALCON for smaller tokens). Instances are
+ * thread-safe.
+ */
+public class HybridJwtSigner {
+
+    private static final Logger logger = LoggerFactory.getLogger(HybridJwtSigner.class);
+
+    public static final String HYBRID_ALGORITHM = "HYBRID";
+
+    /**
+     * Classical JWS algorithms supported alongside the PQC signature
+     */
+    public enum ClassicalAlgorithm {
+        RS256("SHA256withRSA"),
+        RS384("SHA384withRSA"),
+        RS512("SHA512withRSA"),
+        ES256("SHA256withECDSAinP1363Format"),
+        ES384("SHA384withECDSAinP1363Format"),
+        ES512("SHA512withECDSAinP1363Format");
+
+        private final String jcaName;
+
+        ClassicalAlgorithm(String jcaName) {
+            this.jcaName = jcaName;
+        }
+
+        public String getJcaName() {
+            return jcaName;
+        }
+    }
+
+    private final ClassicalAlgorithm classicalAlgorithm;
+    private final PrivateKey classicalKey;
+    private final PqcSignature.Signer pqcSigner;
+    private final Executor executor;
+
+    private final byte[] compactHeader;
+    private final String classicalProtectedHeader;
+    private final String pqcProtectedHeader;
+
+    /**
+     * Create a signer that computes the classical signature on the common fork-join pool
+     */
+    public HybridJwtSigner(ClassicalAlgorithm classicalAlgorithm, PrivateKey classicalKey,
+                           PqcSignature pqc, PrivateKey pqcKey, String kid)
+            throws GeneralSecurityException {
+        this(classicalAlgorithm, classicalKey, pqc, pqcKey, kid, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Create a signer
+     *
+     * @param classicalAlgorithm Classical JWS algorithm
+     * @param classicalKey RSA or EC private key matching the algorithm
+     * @param pqc DILITHIUM or FALCON variant wrapper
+     * @param pqcKey PQC private key (prepared once)
+     * @param kid Key ID placed in the headers, or null
+     * @param executor Executor for the classical signature, or null to sign both on the caller thread
+     */
+    public HybridJwtSigner(ClassicalAlgorithm classicalAlgorithm, PrivateKey classicalKey,
+                           PqcSignature pqc, PrivateKey pqcKey, String kid,
+                           Executor executor) throws GeneralSecurityException {
+        this.classicalAlgorithm = classicalAlgorithm;
+        this.classicalKey = classicalKey;
+        this.pqcSigner = pqc.prepare(pqcKey);
+        this.executor = executor;
+
+        String pqcAlgorithm = pqc.getAlgorithm();
+
+        JsonObject header = new JsonObject();
+        header.addProperty("alg", HYBRID_ALGORITHM);
+        header.addProperty("classical_alg", classicalAlgorithm.name());
+        header.addProperty("pqc_alg", pqcAlgorithm);
+        header.addProperty("typ", "JWT");
+        addKid(header, kid);
+        this.compactHeader = Base64Url.encode(header.toString().getBytes(StandardCharsets.UTF_8));
+
+        this.classicalProtectedHeader = protectedHeader(classicalAlgorithm.name(), kid);
+        this.pqcProtectedHeader = protectedHeader(pqcAlgorithm, kid);
+    }
+
+    /**
+     * Sign a JSON payload as a compact dual-signed JWT
+     *
+     * @param payloadJson JWT claims as JSON
+     * @return header.payload.classicalSignature.pqcSignature
+     */
+    public String signCompact(String payloadJson) throws GeneralSecurityException {
+        byte[] payload = Base64Url.encode(payloadJson.getBytes(StandardCharsets.UTF_8));
+
+        byte[] signingInput = new byte[compactHeader.length + 1 + payload.length];
+        System.arraycopy(compactHeader, 0, signingInput, 0, compactHeader.length);
+        signingInput[compactHeader.length] = '.';
+        System.arraycopy(payload, 0, signingInput, compactHeader.length + 1, payload.length);
+
+        CompletableFuture<byte[]> classical = signClassical(signingInput);
+        byte[] pqcSignature = pqcSigner.sign(signingInput);
+        byte[] classicalSignature = await(classical);
+
+        int classicalLength = Base64Url.encodedLength(classicalSignature.length);
+        int pqcLength = Base64Url.encodedLength(pqcSignature.length);
+        byte[] token = new byte[signingInput.length + 2 + classicalLength + pqcLength];
+
+        System.arraycopy(signingInput, 0, token, 0, signingInput.length);
+        int offset = signingInput.length;
+        token[offset++] = '.';
+        offset = Base64Url.encode(classicalSignature, token, offset);
+        token[offset++] = '.';
+        Base64Url.encode(pqcSignature, token, offset);
+
+        logger.debug("Signed compact hybrid JWT - {} + {} signatures, {} bytes",
+            classicalAlgorithm, pqcSigner.getAlgorithm(), token.length);
+
+        return new String(token, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Sign a JSON payload as a general JWS JSON serialization with two signatures
+     *
+     * @param payloadJson JWT claims as JSON
+     * @return {"payload":...,"signatures":[{classical},{pqc}]}
+     */
+    public String signJson(String payloadJson) throws GeneralSecurityException {
+        String payload = ascii(Base64Url.encode(payloadJson.getBytes(StandardCharsets.UTF_8)));
+
+        byte[] classicalInput = (classicalProtectedHeader + "." + payload).getBytes(StandardCharsets.US_ASCII);
+        byte[] pqcInput = (pqcProtectedHeader + "." + payload).getBytes(StandardCharsets.US_ASCII);
+
+        CompletableFuture<byte[]> classical = signClassical(classicalInput);
+        byte[] pqcSignature = pqcSigner.sign(pqcInput);
+        byte[] classicalSignature = await(classical);
+
+        JsonArray signatures = new JsonArray();
+        signatures.add(signatureEntry(classicalProtectedHeader, classicalSignature));
+        signatures.add(signatureEntry(pqcProtectedHeader, pqcSignature));
+
+        JsonObject jws = new JsonObject();
+        jws.addProperty("payload", payload);
+        jws.add("signatures", signatures);
+
+        return jws.toString();
+    }
+
+    public ClassicalAlgorithm getClassicalAlgorithm() {
+        return classicalAlgorithm;
+    }
+
+    /**
+     * PQC algorithm named in the "pqc_alg" header, e.g. DILITHIUM3 or FALCON-512
+     */
+    public String getPqcAlgorithm() {
+        return pqcSigner.getAlgorithm();
+    }
+
+    private CompletableFuture<byte[]> signClassical(byte[] signingInput) {
+        if (executor == null) {
+            try {
+                return CompletableFuture.completedFuture(classicalSign(signingInput));
+            } catch (GeneralSecurityException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return classicalSign(signingInput);
+            } catch (GeneralSecurityException e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+
+    private byte[] classicalSign(byte[] signingInput) throws GeneralSecurityException {
+        Signature signature = Signature.getInstance(classicalAlgorithm.getJcaName());
+        signature.initSign(classicalKey);
+        signature.update(signingInput);
+        return signature.sign();
+    }
+
+    private static byte[] await(CompletableFuture<byte[]> future) throws GeneralSecurityException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof GeneralSecurityException) {
+                throw (GeneralSecurityException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static JsonObject signatureEntry(String protectedHeader, byte[] signature) {
+        JsonObject entry = new JsonObject();
+        entry.addProperty("protected", protectedHeader);
+        entry.addProperty("signature", ascii(Base64Url.encode(signature)));
+        return entry;
+    }
+
+    private static String protectedHeader(String algorithm, String kid) {
+        JsonObject header = new JsonObject();
+        header.addProperty("alg", algorithm);
+        addKid(header, kid);
+        return ascii(Base64Url.encode(header.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static void addKid(JsonObject header, String kid) {
+        if (kid != null) {
+            header.addProperty("kid", kid);
+        }
+    }
+
+    private static String ascii(byte[] bytes) {
+        return new String(bytes, StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,249 @@
+package com.qsign.oqs.jwt;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.qsign.oqs.crypto.PqcSignature;
+import com.qsign.oqs.crypto.VerificationCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.SignatureException;
+
+/**
+ * Dual-signature (classical + PQC) JWT verifier
+ *
+ * Verifies tokens produced by {@link HybridJwtSigner} under a {@link Policy}.
+ * The cheaper classical signature is checked first and evaluation stops as soon
+ * as the policy outcome is known. Headers that name other algorithms than the
+ * configured ones are rejected. Instances are thread-safe.
+ */
+public class HybridJwtVerifier {
+
+    private static final Logger logger = LoggerFactory.getLogger(HybridJwtVerifier.class);
+
+    /**
+     * Which signatures must be valid for a token to be accepted
+     *
+     * - BOTH: classical and PQC
+     * - EITHER: classical or PQC (migration only)
+     * - PQC_ONLY: PQC; the classical signature is ignored
+     */
+    public enum Policy {
+        BOTH,
+        EITHER,
+        PQC_ONLY
+    }
+
+    private final Policy policy;
+    private final HybridJwtSigner.ClassicalAlgorithm classicalAlgorithm;
+    private final PublicKey classicalKey;
+    private final PqcSignature.Verifier pqcVerifier;
+    private final String pqcAlgorithm;
+    private final byte[] pqcKeyEncoded;
+    private volatile VerificationCache verificationCache;
+
+    /**
+     * Create a verifier
+     *
+     * @param policy Acceptance policy
+     * @param classicalAlgorithm Expected classical JWS algorithm
+     * @param classicalKey RSA or EC public key (may be null for {@link Policy#PQC_ONLY})
+     * @param pqc DILITHIUM or FALCON variant wrapper
+     * @param pqcKey PQC public key (prepared once)
+     */
+    public HybridJwtVerifier(Policy policy, HybridJwtSigner.ClassicalAlgorithm classicalAlgorithm,
+                             PublicKey classicalKey, PqcSignature pqc, PublicKey pqcKey)
+            throws GeneralSecurityException {
+        if (classicalKey == null && policy != Policy.PQC_ONLY) {
+            throw new IllegalArgumentException("Policy " + policy + " requires a classical public key");
+        }
+        this.policy = policy;
+        this.classicalAlgorithm = classicalAlgorithm;
+        this.classicalKey = classicalKey;
+        this.pqcVerifier = pqc.prepare(pqcKey);
+        this.pqcAlgorithm = pqc.getAlgorithm();
+        this.pqcKeyEncoded = pqcKey.getEncoded();
+    }
+
+    /**
+     * Reuse successful PQC verifications of repeated tokens
+     *
+     * Cached results expire no later than the token's "exp" claim; tokens with a
+     * malformed "exp" are never cached. Pass null to disable.
+     */
+    public HybridJwtVerifier setVerificationCache(VerificationCache verificationCache) {
+        this.verificationCache = verificationCache;
+        return this;
+    }
+
+    /**
+     * Verify a compact dual-signed JWT
+     *
+     * @param token header.payload.classicalSignature.pqcSignature
+     * @return true if the token satisfies the policy
+     */
+    public boolean verifyCompact(String token) throws GeneralSecurityException {
+        int headerEnd = token.indexOf('.');
+        int payloadEnd = headerEnd < 0 ? -1 : token.indexOf('.', headerEnd + 1);
+        int classicalEnd = payloadEnd < 0 ? -1 : token.indexOf('.', payloadEnd + 1);
+        if (classicalEnd < 0 || token.indexOf('.', classicalEnd + 1) >= 0) {
+            logger.debug("Rejected hybrid JWT - expected 4 segments");
+            return false;
+        }
+
+        try {
+            JsonObject header = parseHeader(token.substring(0, headerEnd));
+            if (!HybridJwtSigner.HYBRID_ALGORITHM.equals(stringClaim(header, "alg"))
+                    || !classicalAlgorithm.name().equals(stringClaim(header, "classical_alg"))
+                    || !pqcAlgorithm.equals(stringClaim(header, "pqc_alg"))) {
+                logger.debug("Rejected hybrid JWT - unexpected algorithms in header");
+                return false;
+            }
+
+            byte[] signingInput = token.substring(0, payloadEnd).getBytes(StandardCharsets.US_ASCII);
+            return evaluate(
+                signingInput, token.substring(payloadEnd + 1, classicalEnd),
+                signingInput, token.substring(classicalEnd + 1),
+                token.substring(headerEnd + 1, payloadEnd));
+        } catch (IllegalArgumentException | IllegalStateException | JsonParseException e) {
+            logger.debug("Rejected malformed hybrid JWT: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Verify a general JWS JSON serialization produced by {@link HybridJwtSigner#signJson(String)}
+     *
+     * @param json {"payload":...,"signatures":[...]}
+     * @return true if the token satisfies the policy
+     */
+    public boolean verifyJson(String json) throws GeneralSecurityException {
+        try {
+            JsonObject jws = JsonParser.parseString(json).getAsJsonObject();
+            String payload = requiredString(jws, "payload");
+            JsonElement signatures = jws.get("signatures");
+            if (signatures == null || !signatures.isJsonArray()) {
+                throw new JsonParseException("Missing signatures array");
+            }
+
+            byte[] classicalInput = null;
+            String classicalSignature = null;
+            byte[] pqcInput = null;
+            String pqcSignature = null;
+
+            for (JsonElement element : signatures.getAsJsonArray()) {
+                JsonObject entry = element.getAsJsonObject();
+                String protectedHeader = requiredString(entry, "protected");
+                String alg = stringClaim(parseHeader(protectedHeader), "alg");
+                byte[] input = (protectedHeader + "." + payload).getBytes(StandardCharsets.US_ASCII);
+
+                if (classicalAlgorithm.name().equals(alg)) {
+                    classicalInput = input;
+                    classicalSignature = requiredString(entry, "signature");
+                } else if (pqcAlgorithm.equals(alg)) {
+                    pqcInput = input;
+                    pqcSignature = requiredString(entry, "signature");
+                }
+            }
+
+            return evaluate(classicalInput, classicalSignature, pqcInput, pqcSignature, payload);
+        } catch (IllegalArgumentException | IllegalStateException | JsonParseException e) {
+            logger.debug("Rejected malformed hybrid JWS JSON: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    public Policy getPolicy() {
+        return policy;
+    }
+
+    private boolean evaluate(byte[] classicalInput, String classicalSignature,
+                             byte[] pqcInput, String pqcSignature, String payload)
+            throws GeneralSecurityException {
+        switch (policy) {
+            case BOTH:
+                return verifyClassical(classicalInput, classicalSignature)
+                    && verifyPqc(pqcInput, pqcSignature, payload);
+            case EITHER:
+                return verifyClassical(classicalInput, classicalSignature)
+                    || verifyPqc(pqcInput, pqcSignature, payload);
+            case PQC_ONLY:
+                return verifyPqc(pqcInput, pqcSignature, payload);
+            default:
+                throw new IllegalStateException("Unknown policy: " + policy);
+        }
+    }
+
+    private boolean verifyClassical(byte[] signingInput, String encodedSignature) throws GeneralSecurityException {
+        if (signingInput == null || encodedSignature == null) {
+            return false;
+        }
+        Signature signature = Signature.getInstance(classicalAlgorithm.getJcaName());
+        signature.initVerify(classicalKey);
+        signature.update(signingInput);
+        try {
+            return signature.verify(Base64Url.decode(encodedSignature));
+        } catch (SignatureException e) {
+            return false;
+        }
+    }
+
+    private boolean verifyPqc(byte[] signingInput, String encodedSignature, String payload)
+            throws GeneralSecurityException {
+        if (signingInput == null || encodedSignature == null) {
+            return false;
+        }
+        byte[] signature = Base64Url.decode(encodedSignature);
+        VerificationCache cache = verificationCache;
+        try {
+            if (cache == null) {
+                return pqcVerifier.verify(signingInput, signature);
+            }
+            return cache.verify(pqcVerifier, pqcKeyEncoded, signingInput, signature, expiresAtMillis(payload));
+        } catch (RuntimeException e) {
+            // The signature bytes come from the token, so a backend that cannot parse them is a rejection
+            logger.debug("Rejected malformed {} signature: {}", pqcAlgorithm, e.toString());
+            return false;
+        }
+    }
+
+    /**
+     * "exp" in epoch millis, Long.MAX_VALUE if absent, or 0 (do not cache) if malformed
+     */
+    private static long expiresAtMillis(String encodedPayload) {
+        try {
+            JsonElement exp = parseHeader(encodedPayload).get("exp");
+            if (exp == null) {
+                return Long.MAX_VALUE;
+            }
+            long seconds = exp.getAsLong();
+            return seconds > Long.MAX_VALUE / 1000 ? Long.MAX_VALUE : seconds * 1000;
+        } catch (RuntimeException e) {
+            return 0;
+        }
+    }
+
+    private static JsonObject parseHeader(String encodedHeader) {
+        String json = new String(Base64Url.decode(encodedHeader), StandardCharsets.UTF_8);
+        return JsonParser.parseString(json).getAsJsonObject();
+    }
+
+    private static String requiredString(JsonObject object, String name) {
+        String value = stringClaim(object, name);
+        if (value == null) {
+            throw new JsonParseException("Missing \"" + name + "\"");
+        }
+        return value;
+    }
+
+    private static String stringClaim(JsonObject object, String name) {
+        JsonElement value = object.get(name);
+        return (value == null || !value.isJsonPrimitive()) ? null : value.getAsString();
+    }
+}
@@ -0,0 +1,118 @@
+package com.qsign.oqs.keystore;
+
+import java.nio.file.Path;
+import java.security.KeyStore;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+
+/**
+ * The {@value #TYPE} key store type: PQC key pairs in a memory-mapped, indexed file
+ *
+ * <pre>
+ * KeyStore keyStore = KeyStore.getInstance("OQS", "OQS");
+ * keyStore.load(new OqsKeyStore.LoadParameter(Path.of("tenants.oqsks")));
+ * PrivateKey key = (PrivateKey) keyStore.getKey("tenant-000042/DILITHIUM3", null);
+ * </pre>
+ *
+ * Loading maps the file and reads its trailer; nothing is decoded until an entry is
+ * first accessed. With caching on, every private key is decoded during load by
+ * {@code loadingThreads} threads instead, like the Luna key store's
+ * {@code caching:true} / {@code loadingthreads:N} options. The same options are
+ * accepted as a Luna-style configuration stream:
+ *
+ * <pre>
+ * keyStore.load(new ByteArrayInputStream("file:tenants.oqsks\ncaching:true\nloadingthreads:8".getBytes()), null);
+ * </pre>
+ *
+ * A stream holding a key store file itself is read into memory rather than mapped.
+ * Entries may have no certificate chain; {@link KeyStore#getEntry} then returns a
+ * {@link KeyPairEntry}. Aliases are case-sensitive. Passwords are accepted and
+ * ignored: keys are stored unencrypted and the file is protected by its permissions.
+ */
+public final class OqsKeyStore {
+
+    public static final String TYPE = "OQS";
+
+    private OqsKeyStore() {
+    }
+
+    /**
+     * File and loading options for {@link KeyStore#load(KeyStore.LoadStoreParameter)}
+     * and {@link KeyStore#store(KeyStore.LoadStoreParameter)}
+     */
+    public static class LoadParameter implements KeyStore.LoadStoreParameter {
+        private final Path path;
+        private boolean caching;
+        private int loadingThreads = Runtime.getRuntime().availableProcessors();
+
+        public LoadParameter(Path path) {
+            this.path = path;
+        }
+
+        /**
+         * Decode every private key during load instead of on first access (default: false)
+         */
+        public LoadParameter setCaching(boolean caching) {
+            this.caching = caching;
+            return this;
+        }
+
+        /**
+         * Threads decoding keys when caching is on (default: number of CPUs)
+         */
+        public LoadParameter setLoadingThreads(int loadingThreads) {
+            if (loadingThreads < 1) {
+                throw new IllegalArgumentException("loadingThreads must be positive: " + loadingThreads);
+            }
+            this.loadingThreads = loadingThreads;
+            return this;
+        }
+
+        public Path getPath() {
+            return path;
+        }
+
+        public boolean isCaching() {
+            return caching;
+        }
+
+        public int getLoadingThreads() {
+            return loadingThreads;
+        }
+
+        @Override
+        public KeyStore.ProtectionParameter getProtectionParameter() {
+            return null;
+        }
+    }
+
+    /**
+     * A key pair stored without a certificate chain, such as one written by the
+     * provisioning tool
+     */
+    public static final class KeyPairEntry implements KeyStore.Entry {
+        private final PrivateKey privateKey;
+        private final PublicKey publicKey;
+
+        public KeyPairEntry(PrivateKey privateKey, PublicKey publicKey) {
+            this.privateKey = privateKey;
+            this.publicKey = publicKey;
+        }
+
+        public PrivateKey getPrivateKey() {
+            return privateKey;
+        }
+
+        /**
+         * Public key, or null if the entry was stored without one
+         */
+        public PublicKey getPublicKey() {
+            return publicKey;
+        }
+
+        @Override
+        public String toString() {
+            return "OQS key pair entry for " + privateKey.getAlgorithm();
+        }
+    }
+}
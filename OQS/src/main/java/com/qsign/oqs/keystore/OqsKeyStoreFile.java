@@ -0,0 +1,387 @@
+package com.qsign.oqs.keystore;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Read-only view of an OQS key store file
+ *
+ * Layout (big-endian):
+ *
+ * <pre>
+ * header   magic "OQKS", u16 version, u16 reserved
+ * records  u32 length, then: u8 type, u16 + alias (UTF-8), u16 + algorithm,
+ *          u64 creation time (ms), u32 + public key (X.509), u32 + private key (PKCS#8),
+ *          u16 certificate count, each u32 + DER certificate
+ * index    u32 slot count (power of two), slots of {i32 alias hash, i32 ordinal + 1},
+ *          then one u64 record offset per entry in file order
+ * trailer  u64 index offset, u32 entry count, magic "OQKX"
+ * </pre>
+ *
+ * Opening a file with a trailer only reads the header and trailer; lookups probe the
+ * open-addressed slot table and compare the alias in the record. A file without a
+ * trailer (a writer that never closed) is scanned once and indexed on the heap;
+ * scanning stops at the first incomplete record.
+ */
+final class OqsKeyStoreFile {
+
+    static final int MAGIC = 0x4F514B53;
+    static final int TRAILER_MAGIC = 0x4F514B58;
+    static final short VERSION = 1;
+    static final int HEADER_SIZE = 8;
+    static final int TRAILER_SIZE = 16;
+
+    static final byte PRIVATE_KEY_ENTRY = 1;
+    static final byte CERTIFICATE_ENTRY = 2;
+
+    private static final int SLOT_SIZE = 8;
+
+    private final ByteBuffer data;
+    private final ByteBuffer index;
+    private final int slotCount;
+    private final int slotsStart;
+    private final int offsetsStart;
+    private final int size;
+    private final boolean indexed;
+
+    private OqsKeyStoreFile(ByteBuffer data) throws IOException {
+        if (data.capacity() < HEADER_SIZE || data.getInt(0) != MAGIC) {
+            throw new IOException("Not an OQS key store");
+        }
+        if (data.getShort(4) != VERSION) {
+            throw new IOException("Unsupported OQS key store version " + data.getShort(4));
+        }
+        this.data = data;
+
+        int end = data.capacity();
+        if (end >= HEADER_SIZE + TRAILER_SIZE && data.getInt(end - 4) == TRAILER_MAGIC) {
+            long indexOffset = data.getLong(end - TRAILER_SIZE);
+            this.size = data.getInt(end - 8);
+            if (indexOffset < HEADER_SIZE || indexOffset > end - TRAILER_SIZE - 4 || size < 0) {
+                throw new IOException("Corrupt OQS key store trailer");
+            }
+            this.index = data;
+            this.slotCount = data.getInt((int) indexOffset);
+            this.slotsStart = (int) indexOffset + 4;
+            long offsets = slotsStart + (long) slotCount * SLOT_SIZE;
+            if (slotCount <= 0 || Integer.bitCount(slotCount) != 1
+                    || offsets + (long) size * Long.BYTES != end - TRAILER_SIZE) {
+                throw new IOException("Corrupt OQS key store index");
+            }
+            this.offsetsStart = (int) offsets;
+            this.indexed = true;
+        } else {
+            Scan scan = scan(data, HEADER_SIZE, end);
+            this.size = scan.count;
+            this.index = buildIndex(scan.hashes, scan.offsets, scan.count);
+            this.slotCount = index.getInt(0);
+            this.slotsStart = 4;
+            this.offsetsStart = slotsStart + slotCount * SLOT_SIZE;
+            this.indexed = false;
+        }
+    }
+
+    /**
+     * Map a key store file read-only
+     */
+    static OqsKeyStoreFile open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("OQS key store larger than 2 GiB: " + path);
+            }
+            return new OqsKeyStoreFile(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * A store with no entries
+     */
+    static OqsKeyStoreFile empty() {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putShort(VERSION);
+        try {
+            return new OqsKeyStoreFile(header.clear());
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    /**
+     * Read a key store already in memory
+     */
+    static OqsKeyStoreFile wrap(ByteBuffer data) throws IOException {
+        return new OqsKeyStoreFile(data);
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * False if the file had no index and was scanned on open
+     */
+    boolean isIndexed() {
+        return indexed;
+    }
+
+    /**
+     * Ordinal of the entry with this alias, or -1
+     */
+    int find(String alias) {
+        int hash = hash(alias);
+        byte[] aliasBytes = null;
+        int mask = slotCount - 1;
+        for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+            int position = slotsStart + slot * SLOT_SIZE;
+            int ordinal = index.getInt(position + 4) - 1;
+            if (ordinal < 0) {
+                return -1;
+            }
+            if (index.getInt(position) == hash) {
+                if (aliasBytes == null) {
+                    aliasBytes = alias.getBytes(StandardCharsets.UTF_8);
+                }
+                if (aliasEquals(offset(ordinal), aliasBytes)) {
+                    return ordinal;
+                }
+            }
+        }
+    }
+
+    long offset(int ordinal) {
+        return index.getLong(offsetsStart + ordinal * Long.BYTES);
+    }
+
+    Record record(int ordinal) {
+        return new Record(data, (int) offset(ordinal));
+    }
+
+    /**
+     * Hash stored in the slot table; String.hashCode is specified, so it is stable across JVMs
+     */
+    static int hash(String alias) {
+        int h = alias.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Serialized index for entries in file order: slot count, slots, offsets
+     */
+    static ByteBuffer buildIndex(int[] hashes, long[] offsets, int count) {
+        int slots = Integer.highestOneBit(Math.max(2, count * 2 - 1)) << 1;
+        ByteBuffer buffer = ByteBuffer.allocate(4 + slots * SLOT_SIZE + count * Long.BYTES);
+        buffer.putInt(0, slots);
+        int mask = slots - 1;
+        for (int ordinal = 0; ordinal < count; ordinal++) {
+            int slot = hashes[ordinal] & mask;
+            while (buffer.getInt(4 + slot * SLOT_SIZE + 4) != 0) {
+                slot = (slot + 1) & mask;
+            }
+            buffer.putInt(4 + slot * SLOT_SIZE, hashes[ordinal]);
+            buffer.putInt(4 + slot * SLOT_SIZE + 4, ordinal + 1);
+        }
+        int offsetsStart = 4 + slots * SLOT_SIZE;
+        for (int ordinal = 0; ordinal < count; ordinal++) {
+            buffer.putLong(offsetsStart + ordinal * Long.BYTES, offsets[ordinal]);
+        }
+        return buffer;
+    }
+
+    /**
+     * Complete records between two offsets, as written by {@link OqsKeyStoreWriter}
+     */
+    static Scan scan(ByteBuffer data, int start, int end) {
+        Scan scan = new Scan();
+        int position = start;
+        while (position + 4 <= end) {
+            int length = data.getInt(position);
+            if (length <= 0 || length > end - position - 4 || !Record.isValid(data, position, length)) {
+                break;
+            }
+            scan.add(hash(new Record(data, position).getAlias()), position);
+            position += 4 + length;
+        }
+        scan.end = position;
+        return scan;
+    }
+
+    private boolean aliasEquals(long offset, byte[] alias) {
+        int position = (int) offset + 5;
+        int length = data.getShort(position) & 0xFFFF;
+        if (length != alias.length) {
+            return false;
+        }
+        position += 2;
+        for (int i = 0; i < length; i++) {
+            if (data.get(position + i) != alias[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Aliases and offsets found by {@link #scan}
+     */
+    static final class Scan {
+        int count;
+        int end;
+        int[] hashes = new int[16];
+        long[] offsets = new long[16];
+
+        void add(int hash, long offset) {
+            if (count == hashes.length) {
+                hashes = Arrays.copyOf(hashes, count * 2);
+                offsets = Arrays.copyOf(offsets, count * 2);
+            }
+            hashes[count] = hash;
+            offsets[count] = offset;
+            count++;
+        }
+    }
+
+    /**
+     * One entry, parsed from its record on access
+     */
+    static final class Record {
+        private final ByteBuffer data;
+        private final int start;
+        private final int length;
+        private final byte type;
+        private final int aliasStart;
+        private final int aliasLength;
+        private final int algorithmStart;
+        private final int algorithmLength;
+        private final long creationDate;
+        private final int publicKeyStart;
+        private final int publicKeyLength;
+        private final int privateKeyStart;
+        private final int privateKeyLength;
+        private final int certificatesStart;
+
+        Record(ByteBuffer data, int start) {
+            this.data = data;
+            this.start = start;
+            this.length = data.getInt(start);
+            int position = start + 4;
+            this.type = data.get(position++);
+            this.aliasLength = data.getShort(position) & 0xFFFF;
+            this.aliasStart = position + 2;
+            position = aliasStart + aliasLength;
+            this.algorithmLength = data.getShort(position) & 0xFFFF;
+            this.algorithmStart = position + 2;
+            position = algorithmStart + algorithmLength;
+            this.creationDate = data.getLong(position);
+            position += Long.BYTES;
+            this.publicKeyLength = data.getInt(position);
+            this.publicKeyStart = position + 4;
+            position = publicKeyStart + publicKeyLength;
+            this.privateKeyLength = data.getInt(position);
+            this.privateKeyStart = position + 4;
+            this.certificatesStart = privateKeyStart + privateKeyLength;
+        }
+
+        /**
+         * Check that every length field stays inside the record before it is parsed
+         */
+        static boolean isValid(ByteBuffer data, int start, int length) {
+            long end = (long) start + 4 + length;
+            long position = start + 4;
+            byte type = data.get((int) position++);
+            if (type != PRIVATE_KEY_ENTRY && type != CERTIFICATE_ENTRY) {
+                return false;
+            }
+            for (int field = 0; field < 2; field++) {
+                if (position + 2 > end) {
+                    return false;
+                }
+                position += 2 + (data.getShort((int) position) & 0xFFFF);
+            }
+            position += Long.BYTES;
+            for (int field = 0; field < 2; field++) {
+                if (position + 4 > end || data.getInt((int) position) < 0) {
+                    return false;
+                }
+                position += 4 + data.getInt((int) position);
+            }
+            if (position + 2 > end) {
+                return false;
+            }
+            int certificates = data.getShort((int) position) & 0xFFFF;
+            position += 2;
+            for (int i = 0; i < certificates; i++) {
+                if (position + 4 > end || data.getInt((int) position) < 0) {
+                    return false;
+                }
+                position += 4 + data.getInt((int) position);
+            }
+            return position == end;
+        }
+
+        byte getType() {
+            return type;
+        }
+
+        String getAlias() {
+            return string(aliasStart, aliasLength);
+        }
+
+        String getAlgorithm() {
+            return string(algorithmStart, algorithmLength);
+        }
+
+        long getCreationDate() {
+            return creationDate;
+        }
+
+        /**
+         * X.509 public key, or null
+         */
+        byte[] getPublicKey() {
+            return publicKeyLength == 0 ? null : bytes(publicKeyStart, publicKeyLength);
+        }
+
+        /**
+         * PKCS#8 private key, or null for a certificate entry
+         */
+        byte[] getPrivateKey() {
+            return privateKeyLength == 0 ? null : bytes(privateKeyStart, privateKeyLength);
+        }
+
+        List<byte[]> getCertificates() {
+            int position = certificatesStart;
+            int count = data.getShort(position) & 0xFFFF;
+            position += 2;
+            List<byte[]> certificates = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                int certificateLength = data.getInt(position);
+                certificates.add(bytes(position + 4, certificateLength));
+                position += 4 + certificateLength;
+            }
+            return certificates;
+        }
+
+        /**
+         * The whole record including its length prefix, for copying into another store
+         */
+        ByteBuffer raw() {
+            return data.slice(start, 4 + length);
+        }
+
+        private String string(int position, int length) {
+            return new String(bytes(position, length), StandardCharsets.UTF_8);
+        }
+
+        private byte[] bytes(int position, int length) {
+            byte[] bytes = new byte[length];
+            data.get(position, bytes);
+            return bytes;
+        }
+    }
+}
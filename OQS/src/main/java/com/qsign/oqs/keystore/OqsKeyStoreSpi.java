@@ -0,0 +1,589 @@
+package com.qsign.oqs.keystore;
+
+import com.qsign.oqs.OQSProvider;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.KeyStore;
+import java.security.KeyStoreException;
+import java.security.KeyStoreSpi;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivateKey;
+import java.security.ProviderException;
+import java.security.PublicKey;
+import java.security.UnrecoverableEntryException;
+import java.security.UnrecoverableKeyException;
+import java.security.cert.Certificate;
+import java.security.cert.CertificateEncodingException;
+import java.security.cert.CertificateException;
+import java.security.cert.CertificateFactory;
+import java.security.spec.InvalidKeySpecException;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * {@link KeyStoreSpi} for the {@link OqsKeyStore#TYPE} key store type
+ *
+ * Entries loaded from a file stay in the mapped buffer; a decoded private key is
+ * cached per entry on first access, so concurrent {@code getKey} calls decode an
+ * entry at most once each in the common case and never block each other. Entries
+ * added or deleted after loading are kept in an overlay on the heap until the store
+ * is written again.
+ */
+public class OqsKeyStoreSpi extends KeyStoreSpi {
+
+    private static final int DECODE_THRESHOLD = 64;
+
+    private OqsKeyStoreFile file = OqsKeyStoreFile.empty();
+    private AtomicReferenceArray<Key> keys = new AtomicReferenceArray<>(0);
+    private final Map<String, Entry> added = Collections.synchronizedMap(new LinkedHashMap<>());
+    private final Set<String> hidden = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Load a key store file, or a Luna-style configuration naming one
+     *
+     * A stream starting with the key store magic is read into memory. Any other
+     * stream is read as {@code name:value} lines: {@code file} (required),
+     * {@code caching} and {@code loadingthreads}. A null stream creates an empty store.
+     * The password is ignored.
+     */
+    @Override
+    public void engineLoad(InputStream stream, char[] password)
+            throws IOException, NoSuchAlgorithmException, CertificateException {
+        if (stream == null) {
+            load(OqsKeyStoreFile.empty(), false, 1);
+            return;
+        }
+        BufferedInputStream in = new BufferedInputStream(stream);
+        in.mark(Integer.BYTES);
+        byte[] magic = in.readNBytes(Integer.BYTES);
+        in.reset();
+        if (magic.length == Integer.BYTES && ByteBuffer.wrap(magic).getInt() == OqsKeyStoreFile.MAGIC) {
+            load(OqsKeyStoreFile.wrap(ByteBuffer.wrap(in.readAllBytes())), false, 1);
+            return;
+        }
+
+        OqsKeyStore.LoadParameter parameter = parseConfiguration(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        engineLoad(parameter);
+    }
+
+    /**
+     * Map the file of an {@link OqsKeyStore.LoadParameter}; null creates an empty store
+     */
+    @Override
+    public void engineLoad(KeyStore.LoadStoreParameter parameter)
+            throws IOException, NoSuchAlgorithmException, CertificateException {
+        if (parameter == null) {
+            engineLoad((InputStream) null, null);
+            return;
+        }
+        OqsKeyStore.LoadParameter oqs = loadParameter(parameter);
+        load(OqsKeyStoreFile.open(oqs.getPath()), oqs.isCaching(), oqs.getLoadingThreads());
+    }
+
+    /**
+     * Write every entry as a key store file; the stream is not closed and the password is ignored
+     */
+    @Override
+    public void engineStore(OutputStream stream, char[] password)
+            throws IOException, NoSuchAlgorithmException, CertificateException {
+        try (OqsKeyStoreWriter writer = new OqsKeyStoreWriter(stream)) {
+            store(writer);
+        }
+    }
+
+    /**
+     * Write every entry to the file of an {@link OqsKeyStore.LoadParameter}, replacing it atomically
+     */
+    @Override
+    public void engineStore(KeyStore.LoadStoreParameter parameter)
+            throws IOException, NoSuchAlgorithmException, CertificateException {
+        Path path = loadParameter(parameter).getPath().toAbsolutePath();
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            try (OqsKeyStoreWriter writer = new OqsKeyStoreWriter(temporary, 0)) {
+                store(writer);
+            }
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    @Override
+    public boolean engineProbe(InputStream stream) throws IOException {
+        byte[] magic = stream.readNBytes(Integer.BYTES);
+        return magic.length == Integer.BYTES && ByteBuffer.wrap(magic).getInt() == OqsKeyStoreFile.MAGIC;
+    }
+
+    /**
+     * Private key of an entry, decoded on first access; the password is ignored
+     */
+    @Override
+    public Key engineGetKey(String alias, char[] password) throws NoSuchAlgorithmException, UnrecoverableKeyException {
+        Entry entry = added.get(alias);
+        if (entry != null) {
+            return entry.privateKey;
+        }
+        int ordinal = ordinal(alias);
+        if (ordinal < 0 || file.record(ordinal).getType() != OqsKeyStoreFile.PRIVATE_KEY_ENTRY) {
+            return null;
+        }
+        return key(ordinal);
+    }
+
+    @Override
+    public Certificate[] engineGetCertificateChain(String alias) {
+        Entry entry = added.get(alias);
+        if (entry != null) {
+            return entry.privateKey == null || entry.chain.length == 0 ? null : entry.chain.clone();
+        }
+        int ordinal = ordinal(alias);
+        if (ordinal < 0) {
+            return null;
+        }
+        OqsKeyStoreFile.Record record = file.record(ordinal);
+        if (record.getType() != OqsKeyStoreFile.PRIVATE_KEY_ENTRY) {
+            return null;
+        }
+        Certificate[] chain = certificates(record);
+        return chain.length == 0 ? null : chain;
+    }
+
+    @Override
+    public Certificate engineGetCertificate(String alias) {
+        Entry entry = added.get(alias);
+        if (entry != null) {
+            return entry.chain.length == 0 ? null : entry.chain[0];
+        }
+        int ordinal = ordinal(alias);
+        if (ordinal < 0) {
+            return null;
+        }
+        Certificate[] chain = certificates(file.record(ordinal));
+        return chain.length == 0 ? null : chain[0];
+    }
+
+    @Override
+    public Date engineGetCreationDate(String alias) {
+        Entry entry = added.get(alias);
+        if (entry != null) {
+            return new Date(entry.creationDate);
+        }
+        int ordinal = ordinal(alias);
+        return ordinal < 0 ? null : new Date(file.record(ordinal).getCreationDate());
+    }
+
+    /**
+     * Store a private key; any key type with a PKCS#8 encoding is accepted and the
+     * chain may be null or empty. The password is ignored.
+     */
+    @Override
+    public void engineSetKeyEntry(String alias, Key key, char[] password, Certificate[] chain)
+            throws KeyStoreException {
+        checkPrivateKey(key);
+        PublicKey publicKey = chain == null || chain.length == 0 ? null : chain[0].getPublicKey();
+        put(alias, new Entry((PrivateKey) key, publicKey, chain == null ? new Certificate[0] : chain.clone()));
+    }
+
+    @Override
+    public void engineSetKeyEntry(String alias, byte[] key, Certificate[] chain) throws KeyStoreException {
+        throw new KeyStoreException("OQS key stores do not accept protected key encodings; use a PrivateKey");
+    }
+
+    @Override
+    public void engineSetCertificateEntry(String alias, Certificate certificate) throws KeyStoreException {
+        if (engineIsKeyEntry(alias)) {
+            throw new KeyStoreException("Alias " + alias + " is a key entry");
+        }
+        put(alias, new Entry(null, null, new Certificate[] {certificate}));
+    }
+
+    /**
+     * Store a {@link OqsKeyStore.KeyPairEntry} with its public key, or any standard entry
+     */
+    @Override
+    public void engineSetEntry(String alias, KeyStore.Entry entry, KeyStore.ProtectionParameter protection)
+            throws KeyStoreException {
+        if (entry instanceof OqsKeyStore.KeyPairEntry) {
+            OqsKeyStore.KeyPairEntry keyPair = (OqsKeyStore.KeyPairEntry) entry;
+            checkPrivateKey(keyPair.getPrivateKey());
+            put(alias, new Entry(keyPair.getPrivateKey(), keyPair.getPublicKey(), new Certificate[0]));
+            return;
+        }
+        super.engineSetEntry(alias, entry, protection);
+    }
+
+    /**
+     * Entries without a certificate chain are returned as {@link OqsKeyStore.KeyPairEntry};
+     * no protection parameter is needed
+     */
+    @Override
+    public KeyStore.Entry engineGetEntry(String alias, KeyStore.ProtectionParameter protection)
+            throws KeyStoreException, NoSuchAlgorithmException, UnrecoverableEntryException {
+        if (!engineContainsAlias(alias)) {
+            return null;
+        }
+        if (engineIsCertificateEntry(alias)) {
+            return new KeyStore.TrustedCertificateEntry(engineGetCertificate(alias));
+        }
+        PrivateKey privateKey;
+        try {
+            privateKey = (PrivateKey) engineGetKey(alias, null);
+        } catch (UnrecoverableKeyException e) {
+            UnrecoverableEntryException failure = new UnrecoverableEntryException(e.getMessage());
+            failure.initCause(e);
+            throw failure;
+        }
+        Certificate[] chain = engineGetCertificateChain(alias);
+        if (chain != null) {
+            return new KeyStore.PrivateKeyEntry(privateKey, chain);
+        }
+        Entry entry = added.get(alias);
+        PublicKey publicKey = entry != null ? entry.publicKey : publicKey(file.record(ordinal(alias)));
+        return new OqsKeyStore.KeyPairEntry(privateKey, publicKey);
+    }
+
+    @Override
+    public void engineDeleteEntry(String alias) {
+        if (added.remove(alias) == null && file.find(alias) >= 0) {
+            hidden.add(alias);
+        }
+    }
+
+    /**
+     * Aliases from the file in file order, then aliases added since loading
+     */
+    @Override
+    public Enumeration<String> engineAliases() {
+        List<String> aliases = new ArrayList<>(engineSize());
+        for (int ordinal = 0; ordinal < file.size(); ordinal++) {
+            String alias = file.record(ordinal).getAlias();
+            if (!hidden.contains(alias)) {
+                aliases.add(alias);
+            }
+        }
+        synchronized (added) {
+            aliases.addAll(added.keySet());
+        }
+        return Collections.enumeration(aliases);
+    }
+
+    @Override
+    public boolean engineContainsAlias(String alias) {
+        return added.containsKey(alias) || ordinal(alias) >= 0;
+    }
+
+    @Override
+    public int engineSize() {
+        return file.size() - hidden.size() + added.size();
+    }
+
+    @Override
+    public boolean engineIsKeyEntry(String alias) {
+        Entry entry = added.get(alias);
+        if (entry != null) {
+            return entry.privateKey != null;
+        }
+        int ordinal = ordinal(alias);
+        return ordinal >= 0 && file.record(ordinal).getType() == OqsKeyStoreFile.PRIVATE_KEY_ENTRY;
+    }
+
+    @Override
+    public boolean engineIsCertificateEntry(String alias) {
+        Entry entry = added.get(alias);
+        if (entry != null) {
+            return entry.privateKey == null;
+        }
+        int ordinal = ordinal(alias);
+        return ordinal >= 0 && file.record(ordinal).getType() == OqsKeyStoreFile.CERTIFICATE_ENTRY;
+    }
+
+    /**
+     * First alias whose certificate, or leaf certificate, is the given one; compares
+     * encodings, so entries are not decoded
+     */
+    @Override
+    public String engineGetCertificateAlias(Certificate certificate) {
+        byte[] encoded;
+        try {
+            encoded = certificate.getEncoded();
+        } catch (CertificateEncodingException e) {
+            return null;
+        }
+        for (int ordinal = 0; ordinal < file.size(); ordinal++) {
+            OqsKeyStoreFile.Record record = file.record(ordinal);
+            List<byte[]> chain = record.getCertificates();
+            if (!chain.isEmpty() && Arrays.equals(chain.get(0), encoded) && !hidden.contains(record.getAlias())) {
+                return record.getAlias();
+            }
+        }
+        synchronized (added) {
+            for (Map.Entry<String, Entry> entry : added.entrySet()) {
+                if (entry.getValue().chain.length > 0 && entry.getValue().chain[0].equals(certificate)) {
+                    return entry.getKey();
+                }
+            }
+        }
+        return null;
+    }
+
+    private void load(OqsKeyStoreFile loaded, boolean caching, int loadingThreads) throws IOException {
+        AtomicReferenceArray<Key> cache = new AtomicReferenceArray<>(loaded.size());
+        if (caching && loaded.size() > 0) {
+            ForkJoinPool pool = new ForkJoinPool(loadingThreads);
+            try {
+                pool.invoke(new Decode(loaded, cache, 0, loaded.size()));
+            } catch (CompletionException e) {
+                // invoke may rethrow a copy whose cause is the exception thrown by the worker
+                Throwable cause = e.getCause();
+                while (cause instanceof CompletionException && cause.getCause() != null) {
+                    cause = cause.getCause();
+                }
+                throw new IOException("Cannot decode OQS key store entry: " + cause.getMessage(), cause);
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+        file = loaded;
+        keys = cache;
+        added.clear();
+        hidden.clear();
+    }
+
+    private void store(OqsKeyStoreWriter writer) throws IOException, CertificateException {
+        for (int ordinal = 0; ordinal < file.size(); ordinal++) {
+            OqsKeyStoreFile.Record record = file.record(ordinal);
+            if (!hidden.contains(record.getAlias())) {
+                writer.writeRecord(record);
+            }
+        }
+        synchronized (added) {
+            for (Map.Entry<String, Entry> entry : added.entrySet()) {
+                Entry value = entry.getValue();
+                List<byte[]> chain = new ArrayList<>(value.chain.length);
+                for (Certificate certificate : value.chain) {
+                    chain.add(certificate.getEncoded());
+                }
+                if (value.privateKey == null) {
+                    writer.writeEntry(OqsKeyStoreFile.CERTIFICATE_ENTRY, entry.getKey(), value.chain[0].getType(),
+                        value.creationDate, null, null, chain);
+                } else {
+                    writer.writeEntry(OqsKeyStoreFile.PRIVATE_KEY_ENTRY, entry.getKey(),
+                        value.privateKey.getAlgorithm(), value.creationDate,
+                        value.publicKey == null ? null : value.publicKey.getEncoded(),
+                        value.privateKey.getEncoded(), chain);
+                }
+            }
+        }
+    }
+
+    private static void checkPrivateKey(Key key) throws KeyStoreException {
+        if (!(key instanceof PrivateKey) || key.getEncoded() == null) {
+            throw new KeyStoreException("OQS key stores hold encodable private keys only, got "
+                + (key == null ? null : key.getAlgorithm()));
+        }
+    }
+
+    private void put(String alias, Entry entry) {
+        if (file.find(alias) >= 0) {
+            hidden.add(alias);
+        }
+        added.put(alias, entry);
+    }
+
+    private int ordinal(String alias) {
+        if (alias == null || hidden.contains(alias)) {
+            return -1;
+        }
+        return file.find(alias);
+    }
+
+    private Key key(int ordinal) throws NoSuchAlgorithmException, UnrecoverableKeyException {
+        Key key = keys.get(ordinal);
+        if (key == null) {
+            key = privateKey(file.record(ordinal));
+            if (!keys.compareAndSet(ordinal, null, key)) {
+                key = keys.get(ordinal);
+            }
+        }
+        return key;
+    }
+
+    private static PrivateKey privateKey(OqsKeyStoreFile.Record record)
+            throws NoSuchAlgorithmException, UnrecoverableKeyException {
+        byte[] encoded = record.getPrivateKey();
+        try {
+            return keyFactory(record.getAlgorithm()).generatePrivate(new PKCS8EncodedKeySpec(encoded));
+        } catch (InvalidKeySpecException e) {
+            UnrecoverableKeyException failure = new UnrecoverableKeyException(
+                "Cannot decode private key of " + record.getAlias());
+            failure.initCause(e);
+            throw failure;
+        } finally {
+            Arrays.fill(encoded, (byte) 0);
+        }
+    }
+
+    private static PublicKey publicKey(OqsKeyStoreFile.Record record) throws NoSuchAlgorithmException {
+        byte[] encoded = record.getPublicKey();
+        if (encoded == null) {
+            return null;
+        }
+        try {
+            return keyFactory(record.getAlgorithm()).generatePublic(new X509EncodedKeySpec(encoded));
+        } catch (InvalidKeySpecException e) {
+            throw new ProviderException("Cannot decode public key of " + record.getAlias(), e);
+        }
+    }
+
+    /**
+     * PQC algorithms come from BouncyCastle PQC; anything else from the installed providers
+     */
+    private static KeyFactory keyFactory(String algorithm) throws NoSuchAlgorithmException {
+        try {
+            return KeyFactory.getInstance(algorithm, OQSProvider.getPqcProvider());
+        } catch (NoSuchAlgorithmException e) {
+            return KeyFactory.getInstance(algorithm);
+        }
+    }
+
+    private static Certificate[] certificates(OqsKeyStoreFile.Record record) {
+        List<byte[]> encoded = record.getCertificates();
+        Certificate[] chain = new Certificate[encoded.size()];
+        if (chain.length == 0) {
+            return chain;
+        }
+        try {
+            CertificateFactory factory = CertificateFactory.getInstance("X.509");
+            for (int i = 0; i < chain.length; i++) {
+                chain[i] = factory.generateCertificate(new ByteArrayInputStream(encoded.get(i)));
+            }
+        } catch (CertificateException e) {
+            throw new ProviderException("Cannot decode certificate of " + record.getAlias(), e);
+        }
+        return chain;
+    }
+
+    private static OqsKeyStore.LoadParameter loadParameter(KeyStore.LoadStoreParameter parameter) {
+        if (!(parameter instanceof OqsKeyStore.LoadParameter)) {
+            throw new IllegalArgumentException("Expected OqsKeyStore.LoadParameter, got "
+                + (parameter == null ? null : parameter.getClass().getName()));
+        }
+        return (OqsKeyStore.LoadParameter) parameter;
+    }
+
+    private static OqsKeyStore.LoadParameter parseConfiguration(String configuration) throws IOException {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String line : configuration.split("\\R")) {
+            line = line.trim();
+            if (line.isEmpty()) {
+                continue;
+            }
+            int separator = line.indexOf(':');
+            if (separator < 0) {
+                throw new IOException("Expected name:value in OQS key store configuration, got: " + line);
+            }
+            options.put(line.substring(0, separator).trim().toLowerCase(Locale.ROOT), line.substring(separator + 1).trim());
+        }
+        String file = options.remove("file");
+        if (file == null) {
+            throw new IOException("OQS key store configuration has no file: entry");
+        }
+        OqsKeyStore.LoadParameter parameter = new OqsKeyStore.LoadParameter(Path.of(file))
+            .setCaching(Boolean.parseBoolean(options.remove("caching")));
+        String loadingThreads = options.remove("loadingthreads");
+        try {
+            if (loadingThreads != null) {
+                parameter.setLoadingThreads(Integer.parseInt(loadingThreads));
+            }
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Invalid loadingthreads: " + loadingThreads, e);
+        }
+        if (!options.isEmpty()) {
+            throw new IOException("Unknown OQS key store options: " + options.keySet());
+        }
+        return parameter;
+    }
+
+    /**
+     * Entry added or replaced since loading
+     */
+    private static final class Entry {
+        private final PrivateKey privateKey;
+        private final PublicKey publicKey;
+        private final Certificate[] chain;
+        private final long creationDate = System.currentTimeMillis();
+
+        Entry(PrivateKey privateKey, PublicKey publicKey, Certificate[] chain) {
+            this.privateKey = privateKey;
+            this.publicKey = publicKey;
+            this.chain = chain;
+        }
+    }
+
+    /**
+     * Decode the private keys of a range of entries into the cache
+     */
+    private static final class Decode extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final OqsKeyStoreFile file;
+        private final AtomicReferenceArray<Key> cache;
+        private final int from;
+        private final int to;
+
+        Decode(OqsKeyStoreFile file, AtomicReferenceArray<Key> cache, int from, int to) {
+            this.file = file;
+            this.cache = cache;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > DECODE_THRESHOLD) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new Decode(file, cache, from, middle), new Decode(file, cache, middle, to));
+                return;
+            }
+            for (int ordinal = from; ordinal < to; ordinal++) {
+                OqsKeyStoreFile.Record record = file.record(ordinal);
+                if (record.getType() != OqsKeyStoreFile.PRIVATE_KEY_ENTRY) {
+                    continue;
+                }
+                try {
+                    cache.set(ordinal, privateKey(record));
+                } catch (GeneralSecurityException e) {
+                    throw new CompletionException(e);
+                }
+            }
+        }
+    }
+}
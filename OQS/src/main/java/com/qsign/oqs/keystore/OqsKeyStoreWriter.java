@@ -0,0 +1,236 @@
+package com.qsign.oqs.keystore;
+
+import com.qsign.oqs.provisioning.KeySink;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileAttribute;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.KeyPair;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Streaming writer for OQS key store files
+ *
+ * Records are appended as they arrive and only the alias set, hashes and offsets are
+ * kept on the heap; {@link #close()} appends the index and trailer. As a
+ * {@link KeySink} it plugs into {@link com.qsign.oqs.provisioning.KeyProvisioner}:
+ * {@link #commit()} returns the length of the records written so far, and reopening
+ * at that length drops any later records and the old index, then continues appending.
+ *
+ * Private keys are stored unencrypted, like the PEM files this format replaces;
+ * new files are created readable by the owner only where POSIX permissions exist.
+ */
+public class OqsKeyStoreWriter implements KeySink {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final FileChannel channel;
+    private final DataOutputStream out;
+    private final Set<String> aliases = new HashSet<>();
+    private OqsKeyStoreFile.Scan entries = new OqsKeyStoreFile.Scan();
+    private long position;
+    private boolean closed;
+
+    /**
+     * Open a key store file for appending, truncated to the length of the last commit
+     *
+     * @param path Key store file, created if missing
+     * @param committedLength Bytes to keep; 0 starts a new store
+     */
+    public OqsKeyStoreWriter(Path path, long committedLength) throws IOException {
+        this.channel = FileChannel.open(path,
+            EnumSet.of(StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE), ownerOnly());
+        try {
+            if (committedLength == 0) {
+                channel.truncate(0);
+            } else {
+                resume(path, committedLength);
+            }
+            channel.position(committedLength);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        this.out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE));
+        this.position = committedLength;
+        if (committedLength == 0) {
+            writeHeader();
+        }
+    }
+
+    /**
+     * Write a complete store to a stream; the stream is flushed but not closed
+     */
+    OqsKeyStoreWriter(OutputStream stream) throws IOException {
+        this.channel = null;
+        // never closed, only flushed, so the caller's stream stays open
+        this.out = new DataOutputStream(new BufferedOutputStream(stream, BUFFER_SIZE));
+        writeHeader();
+    }
+
+    /**
+     * Append a key pair without a certificate chain, created now
+     */
+    @Override
+    public void write(String alias, String tenant, String algorithm, KeyPair keyPair) throws IOException {
+        writeEntry(OqsKeyStoreFile.PRIVATE_KEY_ENTRY, alias, algorithm, System.currentTimeMillis(),
+            keyPair.getPublic().getEncoded(), keyPair.getPrivate().getEncoded(), List.of());
+    }
+
+    /**
+     * Append one entry
+     *
+     * @param publicKey X.509 encoding, or null
+     * @param privateKey PKCS#8 encoding, or null for a certificate entry
+     * @param certificates DER certificates, leaf first
+     */
+    void writeEntry(byte type, String alias, String algorithm, long creationDate, byte[] publicKey,
+                    byte[] privateKey, List<byte[]> certificates) throws IOException {
+        byte[] aliasBytes = alias.getBytes(StandardCharsets.UTF_8);
+        byte[] algorithmBytes = algorithm.getBytes(StandardCharsets.UTF_8);
+        if (aliasBytes.length > 0xFFFF || algorithmBytes.length > 0xFFFF || certificates.size() > 0xFFFF) {
+            throw new IOException("Entry too large: " + alias);
+        }
+        byte[] publicBytes = publicKey == null ? new byte[0] : publicKey;
+        byte[] privateBytes = privateKey == null ? new byte[0] : privateKey;
+
+        long length = 1 + 2 + aliasBytes.length + 2 + algorithmBytes.length + Long.BYTES
+            + 4 + publicBytes.length + 4 + privateBytes.length + 2;
+        for (byte[] certificate : certificates) {
+            length += 4 + certificate.length;
+        }
+        if (length > Integer.MAX_VALUE - 4) {
+            throw new IOException("Entry too large: " + alias);
+        }
+
+        add(alias);
+        out.writeInt((int) length);
+        out.writeByte(type);
+        out.writeShort(aliasBytes.length);
+        out.write(aliasBytes);
+        out.writeShort(algorithmBytes.length);
+        out.write(algorithmBytes);
+        out.writeLong(creationDate);
+        out.writeInt(publicBytes.length);
+        out.write(publicBytes);
+        out.writeInt(privateBytes.length);
+        out.write(privateBytes);
+        out.writeShort(certificates.size());
+        for (byte[] certificate : certificates) {
+            out.writeInt(certificate.length);
+            out.write(certificate);
+        }
+        position += 4 + length;
+    }
+
+    /**
+     * Append a record copied from another store
+     */
+    void writeRecord(OqsKeyStoreFile.Record record) throws IOException {
+        add(record.getAlias());
+        ByteBuffer raw = record.raw();
+        byte[] bytes = new byte[raw.remaining()];
+        raw.get(bytes);
+        out.write(bytes);
+        position += bytes.length;
+    }
+
+    /**
+     * Flush records to disk
+     *
+     * @return Length of the file up to the last record
+     */
+    @Override
+    public long commit() throws IOException {
+        out.flush();
+        if (channel != null) {
+            channel.force(false);
+        }
+        return position;
+    }
+
+    /**
+     * Append the index and trailer, then close the file
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            long indexOffset = position;
+            ByteBuffer index = OqsKeyStoreFile.buildIndex(entries.hashes, entries.offsets, entries.count);
+            out.write(index.array());
+            out.writeLong(indexOffset);
+            out.writeInt(entries.count);
+            out.writeInt(OqsKeyStoreFile.TRAILER_MAGIC);
+            out.flush();
+            if (channel != null) {
+                channel.truncate(indexOffset + index.capacity() + OqsKeyStoreFile.TRAILER_SIZE);
+                channel.force(true);
+            }
+        } finally {
+            if (channel != null) {
+                channel.close();
+            }
+        }
+    }
+
+    private void add(String alias) throws IOException {
+        if (!aliases.add(alias)) {
+            throw new IOException("Duplicate alias: " + alias);
+        }
+        entries.add(OqsKeyStoreFile.hash(alias), position);
+    }
+
+    private void writeHeader() throws IOException {
+        out.writeInt(OqsKeyStoreFile.MAGIC);
+        out.writeShort(OqsKeyStoreFile.VERSION);
+        out.writeShort(0);
+        position += OqsKeyStoreFile.HEADER_SIZE;
+    }
+
+    /**
+     * Rebuild the alias set and offsets from the committed records, then drop the rest
+     */
+    private void resume(Path path, long committedLength) throws IOException {
+        if (channel.size() < committedLength || committedLength > Integer.MAX_VALUE) {
+            throw new IOException(path + " is shorter (" + channel.size() + " bytes) than its checkpoint ("
+                + committedLength + " bytes)");
+        }
+        ByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, committedLength);
+        if (committedLength < OqsKeyStoreFile.HEADER_SIZE || data.getInt(0) != OqsKeyStoreFile.MAGIC) {
+            throw new IOException("Not an OQS key store: " + path);
+        }
+        OqsKeyStoreFile.Scan scan = OqsKeyStoreFile.scan(data, OqsKeyStoreFile.HEADER_SIZE, (int) committedLength);
+        if (scan.end != committedLength) {
+            throw new IOException("Checkpoint of " + path + " does not end on a record boundary");
+        }
+        for (int ordinal = 0; ordinal < scan.count; ordinal++) {
+            aliases.add(new OqsKeyStoreFile.Record(data, (int) scan.offsets[ordinal]).getAlias());
+        }
+        entries = scan;
+        channel.truncate(committedLength);
+    }
+
+    private static FileAttribute<?>[] ownerOnly() {
+        if (!FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+            return new FileAttribute<?>[0];
+        }
+        return new FileAttribute<?>[] {PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------"))};
+    }
+}
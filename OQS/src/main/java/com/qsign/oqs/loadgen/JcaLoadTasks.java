@@ -0,0 +1,82 @@
+package com.qsign.oqs.loadgen;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.SecureRandom;
+import java.security.Signature;
+
+/**
+ * Ready-made {@link LoadTask} factories for plain JCA operations
+ *
+ * Every factory resolves the algorithm through the named provider, so the same load
+ * can be pointed at the software OQS provider ("OQS"), BouncyCastle, or an HSM
+ * provider such as "LunaProvider". Each worker gets its own engine instance; the key
+ * pair used for sign/verify is generated once and shared.
+ */
+public final class JcaLoadTasks {
+
+    private JcaLoadTasks() {
+    }
+
+    /**
+     * Generate one key pair per operation
+     */
+    public static LoadTask.Factory keyPairGeneration(String provider, String algorithm) {
+        return () -> {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance(algorithm, provider);
+            return generator::generateKeyPair;
+        };
+    }
+
+    /**
+     * Sign a random message of the given size per operation
+     *
+     * @param signatureAlgorithm e.g. "DILITHIUM3" or "SHA256withECDSA"
+     * @param keyAlgorithm e.g. "DILITHIUM3" or "EC"
+     */
+    public static LoadTask.Factory sign(String provider, String signatureAlgorithm, String keyAlgorithm,
+                                        int messageSize) throws GeneralSecurityException {
+        KeyPair keyPair = KeyPairGenerator.getInstance(keyAlgorithm, provider).generateKeyPair();
+        byte[] message = randomMessage(messageSize);
+        return () -> {
+            Signature signature = Signature.getInstance(signatureAlgorithm, provider);
+            return () -> {
+                signature.initSign(keyPair.getPrivate());
+                signature.update(message);
+                signature.sign();
+            };
+        };
+    }
+
+    /**
+     * Verify one pre-computed signature per operation; a failed verification counts as an error
+     */
+    public static LoadTask.Factory verify(String provider, String signatureAlgorithm, String keyAlgorithm,
+                                          int messageSize) throws GeneralSecurityException {
+        KeyPair keyPair = KeyPairGenerator.getInstance(keyAlgorithm, provider).generateKeyPair();
+        byte[] message = randomMessage(messageSize);
+
+        Signature signer = Signature.getInstance(signatureAlgorithm, provider);
+        signer.initSign(keyPair.getPrivate());
+        signer.update(message);
+        byte[] signed = signer.sign();
+
+        return () -> {
+            Signature signature = Signature.getInstance(signatureAlgorithm, provider);
+            return () -> {
+                signature.initVerify(keyPair.getPublic());
+                signature.update(message);
+                if (!signature.verify(signed)) {
+                    throw new GeneralSecurityException("Signature verification failed");
+                }
+            };
+        };
+    }
+
+    private static byte[] randomMessage(int size) {
+        byte[] message = new byte[size];
+        new SecureRandom().nextBytes(message);
+        return message;
+    }
+}
@@ -0,0 +1,291 @@
+package com.qsign.oqs.loadgen;
+
+import com.qsign.oqs.metrics.LatencyRecorder;
+import com.qsign.oqs.util.VirtualThreads;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Load generator for crypto operations
+ *
+ * Runs a {@link LoadTask} on N workers through a warmup phase (results discarded)
+ * and a measurement phase, in one of two modes:
+ *
+ * - Closed loop (target rate 0): every worker starts its next operation as soon as the
+ *   previous one returns. This measures capacity, but a stalled operation also stalls
+ *   the requests that would have arrived meanwhile, hiding them from the latency
+ *   distribution (coordinated omission).
+ * - Open loop (target rate &gt; 0): operations are scheduled at a fixed total rate,
+ *   spread evenly over the workers, and latency is measured from each operation's
+ *   intended start time. A worker that falls behind issues the overdue operations
+ *   back to back, and their queueing delay is included, as a real client would see it.
+ *
+ * Both the corrected latency (from intended start) and the service time (from actual
+ * start) are recorded, so the gap between them shows how much waiting was hidden.
+ * Works with any task, and so with any JCA provider (see {@link JcaLoadTasks}).
+ */
+public class LoadGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadGenerator.class);
+
+    /**
+     * Worker thread kinds
+     *
+     * - PLATFORM: one daemon platform thread per worker
+     * - VIRTUAL: one virtual thread per worker (Java 21+); falls back to PLATFORM on older runtimes
+     */
+    public enum ThreadType {
+        PLATFORM,
+        VIRTUAL
+    }
+
+    /**
+     * Load shape and phase configuration
+     */
+    public static class Config {
+        private int threads = 1;
+        private ThreadType threadType = ThreadType.PLATFORM;
+        private double targetRate;
+        private Duration warmup = Duration.ofSeconds(5);
+        private Duration duration = Duration.ofSeconds(20);
+
+        public Config setThreads(int threads) {
+            this.threads = threads;
+            return this;
+        }
+
+        public Config setThreadType(ThreadType threadType) {
+            this.threadType = threadType;
+            return this;
+        }
+
+        /**
+         * Total operations per second across all workers; 0 runs closed loop
+         */
+        public Config setTargetRate(double targetRate) {
+            this.targetRate = targetRate;
+            return this;
+        }
+
+        public Config setWarmup(Duration warmup) {
+            this.warmup = warmup;
+            return this;
+        }
+
+        /**
+         * Length of the measurement phase
+         */
+        public Config setDuration(Duration duration) {
+            this.duration = duration;
+            return this;
+        }
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public ThreadType getThreadType() {
+            return threadType;
+        }
+
+        public double getTargetRate() {
+            return targetRate;
+        }
+
+        public Duration getWarmup() {
+            return warmup;
+        }
+
+        public Duration getDuration() {
+            return duration;
+        }
+
+        public boolean isOpenLoop() {
+            return targetRate > 0;
+        }
+
+        Config copy() {
+            return new Config().setThreads(threads).setThreadType(threadType).setTargetRate(targetRate)
+                .setWarmup(warmup).setDuration(duration);
+        }
+    }
+
+    private final Config config;
+
+    public LoadGenerator(Config config) {
+        if (config.getThreads() < 1) {
+            throw new IllegalArgumentException("threads must be positive: " + config.getThreads());
+        }
+        if (config.getTargetRate() < 0) {
+            throw new IllegalArgumentException("targetRate must not be negative: " + config.getTargetRate());
+        }
+        if (config.getWarmup().isNegative() || config.getDuration().isZero() || config.getDuration().isNegative()) {
+            throw new IllegalArgumentException("warmup must not be negative and duration must be positive");
+        }
+        this.config = config.copy();
+    }
+
+    /**
+     * Run warmup and measurement once
+     *
+     * @param factory Creates one task per worker (called on the caller thread before the run starts)
+     * @return Measurement-phase results
+     */
+    public LoadResult run(LoadTask.Factory factory) throws Exception {
+        int threads = config.getThreads();
+        List<LoadTask> tasks = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            tasks.add(factory.create());
+        }
+
+        ThreadType threadType = config.getThreadType();
+        ExecutorService executor = threadType == ThreadType.VIRTUAL ? VirtualThreads.newPerTaskExecutor() : null;
+        if (executor == null) {
+            if (threadType == ThreadType.VIRTUAL) {
+                logger.warn("Virtual threads require Java 21+ (running {}), using platform threads",
+                    System.getProperty("java.version"));
+            }
+            threadType = ThreadType.PLATFORM;
+            executor = newPlatformExecutor(threads);
+        }
+
+        Run run = new Run(threads, System.nanoTime());
+        try {
+            List<Future<?>> workers = new ArrayList<>(threads);
+            for (int i = 0; i < threads; i++) {
+                LoadTask task = tasks.get(i);
+                int worker = i;
+                workers.add(executor.submit(() -> run.work(task, worker)));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Load worker failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        return new LoadResult(threads, threadType, config.getTargetRate(), config.getDuration().toNanos(),
+            run.errors.sum(), run.latency.snapshot(), run.serviceTime.snapshot());
+    }
+
+    /**
+     * Run once per thread type and thread count, keeping the rest of the configuration
+     *
+     * In open-loop mode the target rate stays the same for every step, so the sweep shows
+     * how many workers that offered load needs.
+     */
+    public static List<LoadResult> sweep(Config config, LoadTask.Factory factory,
+                                         int[] threadCounts, ThreadType... threadTypes) throws Exception {
+        List<LoadResult> results = new ArrayList<>();
+        for (ThreadType threadType : threadTypes) {
+            for (int threads : threadCounts) {
+                LoadResult result = new LoadGenerator(config.copy().setThreads(threads).setThreadType(threadType))
+                    .run(factory);
+                logger.info("Load step finished: {}", result);
+                results.add(result);
+            }
+        }
+        return results;
+    }
+
+    public Config getConfig() {
+        return config.copy();
+    }
+
+    /**
+     * State shared by the workers of one run
+     */
+    private final class Run {
+        final long start;
+        final long measureStart;
+        final long end;
+        final long period;
+        final long spacing;
+        final LatencyRecorder latency;
+        final LatencyRecorder serviceTime;
+        final LongAdder errors = new LongAdder();
+        final AtomicBoolean errorLogged = new AtomicBoolean();
+
+        Run(int threads, long start) {
+            this.start = start;
+            this.measureStart = start + config.getWarmup().toNanos();
+            this.end = measureStart + config.getDuration().toNanos();
+            this.latency = new LatencyRecorder(LatencyRecorder.DEFAULT_PRECISION_BITS, threads);
+            this.serviceTime = new LatencyRecorder(LatencyRecorder.DEFAULT_PRECISION_BITS, threads);
+
+            // Worker i runs at start + i * spacing + k * period, giving an even total rate
+            this.spacing = config.isOpenLoop() ? (long) (1e9 / config.getTargetRate()) : 0;
+            this.period = spacing * threads;
+        }
+
+        void work(LoadTask task, int worker) {
+            boolean openLoop = period > 0;
+            long intended = start + worker * spacing;
+
+            while (true) {
+                if (openLoop) {
+                    if (intended >= end) {
+                        return;
+                    }
+                    parkUntil(intended);
+                } else {
+                    intended = System.nanoTime();
+                    if (intended >= end) {
+                        return;
+                    }
+                }
+
+                long begin = System.nanoTime();
+                boolean success = true;
+                try {
+                    task.execute();
+                } catch (Exception e) {
+                    success = false;
+                    if (errorLogged.compareAndSet(false, true)) {
+                        logger.warn("Load task failed (further failures are only counted): {}", e.toString());
+                    }
+                }
+                long done = System.nanoTime();
+
+                if (intended >= measureStart) {
+                    latency.record(done - intended);
+                    serviceTime.record(done - begin);
+                    if (!success) {
+                        errors.increment();
+                    }
+                }
+                intended += period;
+            }
+        }
+    }
+
+    private static void parkUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    private static ExecutorService newPlatformExecutor(int threads) {
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "oqs-load-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -0,0 +1,106 @@
+package com.qsign.oqs.loadgen;
+
+import com.qsign.oqs.OQSProvider;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.Provider;
+import java.security.Security;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Command-line entry point for {@link LoadGenerator}
+ *
+ * <pre>
+ * java -cp oqs-java-1.0.0-jar-with-dependencies.jar com.qsign.oqs.loadgen.LoadGeneratorCli \
+ *     --operation sign --algorithm DILITHIUM3 --rate 2000 --threads 1,2,4,8 \
+ *     --thread-types platform,virtual --warmup 5 --duration 20 --format json --output sign.json
+ * </pre>
+ *
+ * Options (defaults in brackets):
+ * --provider [OQS], --provider-class (JCA provider class to install first, e.g.
+ * com.safenetinc.luna.provider.LunaProvider), --operation keygen|sign|verify [sign],
+ * --algorithm [DILITHIUM3], --key-algorithm [same as algorithm], --message-size [256],
+ * --threads [1], --thread-types platform,virtual [platform], --rate ops/s, 0 = closed loop [0],
+ * --warmup seconds [5], --duration seconds [20], --format csv|json [csv], --output file [stdout]
+ */
+public final class LoadGeneratorCli {
+
+    private LoadGeneratorCli() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+
+        OQSProvider.install();
+        String providerClass = options.get("provider-class");
+        if (providerClass != null) {
+            Security.addProvider((Provider) Class.forName(providerClass).getDeclaredConstructor().newInstance());
+        }
+
+        String provider = options.getOrDefault("provider", "OQS");
+        String operation = options.getOrDefault("operation", "sign").toLowerCase(Locale.ROOT);
+        String algorithm = options.getOrDefault("algorithm", "DILITHIUM3");
+        String keyAlgorithm = options.getOrDefault("key-algorithm", algorithm);
+        int messageSize = Integer.parseInt(options.getOrDefault("message-size", "256"));
+
+        LoadTask.Factory factory;
+        switch (operation) {
+            case "keygen":
+                factory = JcaLoadTasks.keyPairGeneration(provider, algorithm);
+                break;
+            case "sign":
+                factory = JcaLoadTasks.sign(provider, algorithm, keyAlgorithm, messageSize);
+                break;
+            case "verify":
+                factory = JcaLoadTasks.verify(provider, algorithm, keyAlgorithm, messageSize);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown operation: " + operation);
+        }
+
+        int[] threadCounts = Arrays.stream(options.getOrDefault("threads", "1").split(","))
+            .mapToInt(value -> Integer.parseInt(value.trim())).toArray();
+        LoadGenerator.ThreadType[] threadTypes = Arrays.stream(
+                options.getOrDefault("thread-types", "platform").split(","))
+            .map(value -> LoadGenerator.ThreadType.valueOf(value.trim().toUpperCase(Locale.ROOT)))
+            .toArray(LoadGenerator.ThreadType[]::new);
+
+        LoadGenerator.Config config = new LoadGenerator.Config()
+            .setTargetRate(Double.parseDouble(options.getOrDefault("rate", "0")))
+            .setWarmup(Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "5"))))
+            .setDuration(Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "20"))));
+
+        List<LoadResult> results = LoadGenerator.sweep(config, factory, threadCounts, threadTypes);
+
+        String format = options.getOrDefault("format", "csv").toLowerCase(Locale.ROOT);
+        String report = format.equals("json") ? LoadResult.toJson(results) : LoadResult.toCsv(results);
+        write(report, options.get("output"));
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--") || i + 1 >= args.length) {
+                throw new IllegalArgumentException("Expected --option value, got: " + args[i]);
+            }
+            options.put(args[i].substring(2), args[++i]);
+        }
+        return options;
+    }
+
+    private static void write(String report, String output) throws IOException {
+        if (output == null) {
+            System.out.println(report);
+        } else {
+            Files.writeString(Path.of(output), report, StandardCharsets.UTF_8);
+        }
+    }
+}
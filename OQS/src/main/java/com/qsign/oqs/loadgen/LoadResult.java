@@ -0,0 +1,168 @@
+package com.qsign.oqs.loadgen;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.qsign.oqs.metrics.LatencyRecorder;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Measurement-phase results of one {@link LoadGenerator} run
+ *
+ * Latency is measured from each operation's intended start time (coordinated-omission
+ * corrected); service time from when it actually started. In closed-loop runs the two
+ * are identical. All latency columns are in microseconds.
+ */
+public final class LoadResult {
+
+    private static final String CSV_HEADER = "threads,thread_type,mode,target_rate,operations,errors,throughput,"
+        + "mean_us,p50_us,p90_us,p99_us,p999_us,max_us,service_p50_us,service_p99_us,service_max_us";
+
+    private final int threads;
+    private final LoadGenerator.ThreadType threadType;
+    private final double targetRate;
+    private final long durationNanos;
+    private final long errors;
+    private final LatencyRecorder.Snapshot latency;
+    private final LatencyRecorder.Snapshot serviceTime;
+
+    LoadResult(int threads, LoadGenerator.ThreadType threadType, double targetRate, long durationNanos,
+               long errors, LatencyRecorder.Snapshot latency, LatencyRecorder.Snapshot serviceTime) {
+        this.threads = threads;
+        this.threadType = threadType;
+        this.targetRate = targetRate;
+        this.durationNanos = durationNanos;
+        this.errors = errors;
+        this.latency = latency;
+        this.serviceTime = serviceTime;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Thread type actually used (VIRTUAL falls back to PLATFORM before Java 21)
+     */
+    public LoadGenerator.ThreadType getThreadType() {
+        return threadType;
+    }
+
+    /**
+     * Target operations per second, 0 for closed loop
+     */
+    public double getTargetRate() {
+        return targetRate;
+    }
+
+    public boolean isOpenLoop() {
+        return targetRate > 0;
+    }
+
+    public long getOperations() {
+        return latency.getCount();
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    /**
+     * Completed operations per second over the measurement phase
+     */
+    public double getThroughput() {
+        return durationNanos == 0 ? 0.0 : latency.getCount() * 1e9 / durationNanos;
+    }
+
+    /**
+     * Latency from intended start (nanoseconds)
+     */
+    public LatencyRecorder.Snapshot getLatency() {
+        return latency;
+    }
+
+    /**
+     * Latency from actual start (nanoseconds)
+     */
+    public LatencyRecorder.Snapshot getServiceTime() {
+        return serviceTime;
+    }
+
+    public static String csvHeader() {
+        return CSV_HEADER;
+    }
+
+    public String toCsvRow() {
+        return String.format(Locale.ROOT, "%d,%s,%s,%.1f,%d,%d,%.1f,%.1f,%.1f,%.1f,%.1f,%.1f,%.1f,%.1f,%.1f,%.1f",
+            threads, threadType.name().toLowerCase(Locale.ROOT), mode(), targetRate, getOperations(), errors,
+            getThroughput(), latency.getMean() / 1e3, micros(latency, 50), micros(latency, 90),
+            micros(latency, 99), micros(latency, 99.9), latency.getMax() / 1e3,
+            micros(serviceTime, 50), micros(serviceTime, 99), serviceTime.getMax() / 1e3);
+    }
+
+    /**
+     * Header line followed by one row per result
+     */
+    public static String toCsv(List<LoadResult> results) {
+        StringBuilder csv = new StringBuilder(CSV_HEADER).append('\n');
+        for (LoadResult result : results) {
+            csv.append(result.toCsvRow()).append('\n');
+        }
+        return csv.toString();
+    }
+
+    public JsonObject toJson() {
+        JsonObject json = new JsonObject();
+        json.addProperty("threads", threads);
+        json.addProperty("threadType", threadType.name().toLowerCase(Locale.ROOT));
+        json.addProperty("mode", mode());
+        json.addProperty("targetRate", targetRate);
+        json.addProperty("operations", getOperations());
+        json.addProperty("errors", errors);
+        json.addProperty("throughput", getThroughput());
+        json.add("latencyMicros", toJson(latency));
+        json.add("serviceTimeMicros", toJson(serviceTime));
+        return json;
+    }
+
+    /**
+     * Pretty-printed JSON array of results
+     */
+    public static String toJson(List<LoadResult> results) {
+        JsonArray array = new JsonArray();
+        for (LoadResult result : results) {
+            array.add(result.toJson());
+        }
+        return new GsonBuilder().setPrettyPrinting().create().toJson(array);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("threads=%d (%s), %s, ops=%d, errors=%d, throughput=%.1f/s, p50=%.1f us, "
+                + "p99=%.1f us, p99.9=%.1f us, max=%.1f us, service p99=%.1f us",
+            threads, threadType, mode(), getOperations(), errors, getThroughput(), micros(latency, 50),
+            micros(latency, 99), micros(latency, 99.9), latency.getMax() / 1e3, micros(serviceTime, 99));
+    }
+
+    private String mode() {
+        return isOpenLoop() ? "open" : "closed";
+    }
+
+    private static JsonObject toJson(LatencyRecorder.Snapshot snapshot) {
+        JsonObject json = new JsonObject();
+        json.addProperty("min", snapshot.getMin() / 1e3);
+        json.addProperty("mean", snapshot.getMean() / 1e3);
+        json.addProperty("p50", micros(snapshot, 50));
+        json.addProperty("p90", micros(snapshot, 90));
+        json.addProperty("p99", micros(snapshot, 99));
+        json.addProperty("p999", micros(snapshot, 99.9));
+        json.addProperty("max", snapshot.getMax() / 1e3);
+        return json;
+    }
+
+    private static double micros(LatencyRecorder.Snapshot snapshot, double percentile) {
+        return snapshot.getPercentile(percentile) / 1e3;
+    }
+}
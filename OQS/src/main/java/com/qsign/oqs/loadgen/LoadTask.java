@@ -0,0 +1,25 @@
+package com.qsign.oqs.loadgen;
+
+/**
+ * One unit of work driven by {@link LoadGenerator}
+ *
+ * Each worker thread gets its own task from a {@link Factory}, so tasks may hold
+ * non-thread-safe state such as a {@link java.security.Signature} or
+ * {@link javax.crypto.Cipher} instance.
+ */
+@FunctionalInterface
+public interface LoadTask {
+
+    /**
+     * Perform one operation; an exception counts as an error, not as a stop signal
+     */
+    void execute() throws Exception;
+
+    /**
+     * Creates one task per worker
+     */
+    @FunctionalInterface
+    interface Factory {
+        LoadTask create() throws Exception;
+    }
+}
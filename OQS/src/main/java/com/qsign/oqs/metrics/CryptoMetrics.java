@@ -0,0 +1,230 @@
+package com.qsign.oqs.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Opt-in instrumentation for OQS crypto operations
+ *
+ * DilithiumSignature and KyberKEM report every key generation, sign, verify,
+ * encapsulation and decapsulation here. While metrics are disabled (the default)
+ * the cost on the hot path is one volatile read and one branch; once enabled each
+ * operation updates per-operation, per-variant counters and a {@link LatencyRecorder},
+ * notifies registered {@link CryptoMetricsListener}s and, if requested, is exported
+ * as a {@link CryptoOperationMXBean}.
+ *
+ * Metrics can also be enabled at startup with -Doqs.metrics=true
+ * (and -Doqs.metrics.jmx=true for JMX export).
+ */
+public final class CryptoMetrics {
+
+    private static final Logger logger = LoggerFactory.getLogger(CryptoMetrics.class);
+
+    /**
+     * Instrumented operations
+     */
+    public enum Operation {
+        KEYGEN,
+        SIGN,
+        VERIFY,
+        ENCAPSULATE,
+        DECAPSULATE
+    }
+
+    public static final String JMX_DOMAIN = "com.qsign.oqs";
+
+    /**
+     * Start timestamp returned while disabled; {@link #record} ignores it
+     */
+    private static final long DISABLED = Long.MIN_VALUE;
+
+    private static final CryptoMetricsListener[] NO_LISTENERS = new CryptoMetricsListener[0];
+
+    /**
+     * Statistics by variant, indexed by operation ordinal
+     */
+    private static final List<ConcurrentMap<String, OperationStats>> STATS;
+
+    static {
+        List<ConcurrentMap<String, OperationStats>> stats = new ArrayList<>();
+        for (int i = 0; i < Operation.values().length; i++) {
+            stats.add(new ConcurrentHashMap<>());
+        }
+        STATS = List.copyOf(stats);
+    }
+
+    private static volatile boolean enabled;
+    private static volatile boolean jmxEnabled;
+    private static volatile CryptoMetricsListener[] listeners = NO_LISTENERS;
+    private static boolean serviceListenersLoaded;
+
+    static {
+        if (Boolean.getBoolean("oqs.metrics")) {
+            enable(Boolean.getBoolean("oqs.metrics.jmx"));
+        }
+    }
+
+    private CryptoMetrics() {
+    }
+
+    /**
+     * Enable metrics collection without JMX export
+     */
+    public static void enable() {
+        enable(false);
+    }
+
+    /**
+     * Enable metrics collection
+     *
+     * @param exportJmx Also register an MXBean per operation/variant with the platform MBean server
+     */
+    public static synchronized void enable(boolean exportJmx) {
+        if (!serviceListenersLoaded) {
+            for (CryptoMetricsListener listener : ServiceLoader.load(CryptoMetricsListener.class)) {
+                addListener(listener);
+            }
+            serviceListenersLoaded = true;
+        }
+        if (exportJmx && !jmxEnabled) {
+            jmxEnabled = true;
+            for (OperationStats stats : getAllStats()) {
+                register(stats);
+            }
+        }
+        enabled = true;
+        logger.info("OQS crypto metrics enabled (JMX: {}, listeners: {})", jmxEnabled, listeners.length);
+    }
+
+    /**
+     * Stop collecting; recorded values are kept until {@link #reset()}
+     */
+    public static void disable() {
+        enabled = false;
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Start timing an operation
+     *
+     * @return Start timestamp to pass to {@link #record}
+     */
+    public static long start() {
+        return enabled ? System.nanoTime() : DISABLED;
+    }
+
+    /**
+     * Finish timing an operation started with {@link #start()}
+     *
+     * @param operation Operation type
+     * @param variant Algorithm variant
+     * @param start Value returned by {@link #start()}
+     * @param success false if the operation threw
+     */
+    public static void record(Operation operation, String variant, long start, boolean success) {
+        if (start == DISABLED) {
+            return;
+        }
+        long nanos = System.nanoTime() - start;
+
+        ConcurrentMap<String, OperationStats> byVariant = STATS.get(operation.ordinal());
+        OperationStats stats = byVariant.get(variant);
+        if (stats == null) {
+            stats = byVariant.computeIfAbsent(variant, v -> newStats(operation, v));
+        }
+        stats.record(nanos, success);
+
+        for (CryptoMetricsListener listener : listeners) {
+            try {
+                listener.onOperation(operation, variant, nanos, success);
+            } catch (RuntimeException e) {
+                logger.warn("Crypto metrics listener {} failed: {}", listener.getClass().getName(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Get the statistics for one operation/variant pair
+     *
+     * @return Statistics, or null if nothing was recorded for the pair
+     */
+    public static OperationStats getStats(Operation operation, String variant) {
+        return STATS.get(operation.ordinal()).get(variant);
+    }
+
+    /**
+     * Get the statistics of every operation/variant pair recorded so far
+     */
+    public static List<OperationStats> getAllStats() {
+        List<OperationStats> all = new ArrayList<>();
+        for (ConcurrentMap<String, OperationStats> byVariant : STATS) {
+            all.addAll(byVariant.values());
+        }
+        return all;
+    }
+
+    /**
+     * Reset all counters and histograms
+     */
+    public static void reset() {
+        for (OperationStats stats : getAllStats()) {
+            stats.reset();
+        }
+    }
+
+    public static synchronized void addListener(CryptoMetricsListener listener) {
+        CryptoMetricsListener[] updated = Arrays.copyOf(listeners, listeners.length + 1);
+        updated[listeners.length] = listener;
+        listeners = updated;
+    }
+
+    public static synchronized void removeListener(CryptoMetricsListener listener) {
+        List<CryptoMetricsListener> remaining = new ArrayList<>(Arrays.asList(listeners));
+        if (remaining.remove(listener)) {
+            listeners = remaining.toArray(NO_LISTENERS);
+        }
+    }
+
+    /**
+     * JMX object name of one operation/variant pair
+     */
+    public static ObjectName objectName(Operation operation, String variant) throws JMException {
+        return new ObjectName(JMX_DOMAIN + ":type=CryptoMetrics,operation=" + operation.name()
+            + ",variant=" + ObjectName.quote(variant));
+    }
+
+    private static OperationStats newStats(Operation operation, String variant) {
+        OperationStats stats = new OperationStats(operation, variant);
+        if (jmxEnabled) {
+            register(stats);
+        }
+        return stats;
+    }
+
+    private static void register(OperationStats stats) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = objectName(Operation.valueOf(stats.getOperation()), stats.getVariant());
+            if (!server.isRegistered(name)) {
+                server.registerMBean(stats, name);
+            }
+        } catch (JMException e) {
+            logger.warn("Failed to register crypto metrics MBean for {} {}: {}",
+                stats.getOperation(), stats.getVariant(), e.getMessage());
+        }
+    }
+}
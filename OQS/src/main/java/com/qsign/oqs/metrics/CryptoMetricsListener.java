@@ -0,0 +1,22 @@
+package com.qsign.oqs.metrics;
+
+/**
+ * Listener SPI for completed OQS crypto operations
+ *
+ * Implementations are registered with {@link CryptoMetrics#addListener} or discovered
+ * through {@link java.util.ServiceLoader} (META-INF/services/com.qsign.oqs.metrics.CryptoMetricsListener)
+ * when metrics are first enabled. Callbacks run synchronously on the thread that
+ * performed the operation, so they must be fast and must not block.
+ */
+public interface CryptoMetricsListener {
+
+    /**
+     * Called after every instrumented operation while metrics are enabled
+     *
+     * @param operation Operation type
+     * @param variant Algorithm variant, e.g. "DILITHIUM3"
+     * @param nanos Elapsed wall-clock time
+     * @param success false if the operation threw
+     */
+    void onOperation(CryptoMetrics.Operation operation, String variant, long nanos, boolean success);
+}
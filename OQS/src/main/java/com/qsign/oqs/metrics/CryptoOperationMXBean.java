@@ -0,0 +1,29 @@
+package com.qsign.oqs.metrics;
+
+/**
+ * JMX view of one operation/variant pair
+ *
+ * Registered as com.qsign.oqs:type=CryptoMetrics,operation=...,variant=...
+ */
+public interface CryptoOperationMXBean {
+
+    String getOperation();
+
+    String getVariant();
+
+    long getCount();
+
+    long getErrors();
+
+    double getMeanMicros();
+
+    double getP50Micros();
+
+    double getP99Micros();
+
+    double getP999Micros();
+
+    double getMaxMicros();
+
+    void reset();
+}
@@ -0,0 +1,270 @@
+package com.qsign.oqs.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Striped, lock-free latency recorder with nanosecond resolution
+ *
+ * Values are counted in log-linear buckets: each power-of-two range is split into
+ * 2^precisionBits linear sub-buckets, so every value is reported within
+ * 1 / 2^precisionBits of itself (3.1% with the default of 5 bits) across the whole
+ * 1 ns .. 2^63 ns range, in a fixed table that never grows.
+ *
+ * Recording threads are spread over independent stripes so they do not contend on
+ * one cache line; a record is one atomic increment and one atomic add, with no
+ * locks and no allocation. {@link #intervalSnapshot()} drains every bucket with an
+ * atomic swap, so each value lands in exactly one interval even while writers
+ * keep recording.
+ */
+public class LatencyRecorder {
+
+    public static final int DEFAULT_PRECISION_BITS = 5;
+
+    private static final int MAX_STRIPES = 64;
+
+    private final int precisionBits;
+    private final int subBuckets;
+    private final int bucketCount;
+    private final Stripe[] stripes;
+    private final int stripeMask;
+
+    private volatile long intervalStartNanos = System.nanoTime();
+
+    /**
+     * One independent set of counters
+     */
+    private static final class Stripe {
+        final AtomicLongArray counts;
+        final AtomicLong sum = new AtomicLong();
+        final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+        final AtomicLong max = new AtomicLong();
+
+        Stripe(int buckets) {
+            counts = new AtomicLongArray(buckets);
+        }
+    }
+
+    /**
+     * Create a recorder with {@link #DEFAULT_PRECISION_BITS} and one stripe per two CPUs
+     */
+    public LatencyRecorder() {
+        this(DEFAULT_PRECISION_BITS);
+    }
+
+    /**
+     * Create a recorder
+     *
+     * @param precisionBits Linear sub-buckets per power of two, as a power of two (1-10)
+     */
+    public LatencyRecorder(int precisionBits) {
+        this(precisionBits, 2 * Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Create a recorder
+     *
+     * @param precisionBits Linear sub-buckets per power of two, as a power of two (1-10)
+     * @param concurrency Expected number of concurrently recording threads (rounded up to a power of two, max 64)
+     */
+    public LatencyRecorder(int precisionBits, int concurrency) {
+        if (precisionBits < 1 || precisionBits > 10) {
+            throw new IllegalArgumentException("precisionBits must be 1-10: " + precisionBits);
+        }
+        this.precisionBits = precisionBits;
+        this.subBuckets = 1 << precisionBits;
+        this.bucketCount = (Long.SIZE - precisionBits) * subBuckets;
+
+        int stripeCount = Integer.highestOneBit(Math.max(1, Math.min(concurrency, MAX_STRIPES)) * 2 - 1);
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe(bucketCount);
+        }
+        this.stripeMask = stripeCount - 1;
+    }
+
+    /**
+     * Record one latency; negative values are clamped to zero
+     */
+    public void record(long nanos) {
+        long value = Math.max(nanos, 0);
+        Stripe stripe = stripes[(int) Thread.currentThread().getId() & stripeMask];
+
+        stripe.counts.incrementAndGet(bucketIndex(value));
+        stripe.sum.addAndGet(value);
+        if (value < stripe.min.get()) {
+            stripe.min.accumulateAndGet(value, Math::min);
+        }
+        if (value > stripe.max.get()) {
+            stripe.max.accumulateAndGet(value, Math::max);
+        }
+    }
+
+    /**
+     * Record the time elapsed since a {@link System#nanoTime()} reading
+     */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Values recorded since creation or the last {@link #intervalSnapshot()} / {@link #reset()}
+     */
+    public Snapshot snapshot() {
+        return collect(false);
+    }
+
+    /**
+     * Values recorded since the previous interval, and start a new interval
+     *
+     * Safe to call while other threads record; every value is reported by exactly one
+     * interval. Sum, min and max are swapped separately from the buckets, so a value
+     * recorded at the boundary may count towards the mean of the neighbouring interval.
+     */
+    public synchronized Snapshot intervalSnapshot() {
+        return collect(true);
+    }
+
+    /**
+     * Discard all recorded values and start a new interval
+     */
+    public synchronized void reset() {
+        collect(true);
+    }
+
+    /**
+     * Relative error bound of reported values (e.g. 0.03125 for 5 precision bits)
+     */
+    public double getPrecision() {
+        return 1.0 / subBuckets;
+    }
+
+    private Snapshot collect(boolean drain) {
+        long now = System.nanoTime();
+        long start = intervalStartNanos;
+        if (drain) {
+            intervalStartNanos = now;
+        }
+
+        long[] counts = new long[bucketCount];
+        long sum = 0;
+        long min = Long.MAX_VALUE;
+        long max = 0;
+        for (Stripe stripe : stripes) {
+            for (int i = 0; i < bucketCount; i++) {
+                counts[i] += drain ? stripe.counts.getAndSet(i, 0) : stripe.counts.get(i);
+            }
+            sum += drain ? stripe.sum.getAndSet(0) : stripe.sum.get();
+            min = Math.min(min, drain ? stripe.min.getAndSet(Long.MAX_VALUE) : stripe.min.get());
+            max = Math.max(max, drain ? stripe.max.getAndSet(0) : stripe.max.get());
+        }
+
+        return new Snapshot(this, counts, sum, min, max, now - start);
+    }
+
+    int bucketIndex(long value) {
+        if (value < subBuckets) {
+            return (int) value;
+        }
+        int exponent = (Long.SIZE - 1) - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - precisionBits)) & (subBuckets - 1);
+        return (exponent - precisionBits + 1) * subBuckets + subBucket;
+    }
+
+    long lowerBound(int index) {
+        if (index < subBuckets) {
+            return index;
+        }
+        int exponent = index / subBuckets + precisionBits - 1;
+        long subBucket = index % subBuckets;
+        return (subBuckets + subBucket) << (exponent - precisionBits);
+    }
+
+    long upperBound(int index) {
+        return index == bucketCount - 1 ? Long.MAX_VALUE : lowerBound(index + 1) - 1;
+    }
+
+    /**
+     * Immutable view of recorded latencies (nanoseconds)
+     */
+    public static final class Snapshot {
+        private final LatencyRecorder recorder;
+        private final long[] counts;
+        private final long count;
+        private final long sum;
+        private final long min;
+        private final long max;
+        private final long intervalNanos;
+
+        private Snapshot(LatencyRecorder recorder, long[] counts, long sum, long min, long max, long intervalNanos) {
+            this.recorder = recorder;
+            this.counts = counts;
+            long total = 0;
+            for (long c : counts) {
+                total += c;
+            }
+            this.count = total;
+            this.sum = sum;
+            this.min = total == 0 ? 0 : min;
+            this.max = max;
+            this.intervalNanos = intervalNanos;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getMin() {
+            return min;
+        }
+
+        public long getMax() {
+            return max;
+        }
+
+        public double getMean() {
+            return count == 0 ? 0.0 : (double) sum / count;
+        }
+
+        /**
+         * Value at the given percentile (0-100), reported as the upper bound of its
+         * bucket and never above the recorded maximum
+         */
+        public long getPercentile(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(recorder.upperBound(i), max);
+                }
+            }
+            return max;
+        }
+
+        /**
+         * Wall-clock time covered by this snapshot
+         */
+        public long getIntervalNanos() {
+            return intervalNanos;
+        }
+
+        /**
+         * Recorded values per second over {@link #getIntervalNanos()}
+         */
+        public double getThroughput() {
+            return intervalNanos <= 0 ? 0.0 : count * 1e9 / intervalNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("count=%d, throughput=%.1f/s, min=%.1f us, mean=%.1f us, p50=%.1f us, "
+                    + "p90=%.1f us, p99=%.1f us, p99.9=%.1f us, max=%.1f us",
+                count, getThroughput(), min / 1e3, getMean() / 1e3, getPercentile(50) / 1e3,
+                getPercentile(90) / 1e3, getPercentile(99) / 1e3, getPercentile(99.9) / 1e3, max / 1e3);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.qsign.oqs.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and latency histogram for one operation/variant pair
+ */
+public class OperationStats implements CryptoOperationMXBean {
+
+    private final CryptoMetrics.Operation operation;
+    private final String variant;
+    private final LatencyRecorder latency = new LatencyRecorder(3);
+    private final LongAdder errors = new LongAdder();
+
+    OperationStats(CryptoMetrics.Operation operation, String variant) {
+        this.operation = operation;
+        this.variant = variant;
+    }
+
+    void record(long nanos, boolean success) {
+        latency.record(nanos);
+        if (!success) {
+            errors.increment();
+        }
+    }
+
+    @Override
+    public String getOperation() {
+        return operation.name();
+    }
+
+    @Override
+    public String getVariant() {
+        return variant;
+    }
+
+    @Override
+    public long getCount() {
+        return latency.snapshot().getCount();
+    }
+
+    @Override
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    @Override
+    public double getMeanMicros() {
+        return latency.snapshot().getMean() / 1_000.0;
+    }
+
+    @Override
+    public double getP50Micros() {
+        return latency.snapshot().getPercentile(50) / 1_000.0;
+    }
+
+    @Override
+    public double getP99Micros() {
+        return latency.snapshot().getPercentile(99) / 1_000.0;
+    }
+
+    @Override
+    public double getP999Micros() {
+        return latency.snapshot().getPercentile(99.9) / 1_000.0;
+    }
+
+    @Override
+    public double getMaxMicros() {
+        return latency.snapshot().getMax() / 1_000.0;
+    }
+
+    @Override
+    public void reset() {
+        latency.reset();
+        errors.reset();
+    }
+
+    /**
+     * Latency recorder in nanoseconds (3 precision bits, 12.5% bucket resolution)
+     */
+    public LatencyRecorder getLatency() {
+        return latency;
+    }
+
+    @Override
+    public String toString() {
+        LatencyRecorder.Snapshot snapshot = latency.snapshot();
+        return String.format("%s %s: count=%d, errors=%d, mean=%.1f us, p50=%.1f us, p99=%.1f us, max=%.1f us",
+            operation, variant, snapshot.getCount(), getErrors(), snapshot.getMean() / 1_000.0,
+            snapshot.getPercentile(50) / 1_000.0, snapshot.getPercentile(99) / 1_000.0,
+            snapshot.getMax() / 1_000.0);
+    }
+}
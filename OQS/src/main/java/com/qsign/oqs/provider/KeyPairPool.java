@@ -0,0 +1,293 @@
+package com.qsign.oqs.provider;
+
+import com.qsign.oqs.crypto.DilithiumSignature;
+import com.qsign.oqs.crypto.KyberKEM;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded pool of pre-generated key pairs for one algorithm variant
+ *
+ * A background thread keeps the pool between its low and high watermarks so that
+ * ephemeral key generation happens off the request path. Each key pair is handed
+ * out exactly once; when the pool is empty {@link #take()} falls back to generating
+ * on the caller thread and counts a miss.
+ */
+public class KeyPairPool implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(KeyPairPool.class);
+
+    /**
+     * Key pair generator behind a pool
+     */
+    public interface KeyPairSource {
+        KeyPair generate() throws GeneralSecurityException;
+    }
+
+    /**
+     * Pool sizing
+     */
+    public static class Config {
+        private int lowWatermark = 4;
+        private int highWatermark = 16;
+
+        /**
+         * Refill starts when a take leaves fewer than this many key pairs; 0 refills
+         * once the pool is empty
+         */
+        public Config setLowWatermark(int lowWatermark) {
+            this.lowWatermark = lowWatermark;
+            return this;
+        }
+
+        /**
+         * Refill stops once the pool holds this many key pairs (the pool capacity)
+         */
+        public Config setHighWatermark(int highWatermark) {
+            this.highWatermark = highWatermark;
+            return this;
+        }
+
+        public int getLowWatermark() {
+            return lowWatermark;
+        }
+
+        public int getHighWatermark() {
+            return highWatermark;
+        }
+    }
+
+    /**
+     * Point-in-time pool counters
+     */
+    public static final class Metrics {
+        private final long hits;
+        private final long misses;
+        private final long generated;
+        private final long refills;
+        private final long totalRefillNanos;
+        private final long maxRefillNanos;
+        private final int available;
+
+        private Metrics(long hits, long misses, long generated, long refills,
+                        long totalRefillNanos, long maxRefillNanos, int available) {
+            this.hits = hits;
+            this.misses = misses;
+            this.generated = generated;
+            this.refills = refills;
+            this.totalRefillNanos = totalRefillNanos;
+            this.maxRefillNanos = maxRefillNanos;
+            this.available = available;
+        }
+
+        /**
+         * Takes served from the pool
+         */
+        public long getHits() {
+            return hits;
+        }
+
+        /**
+         * Takes that had to generate on the caller thread
+         */
+        public long getMisses() {
+            return misses;
+        }
+
+        public double getHitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0.0 : (double) hits / total;
+        }
+
+        /**
+         * Key pairs generated in the background
+         */
+        public long getGenerated() {
+            return generated;
+        }
+
+        /**
+         * Completed refill cycles (low watermark back up to high watermark)
+         */
+        public long getRefills() {
+            return refills;
+        }
+
+        public long getMeanRefillNanos() {
+            return refills == 0 ? 0 : totalRefillNanos / refills;
+        }
+
+        public long getMaxRefillNanos() {
+            return maxRefillNanos;
+        }
+
+        public int getAvailable() {
+            return available;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("hits=%d, misses=%d, hitRate=%.3f, generated=%d, refills=%d, "
+                    + "meanRefill=%.3f ms, maxRefill=%.3f ms, available=%d",
+                hits, misses, getHitRate(), generated, refills,
+                getMeanRefillNanos() / 1e6, maxRefillNanos / 1e6, available);
+        }
+    }
+
+    private final String name;
+    private final KeyPairSource source;
+    private final int refillBelow;
+    private final int highWatermark;
+    private final ArrayBlockingQueue<KeyPair> pool;
+    private final ExecutorService refiller;
+    private final AtomicBoolean refilling = new AtomicBoolean();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder generated = new LongAdder();
+    private final LongAdder refills = new LongAdder();
+    private final LongAdder totalRefillNanos = new LongAdder();
+    private final AtomicLong maxRefillNanos = new AtomicLong();
+
+    private volatile boolean closed;
+
+    /**
+     * Create a pool and start filling it to the high watermark in the background
+     *
+     * @param name Pool name used for the refill thread and logging
+     * @param source Key pair generator
+     * @param config Watermarks
+     */
+    public KeyPairPool(String name, KeyPairSource source, Config config) {
+        if (config.getHighWatermark() < 1 || config.getLowWatermark() < 0
+                || config.getLowWatermark() > config.getHighWatermark()) {
+            throw new IllegalArgumentException("Invalid watermarks: low=" + config.getLowWatermark()
+                + ", high=" + config.getHighWatermark());
+        }
+
+        this.name = name;
+        this.source = source;
+        // A low watermark of 0 would never trigger a refill after the initial fill drains
+        this.refillBelow = Math.max(1, config.getLowWatermark());
+        this.highWatermark = config.getHighWatermark();
+        this.pool = new ArrayBlockingQueue<>(highWatermark);
+        this.refiller = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "oqs-keypool-" + name);
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        triggerRefill();
+    }
+
+    /**
+     * Pool of KYBER key pairs
+     */
+    public static KeyPairPool forKyber(KyberKEM.KyberVariant variant, Config config) {
+        KyberKEM kyber = new KyberKEM(variant);
+        return new KeyPairPool(variant.getAlgorithm(), kyber::generateKeyPair, config);
+    }
+
+    /**
+     * Pool of DILITHIUM key pairs
+     */
+    public static KeyPairPool forDilithium(DilithiumSignature.DilithiumVariant variant, Config config) {
+        DilithiumSignature dilithium = new DilithiumSignature(variant);
+        return new KeyPairPool(variant.getAlgorithm(), dilithium::generateKeyPair, config);
+    }
+
+    /**
+     * Take a key pair that no other caller will receive
+     *
+     * Served from the pool when available, otherwise generated on the caller thread.
+     */
+    public KeyPair take() throws GeneralSecurityException {
+        if (closed) {
+            throw new IllegalStateException("Key pair pool " + name + " is closed");
+        }
+
+        KeyPair keyPair = pool.poll();
+        if (pool.size() < refillBelow) {
+            triggerRefill();
+        }
+
+        if (keyPair != null) {
+            hits.increment();
+            return keyPair;
+        }
+
+        misses.increment();
+        return source.generate();
+    }
+
+    /**
+     * Key pairs currently available
+     */
+    public int available() {
+        return pool.size();
+    }
+
+    public Metrics getMetrics() {
+        return new Metrics(hits.sum(), misses.sum(), generated.sum(), refills.sum(),
+            totalRefillNanos.sum(), maxRefillNanos.get(), pool.size());
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Stop background refills and drop all pooled key pairs
+     */
+    @Override
+    public void close() {
+        closed = true;
+        refiller.shutdownNow();
+        pool.clear();
+    }
+
+    private void triggerRefill() {
+        if (!closed && refilling.compareAndSet(false, true)) {
+            refiller.execute(this::refill);
+        }
+    }
+
+    private void refill() {
+        long start = System.nanoTime();
+        boolean completed = false;
+        try {
+            while (!closed && pool.size() < highWatermark) {
+                KeyPair keyPair = source.generate();
+                generated.increment();
+                if (!pool.offer(keyPair)) {
+                    break;
+                }
+            }
+
+            long elapsed = System.nanoTime() - start;
+            refills.increment();
+            totalRefillNanos.add(elapsed);
+            maxRefillNanos.accumulateAndGet(elapsed, Math::max);
+            completed = true;
+        } catch (GeneralSecurityException | RuntimeException e) {
+            logger.warn("Key pair pool {} refill failed: {}", name, e.getMessage());
+        } finally {
+            refilling.set(false);
+        }
+
+        // A take may have drained the pool between the last check and clearing the flag;
+        // after a failure the next take retries instead
+        if (completed && !closed && pool.size() < refillBelow) {
+            triggerRefill();
+        }
+    }
+}
@@ -0,0 +1,439 @@
+package com.qsign.oqs.provider;
+
+import com.qsign.oqs.OQSProvider;
+import com.qsign.oqs.crypto.DilithiumSignature;
+import org.bouncycastle.asn1.x509.SubjectPublicKeyInfo;
+import org.bouncycastle.pqc.jcajce.interfaces.DilithiumPublicKey;
+import org.bouncycastle.pqc.jcajce.provider.BouncyCastlePQCProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.security.GeneralSecurityException;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of decoded public keys and prepared DILITHIUM verifiers
+ *
+ * Decoding a SubjectPublicKeyInfo and expanding it into verifier state costs far more
+ * than a hash lookup, and verifiers see the same few keys over and over. Entries are
+ * keyed either by a key ID (kid) supplied with a loader for the encoded key, or by the
+ * SHA-256 of the encoding itself.
+ *
+ * Lookups are lock-free reads of a {@link ConcurrentHashMap}. Eviction is CLOCK (an
+ * LRU approximation: entries hit since the last sweep get a second chance) and
+ * admission is TinyLFU-style: when the cache is full, a new key only replaces the
+ * eviction victim if a small count-min sketch has seen it more often, so a scan of
+ * one-off keys cannot flush the hot set.
+ *
+ * A kid is trusted to name one key: rotate keys under new kids or call
+ * {@link #invalidate(String)}.
+ */
+public class PublicKeyCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(PublicKeyCache.class);
+
+    /**
+     * Loads the X.509 encoding of a key on a kid miss
+     */
+    public interface KeyLoader {
+        byte[] load(String kid) throws GeneralSecurityException;
+    }
+
+    /**
+     * Cache sizing
+     */
+    public static class Config {
+        private int maximumSize = 1024;
+        private boolean admissionFilter = true;
+
+        public Config setMaximumSize(int maximumSize) {
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        /**
+         * Use frequency-based (TinyLFU) admission when full; if false every miss is admitted (plain CLOCK)
+         */
+        public Config setAdmissionFilter(boolean admissionFilter) {
+            this.admissionFilter = admissionFilter;
+            return this;
+        }
+
+        public int getMaximumSize() {
+            return maximumSize;
+        }
+
+        public boolean isAdmissionFilter() {
+            return admissionFilter;
+        }
+    }
+
+    /**
+     * Point-in-time cache counters
+     */
+    public static final class Metrics {
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+        private final long rejections;
+        private final int size;
+
+        private Metrics(long hits, long misses, long evictions, long rejections, int size) {
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.rejections = rejections;
+            this.size = size;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        public double getHitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0.0 : (double) hits / total;
+        }
+
+        public long getEvictions() {
+            return evictions;
+        }
+
+        /**
+         * Decoded keys returned but not cached because the admission filter preferred the resident entry
+         */
+        public long getRejections() {
+            return rejections;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("hits=%d, misses=%d, hitRate=%.3f, evictions=%d, rejections=%d, size=%d",
+                hits, misses, getHitRate(), evictions, rejections, size);
+        }
+    }
+
+    /**
+     * Cached key with its prepared verifier
+     */
+    private static final class Entry {
+        final PublicKey publicKey;
+        final DilithiumSignature.PreparedVerifier verifier;
+        volatile boolean referenced;
+
+        Entry(PublicKey publicKey, DilithiumSignature.PreparedVerifier verifier) {
+            this.publicKey = publicKey;
+            this.verifier = verifier;
+        }
+    }
+
+    /**
+     * SHA-256 of an encoded key, as a map key distinct from kid strings
+     */
+    private static final class Fingerprint {
+        private final byte[] digest;
+        private final int hash;
+
+        Fingerprint(byte[] digest) {
+            this.digest = digest;
+            this.hash = Arrays.hashCode(digest);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Fingerprint && Arrays.equals(digest, ((Fingerprint) other).digest);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private final int maximumSize;
+    private final ConcurrentHashMap<Object, Entry> entries;
+    private final ConcurrentLinkedQueue<Object> clock = new ConcurrentLinkedQueue<>();
+    private final FrequencySketch sketch;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+
+    public PublicKeyCache() {
+        this(new Config());
+    }
+
+    public PublicKeyCache(Config config) {
+        if (config.getMaximumSize() < 1) {
+            throw new IllegalArgumentException("maximumSize must be positive: " + config.getMaximumSize());
+        }
+        this.maximumSize = config.getMaximumSize();
+        this.entries = new ConcurrentHashMap<>(Math.min(maximumSize, 1 << 16) * 4 / 3 + 1);
+        this.sketch = config.isAdmissionFilter() ? new FrequencySketch(maximumSize) : null;
+    }
+
+    /**
+     * Decoded public key for an X.509 encoding
+     */
+    public PublicKey getPublicKey(byte[] encoded) throws InvalidKeyException {
+        return lookup(fingerprint(encoded), encoded, null, null).publicKey;
+    }
+
+    /**
+     * Decoded public key for a kid, loading its encoding on a miss
+     */
+    public PublicKey getPublicKey(String kid, KeyLoader loader) throws GeneralSecurityException {
+        return lookup(kid, null, kid, loader).publicKey;
+    }
+
+    /**
+     * Prepared verifier for an X.509-encoded DILITHIUM key
+     *
+     * @throws InvalidKeyException if the key is not a DILITHIUM key
+     */
+    public DilithiumSignature.PreparedVerifier getVerifier(byte[] encoded) throws InvalidKeyException {
+        return requireVerifier(lookup(fingerprint(encoded), encoded, null, null));
+    }
+
+    /**
+     * Prepared verifier for the DILITHIUM key named by a kid, loading its encoding on a miss
+     */
+    public DilithiumSignature.PreparedVerifier getVerifier(String kid, KeyLoader loader)
+            throws GeneralSecurityException {
+        return requireVerifier(lookup(kid, null, kid, loader));
+    }
+
+    /**
+     * Drop the entry for a kid (e.g. after key rotation)
+     */
+    public void invalidate(String kid) {
+        if (entries.remove(kid) != null) {
+            // Linear in the cache size, but otherwise every reload would queue the kid again
+            clock.remove(kid);
+        }
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+        clock.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    public Metrics getMetrics() {
+        return new Metrics(hits.sum(), misses.sum(), evictions.sum(), rejections.sum(), entries.size());
+    }
+
+    private Entry lookup(Object key, byte[] encoded, String kid, KeyLoader loader) throws InvalidKeyException {
+        if (sketch != null) {
+            sketch.increment(key);
+        }
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            if (!entry.referenced) {
+                entry.referenced = true;
+            }
+            hits.increment();
+            return entry;
+        }
+
+        misses.increment();
+        if (encoded == null) {
+            try {
+                encoded = loader.load(kid);
+            } catch (InvalidKeyException e) {
+                throw e;
+            } catch (GeneralSecurityException e) {
+                throw new InvalidKeyException("Cannot load public key for kid " + kid, e);
+            }
+        }
+        // Decoded outside any lock; a concurrent miss for the same key may decode twice
+        entry = decode(encoded);
+
+        if (entries.size() >= maximumSize && !makeRoom(key)) {
+            rejections.increment();
+            return entry;
+        }
+        Entry existing = entries.putIfAbsent(key, entry);
+        if (existing != null) {
+            return existing;
+        }
+        clock.offer(key);
+        while (entries.size() > maximumSize) {
+            if (evictOne(null) == null) {
+                break;
+            }
+        }
+        return entry;
+    }
+
+    /**
+     * Evict the CLOCK victim unless the admission filter prefers it over the candidate
+     *
+     * @return true if the candidate may be inserted
+     */
+    private boolean makeRoom(Object candidate) {
+        return evictOne(candidate) != null || entries.size() < maximumSize;
+    }
+
+    /**
+     * Advance the CLOCK hand to the first entry not referenced since the last pass and remove it
+     *
+     * @param candidate Key waiting for admission, or null to evict unconditionally
+     * @return Evicted key, or null if nothing was evicted
+     */
+    private Object evictOne(Object candidate) {
+        // Bounded so that a fully referenced cache is swept at most twice
+        for (int scanned = 0, limit = 2 * maximumSize + 1; scanned < limit; scanned++) {
+            Object key = clock.poll();
+            if (key == null) {
+                return null;
+            }
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                continue;
+            }
+            if (entry.referenced) {
+                entry.referenced = false;
+                clock.offer(key);
+                continue;
+            }
+            if (candidate != null && sketch != null && sketch.frequency(candidate) <= sketch.frequency(key)) {
+                clock.offer(key);
+                return null;
+            }
+            if (entries.remove(key, entry)) {
+                evictions.increment();
+                return key;
+            }
+        }
+        return null;
+    }
+
+    private static Entry decode(byte[] encoded) throws InvalidKeyException {
+        PublicKey publicKey;
+        try {
+            // Constructing the provider registers the key converters used by getPublicKey
+            OQSProvider.getPqcProvider();
+            publicKey = BouncyCastlePQCProvider.getPublicKey(SubjectPublicKeyInfo.getInstance(encoded));
+        } catch (Exception e) {
+            throw new InvalidKeyException("Cannot decode public key", e);
+        }
+        if (publicKey == null) {
+            throw new InvalidKeyException("Unsupported public key algorithm");
+        }
+
+        DilithiumSignature.PreparedVerifier verifier = null;
+        if (publicKey instanceof DilithiumPublicKey) {
+            String name = ((DilithiumPublicKey) publicKey).getParameterSpec().getName().toUpperCase(Locale.ROOT);
+            verifier = new DilithiumSignature(DilithiumSignature.DilithiumVariant.valueOf(name)).prepare(publicKey);
+        }
+        logger.debug("Decoded and cached {} public key", publicKey.getAlgorithm());
+        return new Entry(publicKey, verifier);
+    }
+
+    private static DilithiumSignature.PreparedVerifier requireVerifier(Entry entry) throws InvalidKeyException {
+        if (entry.verifier == null) {
+            throw new InvalidKeyException("Not a DILITHIUM public key: " + entry.publicKey.getAlgorithm());
+        }
+        return entry.verifier;
+    }
+
+    private static Fingerprint fingerprint(byte[] encoded) {
+        try {
+            return new Fingerprint(MessageDigest.getInstance("SHA-256").digest(encoded));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Count-min sketch of recent access frequencies (4 rows, saturating at 15)
+     *
+     * Counts are halved every 10 x maximumSize increments so the sketch follows
+     * changes in popularity. Updates are racy by design: a lost increment only
+     * makes an admission decision slightly less informed.
+     */
+    private static final class FrequencySketch {
+        private static final int ROWS = 4;
+        private static final int MAX_COUNT = 15;
+        private static final int[] SEEDS = {0x97cb3127, 0x0c4cd5ea, 0x7f4a7c15, 0x2c1b3c6d};
+
+        private final AtomicIntegerArray counts;
+        private final int mask;
+        private final int sampleSize;
+        private final AtomicInteger additions = new AtomicInteger();
+
+        FrequencySketch(int maximumSize) {
+            int width = Integer.highestOneBit(Math.max(16, Math.min(maximumSize, 1 << 20)) * 2 - 1);
+            this.counts = new AtomicIntegerArray(ROWS * width);
+            this.mask = width - 1;
+            this.sampleSize = 10 * maximumSize;
+        }
+
+        void increment(Object key) {
+            int hash = spread(key.hashCode());
+            for (int row = 0; row < ROWS; row++) {
+                int index = index(hash, row);
+                if (counts.get(index) < MAX_COUNT) {
+                    counts.incrementAndGet(index);
+                }
+            }
+            if (additions.incrementAndGet() >= sampleSize) {
+                age();
+            }
+        }
+
+        int frequency(Object key) {
+            int hash = spread(key.hashCode());
+            int frequency = MAX_COUNT;
+            for (int row = 0; row < ROWS; row++) {
+                frequency = Math.min(frequency, counts.get(index(hash, row)));
+            }
+            return frequency;
+        }
+
+        private void age() {
+            additions.set(0);
+            for (int i = 0; i < counts.length(); i++) {
+                counts.set(i, counts.get(i) >>> 1);
+            }
+        }
+
+        private int index(int hash, int row) {
+            int h = (hash ^ SEEDS[row]) * 0x9e3779b9;
+            return row * (mask + 1) + ((h ^ (h >>> 16)) & mask);
+        }
+
+        private static int spread(int hash) {
+            hash ^= hash >>> 17;
+            hash *= 0xed5ad4bb;
+            return hash ^ (hash >>> 11);
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package com.qsign.oqs.provider;
 
 import com.qsign.oqs.OQSProvider;
+import com.qsign.oqs.crypto.AsyncCryptoService;
 import com.qsign.oqs.crypto.DilithiumSignature;
+import com.qsign.oqs.crypto.HybridKEM;
 import com.qsign.oqs.crypto.KyberKEM;
+import com.qsign.oqs.metrics.CryptoMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -29,7 +32,10 @@ public class QSIGNIntegration {
         private boolean enableHybridMode = true;
         private DilithiumSignature.DilithiumVariant signatureVariant = DilithiumSignature.DilithiumVariant.DILITHIUM3;
         private KyberKEM.KyberVariant kemVariant = KyberKEM.KyberVariant.KYBER1024;
+        private DilithiumSignature.EngineMode engineMode = DilithiumSignature.EngineMode.PER_CALL;
         private boolean enableLogging = true;
+        private KeyPairPool.Config keyPairPool = null;
+        private boolean enableMetrics = false;
 
         public Config setHybridMode(boolean enable) {
             this.enableHybridMode = enable;
@@ -46,11 +52,32 @@ public class QSIGNIntegration {
             return this;
         }
 
+        /**
+         * Signature engine reuse for {@link QSIGNIntegration#createSignatureProvider()} instances
+         *
+         * @param mode PER_CALL (default), or THREAD_CONFINED to keep an initialized engine and
+         *             the last private key on every worker thread for the instance's lifetime
+         */
+        public Config setEngineMode(DilithiumSignature.EngineMode mode) {
+            this.engineMode = mode;
+            return this;
+        }
+
         public Config setLogging(boolean enable) {
             this.enableLogging = enable;
             return this;
         }
 
+        /**
+         * Pre-generate KEM and signature key pairs in the background
+         *
+         * @param poolConfig Pool watermarks, or null to generate on the caller thread (default)
+         */
+        public Config setKeyPairPool(KeyPairPool.Config poolConfig) {
+            this.keyPairPool = poolConfig;
+            return this;
+        }
+
         public boolean isHybridMode() {
             return enableHybridMode;
         }
@@ -63,12 +90,34 @@ public class QSIGNIntegration {
             return kemVariant;
         }
 
+        public DilithiumSignature.EngineMode getEngineMode() {
+            return engineMode;
+        }
+
         public boolean isLoggingEnabled() {
             return enableLogging;
         }
+
+        public KeyPairPool.Config getKeyPairPool() {
+            return keyPairPool;
+        }
+
+        /**
+         * Collect per-operation metrics and export them over JMX
+         */
+        public Config setMetrics(boolean enable) {
+            this.enableMetrics = enable;
+            return this;
+        }
+
+        public boolean isMetricsEnabled() {
+            return enableMetrics;
+        }
     }
 
     private static Config config = new Config();
+    private static KeyPairPool kemKeyPairPool;
+    private static KeyPairPool signatureKeyPairPool;
 
     /**
      * Initialize QSIGN integration with OQS
@@ -101,6 +150,17 @@ public class QSIGNIntegration {
                 logger.error("   ❌ Failed to register OQS Provider");
             }
 
+            if (config.isMetricsEnabled()) {
+                CryptoMetrics.enable(true);
+            }
+
+            if (config.getKeyPairPool() != null) {
+                kemKeyPairPool = KeyPairPool.forKyber(config.getKemVariant(), config.getKeyPairPool());
+                signatureKeyPairPool = KeyPairPool.forDilithium(config.getSignatureVariant(), config.getKeyPairPool());
+                logger.info("   Key Pair Pool: low={}, high={}",
+                    config.getKeyPairPool().getLowWatermark(), config.getKeyPairPool().getHighWatermark());
+            }
+
             initialized = true;
             logger.info("======================================================================");
         }
@@ -108,10 +168,12 @@ public class QSIGNIntegration {
 
     /**
      * Create a PQC signature provider for Keycloak
+     *
+     * Engines are cached per returned instance, so keep it for the lifetime of the signing key.
      */
     public static DilithiumSignature createSignatureProvider() {
         ensureInitialized();
-        return new DilithiumSignature(config.getSignatureVariant());
+        return new DilithiumSignature(config.getSignatureVariant(), config.getEngineMode());
     }
 
     /**
@@ -122,6 +184,29 @@ public class QSIGNIntegration {
         return new KyberKEM(config.getKemVariant());
     }
 
+    /**
+     * Create a hybrid X25519 + KYBER KEM provider
+     *
+     * Requires hybrid mode to be enabled in the configuration.
+     */
+    public static HybridKEM createHybridKEMProvider() {
+        ensureInitialized();
+        if (!config.isHybridMode()) {
+            throw new IllegalStateException("Hybrid mode is disabled in the QSIGN-OQS configuration");
+        }
+        return new HybridKEM(config.getKemVariant());
+    }
+
+    /**
+     * Create an asynchronous sign/verify/encapsulate/decapsulate service
+     *
+     * Uses the configured signature and KEM variants. Close the service to stop its executor.
+     */
+    public static AsyncCryptoService createAsyncCryptoService(AsyncCryptoService.Config serviceConfig) {
+        ensureInitialized();
+        return new AsyncCryptoService(createSignatureProvider(), createKEMProvider(), serviceConfig);
+    }
+
     /**
      * Generate keys for QSIGN JWT signing
      *
@@ -133,8 +218,7 @@ public class QSIGNIntegration {
         Map<String, KeyPair> keys = new HashMap<>();
 
         // Generate Dilithium key pair for PQC signing
-        DilithiumSignature dilithium = createSignatureProvider();
-        KeyPair dilithiumKeyPair = dilithium.generateKeyPair();
+        KeyPair dilithiumKeyPair = generateSignatureKeyPair();
         keys.put("dilithium", dilithiumKeyPair);
 
         logger.info("Generated JWT signing keys:");
@@ -155,13 +239,13 @@ public class QSIGNIntegration {
         Map<String, KeyPair> keys = new HashMap<>();
 
         // Generate Kyber key pair for key exchange
-        KyberKEM kyber = createKEMProvider();
-        KeyPair kyberKeyPair = kyber.generateKeyPair();
+        KeyPair kyberKeyPair = kemKeyPairPool != null
+            ? kemKeyPairPool.take()
+            : createKEMProvider().generateKeyPair();
         keys.put("kyber", kyberKeyPair);
 
         // Generate Dilithium key pair for authentication
-        DilithiumSignature dilithium = createSignatureProvider();
-        KeyPair dilithiumKeyPair = dilithium.generateKeyPair();
+        KeyPair dilithiumKeyPair = generateSignatureKeyPair();
         keys.put("dilithium", dilithiumKeyPair);
 
         logger.info("Generated TLS keys:");
@@ -171,6 +255,30 @@ public class QSIGNIntegration {
         return keys;
     }
 
+    /**
+     * Get the KEM key pair pool
+     *
+     * @return Pool, or null if key pair pooling is disabled
+     */
+    public static KeyPairPool getKemKeyPairPool() {
+        return kemKeyPairPool;
+    }
+
+    /**
+     * Get the signature key pair pool
+     *
+     * @return Pool, or null if key pair pooling is disabled
+     */
+    public static KeyPairPool getSignatureKeyPairPool() {
+        return signatureKeyPairPool;
+    }
+
+    private static KeyPair generateSignatureKeyPair() throws Exception {
+        return signatureKeyPairPool != null
+            ? signatureKeyPairPool.take()
+            : createSignatureProvider().generateKeyPair();
+    }
+
     /**
      * Get current configuration
      */
@@ -0,0 +1,96 @@
+package com.qsign.oqs.provisioning;
+
+import com.google.gson.stream.JsonWriter;
+import com.qsign.oqs.util.CryptoUtils;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileAttribute;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.KeyPair;
+import java.util.EnumSet;
+
+/**
+ * One JSON object per line: alias, tenant, algorithm, and the Base64 X.509 public
+ * key and PKCS#8 private key
+ *
+ * <pre>
+ * {"alias":"tenant-000001/DILITHIUM3","tenant":"tenant-000001","algorithm":"DILITHIUM3",
+ *  "publicKey":"MIIH...","privateKey":"MIIP..."}
+ * </pre>
+ *
+ * The private keys are not encrypted. New files are created readable by the owner
+ * only where the file system supports POSIX permissions.
+ */
+public class JsonlKeySink implements KeySink {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final FileChannel channel;
+    private final Writer writer;
+    private final JsonWriter json;
+
+    /**
+     * Open a file for appending, truncated to the length of the last commit
+     *
+     * @param output JSONL file, created if missing
+     * @param committedLength Bytes to keep; 0 starts a new file
+     */
+    public JsonlKeySink(Path output, long committedLength) throws IOException {
+        this.channel = FileChannel.open(output,
+            EnumSet.of(StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE), ownerOnly());
+        if (channel.size() < committedLength) {
+            channel.close();
+            throw new IOException(output + " is shorter (" + channel.size() + " bytes) than its checkpoint ("
+                + committedLength + " bytes)");
+        }
+        channel.truncate(committedLength);
+        channel.position(committedLength);
+        this.writer = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8), BUFFER_SIZE);
+        // lenient: one top-level object per line
+        this.json = new JsonWriter(writer);
+        json.setLenient(true);
+    }
+
+    @Override
+    public void write(String alias, String tenant, String algorithm, KeyPair keyPair) throws IOException {
+        json.beginObject()
+            .name("alias").value(alias)
+            .name("tenant").value(tenant)
+            .name("algorithm").value(algorithm)
+            .name("publicKey").value(CryptoUtils.encodeBase64(keyPair.getPublic().getEncoded()))
+            .name("privateKey").value(CryptoUtils.encodeBase64(keyPair.getPrivate().getEncoded()))
+            .endObject();
+        writer.write('\n');
+    }
+
+    @Override
+    public long commit() throws IOException {
+        writer.flush();
+        channel.force(false);
+        return channel.position();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            writer.flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private static FileAttribute<?>[] ownerOnly() {
+        if (!FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+            return new FileAttribute<?>[0];
+        }
+        return new FileAttribute<?>[] {PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------"))};
+    }
+}
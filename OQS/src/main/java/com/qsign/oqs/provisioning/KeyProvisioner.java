@@ -0,0 +1,476 @@
+package com.qsign.oqs.provisioning;
+
+import com.qsign.oqs.crypto.DilithiumSignature;
+import com.qsign.oqs.crypto.FalconSignature;
+import com.qsign.oqs.crypto.KyberKEM;
+import com.qsign.oqs.provider.KeyPairPool;
+import com.qsign.oqs.provider.QSIGNIntegration;
+import com.qsign.oqs.util.CryptoUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Bulk key pair generation for onboarding a batch of tenants
+ *
+ * Every tenant gets one key pair per algorithm. Key generation runs on a
+ * {@link ForkJoinPool} in batches: while one batch is written to the
+ * {@link KeySink}, the next is already being generated, so at most two batches of
+ * key pairs are on the heap regardless of the job size.
+ *
+ * After each batch the sink is committed (flushed and forced to disk) and a
+ * checkpoint recording the next key index and the committed output length is
+ * replaced atomically. Running the same job again with the same checkpoint file
+ * resumes from there; records of a batch that was only partly written are dropped
+ * and regenerated. A checkpoint only resumes the job it was written for: tenants and
+ * algorithms are fingerprinted and a mismatch is rejected.
+ */
+public class KeyProvisioner {
+
+    private static final Logger logger = LoggerFactory.getLogger(KeyProvisioner.class);
+
+    /**
+     * Opens the output for a job, truncated to the committed length (0 for a new job)
+     */
+    public interface SinkFactory {
+        KeySink open(long committedLength) throws IOException;
+    }
+
+    /**
+     * Job settings
+     */
+    public static class Config {
+        private int parallelism = Runtime.getRuntime().availableProcessors();
+        private int batchSize = 256;
+        private Duration progressInterval = Duration.ofSeconds(1);
+        private Consumer<Progress> progressListener;
+
+        /**
+         * Fork-join worker threads generating keys (default: number of CPUs)
+         */
+        public Config setParallelism(int parallelism) {
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * Key pairs per checkpoint; also the unit of work handed to the pool (default: 256)
+         */
+        public Config setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        public Config setProgressInterval(Duration progressInterval) {
+            this.progressInterval = progressInterval;
+            return this;
+        }
+
+        /**
+         * Called every progress interval from a background thread, and once at the end
+         */
+        public Config setProgressListener(Consumer<Progress> progressListener) {
+            this.progressListener = progressListener;
+            return this;
+        }
+
+        public int getParallelism() {
+            return parallelism;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public Duration getProgressInterval() {
+            return progressInterval;
+        }
+
+        public Consumer<Progress> getProgressListener() {
+            return progressListener;
+        }
+    }
+
+    /**
+     * Point-in-time job progress
+     */
+    public static final class Progress {
+        private final long completed;
+        private final long resumedFrom;
+        private final long total;
+        private final long elapsedNanos;
+
+        private Progress(long completed, long resumedFrom, long total, long elapsedNanos) {
+            this.completed = completed;
+            this.resumedFrom = resumedFrom;
+            this.total = total;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        /**
+         * Key pairs committed to the output, including those from earlier runs
+         */
+        public long getCompleted() {
+            return completed;
+        }
+
+        /**
+         * Key pairs already committed when this run started
+         */
+        public long getResumedFrom() {
+            return resumedFrom;
+        }
+
+        public long getTotal() {
+            return total;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        /**
+         * Key pairs per second generated by this run
+         */
+        public double getKeysPerSecond() {
+            return elapsedNanos == 0 ? 0.0 : (completed - resumedFrom) * 1e9 / elapsedNanos;
+        }
+
+        public boolean isDone() {
+            return completed == total;
+        }
+
+        @Override
+        public String toString() {
+            double rate = getKeysPerSecond();
+            long remaining = rate == 0 ? -1 : (long) ((total - completed) / rate);
+            return String.format("%d/%d keys (%.1f%%), %.1f keys/s, elapsed %ds, eta %s",
+                completed, total, total == 0 ? 100.0 : completed * 100.0 / total, rate,
+                TimeUnit.NANOSECONDS.toSeconds(elapsedNanos), remaining < 0 ? "-" : remaining + "s");
+        }
+    }
+
+    private final int parallelism;
+    private final int batchSize;
+    private final Duration progressInterval;
+    private final Consumer<Progress> progressListener;
+
+    public KeyProvisioner(Config config) {
+        if (config.getParallelism() < 1 || config.getBatchSize() < 1) {
+            throw new IllegalArgumentException("Parallelism and batch size must be positive: parallelism="
+                + config.getParallelism() + ", batchSize=" + config.getBatchSize());
+        }
+        if (config.getProgressInterval() == null || config.getProgressInterval().isNegative()
+                || config.getProgressInterval().isZero()) {
+            throw new IllegalArgumentException("Invalid progress interval: " + config.getProgressInterval());
+        }
+        this.parallelism = config.getParallelism();
+        this.batchSize = config.getBatchSize();
+        this.progressInterval = config.getProgressInterval();
+        this.progressListener = config.getProgressListener();
+    }
+
+    /**
+     * Tenant names {@code prefix000001} to {@code prefixNNNNNN}, computed on access
+     */
+    public static List<String> numberedTenants(String prefix, int count) {
+        int width = Math.max(6, Integer.toString(count).length());
+        String format = "%s%0" + width + "d";
+        return new AbstractList<>() {
+            @Override
+            public String get(int index) {
+                if (index < 0 || index >= count) {
+                    throw new IndexOutOfBoundsException("Tenant index " + index + " out of " + count);
+                }
+                return String.format(format, prefix, index + 1);
+            }
+
+            @Override
+            public int size() {
+                return count;
+            }
+        };
+    }
+
+    /**
+     * Key pair generator for a signature or KEM algorithm name, e.g. DILITHIUM3,
+     * FALCON-512 or KYBER768
+     */
+    public static KeyPairPool.KeyPairSource keyPairSource(String algorithm) {
+        String name = algorithm.toUpperCase(Locale.ROOT);
+        try {
+            if (name.startsWith("DILITHIUM")) {
+                return new DilithiumSignature(DilithiumSignature.DilithiumVariant.valueOf(name))::generateKeyPair;
+            }
+            if (name.startsWith("FALCON")) {
+                return new FalconSignature(FalconSignature.FalconVariant.valueOf(name.replace("-", "")))::generateKeyPair;
+            }
+            if (name.startsWith("KYBER")) {
+                return new KyberKEM(KyberKEM.KyberVariant.valueOf(name))::generateKeyPair;
+            }
+        } catch (IllegalArgumentException e) {
+            // unknown variant, reported below
+        }
+        throw new IllegalArgumentException("Unsupported algorithm: " + algorithm);
+    }
+
+    /**
+     * The signature algorithm of {@link QSIGNIntegration#generateJWTSigningKeys()}
+     */
+    public static String defaultAlgorithm() {
+        return QSIGNIntegration.getConfig().getSignatureVariant().getAlgorithm();
+    }
+
+    /**
+     * Generate one key pair per tenant and algorithm, resuming from the checkpoint if it exists
+     *
+     * Key pair {@code i} belongs to tenant {@code i / algorithms.size()} and algorithm
+     * {@code i % algorithms.size()}; its alias is {@code tenant/ALGORITHM}.
+     *
+     * @param tenants Tenant names; must be the same list when resuming
+     * @param algorithms Algorithm names accepted by {@link #keyPairSource(String)}
+     * @param sinkFactory Output, reopened at the committed length
+     * @param checkpoint Checkpoint file, created or replaced after every batch
+     * @return Final progress
+     */
+    public Progress provision(List<String> tenants, List<String> algorithms, SinkFactory sinkFactory,
+                              Path checkpoint) throws IOException, GeneralSecurityException {
+        if (algorithms.isEmpty()) {
+            throw new IllegalArgumentException("At least one algorithm is required");
+        }
+        List<String> names = new ArrayList<>();
+        List<KeyPairPool.KeyPairSource> sources = new ArrayList<>();
+        for (String algorithm : algorithms) {
+            names.add(algorithm.toUpperCase(Locale.ROOT));
+            sources.add(keyPairSource(algorithm));
+        }
+
+        long total = (long) tenants.size() * names.size();
+        String fingerprint = fingerprint(tenants, names);
+        Checkpoint state = Checkpoint.load(checkpoint, fingerprint, total);
+        if (state.next > 0) {
+            logger.info("Resuming key provisioning at {}/{} from {}", state.next, total, checkpoint);
+        }
+
+        long resumedFrom = state.next;
+        AtomicLong completed = new AtomicLong(resumedFrom);
+        long start = System.nanoTime();
+        ScheduledExecutorService reporter = startReporter(completed, resumedFrom, total, start);
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        ForkJoinTask<Void> pending = null;
+        try (KeySink sink = sinkFactory.open(state.committedLength)) {
+            long next = state.next;
+            KeyPair[] batch = null;
+            if (next < total) {
+                batch = new KeyPair[(int) Math.min(batchSize, total - next)];
+                pending = pool.submit(new Generate(sources, next, batch, 0, batch.length));
+            }
+            while (pending != null) {
+                await(pending);
+                KeyPair[] ready = batch;
+                long from = next;
+                next += ready.length;
+
+                // generate the next batch while this one is written
+                pending = null;
+                if (next < total) {
+                    batch = new KeyPair[(int) Math.min(batchSize, total - next)];
+                    pending = pool.submit(new Generate(sources, next, batch, 0, batch.length));
+                }
+
+                for (int i = 0; i < ready.length; i++) {
+                    long index = from + i;
+                    String tenant = tenants.get((int) (index / names.size()));
+                    String algorithm = names.get((int) (index % names.size()));
+                    sink.write(tenant + "/" + algorithm, tenant, algorithm, ready[i]);
+                }
+                state.next = next;
+                state.committedLength = sink.commit();
+                state.save(checkpoint);
+                completed.set(next);
+            }
+        } finally {
+            if (pending != null) {
+                pending.cancel(true);
+            }
+            pool.shutdownNow();
+            reporter.shutdownNow();
+        }
+
+        Progress progress = new Progress(completed.get(), resumedFrom, total, System.nanoTime() - start);
+        logger.info("Provisioned {}", progress);
+        if (progressListener != null) {
+            progressListener.accept(progress);
+        }
+        return progress;
+    }
+
+    private ScheduledExecutorService startReporter(AtomicLong completed, long resumedFrom, long total, long start) {
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "oqs-provisioning-progress");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (progressListener != null) {
+            long millis = progressInterval.toMillis();
+            reporter.scheduleAtFixedRate(() -> progressListener.accept(
+                    new Progress(completed.get(), resumedFrom, total, System.nanoTime() - start)),
+                millis, millis, TimeUnit.MILLISECONDS);
+        }
+        return reporter;
+    }
+
+    private static String fingerprint(List<String> tenants, List<String> algorithms)
+            throws NoSuchAlgorithmException {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        for (String algorithm : algorithms) {
+            digest.update(algorithm.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        }
+        digest.update((byte) 0);
+        for (String tenant : tenants) {
+            digest.update(tenant.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        }
+        return CryptoUtils.toHex(digest.digest());
+    }
+
+    private static void await(ForkJoinTask<?> task) throws GeneralSecurityException {
+        try {
+            task.join();
+        } catch (CompletionException e) {
+            // join may rethrow a copy whose cause is the exception thrown by the worker
+            for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+                if (cause instanceof GeneralSecurityException) {
+                    throw (GeneralSecurityException) cause;
+                }
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Fills {@code keys[from, to)} with key pairs {@code base + from} onwards, splitting in halves
+     */
+    private static final class Generate extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private static final int THRESHOLD = 4;
+
+        private final List<KeyPairPool.KeyPairSource> sources;
+        private final long base;
+        private final KeyPair[] keys;
+        private final int from;
+        private final int to;
+
+        Generate(List<KeyPairPool.KeyPairSource> sources, long base, KeyPair[] keys, int from, int to) {
+            this.sources = sources;
+            this.base = base;
+            this.keys = keys;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > THRESHOLD) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new Generate(sources, base, keys, from, middle),
+                    new Generate(sources, base, keys, middle, to));
+                return;
+            }
+            for (int i = from; i < to; i++) {
+                try {
+                    keys[i] = sources.get((int) ((base + i) % sources.size())).generate();
+                } catch (GeneralSecurityException e) {
+                    throw new CompletionException(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Resume point: next key index and committed output length, tied to one job by fingerprint
+     */
+    private static final class Checkpoint {
+        private final String fingerprint;
+        private final long total;
+        private long next;
+        private long committedLength;
+
+        private Checkpoint(String fingerprint, long total) {
+            this.fingerprint = fingerprint;
+            this.total = total;
+        }
+
+        static Checkpoint load(Path path, String fingerprint, long total) throws IOException {
+            Checkpoint checkpoint = new Checkpoint(fingerprint, total);
+            if (!Files.exists(path)) {
+                return checkpoint;
+            }
+
+            Properties properties = new Properties();
+            try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                properties.load(reader);
+            }
+            if (!fingerprint.equals(properties.getProperty("fingerprint"))
+                    || total != Long.parseLong(properties.getProperty("total", "-1"))) {
+                throw new IOException("Checkpoint " + path + " belongs to a different job (tenants or algorithms changed)");
+            }
+            checkpoint.next = Long.parseLong(properties.getProperty("next"));
+            checkpoint.committedLength = Long.parseLong(properties.getProperty("committedLength"));
+            return checkpoint;
+        }
+
+        void save(Path path) throws IOException {
+            Properties properties = new Properties();
+            properties.setProperty("fingerprint", fingerprint);
+            properties.setProperty("total", Long.toString(total));
+            properties.setProperty("next", Long.toString(next));
+            properties.setProperty("committedLength", Long.toString(committedLength));
+
+            StringWriter text = new StringWriter();
+            properties.store(text, "OQS key provisioning checkpoint");
+            ByteBuffer buffer = ByteBuffer.wrap(text.toString().getBytes(StandardCharsets.UTF_8));
+
+            // Flush the temp file before the rename, or a crash can leave an empty checkpoint in place
+            Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+            try (FileChannel channel = FileChannel.open(temp,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+    }
+}
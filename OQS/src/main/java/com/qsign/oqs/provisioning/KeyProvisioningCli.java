@@ -0,0 +1,102 @@
+package com.qsign.oqs.provisioning;
+
+import com.qsign.oqs.keystore.OqsKeyStoreWriter;
+import com.qsign.oqs.provider.QSIGNIntegration;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Command-line entry point for {@link KeyProvisioner}
+ *
+ * <pre>
+ * java -cp oqs-java-1.0.0-jar-with-dependencies.jar com.qsign.oqs.provisioning.KeyProvisioningCli \
+ *     --count 10000 --prefix tenant- --algorithms DILITHIUM3,KYBER768 --output tenants.jsonl
+ * </pre>
+ *
+ * Options (defaults in brackets):
+ * --tenants file (one tenant name per line) or --count N with --prefix [tenant-],
+ * --algorithms [the JWT signing variant, DILITHIUM3], --output file (required),
+ * --format jsonl|oqs [jsonl], --checkpoint file [output.checkpoint],
+ * --threads [number of CPUs], --batch [256], --progress seconds [1]
+ *
+ * {@code --format oqs} writes a key store file that loads as {@code KeyStore.getInstance("OQS")}.
+ *
+ * Progress goes to stderr. If the checkpoint exists the job resumes from it; otherwise
+ * an existing non-empty output file is left untouched and the tool exits with an error.
+ */
+public final class KeyProvisioningCli {
+
+    private KeyProvisioningCli() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        QSIGNIntegration.initialize();
+
+        String outputOption = options.get("output");
+        if (outputOption == null) {
+            throw new IllegalArgumentException("--output is required");
+        }
+        Path output = Path.of(outputOption);
+        String format = options.getOrDefault("format", "jsonl");
+        KeyProvisioner.SinkFactory sinks;
+        if ("jsonl".equals(format)) {
+            sinks = committedLength -> new JsonlKeySink(output, committedLength);
+        } else if ("oqs".equals(format)) {
+            sinks = committedLength -> new OqsKeyStoreWriter(output, committedLength);
+        } else {
+            throw new IllegalArgumentException("--format must be jsonl or oqs, got: " + format);
+        }
+        Path checkpoint = Path.of(options.getOrDefault("checkpoint", outputOption + ".checkpoint"));
+        if (!Files.exists(checkpoint) && Files.exists(output) && Files.size(output) > 0) {
+            throw new IllegalStateException(output + " already exists and has no checkpoint " + checkpoint);
+        }
+
+        List<String> tenants;
+        if (options.containsKey("tenants")) {
+            tenants = Files.readAllLines(Path.of(options.get("tenants")), StandardCharsets.UTF_8).stream()
+                .map(String::trim)
+                .filter(line -> !line.isEmpty())
+                .collect(Collectors.toList());
+        } else if (options.containsKey("count")) {
+            tenants = KeyProvisioner.numberedTenants(options.getOrDefault("prefix", "tenant-"),
+                Integer.parseInt(options.get("count")));
+        } else {
+            throw new IllegalArgumentException("Either --tenants or --count is required");
+        }
+
+        List<String> algorithms = Arrays.stream(
+                options.getOrDefault("algorithms", KeyProvisioner.defaultAlgorithm()).split(","))
+            .map(String::trim)
+            .collect(Collectors.toList());
+
+        KeyProvisioner provisioner = new KeyProvisioner(new KeyProvisioner.Config()
+            .setParallelism(Integer.parseInt(options.getOrDefault("threads",
+                Integer.toString(Runtime.getRuntime().availableProcessors()))))
+            .setBatchSize(Integer.parseInt(options.getOrDefault("batch", "256")))
+            .setProgressInterval(Duration.ofSeconds(Long.parseLong(options.getOrDefault("progress", "1"))))
+            .setProgressListener(progress -> System.err.println(progress)));
+
+        KeyProvisioner.Progress result = provisioner.provision(tenants, algorithms, sinks, checkpoint);
+        System.err.println("Done: " + result.getCompleted() + " key pairs in " + output);
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--") || i + 1 >= args.length) {
+                throw new IllegalArgumentException("Expected --option value, got: " + args[i]);
+            }
+            options.put(args[i].substring(2), args[++i]);
+        }
+        return options;
+    }
+}
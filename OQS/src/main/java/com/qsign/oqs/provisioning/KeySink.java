@@ -0,0 +1,28 @@
+package com.qsign.oqs.provisioning;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.security.KeyPair;
+
+/**
+ * Append-only destination for provisioned key pairs
+ *
+ * {@link KeyProvisioner} writes one batch of records, then calls {@link #commit()}
+ * and stores the returned length in its checkpoint. On resume the sink is reopened
+ * truncated to that length, so a batch that was only partly written before an
+ * interruption is dropped and written again.
+ */
+public interface KeySink extends Closeable {
+
+    /**
+     * Append one record; may be buffered until {@link #commit()}
+     */
+    void write(String alias, String tenant, String algorithm, KeyPair keyPair) throws IOException;
+
+    /**
+     * Make every record written so far durable
+     *
+     * @return Length of the committed output in bytes
+     */
+    long commit() throws IOException;
+}
@@ -3,47 +3,366 @@ package com.qsign.oqs.util;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
 import java.nio.charset.StandardCharsets;
 import java.security.*;
+import java.util.Arrays;
 import java.util.Base64;
 
 /**
  * Cryptographic utility functions for OQS
+ *
+ * Besides the convenience methods returning a String or byte[], the hex, Base64 and
+ * PEM codecs have variants writing into a caller-supplied byte[], ByteBuffer or
+ * Appendable, so multi-kilobyte PQC keys and signatures can be serialized into a
+ * reused buffer without intermediate copies. Hex uses lookup tables; Base64 feeds
+ * whole 48-byte blocks to the JDK encoder (a vectorized HotSpot intrinsic) and only
+ * the final partial block through a lookup table.
  */
 public class CryptoUtils {
 
     private static final Logger logger = LoggerFactory.getLogger(CryptoUtils.class);
 
+    /**
+     * Base64 characters per PEM line (RFC 7468)
+     */
+    public static final int PEM_LINE_LENGTH = 64;
+
+    private static final int PEM_LINE_BYTES = PEM_LINE_LENGTH / 4 * 3;
+
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] BASE64 =
+        "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".getBytes(StandardCharsets.US_ASCII);
+
+    private static final int INVALID = -1;
+    private static final int WHITESPACE = -2;
+
+    private static final Base64.Encoder BASE64_ENCODER = Base64.getEncoder();
+    private static final Base64.Decoder BASE64_DECODER = Base64.getDecoder();
+
+    private static final byte[] HEX_VALUES = new byte[128];
+    private static final byte[] BASE64_VALUES = new byte[128];
+
+    static {
+        Arrays.fill(HEX_VALUES, (byte) INVALID);
+        for (int i = 0; i < 16; i++) {
+            HEX_VALUES[HEX[i]] = (byte) i;
+            HEX_VALUES[Character.toUpperCase(HEX[i])] = (byte) i;
+        }
+        Arrays.fill(BASE64_VALUES, (byte) INVALID);
+        for (int i = 0; i < 64; i++) {
+            BASE64_VALUES[BASE64[i]] = (byte) i;
+        }
+        for (char c : new char[]{' ', '\t', '\r', '\n'}) {
+            BASE64_VALUES[c] = WHITESPACE;
+        }
+    }
+
     /**
      * Encode a byte array to Base64 string
      */
     public static String encodeBase64(byte[] data) {
-        return Base64.getEncoder().encodeToString(data);
+        return BASE64_ENCODER.encodeToString(data);
     }
 
     /**
      * Decode a Base64 string to byte array
      */
     public static byte[] decodeBase64(String base64) {
-        return Base64.getDecoder().decode(base64);
+        return BASE64_DECODER.decode(base64);
+    }
+
+    /**
+     * Padded Base64 length of {@code length} bytes
+     */
+    public static int base64EncodedLength(int length) {
+        return (length + 2) / 3 * 4;
+    }
+
+    /**
+     * Upper bound of the decoded length of {@code length} Base64 characters
+     */
+    public static int base64MaxDecodedLength(int length) {
+        return (length + 3) / 4 * 3;
+    }
+
+    /**
+     * Encode {@code src[srcOffset..srcOffset+length)} as padded Base64 into {@code dst}
+     *
+     * @return Offset just past the last written byte
+     */
+    public static int encodeBase64(byte[] src, int srcOffset, int length, byte[] dst, int dstOffset) {
+        if (srcOffset == 0 && length == src.length && dstOffset == 0) {
+            return BASE64_ENCODER.encode(src, dst);
+        }
+        byte[] block = new byte[PEM_LINE_BYTES];
+        byte[] encoded = new byte[PEM_LINE_LENGTH];
+        int full = length - length % PEM_LINE_BYTES;
+        for (int i = 0; i < full; i += PEM_LINE_BYTES) {
+            dstOffset = encodeBlock(src, srcOffset + i, block, encoded, dst, dstOffset);
+        }
+        return encodeBase64Tail(src, srcOffset + full, length - full, dst, dstOffset);
+    }
+
+    /**
+     * Encode one 48-byte block through the JDK encoder, which HotSpot replaces with a
+     * vectorized intrinsic, using fixed scratch buffers so nothing is allocated per block
+     */
+    private static int encodeBlock(byte[] src, int srcOffset, byte[] block, byte[] encoded, byte[] dst, int dstOffset) {
+        System.arraycopy(src, srcOffset, block, 0, PEM_LINE_BYTES);
+        BASE64_ENCODER.encode(block, encoded);
+        System.arraycopy(encoded, 0, dst, dstOffset, PEM_LINE_LENGTH);
+        return dstOffset + PEM_LINE_LENGTH;
+    }
+
+    private static int encodeBase64Tail(byte[] src, int srcOffset, int length, byte[] dst, int dstOffset) {
+        int i = srcOffset;
+        int end = srcOffset + length;
+        int full = end - length % 3;
+        while (i < full) {
+            int bits = (src[i++] & 0xff) << 16 | (src[i++] & 0xff) << 8 | (src[i++] & 0xff);
+            dst[dstOffset++] = BASE64[bits >>> 18];
+            dst[dstOffset++] = BASE64[(bits >>> 12) & 0x3f];
+            dst[dstOffset++] = BASE64[(bits >>> 6) & 0x3f];
+            dst[dstOffset++] = BASE64[bits & 0x3f];
+        }
+        if (i < end) {
+            int bits = (src[i] & 0xff) << 16 | (i + 1 < end ? (src[i + 1] & 0xff) << 8 : 0);
+            dst[dstOffset++] = BASE64[bits >>> 18];
+            dst[dstOffset++] = BASE64[(bits >>> 12) & 0x3f];
+            dst[dstOffset++] = i + 1 < end ? BASE64[(bits >>> 6) & 0x3f] : (byte) '=';
+            dst[dstOffset++] = '=';
+        }
+        return dstOffset;
+    }
+
+    /**
+     * Encode the remaining bytes of {@code src} as padded Base64 into {@code dst}
+     *
+     * Both buffers' positions are advanced.
+     */
+    public static void encodeBase64(ByteBuffer src, ByteBuffer dst) {
+        int length = src.remaining();
+        if (dst.remaining() < base64EncodedLength(length)) {
+            throw new IllegalArgumentException("Destination too small: " + dst.remaining()
+                + " < " + base64EncodedLength(length));
+        }
+        if (src.hasArray() && dst.hasArray()) {
+            int end = encodeBase64(src.array(), src.arrayOffset() + src.position(), length,
+                dst.array(), dst.arrayOffset() + dst.position());
+            src.position(src.position() + length);
+            dst.position(end - dst.arrayOffset());
+            return;
+        }
+        while (src.remaining() >= 3) {
+            int bits = (src.get() & 0xff) << 16 | (src.get() & 0xff) << 8 | (src.get() & 0xff);
+            dst.put(BASE64[bits >>> 18]).put(BASE64[(bits >>> 12) & 0x3f])
+                .put(BASE64[(bits >>> 6) & 0x3f]).put(BASE64[bits & 0x3f]);
+        }
+        if (src.hasRemaining()) {
+            boolean two = src.remaining() == 2;
+            int bits = (src.get() & 0xff) << 16 | (two ? (src.get() & 0xff) << 8 : 0);
+            dst.put(BASE64[bits >>> 18]).put(BASE64[(bits >>> 12) & 0x3f])
+                .put(two ? BASE64[(bits >>> 6) & 0x3f] : (byte) '=').put((byte) '=');
+        }
+    }
+
+    /**
+     * Append {@code src} as padded Base64 to {@code out}
+     */
+    public static void encodeBase64(byte[] src, Appendable out) throws IOException {
+        appendBase64(src, 0, src.length, out);
+    }
+
+    /**
+     * Decode padded Base64 from {@code src[srcOffset..srcOffset+length)} into {@code dst}
+     *
+     * Whitespace (space, tab, CR, LF) is skipped and trailing padding may be omitted.
+     * {@code dst} needs room for {@link #base64MaxDecodedLength(int)} bytes.
+     *
+     * @return Number of bytes written
+     */
+    public static int decodeBase64(byte[] src, int srcOffset, int length, byte[] dst, int dstOffset) {
+        int start = dstOffset;
+        int bits = 0;
+        int count = 0;
+        int padding = 0;
+        for (int i = srcOffset, end = srcOffset + length; i < end; i++) {
+            int c = src[i] & 0xff;
+            int value = c < 128 ? BASE64_VALUES[c] : INVALID;
+            if (value == WHITESPACE) {
+                continue;
+            }
+            if (c == '=') {
+                padding++;
+                value = 0;
+            } else if (value == INVALID || padding > 0) {
+                throw new IllegalArgumentException("Illegal Base64 character at " + (i - srcOffset) + ": " + c);
+            }
+            bits = bits << 6 | value;
+            if (++count == 4) {
+                if (padding > 2) {
+                    throw new IllegalArgumentException("Illegal Base64 padding");
+                }
+                dst[dstOffset++] = (byte) (bits >>> 16);
+                if (padding < 2) {
+                    dst[dstOffset++] = (byte) (bits >>> 8);
+                }
+                if (padding < 1) {
+                    dst[dstOffset++] = (byte) bits;
+                }
+                bits = 0;
+                count = 0;
+            }
+        }
+        if (count > 0) {
+            // Unpadded (or partially padded) final group
+            int bytes = count - 1 - padding;
+            if (bytes < 1) {
+                throw new IllegalArgumentException("Truncated Base64 input");
+            }
+            bits <<= 6 * (4 - count);
+            dst[dstOffset++] = (byte) (bits >>> 16);
+            if (bytes == 2) {
+                dst[dstOffset++] = (byte) (bits >>> 8);
+            }
+        }
+        return dstOffset - start;
     }
 
     /**
      * Encode a public key to Base64 PEM format
      */
     public static String encodePEM(PublicKey publicKey, String algorithm) {
-        String base64 = encodeBase64(publicKey.getEncoded());
-        return String.format("-----BEGIN %s PUBLIC KEY-----\n%s\n-----END %s PUBLIC KEY-----",
-            algorithm, base64, algorithm);
+        return encodePEM(algorithm + " PUBLIC KEY", publicKey.getEncoded());
     }
 
     /**
      * Encode a private key to Base64 PEM format
      */
     public static String encodePEM(PrivateKey privateKey, String algorithm) {
-        String base64 = encodeBase64(privateKey.getEncoded());
-        return String.format("-----BEGIN %s PRIVATE KEY-----\n%s\n-----END %s PRIVATE KEY-----",
-            algorithm, base64, algorithm);
+        return encodePEM(algorithm + " PRIVATE KEY", privateKey.getEncoded());
+    }
+
+    /**
+     * Encode DER data as RFC 7468 PEM with 64-column lines and a trailing newline
+     */
+    public static String encodePEM(String label, byte[] der) {
+        // One intrinsic pass over the whole body, then split into lines
+        byte[] body = BASE64_ENCODER.encode(der);
+        byte[] pem = new byte[pemEncodedLength(label, der.length)];
+        int offset = putAscii("-----BEGIN ", pem, 0);
+        offset = putAscii(label, pem, offset);
+        offset = putAscii("-----\n", pem, offset);
+        for (int i = 0; i < body.length; i += PEM_LINE_LENGTH) {
+            int length = Math.min(PEM_LINE_LENGTH, body.length - i);
+            System.arraycopy(body, i, pem, offset, length);
+            offset += length;
+            pem[offset++] = '\n';
+        }
+        offset = putAscii("-----END ", pem, offset);
+        offset = putAscii(label, pem, offset);
+        putAscii("-----\n", pem, offset);
+        return new String(pem, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Length of {@link #encodePEM(String, byte[])} output for {@code length} bytes of DER
+     */
+    public static int pemEncodedLength(String label, int length) {
+        int base64 = base64EncodedLength(length);
+        int lines = (base64 + PEM_LINE_LENGTH - 1) / PEM_LINE_LENGTH;
+        return 2 * (label.length() + 16) + base64 + lines;
+    }
+
+    /**
+     * Encode DER data as RFC 7468 PEM into {@code dst}
+     *
+     * @return Offset just past the last written byte
+     */
+    public static int encodePEM(String label, byte[] der, byte[] dst, int offset) {
+        offset = putAscii("-----BEGIN ", dst, offset);
+        offset = putAscii(label, dst, offset);
+        offset = putAscii("-----\n", dst, offset);
+        byte[] block = new byte[PEM_LINE_BYTES];
+        byte[] encoded = new byte[PEM_LINE_LENGTH];
+        for (int i = 0; i < der.length; i += PEM_LINE_BYTES) {
+            offset = encodeLine(der, i, block, encoded, dst, offset);
+            dst[offset++] = '\n';
+        }
+        offset = putAscii("-----END ", dst, offset);
+        offset = putAscii(label, dst, offset);
+        return putAscii("-----\n", dst, offset);
+    }
+
+    /**
+     * Stream RFC 7468 PEM to {@code out}, one 64-column line at a time
+     */
+    public static void writePEM(String label, byte[] der, Appendable out) throws IOException {
+        byte[] block = new byte[PEM_LINE_BYTES];
+        byte[] scratch = new byte[PEM_LINE_LENGTH];
+        byte[] encoded = new byte[PEM_LINE_LENGTH + 1];
+        char[] line = new char[PEM_LINE_LENGTH + 1];
+        CharBuffer lineBuffer = CharBuffer.wrap(line);
+
+        out.append("-----BEGIN ").append(label).append("-----\n");
+        for (int i = 0; i < der.length; i += PEM_LINE_BYTES) {
+            int end = encodeLine(der, i, block, scratch, encoded, 0);
+            encoded[end++] = '\n';
+            for (int j = 0; j < end; j++) {
+                line[j] = (char) encoded[j];
+            }
+            if (out instanceof StringBuilder) {
+                ((StringBuilder) out).append(line, 0, end);
+            } else {
+                out.append(lineBuffer, 0, end);
+            }
+        }
+        out.append("-----END ").append(label).append("-----\n");
+    }
+
+    /**
+     * Stream RFC 7468 PEM as ASCII bytes to {@code out}, one 64-column line at a time
+     */
+    public static void writePEM(String label, byte[] der, OutputStream out) throws IOException {
+        byte[] block = new byte[PEM_LINE_BYTES];
+        byte[] scratch = new byte[PEM_LINE_LENGTH];
+        byte[] line = new byte[PEM_LINE_LENGTH + 1];
+        out.write(("-----BEGIN " + label + "-----\n").getBytes(StandardCharsets.US_ASCII));
+        for (int i = 0; i < der.length; i += PEM_LINE_BYTES) {
+            int end = encodeLine(der, i, block, scratch, line, 0);
+            line[end] = '\n';
+            out.write(line, 0, end + 1);
+        }
+        out.write(("-----END " + label + "-----\n").getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Decode the body of a PEM block with the given label
+     *
+     * Line breaks of any width are accepted; text outside the block is ignored.
+     */
+    public static byte[] decodePEM(String pem, String label) {
+        String begin = "-----BEGIN " + label + "-----";
+        String end = "-----END " + label + "-----";
+        int start = pem.indexOf(begin);
+        int stop = start < 0 ? -1 : pem.indexOf(end, start);
+        if (stop < 0) {
+            throw new IllegalArgumentException("No PEM block labelled " + label);
+        }
+        return decodeBase64(pem.substring(start + begin.length(), stop).getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    private static byte[] decodeBase64(byte[] src) {
+        byte[] decoded = new byte[base64MaxDecodedLength(src.length)];
+        int length = decodeBase64(src, 0, src.length, decoded, 0);
+        return length == decoded.length ? decoded : Arrays.copyOf(decoded, length);
     }
 
     /**
@@ -67,7 +386,7 @@ public class CryptoUtils {
      */
     public static byte[] generateRandomBytes(int length) {
         byte[] random = new byte[length];
-        new SecureRandom().nextBytes(random);
+        OqsRandom.getDefault().nextBytes(random);
         return random;
     }
 
@@ -102,6 +421,10 @@ public class CryptoUtils {
 
     /**
      * Generate a hybrid shared secret by combining classical and PQC secrets
+     *
+     * Plain SHA-512 over the concatenation; new key exchange code should use
+     * {@link com.qsign.oqs.crypto.HybridKEM}, which binds the secrets to the
+     * handshake transcript through HKDF.
      */
     public static byte[] combineSecrets(byte[] classicalSecret, byte[] pqcSecret)
             throws NoSuchAlgorithmException {
@@ -120,27 +443,142 @@ public class CryptoUtils {
         return hybridSecret;
     }
 
+    /**
+     * Derive key material with HKDF-SHA256 (RFC 5869)
+     *
+     * @param salt Optional salt (null or empty means a zero-filled salt)
+     * @param ikm Input keying material
+     * @param info Context and application specific information
+     * @param length Output length in bytes (at most 255 * 32)
+     */
+    public static byte[] hkdfSha256(byte[] salt, byte[] ikm, byte[] info, int length)
+            throws GeneralSecurityException {
+
+        if (length <= 0 || length > 255 * 32) {
+            throw new IllegalArgumentException("Invalid HKDF output length: " + length);
+        }
+
+        // Extract
+        Mac mac = Mac.getInstance("HmacSHA256");
+        byte[] extractSalt = (salt == null || salt.length == 0) ? new byte[32] : salt;
+        mac.init(new SecretKeySpec(extractSalt, "HmacSHA256"));
+        byte[] prk = mac.doFinal(ikm);
+
+        // Expand
+        mac.init(new SecretKeySpec(prk, "HmacSHA256"));
+        byte[] okm = new byte[length];
+        byte[] block = new byte[0];
+        for (int offset = 0, counter = 1; offset < length; counter++) {
+            mac.update(block);
+            mac.update(info);
+            mac.update((byte) counter);
+            block = mac.doFinal();
+            int n = Math.min(block.length, length - offset);
+            System.arraycopy(block, 0, okm, offset, n);
+            offset += n;
+        }
+
+        Arrays.fill(prk, (byte) 0);
+        Arrays.fill(block, (byte) 0);
+        return okm;
+    }
+
     /**
      * Format a byte array as hex string
      */
     public static String toHex(byte[] bytes) {
-        StringBuilder sb = new StringBuilder();
-        for (byte b : bytes) {
-            sb.append(String.format("%02x", b));
+        byte[] hex = new byte[bytes.length * 2];
+        encodeHex(bytes, 0, bytes.length, hex, 0);
+        return new String(hex, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Encode {@code src[srcOffset..srcOffset+length)} as lowercase hex into {@code dst}
+     *
+     * @return Offset just past the last written byte
+     */
+    public static int encodeHex(byte[] src, int srcOffset, int length, byte[] dst, int dstOffset) {
+        for (int i = srcOffset, end = srcOffset + length; i < end; i++) {
+            dst[dstOffset++] = HEX[(src[i] >>> 4) & 0x0f];
+            dst[dstOffset++] = HEX[src[i] & 0x0f];
+        }
+        return dstOffset;
+    }
+
+    /**
+     * Append {@code src} as lowercase hex to {@code out}
+     */
+    public static void encodeHex(byte[] src, Appendable out) throws IOException {
+        for (byte b : src) {
+            out.append((char) HEX[(b >>> 4) & 0x0f]).append((char) HEX[b & 0x0f]);
         }
-        return sb.toString();
     }
 
     /**
      * Parse a hex string to byte array
      */
     public static byte[] fromHex(String hex) {
-        int len = hex.length();
-        byte[] data = new byte[len / 2];
-        for (int i = 0; i < len; i += 2) {
-            data[i / 2] = (byte) ((Character.digit(hex.charAt(i), 16) << 4)
-                + Character.digit(hex.charAt(i + 1), 16));
+        if (hex.length() % 2 != 0) {
+            throw new IllegalArgumentException("Odd hex string length: " + hex.length());
         }
+        byte[] data = new byte[hex.length() / 2];
+        decodeHex(hex, data, 0);
         return data;
     }
+
+    /**
+     * Decode hex (either case) from {@code hex} into {@code dst}
+     *
+     * @return Number of bytes written
+     */
+    public static int decodeHex(CharSequence hex, byte[] dst, int dstOffset) {
+        int length = hex.length() / 2;
+        for (int i = 0; i < length; i++) {
+            dst[dstOffset + i] = (byte) (hexValue(hex, 2 * i) << 4 | hexValue(hex, 2 * i + 1));
+        }
+        return length;
+    }
+
+    private static int hexValue(CharSequence hex, int index) {
+        char c = hex.charAt(index);
+        int value = c < 128 ? HEX_VALUES[c] : INVALID;
+        if (value == INVALID) {
+            throw new IllegalArgumentException("Illegal hex character at " + index + ": " + c);
+        }
+        return value;
+    }
+
+    /**
+     * Encode the PEM line starting at {@code srcOffset} (a full 48-byte block or the final remainder)
+     */
+    private static int encodeLine(byte[] der, int srcOffset, byte[] block, byte[] encoded, byte[] dst, int dstOffset) {
+        int length = Math.min(PEM_LINE_BYTES, der.length - srcOffset);
+        return length == PEM_LINE_BYTES
+            ? encodeBlock(der, srcOffset, block, encoded, dst, dstOffset)
+            : encodeBase64Tail(der, srcOffset, length, dst, dstOffset);
+    }
+
+    private static int putAscii(String text, byte[] dst, int offset) {
+        for (int i = 0; i < text.length(); i++) {
+            dst[offset++] = (byte) text.charAt(i);
+        }
+        return offset;
+    }
+
+    private static void appendBase64(byte[] src, int offset, int length, Appendable out) throws IOException {
+        int i = offset;
+        int end = offset + length;
+        int full = end - length % 3;
+        while (i < full) {
+            int bits = (src[i++] & 0xff) << 16 | (src[i++] & 0xff) << 8 | (src[i++] & 0xff);
+            out.append((char) BASE64[bits >>> 18]).append((char) BASE64[(bits >>> 12) & 0x3f])
+                .append((char) BASE64[(bits >>> 6) & 0x3f]).append((char) BASE64[bits & 0x3f]);
+        }
+        if (i < end) {
+            boolean two = i + 1 < end;
+            int bits = (src[i] & 0xff) << 16 | (two ? (src[i + 1] & 0xff) << 8 : 0);
+            out.append((char) BASE64[bits >>> 18]).append((char) BASE64[(bits >>> 12) & 0x3f])
+                .append(two ? (char) BASE64[(bits >>> 6) & 0x3f] : '=').append('=');
+        }
+    }
 }
@@ -0,0 +1,564 @@
+package com.qsign.oqs.util;
+
+import org.bouncycastle.crypto.digests.SHA512Digest;
+import org.bouncycastle.crypto.engines.AESEngine;
+import org.bouncycastle.crypto.macs.HMac;
+import org.bouncycastle.crypto.prng.drbg.CTRSP800DRBG;
+import org.bouncycastle.crypto.prng.drbg.HMacSP800DRBG;
+import org.bouncycastle.crypto.prng.drbg.HashSP800DRBG;
+import org.bouncycastle.crypto.prng.drbg.SP80090DRBG;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.security.SecureRandomSpi;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Striped pool of SP 800-90A DRBGs behind a {@link SecureRandom}
+ *
+ * A {@code new SecureRandom()} per operation reads the shared native seed source
+ * and allocates a fresh generator; under load the callers serialize on it. This
+ * class keeps a fixed number of independently seeded DRBG stripes instead. A caller
+ * starts at the stripe picked by its thread id and takes the first one whose lock is
+ * free, so concurrent fills rarely wait and the number of generators does not grow
+ * with the number of (virtual) threads. Stripes are guarded by
+ * {@link ReentrantLock}s rather than monitors so a virtual thread never pins its
+ * carrier while generating.
+ *
+ * A background thread reseeds every stripe at a fixed interval. Fresh entropy is
+ * read from the pluggable {@link EntropySource} before the stripe lock is taken, so
+ * a slow source (an HSM, a remote beacon) never stalls generation.
+ * {@link #close()} stops the background reseeding only; the instance stays usable.
+ *
+ * {@link #getDefault()} returns the process-wide instance used by the OQS wrappers;
+ * the {@value #MECHANISM_PROPERTY} system property picks its mechanism:
+ *
+ * - hash (default): Hash_DRBG with SHA-512
+ * - hmac: HMAC_DRBG with HMAC-SHA-512
+ * - ctr: CTR_DRBG with AES-256
+ */
+public final class OqsRandom extends SecureRandom implements AutoCloseable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final Logger logger = LoggerFactory.getLogger(OqsRandom.class);
+
+    public static final String MECHANISM_PROPERTY = "qsign.oqs.random";
+
+    private static final int SECURITY_STRENGTH = 256;
+    private static final int ENTROPY_BYTES = SECURITY_STRENGTH / 8;
+    private static final int NONCE_BYTES = 16;
+
+    /**
+     * Largest single request every supported mechanism accepts (2^18 bits)
+     */
+    private static final int MAX_REQUEST_BYTES = 32 * 1024;
+
+    private static final byte[] PERSONALIZATION = "QSIGN-OQS-RANDOM-v1".getBytes(StandardCharsets.US_ASCII);
+
+    private static volatile OqsRandom defaultInstance;
+
+    /**
+     * Source of seed material for instantiation and reseeding
+     *
+     * Called from the background reseed thread and from {@link #generateSeed(int)};
+     * implementations must be thread-safe and should return full-entropy bytes.
+     */
+    @FunctionalInterface
+    public interface EntropySource {
+        byte[] getEntropy(int length);
+
+        /**
+         * The platform's non-blocking source ({@code /dev/urandom} on Linux)
+         */
+        static EntropySource system() {
+            return SystemEntropy::getEntropy;
+        }
+    }
+
+    /**
+     * SP 800-90A construction run by each stripe
+     */
+    public enum Mechanism {
+        HASH("Hash_DRBG/SHA-512"),
+        HMAC("HMAC_DRBG/SHA-512"),
+        CTR("CTR_DRBG/AES-256");
+
+        private final String algorithm;
+
+        Mechanism(String algorithm) {
+            this.algorithm = algorithm;
+        }
+
+        public String getAlgorithm() {
+            return algorithm;
+        }
+    }
+
+    /**
+     * Pool settings
+     */
+    public static class Config {
+        private int stripes = 4 * Runtime.getRuntime().availableProcessors();
+        private Mechanism mechanism = Mechanism.HASH;
+        private Duration reseedInterval = Duration.ofMinutes(5);
+        private EntropySource entropySource = EntropySource.system();
+        private int bufferSize = 4096;
+
+        /**
+         * Number of independent DRBGs, rounded up to a power of two (default: 4 x CPUs)
+         */
+        public Config setStripes(int stripes) {
+            this.stripes = stripes;
+            return this;
+        }
+
+        public Config setMechanism(Mechanism mechanism) {
+            this.mechanism = mechanism;
+            return this;
+        }
+
+        /**
+         * Time between background reseeds of all stripes; zero disables them (default: 5 minutes)
+         */
+        public Config setReseedInterval(Duration reseedInterval) {
+            this.reseedInterval = reseedInterval;
+            return this;
+        }
+
+        public Config setEntropySource(EntropySource entropySource) {
+            this.entropySource = entropySource;
+            return this;
+        }
+
+        /**
+         * Output each stripe generates ahead for requests up to a quarter of this size;
+         * zero generates every request directly (default: 4096 bytes)
+         */
+        public Config setBufferSize(int bufferSize) {
+            this.bufferSize = bufferSize;
+            return this;
+        }
+
+        public int getStripes() {
+            return stripes;
+        }
+
+        public Mechanism getMechanism() {
+            return mechanism;
+        }
+
+        public Duration getReseedInterval() {
+            return reseedInterval;
+        }
+
+        public EntropySource getEntropySource() {
+            return entropySource;
+        }
+
+        public int getBufferSize() {
+            return bufferSize;
+        }
+    }
+
+    private final transient Pool pool;
+
+    /**
+     * Create a pool with the default settings
+     */
+    public OqsRandom() {
+        this(new Config());
+    }
+
+    /**
+     * Create a pool, seed every stripe and start background reseeding
+     */
+    public OqsRandom(Config config) {
+        this(new Pool(config));
+    }
+
+    private OqsRandom(Pool pool) {
+        super(pool, null);
+        this.pool = pool;
+    }
+
+    /**
+     * Process-wide instance, created on first use with the mechanism chosen by
+     * {@value #MECHANISM_PROPERTY}
+     */
+    public static OqsRandom getDefault() {
+        OqsRandom result = defaultInstance;
+        if (result == null) {
+            synchronized (OqsRandom.class) {
+                result = defaultInstance;
+                if (result == null) {
+                    result = new OqsRandom(new Config().setMechanism(
+                        selectMechanism(System.getProperty(MECHANISM_PROPERTY, "hash"))));
+                    logger.info("Created default OqsRandom: {}", result);
+                    defaultInstance = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Stop reseeding the default instance and re-read {@value #MECHANISM_PROPERTY} on next use
+     */
+    public static synchronized void reset() {
+        if (defaultInstance != null) {
+            defaultInstance.close();
+            defaultInstance = null;
+        }
+    }
+
+    // SecureRandom serializes calls into a provider-less SPI; the pool does its own locking
+
+    @Override
+    public void nextBytes(byte[] bytes) {
+        pool.engineNextBytes(bytes);
+    }
+
+    /**
+     * Seed material straight from the entropy source, bypassing the DRBGs
+     */
+    @Override
+    public byte[] generateSeed(int numBytes) {
+        return pool.engineGenerateSeed(numBytes);
+    }
+
+    /**
+     * Mix caller-supplied material into every stripe as reseed additional input
+     */
+    @Override
+    public void setSeed(byte[] seed) {
+        pool.engineSetSeed(seed);
+    }
+
+    @Override
+    public void setSeed(long seed) {
+        // invoked by the Random constructor before the pool is assigned
+        if (pool != null) {
+            pool.engineSetSeed(ByteBuffer.allocate(Long.BYTES).putLong(seed).array());
+        }
+    }
+
+    /**
+     * Reseed every stripe from the entropy source now
+     */
+    @Override
+    public void reseed() {
+        pool.reseedAll(null);
+    }
+
+    @Override
+    public String getAlgorithm() {
+        return pool.mechanism.getAlgorithm();
+    }
+
+    public Mechanism getMechanism() {
+        return pool.mechanism;
+    }
+
+    public int getStripeCount() {
+        return pool.stripes.length;
+    }
+
+    /**
+     * Stripe reseeds so far, background and explicit
+     */
+    public long getReseeds() {
+        return pool.reseeds.sum();
+    }
+
+    /**
+     * Fills that found every stripe busy and had to wait for one
+     */
+    public long getContended() {
+        return pool.contended.sum();
+    }
+
+    /**
+     * Stop background reseeding; generation keeps working on the current state
+     */
+    @Override
+    public void close() {
+        if (pool.reseeder != null) {
+            pool.reseeder.shutdownNow();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return pool.toString();
+    }
+
+    private static Mechanism selectMechanism(String name) {
+        for (Mechanism mechanism : Mechanism.values()) {
+            if (mechanism.name().equalsIgnoreCase(name)) {
+                return mechanism;
+            }
+        }
+        logger.warn("DRBG mechanism '{}' is not supported, falling back to {}", name, Mechanism.HASH);
+        return Mechanism.HASH;
+    }
+
+    /**
+     * The stripes and the reseed schedule
+     */
+    private static final class Pool extends SecureRandomSpi {
+        private static final long serialVersionUID = 1L;
+
+        private final Mechanism mechanism;
+        private final EntropySource entropySource;
+        private final Stripe[] stripes;
+        private final int mask;
+        private final ScheduledExecutorService reseeder;
+
+        private final LongAdder reseeds = new LongAdder();
+        private final LongAdder contended = new LongAdder();
+
+        Pool(Config config) {
+            if (config.getStripes() < 1 || config.getStripes() > 1024) {
+                throw new IllegalArgumentException("Stripes must be between 1 and 1024: " + config.getStripes());
+            }
+            if (config.getMechanism() == null || config.getEntropySource() == null) {
+                throw new IllegalArgumentException("Mechanism and entropy source are required");
+            }
+            if (config.getBufferSize() < 0 || config.getBufferSize() > MAX_REQUEST_BYTES) {
+                throw new IllegalArgumentException("Buffer size must be between 0 and " + MAX_REQUEST_BYTES
+                    + ": " + config.getBufferSize());
+            }
+            Duration interval = config.getReseedInterval();
+            if (interval == null || interval.isNegative()) {
+                throw new IllegalArgumentException("Invalid reseed interval: " + interval);
+            }
+
+            this.mechanism = config.getMechanism();
+            this.entropySource = config.getEntropySource();
+            int count = config.getStripes() == 1 ? 1 : Integer.highestOneBit(config.getStripes() - 1) << 1;
+            this.stripes = new Stripe[count];
+            this.mask = count - 1;
+            for (int i = 0; i < count; i++) {
+                stripes[i] = new Stripe(mechanism, entropySource, i, config.getBufferSize());
+            }
+
+            if (interval.isZero()) {
+                this.reseeder = null;
+            } else {
+                this.reseeder = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "oqs-random-reseed");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+                long millis = interval.toMillis();
+                reseeder.scheduleWithFixedDelay(this::backgroundReseed, millis, millis, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        @Override
+        protected void engineNextBytes(byte[] bytes) {
+            if (bytes.length == 0) {
+                return;
+            }
+            Stripe stripe = acquire();
+            try {
+                stripe.generate(bytes);
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+
+        @Override
+        protected byte[] engineGenerateSeed(int numBytes) {
+            if (numBytes < 0) {
+                throw new IllegalArgumentException("numBytes cannot be negative");
+            }
+            return entropySource.getEntropy(numBytes);
+        }
+
+        @Override
+        protected void engineSetSeed(byte[] seed) {
+            reseedAll(seed.clone());
+        }
+
+        /**
+         * Lock the first free stripe starting at the caller's home stripe, or wait for the home stripe
+         */
+        private Stripe acquire() {
+            int home = (int) ((Thread.currentThread().getId() * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+            for (int i = 0; i <= mask; i++) {
+                Stripe stripe = stripes[(home + i) & mask];
+                if (stripe.lock.tryLock()) {
+                    return stripe;
+                }
+            }
+            contended.increment();
+            Stripe stripe = stripes[home];
+            stripe.lock.lock();
+            return stripe;
+        }
+
+        void reseedAll(byte[] additionalInput) {
+            for (Stripe stripe : stripes) {
+                byte[] entropy = entropySource.getEntropy(ENTROPY_BYTES);
+                stripe.lock.lock();
+                try {
+                    stripe.reseed(entropy, additionalInput);
+                } finally {
+                    stripe.lock.unlock();
+                }
+                reseeds.increment();
+            }
+        }
+
+        private void backgroundReseed() {
+            try {
+                reseedAll(null);
+                logger.debug("Reseeded {} {} stripes", stripes.length, mechanism.getAlgorithm());
+            } catch (RuntimeException e) {
+                // the stripes stay valid on their previous seed; try again next interval
+                logger.warn("OqsRandom background reseed failed: {}", e.toString());
+            }
+        }
+
+        @Override
+        public String toString() {
+            return String.format("OqsRandom[%s, stripes=%d, reseeds=%d, contended=%d]",
+                mechanism.getAlgorithm(), stripes.length, reseeds.sum(), contended.sum());
+        }
+    }
+
+    /**
+     * One DRBG and its lock; all access happens with the lock held
+     *
+     * Small requests are served from a block generated ahead, which amortizes the
+     * per-call cost of the DRBG. Bytes are erased as they are handed out and the
+     * block is dropped on reseed, so output already returned cannot be recovered
+     * from the stripe and output after a reseed depends on the new seed.
+     */
+    private static final class Stripe implements org.bouncycastle.crypto.prng.EntropySource {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final EntropySource source;
+        private final SP80090DRBG drbg;
+        private final byte[] output;
+        private int available;
+        private byte[] prefetched;
+        private byte[] buffer;
+
+        Stripe(Mechanism mechanism, EntropySource source, int index, int bufferSize) {
+            this.source = source;
+            this.output = bufferSize == 0 ? null : new byte[bufferSize];
+            byte[] nonce = source.getEntropy(NONCE_BYTES);
+            byte[] personalization = ByteBuffer.allocate(PERSONALIZATION.length + 12)
+                .put(PERSONALIZATION)
+                .putInt(index)
+                .putLong(System.nanoTime())
+                .array();
+            switch (mechanism) {
+                case HMAC:
+                    drbg = new HMacSP800DRBG(new HMac(new SHA512Digest()), SECURITY_STRENGTH, this,
+                        personalization, nonce);
+                    break;
+                case CTR:
+                    drbg = new CTRSP800DRBG(AESEngine.newInstance(), 256, SECURITY_STRENGTH, this,
+                        personalization, nonce);
+                    break;
+                default:
+                    drbg = new HashSP800DRBG(new SHA512Digest(), SECURITY_STRENGTH, this,
+                        personalization, nonce);
+                    break;
+            }
+        }
+
+        void generate(byte[] bytes) {
+            if (output != null && bytes.length <= output.length / 4) {
+                if (available < bytes.length) {
+                    generateChecked(output);
+                    available = output.length;
+                }
+                int from = output.length - available;
+                System.arraycopy(output, from, bytes, 0, bytes.length);
+                Arrays.fill(output, from, from + bytes.length, (byte) 0);
+                available -= bytes.length;
+                return;
+            }
+            if (bytes.length <= MAX_REQUEST_BYTES) {
+                generateChecked(bytes);
+                return;
+            }
+            if (buffer == null) {
+                buffer = new byte[MAX_REQUEST_BYTES];
+            }
+            for (int offset = 0; offset < bytes.length; offset += MAX_REQUEST_BYTES) {
+                int length = Math.min(MAX_REQUEST_BYTES, bytes.length - offset);
+                byte[] block = length == MAX_REQUEST_BYTES ? buffer : new byte[length];
+                generateChecked(block);
+                System.arraycopy(block, 0, bytes, offset, length);
+            }
+            Arrays.fill(buffer, (byte) 0);
+        }
+
+        private void generateChecked(byte[] bytes) {
+            if (drbg.generate(bytes, null, false) < 0) {
+                // reseed counter exhausted
+                drbg.reseed(null);
+                drbg.generate(bytes, null, false);
+            }
+        }
+
+        void reseed(byte[] entropy, byte[] additionalInput) {
+            prefetched = entropy;
+            drbg.reseed(additionalInput);
+            if (output != null) {
+                Arrays.fill(output, (byte) 0);
+                available = 0;
+            }
+        }
+
+        @Override
+        public boolean isPredictionResistant() {
+            return false;
+        }
+
+        @Override
+        public byte[] getEntropy() {
+            byte[] entropy = prefetched;
+            if (entropy != null) {
+                prefetched = null;
+                return entropy;
+            }
+            return source.getEntropy(ENTROPY_BYTES);
+        }
+
+        @Override
+        public int entropySize() {
+            return SECURITY_STRENGTH;
+        }
+    }
+
+    /**
+     * Lazily created platform source shared by all pools
+     */
+    private static final class SystemEntropy {
+        private static final SecureRandom INSTANCE = new SecureRandom();
+
+        private SystemEntropy() {
+        }
+
+        static byte[] getEntropy(int length) {
+            byte[] entropy = new byte[length];
+            INSTANCE.nextBytes(entropy);
+            return entropy;
+        }
+    }
+}
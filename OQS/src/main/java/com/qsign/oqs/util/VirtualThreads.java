@@ -0,0 +1,29 @@
+package com.qsign.oqs.util;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Virtual thread support without a compile-time dependency on Java 21
+ */
+public final class VirtualThreads {
+
+    private VirtualThreads() {
+    }
+
+    /**
+     * Executors.newVirtualThreadPerTaskExecutor() looked up reflectively so the
+     * library still compiles for and runs on Java 17
+     *
+     * @return A new executor, or null if the runtime has no virtual threads
+     */
+    public static ExecutorService newPerTaskExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+}
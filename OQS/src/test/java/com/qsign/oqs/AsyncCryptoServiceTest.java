@@ -0,0 +1,136 @@
+package com.qsign.oqs;
+
+import com.qsign.oqs.crypto.AsyncCryptoService;
+import com.qsign.oqs.crypto.DilithiumSignature;
+import com.qsign.oqs.crypto.KyberKEM;
+import com.qsign.oqs.provider.QSIGNIntegration;
+import org.bouncycastle.jcajce.SecretKeyWithEncapsulation;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.SecretKey;
+import java.security.InvalidKeyException;
+import java.security.KeyPair;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 비동기 암호 서비스 테스트
+ *
+ * CompletableFuture 기반 서명/검증/캡슐화/역캡슐화와
+ * 동시 처리 한도(back-pressure) 및 거부 지표를 검증합니다.
+ *
+ * Test cases for the asynchronous crypto service
+ */
+public class AsyncCryptoServiceTest {
+
+    /**
+     * 테스트 초기화
+     * OQS Provider를 등록하고 QSIGN 통합을 초기화합니다.
+     */
+    @BeforeAll
+    public static void setup() {
+        QSIGNIntegration.initialize();
+    }
+
+    /**
+     * 비동기 서명/검증 및 캡슐화/역캡슐화 테스트
+     */
+    @Test
+    public void testAsyncRoundTrips() throws Exception {
+        DilithiumSignature dilithium = DilithiumSignature.dilithium2();
+        KyberKEM kyber = new KyberKEM(KyberKEM.KyberVariant.KYBER768);
+        KeyPair signingKeys = dilithium.generateKeyPair();
+        KeyPair kemKeys = kyber.generateKeyPair();
+        byte[] message = "async PQC".getBytes();
+
+        try (AsyncCryptoService service = new AsyncCryptoService(dilithium, kyber,
+                new AsyncCryptoService.Config().setThreads(2))) {
+
+            boolean valid = service.sign(signingKeys.getPrivate(), message)
+                .thenCompose(signature -> service.verify(signingKeys.getPublic(), message, signature))
+                .get();
+            assertTrue(valid);
+
+            SecretKeyWithEncapsulation sent = service.encapsulate(kemKeys.getPublic()).get();
+            SecretKey received = service.decapsulate(kemKeys.getPrivate(), sent.getEncapsulation()).get();
+            assertArrayEquals(sent.getEncoded(), received.getEncoded());
+
+            AsyncCryptoService.Metrics metrics = service.getMetrics();
+            assertEquals(4, metrics.getCompleted());
+            assertEquals(0, metrics.getRejected());
+            assertEquals(0, metrics.getInFlight());
+
+            System.out.println("✅ Async round trips: " + metrics);
+        }
+    }
+
+    /**
+     * 동시 처리 한도 초과 시 거부 테스트
+     *
+     * 실행되지 않은 작업이 한도만큼 쌓이면 이후 요청은 즉시
+     * RejectedExecutionException으로 실패해야 합니다.
+     */
+    @Test
+    public void testBackPressureRejects() throws Exception {
+        DilithiumSignature dilithium = DilithiumSignature.dilithium2();
+        KeyPair keyPair = dilithium.generateKeyPair();
+        List<Runnable> parked = new ArrayList<>();
+
+        AsyncCryptoService service = new AsyncCryptoService(dilithium, null,
+            new AsyncCryptoService.Config().setMaxInFlight(2).setExecutor(parked::add));
+
+        CompletableFuture<byte[]> first = service.sign(keyPair.getPrivate(), new byte[]{1});
+        CompletableFuture<byte[]> second = service.sign(keyPair.getPrivate(), new byte[]{2});
+        CompletableFuture<byte[]> third = service.sign(keyPair.getPrivate(), new byte[]{3});
+
+        ExecutionException rejected = assertThrows(ExecutionException.class, third::get);
+        assertInstanceOf(RejectedExecutionException.class, rejected.getCause());
+        assertEquals(1, service.getMetrics().getRejected());
+        assertEquals(2, service.getMetrics().getInFlight());
+
+        parked.forEach(Runnable::run);
+        assertNotNull(first.get());
+        assertNotNull(second.get());
+        assertEquals(0, service.getMetrics().getInFlight());
+
+        // 슬롯이 반환되면 다시 수락
+        CompletableFuture<byte[]> fourth = service.sign(keyPair.getPrivate(), new byte[]{4});
+        parked.get(2).run();
+        assertNotNull(fourth.get());
+    }
+
+    /**
+     * 실패 원인 전달 및 가상 스레드 설정 테스트
+     *
+     * Java 17에서는 가상 스레드 대신 CPU 풀로 대체되어야 하며,
+     * 보안 예외는 감싸지지 않은 원인으로 전달되어야 합니다.
+     */
+    @Test
+    public void testFailureCauseAndVirtualThreadConfig() throws Exception {
+        DilithiumSignature dilithium2 = DilithiumSignature.dilithium2();
+        KeyPair wrongVariant = DilithiumSignature.dilithium5().generateKeyPair();
+
+        try (AsyncCryptoService service = new AsyncCryptoService(dilithium2, null,
+                new AsyncCryptoService.Config().setExecutorType(AsyncCryptoService.ExecutorType.VIRTUAL_THREADS))) {
+
+            KeyPair keyPair = dilithium2.generateKeyPair();
+            assertNotNull(service.sign(keyPair.getPrivate(), new byte[]{1}).get());
+
+            ExecutionException failure = assertThrows(ExecutionException.class,
+                () -> service.sign(wrongVariant.getPrivate(), new byte[]{1}).get());
+            assertInstanceOf(InvalidKeyException.class, failure.getCause());
+
+            ExecutionException noKem = assertThrows(ExecutionException.class,
+                () -> service.encapsulate(keyPair.getPublic()).get());
+            assertInstanceOf(IllegalStateException.class, noKem.getCause());
+
+            assertEquals(2, service.getMetrics().getFailed());
+        }
+    }
+}
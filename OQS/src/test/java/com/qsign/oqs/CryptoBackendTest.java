@@ -0,0 +1,205 @@
+package com.qsign.oqs;
+
+import com.qsign.oqs.backend.BouncyCastleBackend;
+import com.qsign.oqs.backend.CryptoBackend;
+import com.qsign.oqs.backend.CryptoBackends;
+import com.qsign.oqs.crypto.DilithiumSignature;
+import com.qsign.oqs.crypto.KyberKEM;
+import com.qsign.oqs.provider.QSIGNIntegration;
+import org.bouncycastle.jcajce.SecretKeyWithEncapsulation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.security.GeneralSecurityException;
+import java.security.InvalidKeyException;
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 암호 백엔드 SPI 테스트
+ *
+ * BouncyCastle 백엔드가 JCA 경로와 상호 호환되는지, ServiceLoader로 발견된
+ * 백엔드가 선택되고 지원하지 않는 변형이나 부재 시 BouncyCastle로 대체되는지 검증합니다.
+ *
+ * Test cases for the crypto backend SPI and runtime selection
+ */
+public class CryptoBackendTest {
+
+    private static final byte[] MESSAGE = "backend message".getBytes();
+
+    /**
+     * 테스트 전용 백엔드
+     *
+     * qsign.oqs.test.backend 속성이 있을 때만 사용 가능하며,
+     * DILITHIUM3만 지원하고 호출 수를 세면서 BouncyCastle에 위임합니다.
+     */
+    public static class RestrictedBackend implements CryptoBackend {
+        static final AtomicInteger CALLS = new AtomicInteger();
+
+        @Override
+        public String getName() {
+            return "restricted";
+        }
+
+        @Override
+        public int getPriority() {
+            return 50;
+        }
+
+        @Override
+        public boolean isAvailable() {
+            return System.getProperty("qsign.oqs.test.backend") != null;
+        }
+
+        @Override
+        public boolean supports(String algorithm) {
+            return "DILITHIUM3".equalsIgnoreCase(algorithm);
+        }
+
+        @Override
+        public Signer newSigner(String algorithm, PrivateKey privateKey) throws InvalidKeyException {
+            Signer signer = BouncyCastleBackend.INSTANCE.newSigner(algorithm, privateKey);
+            return message -> {
+                CALLS.incrementAndGet();
+                return signer.sign(message);
+            };
+        }
+
+        @Override
+        public Verifier newVerifier(String algorithm, PublicKey publicKey) throws InvalidKeyException {
+            Verifier verifier = BouncyCastleBackend.INSTANCE.newVerifier(algorithm, publicKey);
+            return (message, signature) -> {
+                CALLS.incrementAndGet();
+                return verifier.verify(message, signature);
+            };
+        }
+
+        @Override
+        public Encapsulation encapsulate(String algorithm, PublicKey publicKey) throws GeneralSecurityException {
+            throw new UnsupportedOperationException(algorithm);
+        }
+
+        @Override
+        public byte[] decapsulate(String algorithm, PrivateKey privateKey, byte[] ciphertext) {
+            throw new UnsupportedOperationException(algorithm);
+        }
+    }
+
+    /**
+     * 테스트 초기화
+     * OQS Provider를 등록하고 QSIGN 통합을 초기화합니다.
+     */
+    @BeforeAll
+    public static void setup() {
+        QSIGNIntegration.initialize();
+    }
+
+    @AfterEach
+    public void restoreSelection() {
+        System.clearProperty("qsign.oqs.test.backend");
+        System.clearProperty(CryptoBackends.BACKEND_PROPERTY);
+        CryptoBackends.reset();
+    }
+
+    /**
+     * 기본 선택 테스트
+     *
+     * 다른 백엔드가 없으면 BouncyCastle이 선택되어야 합니다.
+     */
+    @Test
+    public void testDefaultIsBouncyCastle() {
+        assertEquals(BouncyCastleBackend.NAME, CryptoBackends.get().getName());
+        assertEquals(1, CryptoBackends.available().size());
+        assertSame(BouncyCastleBackend.INSTANCE, DilithiumSignature.dilithium3().getBackend());
+        assertSame(BouncyCastleBackend.INSTANCE, KyberKEM.kyber1024().getBackend());
+    }
+
+    /**
+     * BouncyCastle 백엔드와 JCA 경로의 호환성 테스트
+     *
+     * 백엔드로 만든 서명/캡슐화 결과를 JCA 경로가 그대로 받아들여야 합니다.
+     */
+    @Test
+    public void testBouncyCastleBackendMatchesJca() throws Exception {
+        DilithiumSignature dilithium = DilithiumSignature.dilithium3();
+        KeyPair keyPair = dilithium.generateKeyPair();
+        CryptoBackend backend = BouncyCastleBackend.INSTANCE;
+
+        byte[] signature = backend.newSigner("DILITHIUM3", keyPair.getPrivate()).sign(MESSAGE);
+        assertTrue(dilithium.verify(keyPair.getPublic(), MESSAGE, signature));
+        assertTrue(backend.newVerifier("DILITHIUM3", keyPair.getPublic())
+            .verify(MESSAGE, dilithium.sign(keyPair.getPrivate(), MESSAGE)));
+        assertThrows(InvalidKeyException.class, () -> backend.newVerifier("DILITHIUM2", keyPair.getPublic()));
+
+        assertEquals(1952, BouncyCastleBackend.rawPublicKey("DILITHIUM3", keyPair.getPublic()).length);
+        assertEquals(4000, BouncyCastleBackend.rawPrivateKey("DILITHIUM3", keyPair.getPrivate()).length);
+
+        for (KyberKEM.KyberVariant variant : new KyberKEM.KyberVariant[]{
+                KyberKEM.KyberVariant.KYBER768, KyberKEM.KyberVariant.KYBER1024}) {
+            KyberKEM kem = new KyberKEM(variant);
+            KeyPair kemKeys = kem.generateKeyPair();
+
+            CryptoBackend.Encapsulation encapsulation =
+                backend.encapsulate(variant.getAlgorithm(), kemKeys.getPublic());
+            assertEquals(variant.getCiphertextSize(), encapsulation.getCiphertext().length);
+            assertArrayEquals(encapsulation.getSharedSecret(),
+                kem.decapsulate(kemKeys.getPrivate(), encapsulation.getCiphertext()).getEncoded());
+
+            SecretKeyWithEncapsulation jca = kem.encapsulate(kemKeys.getPublic());
+            assertArrayEquals(jca.getEncoded(),
+                backend.decapsulate(variant.getAlgorithm(), kemKeys.getPrivate(), jca.getEncapsulation()));
+        }
+    }
+
+    /**
+     * ServiceLoader 백엔드 선택 및 대체 테스트
+     *
+     * 우선순위가 높은 백엔드가 자동 선택되고, 지원하지 않는 변형은 BouncyCastle로 대체되어야 합니다.
+     */
+    @Test
+    public void testDiscoveredBackendWithFallback() throws Exception {
+        System.setProperty("qsign.oqs.test.backend", "true");
+        CryptoBackends.reset();
+
+        assertEquals("restricted", CryptoBackends.get().getName());
+        assertEquals(2, CryptoBackends.available().size());
+
+        DilithiumSignature dilithium3 = DilithiumSignature.dilithium3();
+        assertEquals("restricted", dilithium3.getBackend().getName());
+        assertSame(BouncyCastleBackend.INSTANCE, DilithiumSignature.dilithium2().getBackend());
+        assertSame(BouncyCastleBackend.INSTANCE, KyberKEM.kyber1024().getBackend());
+
+        int before = RestrictedBackend.CALLS.get();
+        KeyPair keyPair = dilithium3.generateKeyPair();
+        byte[] signature = dilithium3.sign(keyPair.getPrivate(), MESSAGE);
+        assertTrue(dilithium3.verify(keyPair.getPublic(), MESSAGE, signature));
+        assertTrue(dilithium3.prepare(keyPair.getPublic()).verify(MESSAGE, signature));
+        assertEquals(before + 3, RestrictedBackend.CALLS.get());
+
+        // 명시적 선택
+        System.setProperty(CryptoBackends.BACKEND_PROPERTY, BouncyCastleBackend.NAME);
+        CryptoBackends.reset();
+        assertSame(BouncyCastleBackend.INSTANCE, DilithiumSignature.dilithium3().getBackend());
+
+        assertThrows(IllegalArgumentException.class, () -> new DilithiumSignature(
+            DilithiumSignature.DilithiumVariant.DILITHIUM5, DilithiumSignature.EngineMode.PER_CALL,
+            new RestrictedBackend()));
+    }
+
+    /**
+     * 없는 백엔드 요청 시 대체 테스트
+     */
+    @Test
+    public void testMissingBackendFallsBack() {
+        System.setProperty(CryptoBackends.BACKEND_PROPERTY, "qssl");
+        CryptoBackends.reset();
+
+        assertNull(CryptoBackends.find("qssl"));
+        assertSame(BouncyCastleBackend.INSTANCE, CryptoBackends.get());
+    }
+}
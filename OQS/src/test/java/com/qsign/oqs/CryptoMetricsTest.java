@@ -0,0 +1,118 @@
+package com.qsign.oqs;
+
+import com.qsign.oqs.crypto.DilithiumSignature;
+import com.qsign.oqs.crypto.KyberKEM;
+import com.qsign.oqs.metrics.CryptoMetrics;
+import com.qsign.oqs.metrics.CryptoMetricsListener;
+import com.qsign.oqs.metrics.OperationStats;
+import com.qsign.oqs.provider.QSIGNIntegration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.security.KeyPair;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 암호 연산 계측 테스트
+ *
+ * 연산/변형별 카운터와 지연 히스토그램, 리스너 SPI, JMX 노출,
+ * 비활성화 시 기록하지 않는 동작을 검증합니다.
+ *
+ * Test cases for crypto operation instrumentation
+ */
+public class CryptoMetricsTest {
+
+    /**
+     * 테스트 초기화
+     * OQS Provider를 등록하고 QSIGN 통합을 초기화합니다.
+     */
+    @BeforeAll
+    public static void setup() {
+        QSIGNIntegration.initialize();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        CryptoMetrics.disable();
+        CryptoMetrics.reset();
+    }
+
+    /**
+     * 연산별 카운터 및 리스너 테스트
+     */
+    @Test
+    public void testCountersAndListener() throws Exception {
+        DilithiumSignature dilithium = DilithiumSignature.dilithium2();
+        KyberKEM kyber = new KyberKEM(KyberKEM.KyberVariant.KYBER512);
+        KeyPair signingKeys = dilithium.generateKeyPair();
+        KeyPair kemKeys = kyber.generateKeyPair();
+
+        AtomicInteger notified = new AtomicInteger();
+        CryptoMetricsListener listener = (operation, variant, nanos, success) -> notified.incrementAndGet();
+        CryptoMetrics.addListener(listener);
+        CryptoMetrics.enable();
+        CryptoMetrics.reset();
+        try {
+            byte[] message = "metrics".getBytes();
+            byte[] signature = dilithium.sign(signingKeys.getPrivate(), message);
+            assertTrue(dilithium.verify(signingKeys.getPublic(), message, signature));
+            assertTrue(dilithium.prepare(signingKeys.getPublic()).verify(message, signature));
+            kyber.decapsulate(kemKeys.getPrivate(), kyber.encapsulate(kemKeys.getPublic()).getEncapsulation());
+            assertThrows(Exception.class, () -> dilithium.sign(kemKeys.getPrivate(), message));
+        } finally {
+            CryptoMetrics.removeListener(listener);
+        }
+
+        OperationStats sign = CryptoMetrics.getStats(CryptoMetrics.Operation.SIGN, "DILITHIUM2");
+        OperationStats verify = CryptoMetrics.getStats(CryptoMetrics.Operation.VERIFY, "DILITHIUM2");
+        assertEquals(2, sign.getCount());
+        assertEquals(1, sign.getErrors());
+        assertEquals(2, verify.getCount());
+        assertEquals(1, CryptoMetrics.getStats(CryptoMetrics.Operation.ENCAPSULATE, "KYBER512").getCount());
+        assertEquals(1, CryptoMetrics.getStats(CryptoMetrics.Operation.DECAPSULATE, "KYBER512").getCount());
+        assertEquals(6, notified.get());
+        assertTrue(verify.getP50Micros() > 0);
+        assertTrue(verify.getMaxMicros() >= verify.getP50Micros());
+
+        System.out.println("✅ " + sign);
+        System.out.println("✅ " + verify);
+    }
+
+    /**
+     * 비활성화 상태에서 기록하지 않음 테스트
+     */
+    @Test
+    public void testDisabledRecordsNothing() throws Exception {
+        DilithiumSignature dilithium = DilithiumSignature.dilithium2();
+        KeyPair keyPair = dilithium.generateKeyPair();
+        CryptoMetrics.reset();
+
+        assertFalse(CryptoMetrics.isEnabled());
+        dilithium.sign(keyPair.getPrivate(), new byte[]{1});
+
+        OperationStats sign = CryptoMetrics.getStats(CryptoMetrics.Operation.SIGN, "DILITHIUM2");
+        assertTrue(sign == null || sign.getCount() == 0);
+    }
+
+    /**
+     * JMX MXBean 노출 테스트
+     */
+    @Test
+    public void testJmxExport() throws Exception {
+        KyberKEM kyber = new KyberKEM(KyberKEM.KyberVariant.KYBER768);
+        CryptoMetrics.enable(true);
+        kyber.generateKeyPair();
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = CryptoMetrics.objectName(CryptoMetrics.Operation.KEYGEN, "KYBER768");
+        assertTrue(server.isRegistered(name));
+        assertTrue((Long) server.getAttribute(name, "Count") >= 1);
+        assertEquals("KYBER768", server.getAttribute(name, "Variant"));
+    }
+}
@@ -0,0 +1,122 @@
+package com.qsign.oqs;
+
+import com.qsign.oqs.crypto.DilithiumSignature;
+import com.qsign.oqs.provider.QSIGNIntegration;
+import com.qsign.oqs.util.CryptoUtils;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.util.Base64;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 인코딩 유틸리티 테스트
+ *
+ * 테이블 기반 hex/Base64/PEM 코덱이 JDK 구현과 같은 결과를 내고,
+ * 호출자 버퍼(byte[], ByteBuffer, Appendable)에 올바르게 쓰는지 검증합니다.
+ *
+ * Test cases for the hex, Base64 and PEM codecs in CryptoUtils
+ */
+public class CryptoUtilsTest {
+
+    /**
+     * 테스트 초기화
+     * OQS Provider를 등록하고 QSIGN 통합을 초기화합니다.
+     */
+    @BeforeAll
+    public static void setup() {
+        QSIGNIntegration.initialize();
+    }
+
+    /**
+     * JDK Base64와의 호환성 테스트
+     *
+     * 모든 나머지 길이(0, 1, 2)와 PQC 서명 크기에서 결과가 같아야 합니다.
+     */
+    @Test
+    public void testBase64MatchesJdk() {
+        Random random = new Random(42);
+        for (int length : new int[]{0, 1, 2, 3, 4, 5, 47, 48, 49, 1952, 3293, 4864}) {
+            byte[] data = new byte[length];
+            random.nextBytes(data);
+            String expected = Base64.getEncoder().encodeToString(data);
+
+            assertEquals(expected, CryptoUtils.encodeBase64(data));
+            assertArrayEquals(data, CryptoUtils.decodeBase64(expected));
+
+            // 오프셋이 있는 호출자 버퍼
+            byte[] dst = new byte[CryptoUtils.base64EncodedLength(length) + 3];
+            int end = CryptoUtils.encodeBase64(data, 0, length, dst, 3);
+            assertEquals(expected, new String(dst, 3, end - 3, StandardCharsets.US_ASCII));
+
+            // 다이렉트 ByteBuffer
+            ByteBuffer direct = ByteBuffer.allocateDirect(CryptoUtils.base64EncodedLength(length));
+            CryptoUtils.encodeBase64(ByteBuffer.wrap(data), direct);
+            direct.flip();
+            byte[] fromDirect = new byte[direct.remaining()];
+            direct.get(fromDirect);
+            assertEquals(expected, new String(fromDirect, StandardCharsets.US_ASCII));
+        }
+
+        // 패딩 생략 입력과 잘못된 문자
+        assertArrayEquals(new byte[]{1, 2}, CryptoUtils.decodeBase64("AQI"));
+        assertThrows(IllegalArgumentException.class, () -> CryptoUtils.decodeBase64("AQ*="));
+        assertThrows(IllegalArgumentException.class, () -> CryptoUtils.decodeBase64("A"));
+    }
+
+    /**
+     * Hex 인코딩/디코딩 테스트
+     */
+    @Test
+    public void testHex() throws Exception {
+        byte[] data = {0x00, 0x0f, (byte) 0xa5, (byte) 0xff};
+        assertEquals("000fa5ff", CryptoUtils.toHex(data));
+        assertArrayEquals(data, CryptoUtils.fromHex("000FA5ff"));
+
+        StringBuilder out = new StringBuilder("0x");
+        CryptoUtils.encodeHex(data, out);
+        assertEquals("0x000fa5ff", out.toString());
+
+        assertThrows(IllegalArgumentException.class, () -> CryptoUtils.fromHex("0g"));
+        assertThrows(IllegalArgumentException.class, () -> CryptoUtils.fromHex("abc"));
+    }
+
+    /**
+     * RFC 7468 PEM 테스트
+     *
+     * 본문은 64열로 줄바꿈되어야 하며, 문자열/스트림 출력이 같고
+     * 다시 디코딩하면 원래 DER과 같아야 합니다.
+     */
+    @Test
+    public void testPemWrapping() throws Exception {
+        KeyPair keyPair = DilithiumSignature.dilithium3().generateKeyPair();
+        byte[] der = keyPair.getPublic().getEncoded();
+
+        String pem = CryptoUtils.encodePEM(keyPair.getPublic(), "DILITHIUM3");
+        assertEquals(CryptoUtils.pemEncodedLength("DILITHIUM3 PUBLIC KEY", der.length), pem.length());
+
+        String[] lines = pem.split("\n");
+        assertEquals("-----BEGIN DILITHIUM3 PUBLIC KEY-----", lines[0]);
+        assertEquals("-----END DILITHIUM3 PUBLIC KEY-----", lines[lines.length - 1]);
+        for (int i = 1; i < lines.length - 2; i++) {
+            assertEquals(CryptoUtils.PEM_LINE_LENGTH, lines[i].length());
+        }
+        assertTrue(lines[lines.length - 2].length() <= CryptoUtils.PEM_LINE_LENGTH);
+
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        CryptoUtils.writePEM("DILITHIUM3 PUBLIC KEY", der, stream);
+        assertEquals(pem, stream.toString(StandardCharsets.US_ASCII));
+
+        assertArrayEquals(der, CryptoUtils.decodePEM(pem, "DILITHIUM3 PUBLIC KEY"));
+        assertArrayEquals(der, CryptoUtils.decodePEM(pem.replace("\n", "\r\n"), "DILITHIUM3 PUBLIC KEY"));
+        assertThrows(IllegalArgumentException.class, () -> CryptoUtils.decodePEM(pem, "CERTIFICATE"));
+
+        System.out.println("✅ PEM: " + lines.length + " lines for " + der.length + " bytes of DER");
+    }
+}
@@ -4,8 +4,26 @@ import com.qsign.oqs.crypto.DilithiumSignature;
 import com.qsign.oqs.provider.QSIGNIntegration;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.InvalidKeyException;
 import java.security.KeyPair;
+import java.security.PublicKey;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -134,4 +152,237 @@ public class DilithiumSignatureTest {
         assertNotNull(keyPair);
         assertEquals(DilithiumSignature.DilithiumVariant.DILITHIUM5, dilithium.getVariant());
     }
+
+    /**
+     * 스레드 한정 엔진 모드 테스트
+     *
+     * THREAD_CONFINED 모드에서 엔진을 재사용하더라도 키를 바꿔가며
+     * 서명/검증한 결과가 PER_CALL 모드와 호환되는지 확인합니다.
+     */
+    @Test
+    public void testThreadConfinedEngineReuse() throws Exception {
+        DilithiumSignature perCall = DilithiumSignature.dilithium2();
+        DilithiumSignature confined = new DilithiumSignature(
+            DilithiumSignature.DilithiumVariant.DILITHIUM2, DilithiumSignature.EngineMode.THREAD_CONFINED);
+        KeyPair first = confined.generateKeyPair();
+        KeyPair second = confined.generateKeyPair();
+
+        byte[] message = "Reused engine".getBytes();
+        for (int i = 0; i < 3; i++) {
+            KeyPair keyPair = (i % 2 == 0) ? first : second;
+            byte[] signature = confined.sign(keyPair.getPrivate(), message);
+
+            assertTrue(confined.verify(keyPair.getPublic(), message, signature));
+            assertTrue(perCall.verify(keyPair.getPublic(), message, signature));
+            assertFalse(confined.verify(keyPair.getPublic(), "Other".getBytes(), signature));
+        }
+        assertEquals(DilithiumSignature.EngineMode.THREAD_CONFINED, confined.getEngineMode());
+    }
+
+    /**
+     * 스레드 한정 엔진 동시성 테스트
+     *
+     * 여러 스레드가 같은 인스턴스와 키로 동시에 서명/검증해도
+     * 각 스레드의 엔진이 서로 간섭하지 않는지 확인합니다.
+     */
+    @Test
+    public void testThreadConfinedConcurrentUse() throws Exception {
+        DilithiumSignature confined = new DilithiumSignature(
+            DilithiumSignature.DilithiumVariant.DILITHIUM2, DilithiumSignature.EngineMode.THREAD_CONFINED);
+        KeyPair keyPair = confined.generateKeyPair();
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                byte[] message = ("message-" + i).getBytes();
+                results.add(executor.submit(() ->
+                    confined.verify(keyPair.getPublic(), message, confined.sign(keyPair.getPrivate(), message))));
+            }
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * 사전 준비된 키 핸들 테스트
+     *
+     * prepare()로 만든 서명/검증 핸들이 일반 sign()/verify()와
+     * 상호 호환되는지 확인합니다.
+     */
+    @Test
+    public void testPreparedSignerAndVerifier() throws Exception {
+        DilithiumSignature dilithium = DilithiumSignature.dilithium3();
+        KeyPair keyPair = dilithium.generateKeyPair();
+
+        DilithiumSignature.PreparedSigner signer = dilithium.prepare(keyPair.getPrivate());
+        DilithiumSignature.PreparedVerifier verifier = dilithium.prepare(keyPair.getPublic());
+
+        byte[] message = "Prepared key".getBytes();
+        byte[] signature = signer.sign(message);
+
+        assertEquals(DilithiumSignature.DilithiumVariant.DILITHIUM3.getSignatureSize(), signature.length);
+        assertTrue(verifier.verify(message, signature));
+        assertTrue(dilithium.verify(keyPair.getPublic(), message, signature));
+        assertTrue(verifier.verify(message, dilithium.sign(keyPair.getPrivate(), message)));
+        assertFalse(verifier.verify("Tampered".getBytes(), signature));
+    }
+
+    /**
+     * 변형 불일치 키 준비 테스트
+     *
+     * 다른 Dilithium 변형의 키는 prepare()에서 거부되어야 합니다.
+     */
+    @Test
+    public void testPrepareRejectsOtherVariant() throws Exception {
+        KeyPair dilithium2Keys = DilithiumSignature.dilithium2().generateKeyPair();
+        DilithiumSignature dilithium3 = DilithiumSignature.dilithium3();
+
+        assertThrows(InvalidKeyException.class, () -> dilithium3.prepare(dilithium2Keys.getPrivate()));
+        assertThrows(InvalidKeyException.class, () -> dilithium3.prepare(dilithium2Keys.getPublic()));
+    }
+
+    /**
+     * 일괄 검증 테스트
+     *
+     * 하나의 공개키로 만든 서명 묶음을 verifyBatch()로 검증하고
+     * 변조된 항목과 잘못된 형식의 서명만 실패로 표시되는지 확인합니다.
+     */
+    @Test
+    public void testVerifyBatch() throws Exception {
+        DilithiumSignature dilithium = DilithiumSignature.dilithium2();
+        KeyPair keyPair = dilithium.generateKeyPair();
+
+        List<byte[]> messages = new ArrayList<>();
+        List<byte[]> signatures = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            byte[] message = ("token-" + i).getBytes();
+            messages.add(message);
+            signatures.add(dilithium.sign(keyPair.getPrivate(), message));
+        }
+        messages.set(3, "tampered".getBytes());
+        signatures.set(7, new byte[16]);
+
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            BitSet valid = dilithium.verifyBatch(keyPair.getPublic(), messages, signatures, executor);
+
+            assertEquals(8, valid.cardinality());
+            assertFalse(valid.get(3));
+            assertFalse(valid.get(7));
+            assertEquals(valid, dilithium.verifyBatch(keyPair.getPublic(), messages, signatures));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * 혼합 키 일괄 검증 테스트
+     *
+     * 여러 공개키가 섞인 서명 묶음에서 항목별 키가 올바르게 적용되는지 확인합니다.
+     */
+    @Test
+    public void testVerifyBatchMixedKeys() throws Exception {
+        DilithiumSignature dilithium = DilithiumSignature.dilithium2();
+        KeyPair realmA = dilithium.generateKeyPair();
+        KeyPair realmB = dilithium.generateKeyPair();
+
+        List<PublicKey> keys = new ArrayList<>();
+        List<byte[]> messages = new ArrayList<>();
+        List<byte[]> signatures = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            KeyPair realm = (i % 2 == 0) ? realmA : realmB;
+            byte[] message = ("token-" + i).getBytes();
+            keys.add(realm.getPublic());
+            messages.add(message);
+            signatures.add(dilithium.sign(realm.getPrivate(), message));
+        }
+        keys.set(5, realmA.getPublic());
+
+        BitSet valid = dilithium.verifyBatch(keys, messages, signatures);
+
+        assertEquals(5, valid.cardinality());
+        assertFalse(valid.get(5));
+        assertThrows(IllegalArgumentException.class,
+            () -> dilithium.verifyBatch(keys, messages, signatures.subList(0, 5)));
+    }
+
+    /**
+     * 스트리밍 사전 해시 서명 테스트
+     *
+     * InputStream, 채널, ByteBuffer, 메모리 매핑 파일 경로가 같은 내용에 대해
+     * 서로 호환되는 서명을 만들어야 하며, 변조된 내용은 검증에 실패해야 합니다.
+     */
+    @Test
+    public void testPrehashStreaming(@TempDir Path tempDir) throws Exception {
+        DilithiumSignature dilithium = DilithiumSignature.dilithium3();
+        KeyPair keyPair = dilithium.generateKeyPair();
+
+        byte[] content = new byte[3 * 1024 * 1024 + 17];
+        new Random(42).nextBytes(content);
+        Path file = tempDir.resolve("artifact.bin");
+        Files.write(file, content);
+
+        byte[] streamSignature = dilithium.signPrehashed(keyPair.getPrivate(), new ByteArrayInputStream(content));
+        byte[] fileSignature = dilithium.signPrehashed(keyPair.getPrivate(), file);
+        byte[] bufferSignature = dilithium.signPrehashed(keyPair.getPrivate(), ByteBuffer.wrap(content));
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            assertTrue(dilithium.verifyPrehashed(keyPair.getPublic(), channel, streamSignature));
+        }
+        try (InputStream in = Files.newInputStream(file)) {
+            assertTrue(dilithium.verifyPrehashed(keyPair.getPublic(), in, fileSignature));
+        }
+        assertTrue(dilithium.verifyPrehashed(keyPair.getPublic(), file, bufferSignature));
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(content.length).put(content).flip();
+        assertTrue(dilithium.verifyPrehashed(keyPair.getPublic(), direct, streamSignature));
+        assertFalse(direct.hasRemaining());
+
+        content[content.length / 2] ^= 1;
+        assertFalse(dilithium.verifyPrehashed(keyPair.getPublic(), ByteBuffer.wrap(content), streamSignature));
+
+        System.out.println("✅ Pre-hash signing: stream, channel, buffer and mapped file agree");
+    }
+
+    /**
+     * 사전 해시 메시지 형식 테스트
+     *
+     * 사전 해시 서명은 원본 메시지나 다이제스트 자체의 서명으로 검증되지 않아야 하며,
+     * 잘못된 길이의 다이제스트는 거부되어야 합니다. 두 모드는 같은 순수 서명 연산을
+     * 사용하므로, 일반 서명 경로는 사전 해시 형식의 메시지를 서명하거나 검증하지 않아야 합니다.
+     */
+    @Test
+    public void testPrehashMessageLayout() throws Exception {
+        DilithiumSignature dilithium = DilithiumSignature.dilithium2();
+        KeyPair keyPair = dilithium.generateKeyPair();
+        byte[] message = "CMS payload".getBytes();
+
+        byte[] digest = DilithiumSignature.newPrehashDigest().digest(message);
+        byte[] prehashSignature = dilithium.signDigest(keyPair.getPrivate(), digest);
+
+        assertTrue(dilithium.verifyPrehashed(keyPair.getPublic(), new ByteArrayInputStream(message), prehashSignature));
+        assertFalse(dilithium.verify(keyPair.getPublic(), message, prehashSignature));
+        assertFalse(dilithium.verify(keyPair.getPublic(), digest, prehashSignature));
+        assertThrows(IllegalArgumentException.class,
+            () -> dilithium.signDigest(keyPair.getPrivate(), new byte[32]));
+
+        ByteArrayOutputStream layout = new ByteArrayOutputStream();
+        layout.write(new byte[] {0x01, 0x00, 0x06, 0x09, 0x60, (byte) 0x86, 0x48, 0x01, 0x65, 0x03, 0x04, 0x02, 0x03});
+        layout.write(digest);
+        assertThrows(IllegalArgumentException.class,
+            () -> dilithium.sign(keyPair.getPrivate(), layout.toByteArray()));
+        assertThrows(IllegalArgumentException.class,
+            () -> dilithium.prepare(keyPair.getPrivate()).sign(layout.toByteArray()));
+        assertFalse(dilithium.verify(keyPair.getPublic(), layout.toByteArray(), prehashSignature));
+        assertFalse(dilithium.prepare(keyPair.getPublic()).verify(layout.toByteArray(), prehashSignature));
+
+        // 같은 접두사라도 길이가 다르면 일반 메시지
+        layout.write(0);
+        byte[] longer = layout.toByteArray();
+        assertTrue(dilithium.verify(keyPair.getPublic(), longer, dilithium.sign(keyPair.getPrivate(), longer)));
+    }
 }
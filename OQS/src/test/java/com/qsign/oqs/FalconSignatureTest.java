@@ -0,0 +1,141 @@
+package com.qsign.oqs;
+
+import com.qsign.oqs.crypto.DilithiumSignature;
+import com.qsign.oqs.crypto.FalconSignature;
+import com.qsign.oqs.crypto.PqcSignature;
+import com.qsign.oqs.provider.QSIGNIntegration;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.KeyPair;
+import java.security.Signature;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Falcon 디지털 서명 테스트
+ *
+ * Falcon-512/1024 서명 생성 및 검증, 서명 크기, 공통 서명 인터페이스를 통한
+ * Dilithium과의 호환성, 그리고 JCA 프로바이더와의 상호 운용성을 검증합니다.
+ *
+ * Test cases for FALCON signatures and the common PQC signature interface
+ */
+public class FalconSignatureTest {
+
+    private static final byte[] MESSAGE = "QSIGN compact signature".getBytes(StandardCharsets.UTF_8);
+
+    @BeforeAll
+    public static void setup() {
+        QSIGNIntegration.initialize();
+    }
+
+    /**
+     * 서명/검증 테스트
+     *
+     * 두 변형 모두 최대 크기 이하의 서명을 만들고, 변조된 메시지나
+     * 다른 키로는 검증에 실패해야 합니다.
+     */
+    @Test
+    public void testSignAndVerify() throws Exception {
+        for (FalconSignature.FalconVariant variant : FalconSignature.FalconVariant.values()) {
+            FalconSignature falcon = new FalconSignature(variant);
+            KeyPair keyPair = falcon.generateKeyPair();
+
+            byte[] signature = falcon.sign(keyPair.getPrivate(), MESSAGE);
+            assertTrue(signature.length <= variant.getSignatureSize(), variant + ": " + signature.length);
+            assertTrue(falcon.verify(keyPair.getPublic(), MESSAGE, signature));
+
+            byte[] tampered = MESSAGE.clone();
+            tampered[0] ^= 1;
+            assertFalse(falcon.verify(keyPair.getPublic(), tampered, signature));
+            assertFalse(falcon.verify(falcon.generateKeyPair().getPublic(), MESSAGE, signature));
+        }
+    }
+
+    /**
+     * 공통 인터페이스 테스트
+     *
+     * Dilithium과 Falcon을 같은 인터페이스로 다룰 수 있어야 하며,
+     * 준비된 서명기는 여러 스레드에서 동시에 사용할 수 있어야 합니다.
+     */
+    @Test
+    public void testCommonInterface() throws Exception {
+        List<PqcSignature> schemes = List.of(DilithiumSignature.dilithium2(), FalconSignature.falcon512());
+        for (PqcSignature scheme : schemes) {
+            KeyPair keyPair = scheme.generateKeyPair();
+            PqcSignature.Signer signer = scheme.prepare(keyPair.getPrivate());
+            PqcSignature.Verifier verifier = scheme.prepare(keyPair.getPublic());
+            assertEquals(scheme.getAlgorithm(), signer.getAlgorithm());
+
+            List<CompletableFuture<byte[]>> signatures = IntStream.range(0, 8)
+                .mapToObj(i -> CompletableFuture.supplyAsync(() -> signer.sign(MESSAGE)))
+                .collect(Collectors.toList());
+            for (CompletableFuture<byte[]> signature : signatures) {
+                byte[] bytes = signature.join();
+                assertTrue(bytes.length <= scheme.getSignatureSize(), scheme.getAlgorithm());
+                assertTrue(verifier.verify(MESSAGE, bytes), scheme.getAlgorithm());
+            }
+        }
+
+        assertTrue(FalconSignature.falcon512().getSignatureSize()
+            < DilithiumSignature.dilithium2().getSignatureSize() / 3);
+    }
+
+    /**
+     * JCA 상호 운용성 및 키 불일치 테스트
+     *
+     * OQS 프로바이더에 등록된 FALCON 서명과 래퍼의 서명은 서로 검증되어야 하며,
+     * 다른 변형의 키는 거부되어야 합니다.
+     */
+    @Test
+    public void testProviderInteropAndKeyMismatch() throws Exception {
+        OQSProvider.install();
+        FalconSignature falcon = FalconSignature.falcon1024();
+        KeyPair keyPair = falcon.generateKeyPair();
+
+        Signature jca = Signature.getInstance("FALCON-1024", "OQS");
+        jca.initSign(keyPair.getPrivate());
+        jca.update(MESSAGE);
+        assertTrue(falcon.verify(keyPair.getPublic(), MESSAGE, jca.sign()));
+
+        jca.initVerify(keyPair.getPublic());
+        jca.update(MESSAGE);
+        assertTrue(jca.verify(falcon.sign(keyPair.getPrivate(), MESSAGE)));
+
+        assertThrows(InvalidKeyException.class, () -> FalconSignature.falcon512().prepare(keyPair.getPublic()));
+        assertThrows(InvalidKeyException.class,
+            () -> FalconSignature.falcon512().prepare(DilithiumSignature.dilithium2().generateKeyPair().getPrivate()));
+    }
+
+    /**
+     * 잘린 서명 테스트
+     *
+     * 빈 서명, 헤더만 있는 서명, 잘리거나 늘어난 서명은 Dilithium과 마찬가지로
+     * 예외 없이 false를 반환해야 합니다.
+     */
+    @Test
+    public void testTruncatedSignatures() throws Exception {
+        for (FalconSignature.FalconVariant variant : FalconSignature.FalconVariant.values()) {
+            FalconSignature falcon = new FalconSignature(variant);
+            KeyPair keyPair = falcon.generateKeyPair();
+            FalconSignature.PreparedVerifier verifier = falcon.prepare(keyPair.getPublic());
+            byte[] signature = falcon.sign(keyPair.getPrivate(), MESSAGE);
+
+            assertFalse(falcon.verify(keyPair.getPublic(), MESSAGE, new byte[0]), variant.name());
+            assertFalse(verifier.verify(MESSAGE, new byte[] {0x39}), variant.name());
+            assertFalse(verifier.verify(MESSAGE, Arrays.copyOf(signature, variant.getSignatureSize() + 100)),
+                variant.name());
+            for (int length = 0; length < signature.length; length++) {
+                assertFalse(verifier.verify(MESSAGE, Arrays.copyOf(signature, length)), variant + ": " + length);
+            }
+            assertTrue(verifier.verify(MESSAGE, signature));
+        }
+    }
+}
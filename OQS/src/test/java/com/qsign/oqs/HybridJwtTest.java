@@ -0,0 +1,170 @@
+package com.qsign.oqs;
+
+import com.qsign.oqs.crypto.DilithiumSignature;
+import com.qsign.oqs.crypto.FalconSignature;
+import com.qsign.oqs.jwt.HybridJwtSigner;
+import com.qsign.oqs.jwt.HybridJwtVerifier;
+import com.qsign.oqs.provider.QSIGNIntegration;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 듀얼 서명(RSA/ECDSA + Dilithium) JWT 테스트
+ *
+ * docs/Hybrid-Signature에 설명된 듀얼 서명 JWT를 생성하고
+ * 검증 정책(BOTH, EITHER, PQC_ONLY)별 동작을 확인합니다.
+ *
+ * Test cases for dual-signed hybrid JWTs
+ */
+public class HybridJwtTest {
+
+    private static final String CLAIMS = "{\"iss\":\"http://keycloak/realms/myrealm\",\"sub\":\"user-id\"}";
+
+    private static DilithiumSignature dilithium;
+    private static KeyPair dilithiumKeys;
+    private static KeyPair rsaKeys;
+
+    /**
+     * 테스트 초기화
+     * OQS Provider를 등록하고 RSA 및 Dilithium3 키를 생성합니다.
+     */
+    @BeforeAll
+    public static void setup() throws Exception {
+        QSIGNIntegration.initialize();
+        dilithium = DilithiumSignature.dilithium3();
+        dilithiumKeys = dilithium.generateKeyPair();
+
+        KeyPairGenerator rsa = KeyPairGenerator.getInstance("RSA");
+        rsa.initialize(2048);
+        rsaKeys = rsa.generateKeyPair();
+    }
+
+    /**
+     * Compact 듀얼 서명 JWT 테스트
+     *
+     * 4개 세그먼트로 구성된 토큰이 생성되고 모든 정책에서 유효해야 합니다.
+     */
+    @Test
+    public void testCompactSignAndVerify() throws Exception {
+        HybridJwtSigner signer = new HybridJwtSigner(HybridJwtSigner.ClassicalAlgorithm.RS256,
+            rsaKeys.getPrivate(), dilithium, dilithiumKeys.getPrivate(), "hybrid-key-id");
+
+        String token = signer.signCompact(CLAIMS);
+        assertEquals(4, token.split("\\.").length);
+
+        for (HybridJwtVerifier.Policy policy : HybridJwtVerifier.Policy.values()) {
+            assertTrue(verifier(policy).verifyCompact(token), policy.name());
+        }
+    }
+
+    /**
+     * 변조된 PQC 서명 테스트
+     *
+     * Dilithium 서명이 변조되면 BOTH/PQC_ONLY는 거부하고
+     * EITHER는 RSA 서명만으로 통과해야 합니다.
+     */
+    @Test
+    public void testTamperedPqcSignature() throws Exception {
+        HybridJwtSigner signer = new HybridJwtSigner(HybridJwtSigner.ClassicalAlgorithm.RS256,
+            rsaKeys.getPrivate(), dilithium, dilithiumKeys.getPrivate(), null, null);
+
+        String token = signer.signCompact(CLAIMS);
+        int pqcStart = token.lastIndexOf('.') + 1;
+        char flipped = token.charAt(pqcStart) == 'A' ? 'B' : 'A';
+        String tampered = token.substring(0, pqcStart) + flipped + token.substring(pqcStart + 1);
+
+        assertFalse(verifier(HybridJwtVerifier.Policy.BOTH).verifyCompact(tampered));
+        assertFalse(verifier(HybridJwtVerifier.Policy.PQC_ONLY).verifyCompact(tampered));
+        assertTrue(verifier(HybridJwtVerifier.Policy.EITHER).verifyCompact(tampered));
+        assertFalse(verifier(HybridJwtVerifier.Policy.BOTH).verifyCompact("not.a.token"));
+    }
+
+    /**
+     * JSON 직렬화 듀얼 서명 테스트 (ES256 + Dilithium3)
+     */
+    @Test
+    public void testJsonSerialization() throws Exception {
+        KeyPairGenerator ec = KeyPairGenerator.getInstance("EC");
+        ec.initialize(256);
+        KeyPair ecKeys = ec.generateKeyPair();
+
+        HybridJwtSigner signer = new HybridJwtSigner(HybridJwtSigner.ClassicalAlgorithm.ES256,
+            ecKeys.getPrivate(), dilithium, dilithiumKeys.getPrivate(), "kid-1");
+        HybridJwtVerifier verifier = new HybridJwtVerifier(HybridJwtVerifier.Policy.BOTH,
+            HybridJwtSigner.ClassicalAlgorithm.ES256, ecKeys.getPublic(), dilithium, dilithiumKeys.getPublic());
+
+        String jws = signer.signJson(CLAIMS);
+        assertTrue(verifier.verifyJson(jws));
+        assertFalse(verifier.verifyJson(jws.replace("\"payload\":\"", "\"payload\":\"x")));
+
+        // RS256 verifier must not accept an ES256-signed token
+        assertFalse(verifier(HybridJwtVerifier.Policy.BOTH).verifyJson(jws));
+    }
+
+    /**
+     * FALCON-512 듀얼 서명 JWT 테스트
+     *
+     * 같은 서명기/검증기가 FALCON으로도 동작해야 하며, 토큰은 Dilithium3
+     * 토큰보다 훨씬 작아야 합니다. 다른 PQC 알고리즘 토큰은 거부되어야 합니다.
+     */
+    @Test
+    public void testFalconCompactToken() throws Exception {
+        FalconSignature falcon = FalconSignature.falcon512();
+        KeyPair falconKeys = falcon.generateKeyPair();
+
+        HybridJwtSigner signer = new HybridJwtSigner(HybridJwtSigner.ClassicalAlgorithm.RS256,
+            rsaKeys.getPrivate(), falcon, falconKeys.getPrivate(), "falcon-key-id");
+        HybridJwtVerifier verifier = new HybridJwtVerifier(HybridJwtVerifier.Policy.BOTH,
+            HybridJwtSigner.ClassicalAlgorithm.RS256, rsaKeys.getPublic(), falcon, falconKeys.getPublic());
+        assertEquals("FALCON-512", signer.getPqcAlgorithm());
+
+        String token = signer.signCompact(CLAIMS);
+        assertTrue(verifier.verifyCompact(token));
+
+        String dilithiumToken = new HybridJwtSigner(HybridJwtSigner.ClassicalAlgorithm.RS256,
+            rsaKeys.getPrivate(), dilithium, dilithiumKeys.getPrivate(), "falcon-key-id").signCompact(CLAIMS);
+        assertTrue(token.length() < dilithiumToken.length() / 2,
+            "FALCON token " + token.length() + " vs DILITHIUM3 " + dilithiumToken.length());
+
+        assertFalse(verifier.verifyCompact(dilithiumToken));
+        assertFalse(verifier(HybridJwtVerifier.Policy.PQC_ONLY).verifyCompact(token));
+    }
+
+    /**
+     * 형식이 잘못된 토큰 테스트
+     *
+     * 객체가 아닌 헤더나 파싱할 수 없는 FALCON 서명은 예외 없이 거부되어야 합니다.
+     */
+    @Test
+    public void testMalformedTokens() throws Exception {
+        HybridJwtVerifier dilithiumVerifier = verifier(HybridJwtVerifier.Policy.BOTH);
+        assertFalse(dilithiumVerifier.verifyCompact("..."));
+        assertFalse(dilithiumVerifier.verifyCompact("WzFd.e30.AA.AA"));
+        assertFalse(dilithiumVerifier.verifyJson("{\"payload\":\"e30\",\"signatures\":[1]}"));
+
+        FalconSignature falcon = FalconSignature.falcon512();
+        KeyPair falconKeys = falcon.generateKeyPair();
+        HybridJwtSigner signer = new HybridJwtSigner(HybridJwtSigner.ClassicalAlgorithm.RS256,
+            rsaKeys.getPrivate(), falcon, falconKeys.getPrivate(), null, null);
+        String token = signer.signCompact(CLAIMS);
+        String truncated = token.substring(0, token.lastIndexOf('.') + 1) + "OQ";
+
+        for (HybridJwtVerifier.Policy policy : HybridJwtVerifier.Policy.values()) {
+            HybridJwtVerifier falconVerifier = new HybridJwtVerifier(policy, HybridJwtSigner.ClassicalAlgorithm.RS256,
+                rsaKeys.getPublic(), falcon, falconKeys.getPublic());
+            // EITHER는 RSA 서명만으로 통과한다
+            assertEquals(policy == HybridJwtVerifier.Policy.EITHER, falconVerifier.verifyCompact(truncated),
+                policy.name());
+        }
+    }
+
+    private static HybridJwtVerifier verifier(HybridJwtVerifier.Policy policy) throws Exception {
+        return new HybridJwtVerifier(policy, HybridJwtSigner.ClassicalAlgorithm.RS256,
+            rsaKeys.getPublic(), dilithium, dilithiumKeys.getPublic());
+    }
+}
@@ -0,0 +1,94 @@
+package com.qsign.oqs;
+
+import com.qsign.oqs.crypto.HybridKEM;
+import com.qsign.oqs.crypto.KyberKEM;
+import com.qsign.oqs.provider.QSIGNIntegration;
+import com.qsign.oqs.util.CryptoUtils;
+import org.bouncycastle.jcajce.SecretKeyWithEncapsulation;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.SecretKey;
+import java.security.InvalidKeyException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 하이브리드 X25519 + Kyber 키 캡슐화 테스트
+ *
+ * 고전 알고리즘(X25519)과 PQC 알고리즘(Kyber)을 결합한
+ * 하이브리드 키 교환이 양측에서 같은 공유 비밀을 만드는지 검증합니다.
+ *
+ * Test cases for hybrid X25519 + Kyber key encapsulation
+ */
+public class HybridKEMTest {
+
+    /**
+     * 테스트 초기화
+     * OQS Provider를 등록하고 QSIGN 통합을 초기화합니다.
+     */
+    @BeforeAll
+    public static void setup() {
+        QSIGNIntegration.initialize();
+    }
+
+    /**
+     * 하이브리드 캡슐화/역캡슐화 테스트
+     *
+     * 병렬 실행과 순차 실행 모두에서 공유 비밀이 일치해야 합니다.
+     */
+    @Test
+    public void testEncapsulateDecapsulate() throws Exception {
+        HybridKEM concurrent = new HybridKEM(KyberKEM.KyberVariant.KYBER768);
+        HybridKEM sequential = new HybridKEM(KyberKEM.KyberVariant.KYBER768, null);
+        HybridKEM.HybridKeyPair recipient = concurrent.generateKeyPair();
+
+        SecretKeyWithEncapsulation sender = concurrent.encapsulate(recipient.getPublic());
+        assertEquals(concurrent.getCiphertextSize(), sender.getEncapsulation().length);
+        assertEquals(HybridKEM.SHARED_SECRET_SIZE, sender.getEncoded().length);
+
+        SecretKey received = sequential.decapsulate(recipient, sender.getEncapsulation());
+        assertArrayEquals(sender.getEncoded(), received.getEncoded());
+    }
+
+    /**
+     * 변조된 하이브리드 암호문 테스트
+     *
+     * 고전 또는 PQC 부분 중 하나라도 변조되면 공유 비밀이 달라지거나
+     * 역캡슐화가 실패해야 합니다.
+     */
+    @Test
+    public void testTamperedCiphertext() throws Exception {
+        HybridKEM hybrid = new HybridKEM(KyberKEM.KyberVariant.KYBER512);
+        HybridKEM.HybridKeyPair recipient = hybrid.generateKeyPair();
+        SecretKeyWithEncapsulation sender = hybrid.encapsulate(recipient.getPublic());
+
+        byte[] tamperedPqc = sender.getEncapsulation();
+        tamperedPqc[tamperedPqc.length - 1] ^= 1;
+        assertFalse(CryptoUtils.constantTimeEquals(sender.getEncoded(),
+            hybrid.decapsulate(recipient, tamperedPqc).getEncoded()));
+
+        byte[] tamperedClassical = sender.getEncapsulation();
+        tamperedClassical[0] ^= 1;
+        assertFalse(CryptoUtils.constantTimeEquals(sender.getEncoded(),
+            hybrid.decapsulate(recipient, tamperedClassical).getEncoded()));
+
+        assertThrows(InvalidKeyException.class,
+            () -> hybrid.decapsulate(recipient, new byte[10]));
+    }
+
+    /**
+     * HKDF-SHA256 테스트 벡터 (RFC 5869 Test Case 1)
+     */
+    @Test
+    public void testHkdfSha256Vector() throws Exception {
+        byte[] ikm = CryptoUtils.fromHex("0b0b0b0b0b0b0b0b0b0b0b0b0b0b0b0b0b0b0b0b0b0b");
+        byte[] salt = CryptoUtils.fromHex("000102030405060708090a0b0c");
+        byte[] info = CryptoUtils.fromHex("f0f1f2f3f4f5f6f7f8f9");
+
+        byte[] okm = CryptoUtils.hkdfSha256(salt, ikm, info, 42);
+
+        assertEquals("3cb25f25faacd57a90434f64d0362f2a2d2d0a90cf1a5a4c5db02d56ecc4c5bf34007208d5b887185865",
+            CryptoUtils.toHex(okm));
+    }
+}
@@ -0,0 +1,161 @@
+package com.qsign.oqs;
+
+import com.qsign.oqs.crypto.KyberKEM;
+import com.qsign.oqs.provider.KeyPairPool;
+import com.qsign.oqs.provider.QSIGNIntegration;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.security.KeyPair;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 키 쌍 풀 테스트
+ *
+ * 백그라운드 사전 생성, 워터마크 기반 재충전, 1회용 배포와
+ * 적중/미적중 지표를 검증합니다.
+ *
+ * Test cases for the background key pair pool
+ */
+public class KeyPairPoolTest {
+
+    /**
+     * 테스트 초기화
+     * OQS Provider를 등록하고 QSIGN 통합을 초기화합니다.
+     */
+    @BeforeAll
+    public static void setup() {
+        QSIGNIntegration.initialize();
+    }
+
+    /**
+     * 상한 워터마크까지 사전 생성 테스트
+     */
+    @Test
+    public void testPrefillToHighWatermark() throws Exception {
+        KeyPairPool.Config config = new KeyPairPool.Config().setLowWatermark(2).setHighWatermark(4);
+
+        try (KeyPairPool pool = KeyPairPool.forKyber(KyberKEM.KyberVariant.KYBER512, config)) {
+            awaitAvailable(pool, 4);
+
+            KeyPair keyPair = pool.take();
+            assertEquals("KYBER512", keyPair.getPublic().getAlgorithm().toUpperCase());
+
+            KeyPairPool.Metrics metrics = pool.getMetrics();
+            assertEquals(1, metrics.getHits());
+            assertEquals(0, metrics.getMisses());
+            assertTrue(metrics.getGenerated() >= 4);
+            assertTrue(metrics.getRefills() >= 1);
+            assertTrue(metrics.getMaxRefillNanos() > 0);
+
+            System.out.println("✅ Key pair pool prefill: " + metrics);
+        }
+    }
+
+    /**
+     * 1회용 배포 및 하한 워터마크 재충전 테스트
+     *
+     * 같은 키 쌍이 두 번 배포되지 않아야 하며, 하한 아래로 내려가면
+     * 백그라운드에서 다시 채워져야 합니다.
+     */
+    @Test
+    public void testSingleUseAndRefill() throws Exception {
+        AtomicInteger generated = new AtomicInteger();
+        KyberKEM kyber = new KyberKEM(KyberKEM.KyberVariant.KYBER512);
+        KeyPairPool.Config config = new KeyPairPool.Config().setLowWatermark(2).setHighWatermark(3);
+
+        try (KeyPairPool pool = new KeyPairPool("test", () -> {
+            generated.incrementAndGet();
+            return kyber.generateKeyPair();
+        }, config)) {
+            awaitAvailable(pool, 3);
+
+            Set<KeyPair> handedOut = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (int i = 0; i < 10; i++) {
+                assertTrue(handedOut.add(pool.take()), "Key pair handed out twice");
+            }
+
+            // 재충전은 하한 아래에서만 시작되므로 풀 크기는 하한과 상한 사이에서 멈출 수 있음
+            awaitAvailable(pool, 2);
+
+            KeyPairPool.Metrics metrics = pool.getMetrics();
+            assertEquals(10, metrics.getHits() + metrics.getMisses());
+            assertTrue(metrics.getGenerated() + metrics.getMisses() <= generated.get());
+
+            System.out.println("✅ Key pair pool single-use handout: " + metrics);
+        }
+    }
+
+    /**
+     * 하한 워터마크 0 재충전 테스트
+     *
+     * 하한이 0이면 풀이 비었을 때 다시 채워져야 합니다.
+     */
+    @Test
+    public void testZeroLowWatermarkRefills() throws Exception {
+        KeyPairPool.Config config = new KeyPairPool.Config().setLowWatermark(0).setHighWatermark(2);
+
+        try (KeyPairPool pool = KeyPairPool.forKyber(KyberKEM.KyberVariant.KYBER512, config)) {
+            awaitAvailable(pool, 2);
+            pool.take();
+            pool.take();
+
+            awaitAvailable(pool, 2);
+            assertTrue(pool.getMetrics().getRefills() >= 2);
+        }
+    }
+
+    /**
+     * 빈 풀에서의 미적중 테스트
+     *
+     * 생성기가 실패해도 take()는 호출자 스레드에서 생성해야 합니다.
+     */
+    @Test
+    public void testMissGeneratesOnCaller() throws Exception {
+        KyberKEM kyber = new KyberKEM(KyberKEM.KyberVariant.KYBER512);
+        AtomicInteger calls = new AtomicInteger();
+        String caller = Thread.currentThread().getName();
+
+        KeyPairPool pool = new KeyPairPool("miss", () -> {
+            calls.incrementAndGet();
+            if (!Thread.currentThread().getName().equals(caller)) {
+                throw new IllegalStateException("background generation disabled");
+            }
+            return kyber.generateKeyPair();
+        }, new KeyPairPool.Config().setLowWatermark(1).setHighWatermark(2));
+
+        assertNotNull(pool.take());
+        assertEquals(1, pool.getMetrics().getMisses());
+
+        pool.close();
+        assertThrows(IllegalStateException.class, pool::take);
+
+        System.out.println("✅ Key pair pool miss fallback");
+    }
+
+    /**
+     * 잘못된 워터마크 거부 테스트
+     */
+    @Test
+    public void testRejectsInvalidWatermarks() {
+        assertThrows(IllegalArgumentException.class, () ->
+            KeyPairPool.forKyber(KyberKEM.KyberVariant.KYBER512,
+                new KeyPairPool.Config().setLowWatermark(5).setHighWatermark(2)));
+        assertThrows(IllegalArgumentException.class, () ->
+            KeyPairPool.forKyber(KyberKEM.KyberVariant.KYBER512,
+                new KeyPairPool.Config().setHighWatermark(0).setLowWatermark(0)));
+    }
+
+    private static void awaitAvailable(KeyPairPool pool, int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (pool.available() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(pool.available() >= count, "Pool did not refill to " + count);
+    }
+}
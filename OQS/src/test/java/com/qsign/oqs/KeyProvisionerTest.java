@@ -0,0 +1,167 @@
+package com.qsign.oqs;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.qsign.oqs.crypto.DilithiumSignature;
+import com.qsign.oqs.provider.QSIGNIntegration;
+import com.qsign.oqs.provisioning.JsonlKeySink;
+import com.qsign.oqs.provisioning.KeyProvisioner;
+import com.qsign.oqs.provisioning.KeyProvisioningCli;
+import com.qsign.oqs.util.CryptoUtils;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 대량 키 프로비저닝 테스트
+ *
+ * 포크-조인 병렬 키 생성, JSONL 스트리밍 출력, 진행률 보고,
+ * 체크포인트 기반 재개와 작업 불일치 거부를 검증합니다.
+ *
+ * Test cases for bulk key provisioning
+ */
+public class KeyProvisionerTest {
+
+    @TempDir
+    Path directory;
+
+    @BeforeAll
+    public static void setup() {
+        QSIGNIntegration.initialize();
+    }
+
+    /**
+     * 프로비저닝 및 출력 형식 테스트
+     *
+     * 테넌트와 알고리즘마다 하나의 레코드가 순서대로 기록되어야 하며,
+     * 기록된 키는 디코딩 후 서명/검증에 사용할 수 있어야 합니다.
+     */
+    @Test
+    public void testProvisionJsonl() throws Exception {
+        Path output = directory.resolve("keys.jsonl");
+        List<KeyProvisioner.Progress> reports = new CopyOnWriteArrayList<>();
+        KeyProvisioner provisioner = new KeyProvisioner(new KeyProvisioner.Config()
+            .setParallelism(2).setBatchSize(3).setProgressListener(reports::add));
+
+        KeyProvisioner.Progress result = provisioner.provision(KeyProvisioner.numberedTenants("t-", 4),
+            List.of("DILITHIUM2", "KYBER512"), length -> new JsonlKeySink(output, length),
+            directory.resolve("keys.checkpoint"));
+
+        assertTrue(result.isDone());
+        assertEquals(8, result.getCompleted());
+        assertTrue(result.getKeysPerSecond() > 0);
+        assertFalse(reports.isEmpty());
+        assertTrue(reports.get(reports.size() - 1).isDone());
+
+        List<String> lines = Files.readAllLines(output, StandardCharsets.UTF_8);
+        assertEquals(8, lines.size());
+        assertEquals("t-000001/DILITHIUM2", JsonParser.parseString(lines.get(0)).getAsJsonObject()
+            .get("alias").getAsString());
+        assertEquals("t-000004/KYBER512", JsonParser.parseString(lines.get(7)).getAsJsonObject()
+            .get("alias").getAsString());
+
+        JsonObject record = JsonParser.parseString(lines.get(2)).getAsJsonObject();
+        assertEquals("t-000002", record.get("tenant").getAsString());
+        KeyFactory keyFactory = KeyFactory.getInstance("DILITHIUM2", OQSProvider.getPqcProvider());
+        PublicKey publicKey = keyFactory.generatePublic(
+            new X509EncodedKeySpec(CryptoUtils.decodeBase64(record.get("publicKey").getAsString())));
+        PrivateKey privateKey = keyFactory.generatePrivate(
+            new PKCS8EncodedKeySpec(CryptoUtils.decodeBase64(record.get("privateKey").getAsString())));
+        DilithiumSignature dilithium = DilithiumSignature.dilithium2();
+        byte[] message = "tenant onboarding".getBytes(StandardCharsets.UTF_8);
+        assertTrue(dilithium.verify(publicKey, message, dilithium.sign(privateKey, message)));
+
+        System.out.println("✅ Provisioned: " + result);
+    }
+
+    /**
+     * 체크포인트 재개 테스트
+     *
+     * 중단된 작업은 마지막으로 커밋된 배치 이후부터 재개되어야 하며,
+     * 일부만 기록된 배치는 버려지고 중복이나 누락 없이 다시 기록되어야 합니다.
+     */
+    @Test
+    public void testResumeAfterInterruption() throws Exception {
+        Path output = directory.resolve("resume.jsonl");
+        Path checkpoint = directory.resolve("resume.checkpoint");
+        List<String> tenants = KeyProvisioner.numberedTenants("r-", 10);
+        KeyProvisioner provisioner = new KeyProvisioner(new KeyProvisioner.Config().setBatchSize(4));
+
+        // the sixth write fails: batch [0,4) commits, [4,8) is cut off part way
+        AtomicInteger writes = new AtomicInteger();
+        KeyProvisioner.SinkFactory failing = length -> new JsonlKeySink(output, length) {
+            @Override
+            public void write(String alias, String tenant, String algorithm, KeyPair keyPair) throws IOException {
+                if (writes.incrementAndGet() == 6) {
+                    throw new IOException("disk full");
+                }
+                super.write(alias, tenant, algorithm, keyPair);
+            }
+        };
+        KeyProvisioner.SinkFactory sinks = length -> new JsonlKeySink(output, length);
+        IOException failure = assertThrows(IOException.class,
+            () -> provisioner.provision(tenants, List.of("FALCON-512"), failing, checkpoint));
+        assertEquals("disk full", failure.getMessage());
+        assertTrue(Files.exists(checkpoint));
+        Files.writeString(output, "{\"alias\":\"partial", StandardOpenOption.APPEND);
+
+        KeyProvisioner.Progress result = provisioner.provision(tenants, List.of("FALCON-512"), sinks, checkpoint);
+        assertEquals(4, result.getResumedFrom());
+        assertEquals(10, result.getCompleted());
+
+        List<String> aliases = new ArrayList<>();
+        for (String line : Files.readAllLines(output, StandardCharsets.UTF_8)) {
+            aliases.add(JsonParser.parseString(line).getAsJsonObject().get("alias").getAsString());
+        }
+        List<String> expected = new ArrayList<>();
+        for (String tenant : tenants) {
+            expected.add(tenant + "/FALCON-512");
+        }
+        assertEquals(expected, aliases);
+
+        // the checkpoint only resumes the job it was written for
+        assertThrows(IOException.class,
+            () -> provisioner.provision(tenants, List.of("DILITHIUM2"), sinks, checkpoint));
+    }
+
+    /**
+     * 명령행 실행 테스트
+     *
+     * 체크포인트 없이 기존 출력 파일을 덮어쓰지 않아야 합니다.
+     */
+    @Test
+    public void testCommandLine() throws Exception {
+        Path tenants = directory.resolve("tenants.txt");
+        Files.writeString(tenants, "acme\n\nglobex\n");
+        Path output = directory.resolve("cli.jsonl");
+
+        KeyProvisioningCli.main(new String[] {"--tenants", tenants.toString(), "--output", output.toString(),
+            "--threads", "2"});
+        List<String> lines = Files.readAllLines(output, StandardCharsets.UTF_8);
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(1).contains("\"alias\":\"globex/" + KeyProvisioner.defaultAlgorithm() + "\""));
+
+        Files.delete(directory.resolve("cli.jsonl.checkpoint"));
+        assertThrows(IllegalStateException.class, () -> KeyProvisioningCli.main(
+            new String[] {"--count", "1", "--output", output.toString()}));
+        assertThrows(IllegalArgumentException.class, () -> KeyProvisioner.keyPairSource("RSA"));
+    }
+}
@@ -0,0 +1,98 @@
+package com.qsign.oqs;
+
+import com.qsign.oqs.crypto.KyberKEM;
+import com.qsign.oqs.provider.QSIGNIntegration;
+import org.bouncycastle.jcajce.SecretKeyWithEncapsulation;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.SecretKey;
+import java.nio.ByteBuffer;
+import java.security.KeyPair;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Kyber 키 캡슐화 테스트
+ *
+ * KYBER는 NIST 표준화된 양자 내성 키 캡슐화 메커니즘(ML-KEM)입니다.
+ * 이 테스트는 캡슐화/역캡슐화로 양측이 같은 공유 비밀을 얻는지 검증합니다.
+ *
+ * Test cases for Kyber key encapsulation
+ */
+public class KyberKEMTest {
+
+    /**
+     * 테스트 초기화
+     * OQS Provider를 등록하고 QSIGN 통합을 초기화합니다.
+     */
+    @BeforeAll
+    public static void setup() {
+        QSIGNIntegration.initialize();
+    }
+
+    /**
+     * 모든 Kyber 변형의 캡슐화/역캡슐화 테스트
+     *
+     * 캡슐화 결과의 암호문으로 역캡슐화한 공유 비밀이
+     * 송신측 공유 비밀과 일치해야 합니다.
+     */
+    @Test
+    public void testEncapsulateDecapsulate() throws Exception {
+        for (KyberKEM.KyberVariant variant : KyberKEM.KyberVariant.values()) {
+            KyberKEM kyber = new KyberKEM(variant);
+            KeyPair keyPair = kyber.generateKeyPair();
+
+            SecretKeyWithEncapsulation sender = kyber.encapsulate(keyPair.getPublic());
+            SecretKey receiver = kyber.decapsulate(keyPair.getPrivate(), sender.getEncapsulation());
+
+            assertEquals(variant.getCiphertextSize(), sender.getEncapsulation().length);
+            assertEquals(variant.getSharedSecretSize(), sender.getEncoded().length);
+            assertArrayEquals(sender.getEncoded(), receiver.getEncoded(), variant.getAlgorithm());
+        }
+    }
+
+    /**
+     * 버퍼 기반 캡슐화 테스트
+     *
+     * 하나의 버퍼에 [공유 비밀 | 암호문]이 기록되고,
+     * 뷰로 얻은 암호문을 역캡슐화하면 같은 공유 비밀이 나와야 합니다.
+     */
+    @Test
+    public void testEncapsulateIntoBuffer() throws Exception {
+        KyberKEM kyber = KyberKEM.kyber768();
+        KeyPair keyPair = kyber.generateKeyPair();
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect(kyber.getEncapsulationBufferSize() + 8);
+        buffer.position(8);
+        KyberKEM.EncapsulationResult result = kyber.encapsulate(keyPair.getPublic(), buffer);
+
+        assertEquals(buffer.capacity(), buffer.position());
+        byte[] secret = new byte[result.getSharedSecretLength()];
+        result.sharedSecret().get(secret);
+        byte[] ciphertext = new byte[result.getCiphertextLength()];
+        result.ciphertext().get(ciphertext);
+
+        SecretKey receiver = kyber.decapsulate(keyPair.getPrivate(), ciphertext);
+        assertArrayEquals(secret, receiver.getEncoded());
+
+        result.destroy();
+        byte[] destroyed = new byte[secret.length];
+        result.sharedSecret().get(destroyed);
+        assertArrayEquals(new byte[secret.length], destroyed);
+    }
+
+    /**
+     * 버퍼 크기 부족 테스트
+     *
+     * 남은 공간이 부족한 버퍼는 거부되어야 합니다.
+     */
+    @Test
+    public void testEncapsulateBufferTooSmall() throws Exception {
+        KyberKEM kyber = KyberKEM.kyber512();
+        KeyPair keyPair = kyber.generateKeyPair();
+
+        ByteBuffer buffer = ByteBuffer.allocate(kyber.getEncapsulationBufferSize() - 1);
+        assertThrows(IllegalArgumentException.class, () -> kyber.encapsulate(keyPair.getPublic(), buffer));
+    }
+}
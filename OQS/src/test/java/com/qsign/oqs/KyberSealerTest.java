@@ -0,0 +1,233 @@
+package com.qsign.oqs;
+
+import com.qsign.oqs.crypto.KyberKEM;
+import com.qsign.oqs.crypto.KyberSealer;
+import com.qsign.oqs.provider.QSIGNIntegration;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.crypto.AEADBadTagException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * KYBER 봉인 컨테이너 테스트
+ *
+ * 청크 단위 병렬 AES-GCM 암호화가 원문을 그대로 복원하고, 임의 위치 읽기가
+ * 가능하며, 청크 변조·재배열·잘림·길이 위조를 모두 거부하는지 검증합니다.
+ *
+ * Test cases for chunked KYBER + AES-GCM sealed containers
+ */
+public class KyberSealerTest {
+
+    private static final int CHUNK = KyberSealer.MIN_CHUNK_SIZE;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeAll
+    public static void setup() {
+        QSIGNIntegration.initialize();
+    }
+
+    /**
+     * 봉인/개봉 왕복 테스트
+     *
+     * 빈 입력, 청크 경계 전후 크기, 여러 청크에 걸친 입력 모두
+     * 병렬 실행과 호출 스레드 실행에서 같은 원문을 복원해야 합니다.
+     */
+    @Test
+    public void testSealUnsealRoundTrip() throws Exception {
+        KyberKEM kyber = KyberKEM.kyber768();
+        KeyPair keyPair = kyber.generateKeyPair();
+        KyberSealer parallel = new KyberSealer(kyber, new KyberSealer.Config().setChunkSize(CHUNK).setMaxInFlight(3));
+        KyberSealer inline = new KyberSealer(kyber, new KyberSealer.Config().setChunkSize(CHUNK).setExecutor(null));
+
+        for (int size : new int[]{0, 1, CHUNK - 1, CHUNK, CHUNK + 1, 10 * CHUNK, 37 * CHUNK + 123}) {
+            byte[] content = random(size, size);
+            Path file = tempDir.resolve("sealed-" + size);
+
+            long written = seal(parallel, keyPair, content, file);
+            assertEquals(parallel.containerSize(size), written);
+            assertEquals(written, Files.size(file));
+
+            assertArrayEquals(content, unseal(inline, keyPair, file), "size " + size);
+            assertArrayEquals(content, unseal(parallel, keyPair, file), "size " + size);
+        }
+    }
+
+    /**
+     * 임의 위치 읽기 테스트
+     *
+     * 청크 경계를 가로지르는 범위와 마지막 청크를 원문과 비교하고,
+     * 닫은 뒤에는 읽기가 실패하는지 확인합니다.
+     */
+    @Test
+    public void testRandomAccess() throws Exception {
+        KyberKEM kyber = KyberKEM.kyber512();
+        KeyPair keyPair = kyber.generateKeyPair();
+        KyberSealer sealer = new KyberSealer(kyber, new KyberSealer.Config().setChunkSize(CHUNK));
+
+        byte[] content = random(5 * CHUNK + 321, 7);
+        Path file = tempDir.resolve("random-access");
+        seal(sealer, keyPair, content, file);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+             KyberSealer.SealedContainer container = sealer.open(keyPair.getPrivate(), channel)) {
+
+            assertEquals(content.length, container.getPlaintextLength());
+            assertEquals(6, container.getChunkCount());
+            assertEquals(Files.size(file), container.getContainerLength());
+
+            byte[] chunk = new byte[CHUNK];
+            assertEquals(321, container.readChunk(5, chunk, 0));
+            assertArrayEquals(Arrays.copyOfRange(content, 5 * CHUNK, content.length), Arrays.copyOf(chunk, 321));
+
+            byte[] range = new byte[2 * CHUNK];
+            assertEquals(range.length, container.read(CHUNK - 10, range, 0, range.length));
+            assertArrayEquals(Arrays.copyOfRange(content, CHUNK - 10, 3 * CHUNK - 10), range);
+
+            assertEquals(21, container.read(content.length - 21, range, 0, range.length));
+            assertArrayEquals(Arrays.copyOfRange(content, content.length - 21, content.length),
+                Arrays.copyOf(range, 21));
+
+            assertThrows(IndexOutOfBoundsException.class, () -> container.readChunk(6, chunk, 0));
+
+            // 닫으면 파생 키가 지워져 더 이상 읽을 수 없음
+            container.close();
+            assertThrows(IllegalStateException.class, () -> container.readChunk(0, chunk, 0));
+        }
+    }
+
+    /**
+     * 변조 탐지 테스트
+     *
+     * 청크 변조와 재배열은 해당 청크에서, 길이 위조와 잘림은 개봉 시점에서
+     * 거부되어야 합니다. 다른 키나 다른 변형으로도 열 수 없어야 합니다.
+     */
+    @Test
+    public void testTamperedContainers() throws Exception {
+        KyberKEM kyber = KyberKEM.kyber768();
+        KeyPair keyPair = kyber.generateKeyPair();
+        KyberSealer sealer = new KyberSealer(kyber, new KyberSealer.Config().setChunkSize(CHUNK));
+        int header = sealer.headerSize();
+        int sealedChunk = CHUNK + KyberSealer.TAG_SIZE;
+
+        byte[] content = random(4 * CHUNK + 100, 11);
+        Path file = tempDir.resolve("original");
+        seal(sealer, keyPair, content, file);
+        byte[] original = Files.readAllBytes(file);
+
+        byte[] flipped = original.clone();
+        flipped[header + sealedChunk + 5] ^= 1;
+        assertThrows(AEADBadTagException.class, () -> unseal(sealer, keyPair, write("flipped", flipped)));
+
+        byte[] swapped = original.clone();
+        System.arraycopy(original, header, swapped, header + sealedChunk, sealedChunk);
+        System.arraycopy(original, header + sealedChunk, swapped, header, sealedChunk);
+        assertThrows(AEADBadTagException.class, () -> unseal(sealer, keyPair, write("swapped", swapped)));
+
+        // Dropping whole trailing chunks and shrinking the length field to match
+        byte[] truncated = Arrays.copyOf(original, header + 2 * sealedChunk);
+        putLength(truncated, header, 2L * CHUNK);
+        assertThrows(AEADBadTagException.class, () -> unseal(sealer, keyPair, write("truncated", truncated)));
+
+        byte[] cut = Arrays.copyOf(original, original.length - 1);
+        assertThrows(IOException.class, () -> unseal(sealer, keyPair, write("cut", cut)));
+
+        byte[] longer = original.clone();
+        putLength(longer, header, content.length + 1L);
+        assertThrows(IOException.class, () -> unseal(sealer, keyPair, write("longer", longer)));
+
+        byte[] header0 = original.clone();
+        header0[20] ^= 1;
+        assertThrows(AEADBadTagException.class, () -> unseal(sealer, keyPair, write("kem", header0)));
+
+        KeyPair other = kyber.generateKeyPair();
+        assertThrows(AEADBadTagException.class, () -> unseal(sealer, other, file));
+
+        KyberSealer kyber1024 = new KyberSealer(KyberKEM.KyberVariant.KYBER1024);
+        assertThrows(IOException.class, () -> unseal(kyber1024, keyPair, file));
+    }
+
+    /**
+     * 다른 청크 크기 컨테이너 개봉 테스트
+     *
+     * 개봉은 봉인한 쪽 설정이 아니라 컨테이너 헤더의 청크 크기를 따라야 합니다.
+     */
+    @Test
+    public void testOpenWithDifferentChunkSize() throws Exception {
+        KyberKEM kyber = KyberKEM.kyber768();
+        KeyPair keyPair = kyber.generateKeyPair();
+        KyberSealer large = new KyberSealer(kyber, new KyberSealer.Config().setChunkSize(8 * CHUNK));
+        KyberSealer small = new KyberSealer(kyber, new KyberSealer.Config().setChunkSize(CHUNK).setMaxInFlight(2));
+
+        byte[] content = random(5 * 8 * CHUNK + 77, 8);
+        Path largeChunks = tempDir.resolve("large-chunks");
+        seal(large, keyPair, content, largeChunks);
+        assertArrayEquals(content, unseal(small, keyPair, largeChunks));
+
+        Path smallChunks = tempDir.resolve("small-chunks");
+        seal(small, keyPair, content, smallChunks);
+        assertArrayEquals(content, unseal(large, keyPair, smallChunks));
+    }
+
+    /**
+     * 설정 검증 테스트
+     */
+    @Test
+    public void testConfigValidation() {
+        KyberKEM kyber = KyberKEM.kyber512();
+        assertThrows(IllegalArgumentException.class,
+            () -> new KyberSealer(kyber, new KyberSealer.Config().setChunkSize(KyberSealer.MIN_CHUNK_SIZE - 1)));
+        assertThrows(IllegalArgumentException.class,
+            () -> new KyberSealer(kyber, new KyberSealer.Config().setChunkSize(KyberSealer.MAX_CHUNK_SIZE + 1)));
+        assertThrows(IllegalArgumentException.class,
+            () -> new KyberSealer(kyber, new KyberSealer.Config().setMaxInFlight(0)));
+    }
+
+    private long seal(KyberSealer sealer, KeyPair keyPair, byte[] content, Path file)
+            throws GeneralSecurityException, IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            return sealer.seal(keyPair.getPublic(), new ByteArrayInputStream(content), channel);
+        }
+    }
+
+    private static byte[] unseal(KyberSealer sealer, KeyPair keyPair, Path file)
+            throws GeneralSecurityException, IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            sealer.unseal(keyPair.getPrivate(), channel, out);
+        }
+        return out.toByteArray();
+    }
+
+    private Path write(String name, byte[] container) throws IOException {
+        return Files.write(tempDir.resolve(name), container);
+    }
+
+    private static void putLength(byte[] container, int headerSize, long length) {
+        for (int i = 0; i < 8; i++) {
+            container[headerSize - 1 - i] = (byte) (length >>> (8 * i));
+        }
+    }
+
+    private static byte[] random(int size, long seed) {
+        byte[] content = new byte[size];
+        new Random(seed).nextBytes(content);
+        return content;
+    }
+}
@@ -0,0 +1,126 @@
+package com.qsign.oqs;
+
+import com.qsign.oqs.metrics.LatencyRecorder;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 지연 시간 기록기 테스트
+ *
+ * 로그 버킷 백분위 정확도, 구간 스냅샷 교체(swap),
+ * 동시 기록 시 값 손실이 없는지를 검증합니다.
+ *
+ * Test cases for the striped latency recorder
+ */
+public class LatencyRecorderTest {
+
+    /**
+     * 백분위 정확도 테스트
+     *
+     * 백분위 값은 실제 값보다 작지 않고 정밀도(기본 5비트, 3.125%) 이내여야 합니다.
+     */
+    @Test
+    public void testPercentileAccuracy() {
+        LatencyRecorder recorder = new LatencyRecorder();
+        for (long v = 1; v <= 100_000; v++) {
+            recorder.record(v * 1_000);
+        }
+
+        LatencyRecorder.Snapshot snapshot = recorder.snapshot();
+        assertEquals(100_000, snapshot.getCount());
+        assertEquals(1_000, snapshot.getMin());
+        assertEquals(100_000_000, snapshot.getMax());
+        assertEquals(50_000_500.0, snapshot.getMean(), 1.0);
+        for (double percentile : new double[]{50, 90, 99, 99.9}) {
+            long exact = (long) (percentile / 100 * 100_000) * 1_000;
+            long reported = snapshot.getPercentile(percentile);
+            assertTrue(reported >= exact && reported <= exact * (1 + recorder.getPrecision()),
+                "p" + percentile + ": " + reported + " vs " + exact);
+        }
+
+        // 나노초 단위의 작은 값은 정확히 기록되어야 함
+        LatencyRecorder small = new LatencyRecorder();
+        small.record(7);
+        assertEquals(7, small.snapshot().getPercentile(50));
+
+        recorder.reset();
+        assertEquals(0, recorder.snapshot().getCount());
+        assertEquals(0, recorder.snapshot().getPercentile(99));
+    }
+
+    /**
+     * 구간 스냅샷 테스트
+     *
+     * 구간 스냅샷은 이전 구간 이후의 값만 포함하고 기록기를 비워야 합니다.
+     */
+    @Test
+    public void testIntervalSnapshot() {
+        LatencyRecorder recorder = new LatencyRecorder();
+        recorder.record(1_000);
+        recorder.record(2_000);
+
+        LatencyRecorder.Snapshot first = recorder.intervalSnapshot();
+        assertEquals(2, first.getCount());
+        assertEquals(2_000, first.getMax());
+        assertTrue(first.getIntervalNanos() > 0);
+
+        recorder.record(5_000);
+        LatencyRecorder.Snapshot second = recorder.intervalSnapshot();
+        assertEquals(1, second.getCount());
+        assertEquals(5_000, second.getMin());
+
+        assertEquals(0, recorder.intervalSnapshot().getCount());
+    }
+
+    /**
+     * 동시 기록 중 구간 스냅샷 테스트
+     *
+     * 여러 스레드가 기록하는 동안 구간을 교체해도 모든 값은
+     * 정확히 한 구간에 한 번만 집계되어야 합니다.
+     */
+    @Test
+    public void testConcurrentRecordingLosesNothing() throws Exception {
+        LatencyRecorder recorder = new LatencyRecorder();
+        int threads = 8;
+        int perThread = 50_000;
+        CountDownLatch done = new CountDownLatch(threads);
+        AtomicBoolean go = new AtomicBoolean();
+
+        for (int t = 0; t < threads; t++) {
+            Thread thread = new Thread(() -> {
+                while (!go.get()) {
+                    Thread.onSpinWait();
+                }
+                for (int i = 0; i < perThread; i++) {
+                    recorder.record(i);
+                }
+                done.countDown();
+            });
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        go.set(true);
+        long total = 0;
+        while (done.getCount() > 0) {
+            total += recorder.intervalSnapshot().getCount();
+        }
+        total += recorder.intervalSnapshot().getCount();
+
+        assertEquals((long) threads * perThread, total);
+        System.out.println("✅ Latency recorder concurrent intervals: " + total + " values");
+    }
+
+    /**
+     * 잘못된 정밀도 거부 테스트
+     */
+    @Test
+    public void testRejectsInvalidPrecision() {
+        assertThrows(IllegalArgumentException.class, () -> new LatencyRecorder(0));
+        assertThrows(IllegalArgumentException.class, () -> new LatencyRecorder(11));
+    }
+}
@@ -0,0 +1,129 @@
+package com.qsign.oqs;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonParser;
+import com.qsign.oqs.loadgen.JcaLoadTasks;
+import com.qsign.oqs.loadgen.LoadGenerator;
+import com.qsign.oqs.loadgen.LoadResult;
+import com.qsign.oqs.provider.QSIGNIntegration;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 부하 생성기 테스트
+ *
+ * 개방 루프의 조정된 누락(coordinated omission) 보정, 폐쇄 루프 측정,
+ * 스레드 스윕과 CSV/JSON 출력을 검증합니다.
+ *
+ * Test cases for the open/closed-loop load generator
+ */
+public class LoadGeneratorTest {
+
+    /**
+     * 테스트 초기화
+     * OQS Provider를 등록하고 QSIGN 통합을 초기화합니다.
+     */
+    @BeforeAll
+    public static void setup() {
+        QSIGNIntegration.initialize();
+    }
+
+    /**
+     * 조정된 누락 보정 테스트
+     *
+     * 작업이 한 번 300ms 멈추면, 그동안 예정되었던 요청들의 대기 시간이
+     * 보정된 지연 시간에는 반영되고 서비스 시간에는 반영되지 않아야 합니다.
+     */
+    @Test
+    public void testOpenLoopCorrectsCoordinatedOmission() throws Exception {
+        AtomicBoolean stalled = new AtomicBoolean();
+        LoadGenerator generator = new LoadGenerator(new LoadGenerator.Config()
+            .setTargetRate(200)
+            .setWarmup(Duration.ZERO)
+            .setDuration(Duration.ofMillis(1_000)));
+
+        LoadResult result = generator.run(() -> () -> {
+            if (stalled.compareAndSet(false, true)) {
+                Thread.sleep(300);
+            }
+        });
+
+        // 멈춘 동안 예정된 약 60개 요청(전체의 약 30%)이 밀려 있어야 함
+        assertTrue(result.isOpenLoop());
+        assertTrue(result.getOperations() >= 150, "operations: " + result.getOperations());
+        assertTrue(result.getLatency().getPercentile(90) > 50_000_000L,
+            "corrected p90 should include queueing: " + result);
+        assertTrue(result.getServiceTime().getPercentile(90) < 50_000_000L,
+            "service p90 should not: " + result);
+
+        System.out.println("✅ Open loop with one 300 ms stall: " + result);
+    }
+
+    /**
+     * 폐쇄 루프 서명 부하 테스트
+     */
+    @Test
+    public void testClosedLoopSigning() throws Exception {
+        LoadGenerator generator = new LoadGenerator(new LoadGenerator.Config()
+            .setThreads(2)
+            .setWarmup(Duration.ofMillis(200))
+            .setDuration(Duration.ofMillis(500)));
+
+        LoadResult result = generator.run(JcaLoadTasks.sign("OQS", "DILITHIUM2", "DILITHIUM2", 256));
+
+        assertFalse(result.isOpenLoop());
+        assertTrue(result.getOperations() > 0);
+        assertEquals(0, result.getErrors());
+        assertEquals(result.getLatency().getCount(), result.getServiceTime().getCount());
+
+        System.out.println("✅ Closed loop DILITHIUM2 signing: " + result);
+    }
+
+    /**
+     * 스레드 스윕 및 CSV/JSON 출력 테스트
+     */
+    @Test
+    public void testSweepReports() throws Exception {
+        LoadGenerator.Config config = new LoadGenerator.Config()
+            .setTargetRate(500)
+            .setWarmup(Duration.ZERO)
+            .setDuration(Duration.ofMillis(200));
+
+        List<LoadResult> results = LoadGenerator.sweep(config,
+            JcaLoadTasks.verify("OQS", "DILITHIUM2", "DILITHIUM2", 64), new int[]{1, 2},
+            LoadGenerator.ThreadType.PLATFORM, LoadGenerator.ThreadType.VIRTUAL);
+        assertEquals(4, results.size());
+        for (LoadResult result : results) {
+            assertEquals(0, result.getErrors());
+        }
+
+        String[] csv = LoadResult.toCsv(results).split("\n");
+        assertEquals(5, csv.length);
+        assertEquals(LoadResult.csvHeader(), csv[0]);
+        assertTrue(csv[1].startsWith("1,platform,open,500.0,"));
+
+        JsonArray json = JsonParser.parseString(LoadResult.toJson(results)).getAsJsonArray();
+        assertEquals(4, json.size());
+        assertEquals(2, json.get(1).getAsJsonObject().get("threads").getAsInt());
+        assertTrue(json.get(0).getAsJsonObject().getAsJsonObject("latencyMicros").has("p999"));
+    }
+
+    /**
+     * 잘못된 설정 거부 테스트
+     */
+    @Test
+    public void testRejectsInvalidConfig() {
+        assertThrows(IllegalArgumentException.class, () ->
+            new LoadGenerator(new LoadGenerator.Config().setThreads(0)));
+        assertThrows(IllegalArgumentException.class, () ->
+            new LoadGenerator(new LoadGenerator.Config().setTargetRate(-1)));
+        assertThrows(IllegalArgumentException.class, () ->
+            new LoadGenerator(new LoadGenerator.Config().setDuration(Duration.ZERO)));
+    }
+}
@@ -0,0 +1,128 @@
+package com.qsign.oqs;
+
+import org.junit.jupiter.api.Test;
+
+import java.security.KeyPairGenerator;
+import java.security.Provider;
+import java.security.Security;
+import java.security.Signature;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * OQS Provider 설치 테스트
+ *
+ * 싱글톤 인스턴스, 동시 install() 호출 시 1회 등록,
+ * 등록된 알고리즘의 실제 사용 가능 여부를 검증합니다.
+ *
+ * Test cases for OQS provider installation
+ */
+public class OQSProviderTest {
+
+    /**
+     * 싱글톤 테스트
+     */
+    @Test
+    public void testSingleton() {
+        assertSame(OQSProvider.getInstance(), OQSProvider.getInstance());
+    }
+
+    /**
+     * 동시 설치 테스트
+     *
+     * 여러 스레드가 동시에 install()을 호출해도 OQS, BC, BCPQC가
+     * 각각 정확히 한 번만 등록되어야 합니다.
+     */
+    @Test
+    public void testConcurrentInstallRegistersOnce() throws Exception {
+        int threads = 16;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    OQSProvider.install();
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertTrue(OQSProvider.isInstalled());
+        assertEquals(1, countProviders("OQS"));
+        assertEquals(1, countProviders("BC"));
+        assertEquals(1, countProviders("BCPQC"));
+        assertEquals(1, OQSProvider.getBouncyCastleRegistrations());
+        assertSame(OQSProvider.getInstance(), Security.getProvider("OQS"));
+
+        System.out.println("✅ " + threads + " concurrent install() calls registered OQS once");
+    }
+
+    /**
+     * OQS 프로바이더를 통한 알고리즘 사용 테스트
+     *
+     * 등록된 구현 클래스 이름이 실제 BouncyCastle 클래스와 일치해야 합니다.
+     */
+    @Test
+    public void testRegisteredAlgorithmsResolve() throws Exception {
+        OQSProvider.install();
+
+        for (String variant : new String[]{"DILITHIUM2", "DILITHIUM3", "DILITHIUM5", "FALCON-512", "FALCON-1024"}) {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance(variant, "OQS");
+            Signature signature = Signature.getInstance(variant, "OQS");
+            signature.initSign(generator.generateKeyPair().getPrivate());
+            assertEquals(OQSProvider.getInstance(), signature.getProvider());
+        }
+        for (String variant : new String[]{"KYBER512", "KYBER768", "KYBER1024"}) {
+            assertNotNull(KeyPairGenerator.getInstance(variant, "OQS").generateKeyPair());
+        }
+    }
+
+    /**
+     * 지연 등록 모드 테스트
+     *
+     * lazy 모드의 서비스는 조회 시점에 생성되며, 대소문자 구분 없이
+     * 조회되고 실제 SPI 인스턴스를 만들 수 있어야 합니다.
+     */
+    @Test
+    public void testLazyRegistration() throws Exception {
+        OQSProvider provider;
+        System.setProperty(OQSProvider.REGISTRATION_PROPERTY, "lazy");
+        try {
+            provider = new OQSProvider();
+        } finally {
+            System.clearProperty(OQSProvider.REGISTRATION_PROPERTY);
+        }
+
+        assertEquals(OQSProvider.RegistrationMode.LAZY, provider.getRegistrationMode());
+        assertNull(provider.getProperty("Signature.DILITHIUM3"), "Lazy provider should not register legacy entries");
+
+        Provider.Service service = provider.getService("Signature", "dilithium3");
+        assertNotNull(service);
+        assertSame(service, provider.getService("Signature", "DILITHIUM3"));
+        assertNotNull(service.newInstance(null));
+        assertNull(provider.getService("Signature", "RSA"));
+
+        assertEquals(15, provider.getServices().size());
+        assertNotNull(Signature.getInstance("DILITHIUM2", provider));
+    }
+
+    private static long countProviders(String name) {
+        Provider[] providers = Security.getProviders();
+        return Arrays.stream(providers).filter(p -> name.equals(p.getName())).count();
+    }
+}
@@ -0,0 +1,221 @@
+package com.qsign.oqs;
+
+import com.qsign.oqs.crypto.DilithiumSignature;
+import com.qsign.oqs.keystore.OqsKeyStore;
+import com.qsign.oqs.keystore.OqsKeyStoreWriter;
+import com.qsign.oqs.provider.QSIGNIntegration;
+import com.qsign.oqs.provisioning.KeyProvisioner;
+import com.qsign.oqs.provisioning.KeyProvisioningCli;
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.cert.jcajce.JcaX509CertificateConverter;
+import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.Key;
+import java.security.KeyPair;
+import java.security.KeyStore;
+import java.security.KeyStoreException;
+import java.security.PrivateKey;
+import java.security.cert.Certificate;
+import java.security.cert.X509Certificate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * OQS 키 저장소 테스트
+ *
+ * JCA 키 저장소 동작(저장/로드, 인증서 체인, 삭제), 프로비저닝 결과의 지연 디코딩,
+ * Luna 방식 설정 스트림을 통한 병렬 캐싱 로드와 중단된 파일의 복구를 검증합니다.
+ *
+ * Test cases for the OQS key store
+ */
+public class OqsKeyStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @BeforeAll
+    public static void setup() {
+        QSIGNIntegration.initialize();
+        OQSProvider.install();
+    }
+
+    /**
+     * JCA 키 저장소 왕복 테스트
+     *
+     * 키 항목과 인증서 항목이 스트림과 파일 저장 후 그대로 로드되어야 하며,
+     * 삭제된 항목은 다시 저장한 파일에 남지 않아야 합니다.
+     */
+    @Test
+    public void testKeyStoreRoundTrip() throws Exception {
+        DilithiumSignature dilithium = DilithiumSignature.dilithium3();
+        KeyPair keyPair = dilithium.generateKeyPair();
+        X509Certificate certificate = selfSigned(keyPair, "CN=qsign-test");
+        X509Certificate trusted = selfSigned(dilithium.generateKeyPair(), "CN=qsign-ca");
+
+        KeyStore keyStore = KeyStore.getInstance(OqsKeyStore.TYPE, OQSProvider.getInstance());
+        keyStore.load(null, null);
+        keyStore.setKeyEntry("signer", keyPair.getPrivate(), null, new Certificate[] {certificate});
+        keyStore.setCertificateEntry("ca", trusted);
+        assertThrows(KeyStoreException.class, () -> keyStore.setKeyEntry("raw", new byte[16], null));
+        assertThrows(KeyStoreException.class, () -> keyStore.setCertificateEntry("signer", trusted));
+
+        ByteArrayOutputStream stored = new ByteArrayOutputStream();
+        keyStore.store(stored, null);
+        Path probed = directory.resolve("probed.oqsks");
+        Files.write(probed, stored.toByteArray());
+        assertEquals(OqsKeyStore.TYPE, KeyStore.getInstance(probed.toFile(), (char[]) null).getType());
+
+        KeyStore loaded = KeyStore.getInstance(OqsKeyStore.TYPE);
+        loaded.load(new ByteArrayInputStream(stored.toByteArray()), "ignored".toCharArray());
+        assertEquals(List.of("signer", "ca"), Collections.list(loaded.aliases()));
+        assertTrue(loaded.isKeyEntry("signer"));
+        assertTrue(loaded.isCertificateEntry("ca"));
+        assertArrayEquals(keyPair.getPrivate().getEncoded(), loaded.getKey("signer", null).getEncoded());
+        assertEquals(certificate, loaded.getCertificateChain("signer")[0]);
+        assertEquals(trusted, loaded.getCertificate("ca"));
+        assertEquals("ca", loaded.getCertificateAlias(trusted));
+        assertNull(loaded.getKey("ca", null));
+        assertNotNull(loaded.getCreationDate("signer"));
+        assertInstanceOf(KeyStore.PrivateKeyEntry.class, loaded.getEntry("signer", null));
+
+        loaded.deleteEntry("ca");
+        assertFalse(loaded.containsAlias("ca"));
+        assertEquals(1, loaded.size());
+        Path file = directory.resolve("roundtrip.oqsks");
+        loaded.store(new OqsKeyStore.LoadParameter(file));
+
+        KeyStore mapped = KeyStore.getInstance(OqsKeyStore.TYPE);
+        mapped.load(new OqsKeyStore.LoadParameter(file));
+        assertEquals(List.of("signer"), Collections.list(mapped.aliases()));
+        byte[] message = "key store".getBytes(StandardCharsets.UTF_8);
+        assertTrue(dilithium.verify(mapped.getCertificate("signer").getPublicKey(), message,
+            dilithium.sign((PrivateKey) mapped.getKey("signer", null), message)));
+    }
+
+    /**
+     * 프로비저닝 키 저장소 지연 로드 테스트
+     *
+     * 프로비저닝 도구가 기록한 파일은 인증서 없이 키 쌍 항목으로 열려야 하며,
+     * 키는 처음 조회할 때 한 번만 디코딩되어야 합니다.
+     */
+    @Test
+    public void testProvisionedStore() throws Exception {
+        Path file = directory.resolve("tenants.oqsks");
+        KeyProvisioner provisioner = new KeyProvisioner(new KeyProvisioner.Config().setBatchSize(4));
+        provisioner.provision(KeyProvisioner.numberedTenants("t-", 6), List.of("DILITHIUM2", "FALCON-512"),
+            length -> new OqsKeyStoreWriter(file, length), directory.resolve("tenants.checkpoint"));
+
+        KeyStore keyStore = KeyStore.getInstance(OqsKeyStore.TYPE);
+        keyStore.load(new OqsKeyStore.LoadParameter(file));
+        assertEquals(12, keyStore.size());
+        assertEquals("t-000001/DILITHIUM2", keyStore.aliases().nextElement());
+        assertFalse(keyStore.containsAlias("t-000007/DILITHIUM2"));
+        assertNull(keyStore.getKey("t-000007/DILITHIUM2", null));
+        assertNull(keyStore.getCertificateChain("t-000003/DILITHIUM2"));
+
+        Key key = keyStore.getKey("t-000003/DILITHIUM2", null);
+        assertSame(key, keyStore.getKey("t-000003/DILITHIUM2", null));
+        OqsKeyStore.KeyPairEntry entry = (OqsKeyStore.KeyPairEntry) keyStore.getEntry("t-000003/DILITHIUM2", null);
+        assertSame(key, entry.getPrivateKey());
+        DilithiumSignature dilithium = DilithiumSignature.dilithium2();
+        byte[] message = "tenant".getBytes(StandardCharsets.UTF_8);
+        assertTrue(dilithium.verify(entry.getPublicKey(), message, dilithium.sign(entry.getPrivateKey(), message)));
+        assertEquals("FALCON-512", keyStore.getKey("t-000006/FALCON-512", null).getAlgorithm());
+
+        // 새 키 쌍 항목은 공개 키와 함께 저장된다
+        KeyPair added = dilithium.generateKeyPair();
+        keyStore.setEntry("t-000007/DILITHIUM2",
+            new OqsKeyStore.KeyPairEntry(added.getPrivate(), added.getPublic()), null);
+        keyStore.store(new OqsKeyStore.LoadParameter(file));
+        keyStore.load(new OqsKeyStore.LoadParameter(file));
+        assertEquals(13, keyStore.size());
+        assertEquals(added.getPublic(),
+            ((OqsKeyStore.KeyPairEntry) keyStore.getEntry("t-000007/DILITHIUM2", null)).getPublicKey());
+    }
+
+    /**
+     * 설정 스트림 및 복구 테스트
+     *
+     * Luna 방식 설정(caching, loadingthreads)으로 모든 키를 병렬로 미리 디코딩해야 하며,
+     * 인덱스 없이 중단된 파일은 마지막 완전한 레코드까지 열려야 합니다.
+     */
+    @Test
+    public void testCachingConfigurationAndRecovery() throws Exception {
+        Path file = directory.resolve("cached.oqsks");
+        KeyPair keyPair = DilithiumSignature.dilithium2().generateKeyPair();
+        long committed;
+        try (OqsKeyStoreWriter writer = new OqsKeyStoreWriter(file, 0)) {
+            for (int i = 0; i < 200; i++) {
+                writer.write("key-" + i, "tenant", "DILITHIUM2", keyPair);
+            }
+            committed = writer.commit();
+            IOException duplicate = assertThrows(IOException.class,
+                () -> writer.write("key-7", "tenant", "DILITHIUM2", keyPair));
+            assertTrue(duplicate.getMessage().contains("key-7"));
+        }
+
+        KeyStore keyStore = KeyStore.getInstance(OqsKeyStore.TYPE);
+        keyStore.load(configuration("file:" + file + "\ncaching:true\nloadingthreads:4"), null);
+        assertEquals(200, keyStore.size());
+        assertArrayEquals(keyPair.getPrivate().getEncoded(), keyStore.getKey("key-199", null).getEncoded());
+
+        // 닫히지 않은 작성기: 인덱스 없이 커밋된 레코드와 잘린 레코드만 남은 파일
+        byte[] bytes = Files.readAllBytes(file);
+        Path unfinished = directory.resolve("unfinished.oqsks");
+        Files.write(unfinished, Arrays.copyOf(bytes, (int) committed - 100));
+        keyStore.load(configuration("file:" + unfinished), null);
+        assertEquals(199, keyStore.size());
+        assertTrue(keyStore.containsAlias("key-198"));
+        assertFalse(keyStore.containsAlias("key-199"));
+
+        assertThrows(IOException.class, () -> keyStore.load(configuration("file:" + file + "\nslot:1"), null));
+        assertThrows(IOException.class, () -> keyStore.load(configuration("caching:true"), null));
+        assertThrows(IllegalArgumentException.class,
+            () -> new OqsKeyStore.LoadParameter(file).setLoadingThreads(0));
+    }
+
+    /**
+     * 명령행 키 저장소 출력 테스트
+     */
+    @Test
+    public void testCommandLineFormat() throws Exception {
+        Path output = directory.resolve("cli.oqsks");
+        KeyProvisioningCli.main(new String[] {"--count", "3", "--prefix", "c-", "--output", output.toString(),
+            "--format", "oqs"});
+        KeyStore keyStore = KeyStore.getInstance(OqsKeyStore.TYPE);
+        keyStore.load(new OqsKeyStore.LoadParameter(output));
+        assertEquals(3, keyStore.size());
+        assertTrue(keyStore.isKeyEntry("c-000002/" + KeyProvisioner.defaultAlgorithm()));
+        assertThrows(IllegalArgumentException.class, () -> KeyProvisioningCli.main(new String[] {
+            "--count", "1", "--output", directory.resolve("x").toString(), "--format", "pem"}));
+    }
+
+    private static ByteArrayInputStream configuration(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static X509Certificate selfSigned(KeyPair keyPair, String subject) throws Exception {
+        X500Name name = new X500Name(subject);
+        Date now = new Date();
+        JcaX509v3CertificateBuilder builder = new JcaX509v3CertificateBuilder(name, BigInteger.ONE, now,
+            new Date(now.getTime() + 86_400_000L), name, keyPair.getPublic());
+        return new JcaX509CertificateConverter().getCertificate(builder.build(
+            new JcaContentSignerBuilder("DILITHIUM3").setProvider(OQSProvider.getPqcProvider())
+                .build(keyPair.getPrivate())));
+    }
+}
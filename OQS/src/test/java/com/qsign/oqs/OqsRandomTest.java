@@ -0,0 +1,181 @@
+package com.qsign.oqs;
+
+import com.qsign.oqs.util.CryptoUtils;
+import com.qsign.oqs.util.OqsRandom;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 스트라이프 DRBG 풀 테스트
+ *
+ * SP 800-90A 메커니즘별 출력, 대용량 요청 분할, 교체 가능한 엔트로피 소스,
+ * 백그라운드 재시드, 동시 요청 및 기본 인스턴스 선택을 검증합니다.
+ *
+ * Test cases for the striped DRBG pool
+ */
+public class OqsRandomTest {
+
+    /**
+     * 메커니즘별 출력 테스트
+     *
+     * 모든 메커니즘이 최대 요청 크기보다 큰 요청을 포함해 서로 다른 출력을 만들어야 합니다.
+     */
+    @Test
+    public void testMechanisms() {
+        for (OqsRandom.Mechanism mechanism : OqsRandom.Mechanism.values()) {
+            try (OqsRandom random = new OqsRandom(new OqsRandom.Config()
+                    .setMechanism(mechanism).setStripes(2).setReseedInterval(Duration.ZERO))) {
+                assertEquals(mechanism.getAlgorithm(), random.getAlgorithm());
+
+                byte[] first = new byte[32];
+                byte[] second = new byte[32];
+                random.nextBytes(first);
+                random.nextBytes(second);
+                assertFalse(Arrays.equals(first, second), mechanism.name());
+                assertFalse(Arrays.equals(first, new byte[32]), mechanism.name());
+
+                byte[] large = new byte[100_000];
+                random.nextBytes(large);
+                Set<Integer> blocks = new HashSet<>();
+                for (int offset = 0; offset + 16 <= large.length; offset += 16) {
+                    blocks.add(Arrays.hashCode(Arrays.copyOfRange(large, offset, offset + 16)));
+                }
+                assertTrue(blocks.size() > large.length / 16 - 2, mechanism + " repeats blocks");
+
+                random.nextBytes(new byte[0]);
+                random.nextInt();
+            }
+        }
+
+        try (OqsRandom unbuffered = new OqsRandom(new OqsRandom.Config()
+                .setBufferSize(0).setReseedInterval(Duration.ZERO))) {
+            byte[] bytes = new byte[16];
+            unbuffered.nextBytes(bytes);
+            assertFalse(Arrays.equals(bytes, new byte[16]));
+        }
+    }
+
+    /**
+     * 엔트로피 소스 및 재시드 테스트
+     *
+     * 스트라이프 수는 2의 거듭제곱으로 올림되고, 모든 시드 재료는 주입한 소스에서 와야 하며,
+     * 백그라운드 재시드가 실패해도 생성은 계속되어야 합니다.
+     */
+    @Test
+    public void testEntropySourceAndReseed() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        AtomicBoolean failing = new AtomicBoolean();
+        OqsRandom.EntropySource source = length -> {
+            calls.incrementAndGet();
+            if (failing.get()) {
+                throw new IllegalStateException("entropy source offline");
+            }
+            return OqsRandom.EntropySource.system().getEntropy(length);
+        };
+
+        try (OqsRandom random = new OqsRandom(new OqsRandom.Config()
+                .setStripes(3).setEntropySource(source).setReseedInterval(Duration.ZERO))) {
+            assertEquals(4, random.getStripeCount());
+            assertEquals(8, calls.get(), "one nonce and one entropy input per stripe");
+
+            random.reseed();
+            assertEquals(4, random.getReseeds());
+            assertEquals(12, calls.get());
+
+            random.setSeed(42L);
+            assertEquals(8, random.getReseeds());
+            assertEquals(16, calls.get());
+
+            assertEquals(7, random.generateSeed(7).length);
+            assertEquals(17, calls.get());
+        }
+
+        try (OqsRandom random = new OqsRandom(new OqsRandom.Config()
+                .setStripes(1).setEntropySource(source).setReseedInterval(Duration.ofMillis(20)))) {
+            long deadline = System.nanoTime() + 5_000_000_000L;
+            while (random.getReseeds() < 2 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertTrue(random.getReseeds() >= 2, "background reseed did not run");
+
+            failing.set(true);
+            Thread.sleep(100);
+            byte[] bytes = new byte[64];
+            random.nextBytes(bytes);
+            assertFalse(Arrays.equals(bytes, new byte[64]));
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> new OqsRandom(new OqsRandom.Config().setStripes(0)));
+        assertThrows(IllegalArgumentException.class,
+            () -> new OqsRandom(new OqsRandom.Config().setReseedInterval(Duration.ofSeconds(-1))));
+        assertThrows(IllegalArgumentException.class,
+            () -> new OqsRandom(new OqsRandom.Config().setBufferSize(1 << 20)));
+    }
+
+    /**
+     * 동시 요청 테스트
+     *
+     * 스트라이프보다 훨씬 많은 스레드가 동시에 요청해도 출력이 겹치지 않아야 합니다.
+     */
+    @Test
+    public void testConcurrentFills() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        try (OqsRandom random = new OqsRandom(new OqsRandom.Config().setStripes(2))) {
+            List<CompletableFuture<Set<String>>> futures = IntStream.range(0, 32)
+                .mapToObj(i -> CompletableFuture.supplyAsync(() -> {
+                    Set<String> values = new HashSet<>();
+                    for (int j = 0; j < 500; j++) {
+                        byte[] bytes = new byte[16];
+                        random.nextBytes(bytes);
+                        values.add(CryptoUtils.toHex(bytes));
+                    }
+                    return values;
+                }, executor))
+                .collect(Collectors.toList());
+
+            Set<String> all = new HashSet<>();
+            for (CompletableFuture<Set<String>> future : futures) {
+                all.addAll(future.get());
+            }
+            assertEquals(32 * 500, all.size());
+            System.out.println("✅ Concurrent fills: " + random);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 기본 인스턴스 선택 테스트
+     */
+    @Test
+    public void testDefaultInstance() {
+        try {
+            System.setProperty(OqsRandom.MECHANISM_PROPERTY, "ctr");
+            OqsRandom.reset();
+            assertSame(OqsRandom.getDefault(), OqsRandom.getDefault());
+            assertEquals(OqsRandom.Mechanism.CTR, OqsRandom.getDefault().getMechanism());
+            assertEquals(32, CryptoUtils.generateRandomBytes(32).length);
+
+            System.setProperty(OqsRandom.MECHANISM_PROPERTY, "unknown");
+            OqsRandom.reset();
+            assertEquals(OqsRandom.Mechanism.HASH, OqsRandom.getDefault().getMechanism());
+        } finally {
+            System.clearProperty(OqsRandom.MECHANISM_PROPERTY);
+            OqsRandom.reset();
+        }
+    }
+}
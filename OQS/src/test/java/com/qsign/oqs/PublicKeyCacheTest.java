@@ -0,0 +1,195 @@
+package com.qsign.oqs;
+
+import com.qsign.oqs.crypto.DilithiumSignature;
+import com.qsign.oqs.crypto.KyberKEM;
+import com.qsign.oqs.provider.PublicKeyCache;
+import com.qsign.oqs.provider.QSIGNIntegration;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.security.InvalidKeyException;
+import java.security.KeyPair;
+import java.security.PublicKey;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 공개키 캐시 테스트
+ *
+ * 인코딩/kid 기반 조회, 준비된 검증기 재사용, 크기 제한과 빈도 기반 승인,
+ * 동시 접근 시의 적중/미적중 지표를 검증합니다.
+ *
+ * Test cases for the decoded public key cache
+ */
+public class PublicKeyCacheTest {
+
+    private static final byte[] MESSAGE = "cached verification".getBytes();
+
+    /**
+     * 테스트 초기화
+     * OQS Provider를 등록하고 QSIGN 통합을 초기화합니다.
+     */
+    @BeforeAll
+    public static void setup() {
+        QSIGNIntegration.initialize();
+    }
+
+    /**
+     * 인코딩 기반 조회 테스트
+     *
+     * 같은 인코딩은 같은 검증기 인스턴스를 돌려주고, 검증 결과는 원래 키와 같아야 합니다.
+     */
+    @Test
+    public void testLookupByEncoding() throws Exception {
+        DilithiumSignature dilithium = DilithiumSignature.dilithium5();
+        KeyPair keyPair = dilithium.generateKeyPair();
+        byte[] signature = dilithium.sign(keyPair.getPrivate(), MESSAGE);
+        byte[] encoded = keyPair.getPublic().getEncoded();
+
+        PublicKeyCache cache = new PublicKeyCache();
+        DilithiumSignature.PreparedVerifier first = cache.getVerifier(encoded);
+        DilithiumSignature.PreparedVerifier second = cache.getVerifier(encoded.clone());
+
+        assertSame(first, second);
+        assertEquals(DilithiumSignature.DilithiumVariant.DILITHIUM5, first.getVariant());
+        assertTrue(first.verify(MESSAGE, signature));
+        assertEquals(keyPair.getPublic(), cache.getPublicKey(encoded));
+
+        PublicKeyCache.Metrics metrics = cache.getMetrics();
+        assertEquals(1, metrics.getMisses());
+        assertEquals(2, metrics.getHits());
+        assertEquals(1, metrics.getSize());
+
+        System.out.println("✅ Public key cache by encoding: " + metrics);
+    }
+
+    /**
+     * kid 기반 조회 테스트
+     *
+     * 로더는 미적중 시에만 호출되고, 무효화 후에는 다시 호출되어야 합니다.
+     */
+    @Test
+    public void testLookupByKid() throws Exception {
+        KeyPair keyPair = DilithiumSignature.dilithium2().generateKeyPair();
+        AtomicInteger loads = new AtomicInteger();
+        PublicKeyCache.KeyLoader loader = kid -> {
+            loads.incrementAndGet();
+            return keyPair.getPublic().getEncoded();
+        };
+
+        PublicKeyCache cache = new PublicKeyCache();
+        for (int i = 0; i < 5; i++) {
+            assertNotNull(cache.getVerifier("key-1", loader));
+        }
+        assertEquals(1, loads.get());
+
+        cache.invalidate("key-1");
+        cache.getPublicKey("key-1", loader);
+        assertEquals(2, loads.get());
+
+        // 용량 미만에서 키를 반복 교체해도 CLOCK 큐가 커지지 않아야 한다
+        for (int i = 0; i < 100; i++) {
+            cache.invalidate("key-1");
+            cache.getPublicKey("key-1", loader);
+        }
+        Field clock = PublicKeyCache.class.getDeclaredField("clock");
+        clock.setAccessible(true);
+        assertEquals(1, ((Collection<?>) clock.get(cache)).size());
+        assertEquals(1, cache.size());
+    }
+
+    /**
+     * 비 DILITHIUM 키 테스트
+     *
+     * KYBER 키는 공개키로는 캐시되지만 검증기는 요청할 수 없어야 합니다.
+     */
+    @Test
+    public void testNonSignatureKey() throws Exception {
+        byte[] encoded = new KyberKEM(KyberKEM.KyberVariant.KYBER768).generateKeyPair().getPublic().getEncoded();
+
+        PublicKeyCache cache = new PublicKeyCache();
+        PublicKey publicKey = cache.getPublicKey(encoded);
+        assertEquals("KYBER768", publicKey.getAlgorithm().toUpperCase());
+        assertThrows(InvalidKeyException.class, () -> cache.getVerifier(encoded));
+        assertThrows(InvalidKeyException.class, () -> cache.getPublicKey(new byte[]{0x30, 0x00}));
+    }
+
+    /**
+     * 크기 제한 및 빈도 기반 승인 테스트
+     *
+     * 한 번씩만 쓰이는 키들이 지나가도 자주 쓰이는 키는 캐시에 남아야 합니다.
+     */
+    @Test
+    public void testBoundedWithFrequencyAdmission() throws Exception {
+        DilithiumSignature dilithium = DilithiumSignature.dilithium2();
+        List<byte[]> keys = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            keys.add(dilithium.generateKeyPair().getPublic().getEncoded());
+        }
+
+        PublicKeyCache cache = new PublicKeyCache(new PublicKeyCache.Config().setMaximumSize(4));
+        byte[] hot = keys.get(0);
+        for (int i = 0; i < 5; i++) {
+            cache.getVerifier(hot);
+        }
+
+        // 한 번씩만 조회되는 키 스캔
+        for (byte[] cold : keys.subList(1, keys.size())) {
+            cache.getVerifier(cold);
+            assertTrue(cache.size() <= 4);
+        }
+
+        long hitsBefore = cache.getMetrics().getHits();
+        cache.getVerifier(hot);
+        assertEquals(hitsBefore + 1, cache.getMetrics().getHits(), "Hot key was evicted by a scan");
+
+        PublicKeyCache.Metrics metrics = cache.getMetrics();
+        assertTrue(metrics.getEvictions() + metrics.getRejections() >= 8);
+
+        System.out.println("✅ Public key cache under scan: " + metrics);
+    }
+
+    /**
+     * 동시 접근 테스트
+     */
+    @Test
+    public void testConcurrentAccess() throws Exception {
+        DilithiumSignature dilithium = DilithiumSignature.dilithium2();
+        List<byte[]> keys = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            keys.add(dilithium.generateKeyPair().getPublic().getEncoded());
+        }
+
+        PublicKeyCache cache = new PublicKeyCache(new PublicKeyCache.Config().setMaximumSize(4));
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int offset = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 200; i++) {
+                        cache.getVerifier(keys.get((offset + i) % keys.size()));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        PublicKeyCache.Metrics metrics = cache.getMetrics();
+        assertEquals(1600, metrics.getHits() + metrics.getMisses());
+        assertTrue(cache.size() <= 4);
+    }
+}
@@ -1,5 +1,6 @@
 package com.qsign.oqs;
 
+import com.qsign.oqs.crypto.DilithiumSignature;
 import com.qsign.oqs.provider.QSIGNIntegration;
 import org.junit.jupiter.api.Test;
 
@@ -113,6 +114,9 @@ public class QSIGNIntegrationTest {
         // 설정이 올바르게 적용되었는지 확인
         assertTrue(QSIGNIntegration.getConfig().isHybridMode());
         assertTrue(QSIGNIntegration.getConfig().isLoggingEnabled());
+
+        // 스레드 전용 엔진은 명시적으로 선택해야 함
+        assertEquals(DilithiumSignature.EngineMode.PER_CALL, config.getEngineMode());
     }
 
     /**
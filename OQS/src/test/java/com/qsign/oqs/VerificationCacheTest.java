@@ -0,0 +1,189 @@
+package com.qsign.oqs;
+
+import com.qsign.oqs.crypto.DilithiumSignature;
+import com.qsign.oqs.crypto.VerificationCache;
+import com.qsign.oqs.jwt.HybridJwtSigner;
+import com.qsign.oqs.jwt.HybridJwtVerifier;
+import com.qsign.oqs.provider.QSIGNIntegration;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 서명 검증 결과 캐시 테스트
+ *
+ * 성공한 검증만 저장되고, TTL과 토큰 만료 중 이른 시점에 만료되며,
+ * 동시 접근과 크기 제한에서도 지표가 정확한지 검증합니다.
+ *
+ * Test cases for the positive-result verification cache
+ */
+public class VerificationCacheTest {
+
+    private static final byte[] MESSAGE = "cached verification".getBytes();
+
+    private static DilithiumSignature dilithium;
+    private static KeyPair keyPair;
+    private static byte[] signature;
+
+    /**
+     * 테스트 초기화
+     * OQS Provider를 등록하고 Dilithium2 키와 서명을 생성합니다.
+     */
+    @BeforeAll
+    public static void setup() throws Exception {
+        QSIGNIntegration.initialize();
+        dilithium = DilithiumSignature.dilithium2();
+        keyPair = dilithium.generateKeyPair();
+        signature = dilithium.sign(keyPair.getPrivate(), MESSAGE);
+    }
+
+    /**
+     * 성공 결과 캐시 테스트
+     *
+     * 같은 (키, 메시지, 서명)은 한 번만 검증되고, 실패한 검증은 저장되지 않아야 합니다.
+     */
+    @Test
+    public void testCachesPositiveResultsOnly() throws Exception {
+        VerificationCache cache = new VerificationCache();
+        for (int i = 0; i < 5; i++) {
+            assertTrue(cache.verify(dilithium, keyPair.getPublic(), MESSAGE, signature, Long.MAX_VALUE));
+        }
+
+        byte[] tampered = signature.clone();
+        tampered[10] ^= 1;
+        for (int i = 0; i < 3; i++) {
+            assertFalse(cache.verify(dilithium, keyPair.getPublic(), MESSAGE, tampered, Long.MAX_VALUE));
+        }
+        assertFalse(cache.verify(dilithium, keyPair.getPublic(), "other".getBytes(), signature, Long.MAX_VALUE));
+
+        VerificationCache.Metrics metrics = cache.getMetrics();
+        assertEquals(4, metrics.getHits());
+        assertEquals(5, metrics.getMisses());
+        assertEquals(1, metrics.getStored());
+        assertEquals(1, metrics.getSize());
+        assertTrue(metrics.getEstimatedSavedNanos() > 0);
+
+        System.out.println("✅ Verification cache: " + metrics);
+    }
+
+    /**
+     * 만료 테스트
+     *
+     * 토큰 만료가 TTL보다 이르면 토큰 만료가 우선하고, 이미 만료된 토큰은 저장하지 않아야 합니다.
+     */
+    @Test
+    public void testExpiry() throws Exception {
+        AtomicInteger checks = new AtomicInteger();
+        VerificationCache.SignatureCheck check = () -> {
+            checks.incrementAndGet();
+            return true;
+        };
+        byte[] key = keyPair.getPublic().getEncoded();
+
+        VerificationCache cache = new VerificationCache(new VerificationCache.Config().setTtl(Duration.ofHours(1)));
+
+        // 이미 만료된 토큰
+        cache.verify(key, MESSAGE, signature, System.currentTimeMillis() - 1, check);
+        cache.verify(key, MESSAGE, signature, System.currentTimeMillis() - 1, check);
+        assertEquals(2, checks.get());
+        assertEquals(0, cache.size());
+
+        // 토큰 만료가 TTL보다 이른 경우
+        byte[] other = "short-lived".getBytes();
+        cache.verify(key, other, signature, System.currentTimeMillis() + 100, check);
+        cache.verify(key, other, signature, System.currentTimeMillis() + 100, check);
+        assertEquals(3, checks.get());
+        Thread.sleep(150);
+        cache.verify(key, other, signature, Long.MAX_VALUE, check);
+        assertEquals(4, checks.get());
+
+        // TTL이 토큰 만료보다 이른 경우
+        VerificationCache shortTtl = new VerificationCache(
+            new VerificationCache.Config().setTtl(Duration.ofMillis(100)));
+        shortTtl.verify(key, MESSAGE, signature, Long.MAX_VALUE, check);
+        shortTtl.verify(key, MESSAGE, signature, Long.MAX_VALUE, check);
+        assertEquals(5, checks.get());
+        Thread.sleep(150);
+        shortTtl.verify(key, MESSAGE, signature, Long.MAX_VALUE, check);
+        assertEquals(6, checks.get());
+        assertTrue(shortTtl.getMetrics().getEvictions() >= 1);
+
+        assertThrows(IllegalArgumentException.class,
+            () -> new VerificationCache(new VerificationCache.Config().setTtl(Duration.ZERO)));
+    }
+
+    /**
+     * 크기 제한과 동시 접근 테스트
+     */
+    @Test
+    public void testBoundedConcurrentAccess() throws Exception {
+        byte[] key = keyPair.getPublic().getEncoded();
+        VerificationCache cache = new VerificationCache(new VerificationCache.Config().setMaximumSize(50));
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 500; i++) {
+                        byte[] message = ("message-" + (i % 200)).getBytes();
+                        assertTrue(cache.verify(key, message, signature, Long.MAX_VALUE, () -> true));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        VerificationCache.Metrics metrics = cache.getMetrics();
+        assertEquals(4000, metrics.getHits() + metrics.getMisses());
+        assertTrue(metrics.getEvictions() > 0);
+        assertTrue(cache.size() <= 50 + 8, "size=" + cache.size());
+    }
+
+    /**
+     * 듀얼 서명 JWT 검증기 연동 테스트
+     *
+     * 반복 제시된 토큰은 캐시에서 승인되고, 변조된 토큰은 여전히 거부되어야 합니다.
+     */
+    @Test
+    public void testHybridJwtVerifier() throws Exception {
+        KeyPairGenerator rsa = KeyPairGenerator.getInstance("RSA");
+        rsa.initialize(2048);
+        HybridJwtSigner signer = new HybridJwtSigner(HybridJwtSigner.ClassicalAlgorithm.RS256,
+            rsa.generateKeyPair().getPrivate(), dilithium, keyPair.getPrivate(), null, null);
+        long exp = System.currentTimeMillis() / 1000 + 300;
+        String token = signer.signCompact("{\"sub\":\"user-id\",\"exp\":" + exp + "}");
+
+        VerificationCache cache = new VerificationCache();
+        HybridJwtVerifier verifier = new HybridJwtVerifier(HybridJwtVerifier.Policy.PQC_ONLY,
+            HybridJwtSigner.ClassicalAlgorithm.RS256, null, dilithium, keyPair.getPublic())
+            .setVerificationCache(cache);
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(verifier.verifyCompact(token));
+        }
+        int pqcStart = token.lastIndexOf('.') + 1;
+        char flipped = token.charAt(pqcStart) == 'A' ? 'B' : 'A';
+        assertFalse(verifier.verifyCompact(token.substring(0, pqcStart) + flipped + token.substring(pqcStart + 1)));
+
+        VerificationCache.Metrics metrics = cache.getMetrics();
+        assertEquals(9, metrics.getHits());
+        assertEquals(2, metrics.getMisses());
+    }
+}
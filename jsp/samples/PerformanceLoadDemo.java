@@ -0,0 +1,73 @@
+import java.security.Key;
+import java.security.Security;
+import java.time.Duration;
+import java.util.List;
+
+import javax.crypto.Cipher;
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.IvParameterSpec;
+
+import com.qsign.oqs.loadgen.LoadGenerator;
+import com.qsign.oqs.loadgen.LoadResult;
+import com.safenetinc.luna.provider.LunaProvider;
+import com.safenetinc.luna.provider.key.LunaKey;
+
+/**
+ * This class runs the PerformanceUnwrapDemo workload (AES/CBC key unwrap in the HSM) through the
+ * oqs-java LoadGenerator instead of free-running threads. Unwraps are issued at a fixed rate
+ * (open loop) so an HSM stall shows up in the tail latency instead of silently slowing the
+ * clients down, with a warmup phase, a thread count sweep and a CSV report.
+ *
+ * Needs the oqs-java jar (with dependencies) on the classpath next to LunaProvider.jar.
+ * For the software OQS provider or any other JCA provider use com.qsign.oqs.loadgen.LoadGeneratorCli.
+ */
+public class PerformanceLoadDemo {
+
+  // total unwraps per second, shared by all threads; 0 runs closed loop like PerformanceUnwrapDemo
+  public static double targetRate = 2000;
+  public static int[] threadCounts = { 1, 5, 10, 20 };
+
+  public static byte[] ivBytes16 = { (byte) 65, (byte) 66, (byte) 67, (byte) 68, (byte) 69, (byte) 70, (byte) 71,
+      (byte) 72, (byte) 73, (byte) 74, (byte) 75, (byte) 76, (byte) 77, (byte) 78, (byte) 79, (byte) 80 };
+
+  public static void main(String[] args) {
+    try {
+
+      // log in to token
+      Security.addProvider(new LunaProvider());
+      com.safenetinc.luna.LunaSlotManager mgr = com.safenetinc.luna.LunaSlotManager.getInstance();
+      mgr.login(0, "userpin");
+      mgr.setSecretKeysExtractable(true);
+
+      // generate our wrapping key and wrap a new AES key off
+      KeyGenerator kg = KeyGenerator.getInstance("AES", "LunaProvider");
+      kg.init(256);
+      Key aesKey = kg.generateKey();
+
+      Cipher c = Cipher.getInstance("AES/CBC/NoPadding", "LunaProvider");
+      c.init(Cipher.WRAP_MODE, aesKey, new IvParameterSpec(ivBytes16));
+      byte[] wrappedKey = c.wrap(kg.generateKey());
+
+      LoadGenerator.Config config = new LoadGenerator.Config().setTargetRate(targetRate)
+          .setWarmup(Duration.ofSeconds(10)).setDuration(Duration.ofSeconds(30));
+
+      // each thread makes its own Cipher object for unwrapping
+      List<LoadResult> results = LoadGenerator.sweep(config, () -> {
+        Cipher unwrap = Cipher.getInstance("AES/CBC/NoPadding", "LunaProvider");
+        unwrap.init(Cipher.UNWRAP_MODE, aesKey, new IvParameterSpec(ivBytes16));
+        return () -> {
+          SecretKey key = (SecretKey) unwrap.unwrap(wrappedKey, "AES", Cipher.SECRET_KEY);
+          // unlike PerformanceUnwrapDemo the destroy is inside the timed operation
+          ((LunaKey) key).DestroyKey();
+        };
+      }, threadCounts, LoadGenerator.ThreadType.PLATFORM);
+
+      System.out.println(LoadResult.toCsv(results));
+
+    } catch (Exception e) {
+      e.printStackTrace();
+      System.exit(-1);
+    }
+  }
+}
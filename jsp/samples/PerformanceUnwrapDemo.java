@@ -116,8 +116,7 @@ public class PerformanceUnwrapDemo implements Runnable {
         // unwrap the key
         SecretKey key = (SecretKey) unwrap.unwrap(wrappedKey, "AES", Cipher.SECRET_KEY);
 
-        long duration = (System.nanoTime() - start) / 1000000;
-        PerformanceMonitor.addRecord((int) duration);
+        PerformanceMonitor.addRecord(System.nanoTime() - start);
 
         // destroy the key outside the timed area
         ((LunaKey) key).DestroyKey();